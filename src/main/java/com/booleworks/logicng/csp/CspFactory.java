@@ -2,12 +2,17 @@ package com.booleworks.logicng.csp;
 
 import com.booleworks.logicng.csp.datastructures.Csp;
 import com.booleworks.logicng.csp.datastructures.CspAssignment;
-import com.booleworks.logicng.csp.datastructures.IntegerClause;
 import com.booleworks.logicng.csp.datastructures.domains.IntegerDomain;
 import com.booleworks.logicng.csp.encodings.CompactOrderDecoding;
 import com.booleworks.logicng.csp.encodings.CompactOrderEncoding;
 import com.booleworks.logicng.csp.encodings.CompactOrderEncodingContext;
 import com.booleworks.logicng.csp.encodings.CspEncodingContext;
+import com.booleworks.logicng.csp.encodings.DirectDecoding;
+import com.booleworks.logicng.csp.encodings.DirectEncoding;
+import com.booleworks.logicng.csp.encodings.DirectEncodingContext;
+import com.booleworks.logicng.csp.encodings.HybridDecoding;
+import com.booleworks.logicng.csp.encodings.HybridEncoding;
+import com.booleworks.logicng.csp.encodings.HybridEncodingContext;
 import com.booleworks.logicng.csp.encodings.OrderDecoding;
 import com.booleworks.logicng.csp.encodings.OrderEncoding;
 import com.booleworks.logicng.csp.encodings.OrderEncodingContext;
@@ -15,9 +20,18 @@ import com.booleworks.logicng.csp.functions.CspDecomposition;
 import com.booleworks.logicng.csp.functions.IntegerVariablesFunction;
 import com.booleworks.logicng.csp.predicates.AllDifferentPredicate;
 import com.booleworks.logicng.csp.predicates.ComparisonPredicate;
+import com.booleworks.logicng.csp.predicates.CountPredicate;
 import com.booleworks.logicng.csp.predicates.CspPredicate;
+import com.booleworks.logicng.csp.predicates.CumulativePredicate;
+import com.booleworks.logicng.csp.predicates.DisjunctivePredicate;
+import com.booleworks.logicng.csp.predicates.ElementPredicate;
+import com.booleworks.logicng.csp.predicates.GlobalCardinalityPredicate;
+import com.booleworks.logicng.csp.predicates.PseudoBooleanPredicate;
+import com.booleworks.logicng.csp.predicates.SchedulingDecomposition;
+import com.booleworks.logicng.csp.predicates.TablePredicate;
 import com.booleworks.logicng.csp.terms.AbsoluteFunction;
 import com.booleworks.logicng.csp.terms.AdditionFunction;
+import com.booleworks.logicng.csp.terms.BinaryFunction;
 import com.booleworks.logicng.csp.terms.DivisionFunction;
 import com.booleworks.logicng.csp.terms.IntegerConstant;
 import com.booleworks.logicng.csp.terms.IntegerVariable;
@@ -28,27 +42,39 @@ import com.booleworks.logicng.csp.terms.MultiplicationFunction;
 import com.booleworks.logicng.csp.terms.NegationFunction;
 import com.booleworks.logicng.csp.terms.SubtractionFunction;
 import com.booleworks.logicng.csp.terms.Term;
+import com.booleworks.logicng.csp.terms.UnaryFunction;
 import com.booleworks.logicng.datastructures.Assignment;
 import com.booleworks.logicng.datastructures.EncodingResult;
 import com.booleworks.logicng.formulas.Formula;
 import com.booleworks.logicng.formulas.FormulaFactory;
+import com.booleworks.logicng.formulas.Literal;
 import com.booleworks.logicng.formulas.Variable;
 import com.booleworks.logicng.util.Pair;
 
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.HashMap;
+import java.util.Iterator;
 import java.util.LinkedHashMap;
 import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.SortedSet;
+import java.util.Stack;
 import java.util.TreeSet;
-import java.util.stream.Collectors;
 
 /**
  * The central data structure for creating and managing CSP objects (terms, predicate, integer variables).
+ * <p>
+ * Terms, predicates, the normal forms of terms ({@link #canonical(Term)}), and the auxiliary variables of terms
+ * ({@link #termAuxVariable(String, Term, IntegerDomain)}) are cached in the factory. The caches are never cleared, so
+ * their size grows with the number of distinct terms created or decomposed by the factory.
+ * <p>
+ * The factory is not thread-safe. Only creating constants and (auxiliary) variables is synchronized, since these are
+ * the only methods used by the encodings, such that problems can be encoded concurrently (see
+ * {@link com.booleworks.logicng.csp.functions.CspComponents}).
  */
 public class CspFactory {
     /**
@@ -76,7 +102,16 @@ public class CspFactory {
     private final Map<Pair<Term, Term>, ComparisonPredicate> gePredicates;
     private final Map<Pair<Term, Term>, ComparisonPredicate> gtPredicates;
     private final Map<LinkedHashSet<Term>, AllDifferentPredicate> allDifferentPredicates;
+    private final Map<Pair<Pair<Term, Term>, List<Term>>, ElementPredicate> elementPredicates;
+    private final Map<TablePredicate, TablePredicate> tablePredicates;
+    private final Map<DisjunctivePredicate, DisjunctivePredicate> disjunctivePredicates;
+    private final Map<CumulativePredicate, CumulativePredicate> cumulativePredicates;
+    private final Map<CountPredicate, CountPredicate> countPredicates;
+    private final Map<GlobalCardinalityPredicate, GlobalCardinalityPredicate> globalCardinalityPredicates;
+    private final Map<PseudoBooleanPredicate, PseudoBooleanPredicate> pseudoBooleanPredicates;
     private final Map<String, Integer> auxVarCounters;
+    private final Map<Term, IntegerVariable> termAuxVariables;
+    private final Map<Term, Term> canonicalTerms;
 
     /**
      * Constructs a new factory for CSP related constructs. It uses a {@link FormulaFactory} as basis.
@@ -102,7 +137,16 @@ public class CspFactory {
         this.gePredicates = new HashMap<>();
         this.gtPredicates = new HashMap<>();
         this.allDifferentPredicates = new HashMap<>();
+        this.elementPredicates = new HashMap<>();
+        this.tablePredicates = new HashMap<>();
+        this.disjunctivePredicates = new HashMap<>();
+        this.cumulativePredicates = new HashMap<>();
+        this.countPredicates = new HashMap<>();
+        this.globalCardinalityPredicates = new HashMap<>();
+        this.pseudoBooleanPredicates = new HashMap<>();
         this.auxVarCounters = new HashMap<>();
+        this.termAuxVariables = new HashMap<>();
+        this.canonicalTerms = new HashMap<>();
         this.zero = new IntegerConstant(0);
         this.one = new IntegerConstant(1);
         this.integerConstants.put(0, this.zero);
@@ -134,7 +178,16 @@ public class CspFactory {
         this.gePredicates = new HashMap<>(other.gePredicates);
         this.gtPredicates = new HashMap<>(other.gtPredicates);
         this.allDifferentPredicates = new HashMap<>(other.allDifferentPredicates);
+        this.elementPredicates = new HashMap<>(other.elementPredicates);
+        this.tablePredicates = new HashMap<>(other.tablePredicates);
+        this.disjunctivePredicates = new HashMap<>(other.disjunctivePredicates);
+        this.cumulativePredicates = new HashMap<>(other.cumulativePredicates);
+        this.countPredicates = new HashMap<>(other.countPredicates);
+        this.globalCardinalityPredicates = new HashMap<>(other.globalCardinalityPredicates);
+        this.pseudoBooleanPredicates = new HashMap<>(other.pseudoBooleanPredicates);
         this.auxVarCounters = new HashMap<>(other.auxVarCounters);
+        this.termAuxVariables = new HashMap<>(other.termAuxVariables);
+        this.canonicalTerms = new HashMap<>(other.canonicalTerms);
         this.zero = new IntegerConstant(0);
         this.one = new IntegerConstant(1);
         this.integerConstants.put(0, this.zero);
@@ -162,7 +215,7 @@ public class CspFactory {
      * @param value the constant integer value
      * @return the integer constant
      */
-    public IntegerConstant constant(final int value) {
+    public synchronized IntegerConstant constant(final int value) {
         if (value == 0) {
             return zero();
         } else if (value == 1) {
@@ -209,7 +262,8 @@ public class CspFactory {
         return variableIntern(name, domain, false);
     }
 
-    private IntegerVariable variableIntern(final String name, final IntegerDomain domain, final boolean aux) {
+    private synchronized IntegerVariable variableIntern(final String name, final IntegerDomain domain,
+                                                        final boolean aux) {
         if (domain.isEmpty()) {
             throw new IllegalArgumentException("Cannot create a variable with an empty domain");
         }
@@ -228,7 +282,7 @@ public class CspFactory {
      * @param domain the integer domain
      * @return a new auxiliary variable
      */
-    public IntegerVariable auxVariable(final String type, final IntegerDomain domain) {
+    public synchronized IntegerVariable auxVariable(final String type, final IntegerDomain domain) {
         final int counter = auxVarCounters.compute(type, (key, value) -> value == null ? 0 : value + 1);
         return variableIntern(AUX_PREFIX + type + "_" + counter, domain, true);
     }
@@ -243,11 +297,225 @@ public class CspFactory {
      * @param domain  the integer domain
      * @return a new auxiliary variable
      */
-    public IntegerVariable auxVariable(final String type, final String postfix, final IntegerDomain domain) {
+    public synchronized IntegerVariable auxVariable(final String type, final String postfix,
+                                                    final IntegerDomain domain) {
         final int counter = auxVarCounters.compute(type, (key, value) -> value == null ? 0 : value + 1);
         return variableIntern(AUX_PREFIX + type + "_" + counter + "_" + postfix, domain, true);
     }
 
+    /**
+     * Returns the auxiliary variable of type {@code type} representing a compound term. The variable is created on
+     * the first call for the term and shared by all later calls, such that equal sub-terms of different terms and
+     * predicates are represented by the same variable.
+     * @param type   the auxiliary class of the variable
+     * @param term   the represented term
+     * @param domain the integer domain
+     * @return the auxiliary variable representing the term
+     */
+    public IntegerVariable termAuxVariable(final String type, final Term term, final IntegerDomain domain) {
+        final Term key = canonical(term);
+        final IntegerVariable known = termAuxVariables.get(key);
+        if (known != null) {
+            return known;
+        }
+        final IntegerVariable aux = auxVariable(type, domain);
+        termAuxVariables.put(key, aux);
+        return aux;
+    }
+
+    /**
+     * Returns the normal form of a term. Semantically identical terms like {@code sub(a, b)},
+     * {@code add(a, minus(b))}, and {@code add(a, mul(-1, b))} have the same normal form.
+     * <p>
+     * The normal form is a flattened weighted sum {@code c1*t1 + ... + cn*tn + c} whose operands are sorted and whose
+     * constants are folded. The terms {@code ti} are variables or non-linear terms whose operands are in normal form
+     * themselves. Constant factors of non-linear multiplications are moved into the weight. Terms with the same
+     * normal form share their decomposition and their auxiliary variables. If a weight or the constant of the normal
+     * form exceeds the range of {@code int}, the term is its own normal form.
+     * <p>
+     * The normal forms are cached for the lifetime of the factory like the terms themselves.
+     * @param term the term
+     * @return the normal form of the term
+     */
+    public Term canonical(final Term term) {
+        if (term.isAtom()) {
+            return term;
+        }
+        final Term known = canonicalTerms.get(term);
+        if (known != null) {
+            return known;
+        }
+        final LinkedHashMap<Term, Integer> weights = new LinkedHashMap<>();
+        final int constValue;
+        try {
+            constValue = collectCanonical(term, 1, weights);
+        } catch (final ArithmeticException e) {
+            canonicalTerms.put(term, term);
+            return term;
+        }
+        final List<Map.Entry<Term, Integer>> entries = new ArrayList<>(weights.entrySet());
+        entries.sort((e1, e2) -> compareTerms(e1.getKey(), e2.getKey()));
+        final List<Term> operands = new ArrayList<>();
+        for (final Map.Entry<Term, Integer> entry : entries) {
+            if (entry.getValue() != 0) {
+                operands.add(mul(entry.getValue(), entry.getKey()));
+            }
+        }
+        if (constValue != 0 || operands.isEmpty()) {
+            operands.add(constant(constValue));
+        }
+        final Term result = operands.size() == 1 ? operands.get(0) : add(operands);
+        canonicalTerms.put(term, result);
+        canonicalTerms.put(result, result);
+        return result;
+    }
+
+    /**
+     * Compares terms structurally. Terms of different types are ordered by their type. Constants are ordered by
+     * their value and variables by the order of integer variables. Compound terms are ordered by their operands.
+     */
+    private static int compareTerms(final Term a, final Term b) {
+        if (a == b) {
+            return 0;
+        }
+        if (a.getType() != b.getType()) {
+            return a.getType().compareTo(b.getType());
+        }
+        switch (a.getType()) {
+            case ZERO:
+            case ONE:
+            case CONST:
+                return Integer.compare(((IntegerConstant) a).getValue(), ((IntegerConstant) b).getValue());
+            case VAR:
+                return ((IntegerVariable) a).compareTo((IntegerVariable) b);
+            case NEG:
+            case ABS:
+                return compareTerms(((UnaryFunction) a).getOperand(), ((UnaryFunction) b).getOperand());
+            case ADD:
+                final Set<Term> operandsA = ((AdditionFunction) a).getOperands();
+                final Set<Term> operandsB = ((AdditionFunction) b).getOperands();
+                if (operandsA.size() != operandsB.size()) {
+                    return Integer.compare(operandsA.size(), operandsB.size());
+                }
+                final Iterator<Term> itB = operandsB.iterator();
+                for (final Term operand : operandsA) {
+                    final int cmp = compareTerms(operand, itB.next());
+                    if (cmp != 0) {
+                        return cmp;
+                    }
+                }
+                return 0;
+            default:
+                final BinaryFunction binaryA = (BinaryFunction) a;
+                final BinaryFunction binaryB = (BinaryFunction) b;
+                final int cmp = compareTerms(binaryA.getLeft(), binaryB.getLeft());
+                return cmp != 0 ? cmp : compareTerms(binaryA.getRight(), binaryB.getRight());
+        }
+    }
+
+    /**
+     * Adds {@code factor * term} to the weighted sum {@code weights} and returns the constant part.
+     * @throws ArithmeticException if a weight or the constant part exceeds the range of {@code int}
+     */
+    private int collectCanonical(final Term term, final int factor, final Map<Term, Integer> weights) {
+        switch (term.getType()) {
+            case ZERO:
+            case ONE:
+            case CONST:
+                return Math.multiplyExact(factor, ((IntegerConstant) term).getValue());
+            case VAR:
+                weights.merge(term, factor, Math::addExact);
+                return 0;
+            case NEG:
+                return collectCanonical(((NegationFunction) term).getOperand(), Math.negateExact(factor), weights);
+            case ADD:
+                int constValue = 0;
+                for (final Term op : ((AdditionFunction) term).getOperands()) {
+                    constValue = Math.addExact(constValue, collectCanonical(op, factor, weights));
+                }
+                return constValue;
+            case SUB:
+                final SubtractionFunction sub = (SubtractionFunction) term;
+                return Math.addExact(collectCanonical(sub.getLeft(), factor, weights),
+                        collectCanonical(sub.getRight(), Math.negateExact(factor), weights));
+            case MUL:
+                final MultiplicationFunction product = (MultiplicationFunction) term;
+                final Term left = canonical(product.getLeft());
+                final Term right = canonical(product.getRight());
+                if (left instanceof IntegerConstant) {
+                    return collectCanonical(right, Math.multiplyExact(factor, ((IntegerConstant) left).getValue()),
+                            weights);
+                }
+                if (right instanceof IntegerConstant) {
+                    return collectCanonical(left, Math.multiplyExact(factor, ((IntegerConstant) right).getValue()),
+                            weights);
+                }
+                final int scale = Math.multiplyExact(factor,
+                        Math.multiplyExact(constantFactor(left), constantFactor(right)));
+                return collectAtom(mul(withoutConstantFactor(left), withoutConstantFactor(right)), scale, weights);
+            case ABS:
+                return collectAtom(abs(canonical(((AbsoluteFunction) term).getOperand())), factor, weights);
+            case DIV:
+                final DivisionFunction quotient = (DivisionFunction) term;
+                return collectAtom(div(canonical(quotient.getLeft()), quotient.getRight()), factor, weights);
+            case MOD:
+                final ModuloFunction remainder = (ModuloFunction) term;
+                return collectAtom(mod(canonical(remainder.getLeft()), remainder.getRight()), factor, weights);
+            case MIN:
+                final BinaryFunction minimum = (BinaryFunction) term;
+                return collectAtom(min(canonical(minimum.getLeft()), canonical(minimum.getRight())), factor,
+                        weights);
+            case MAX:
+                final BinaryFunction maximum = (BinaryFunction) term;
+                return collectAtom(max(canonical(maximum.getLeft()), canonical(maximum.getRight())), factor,
+                        weights);
+            default:
+                throw new IllegalArgumentException("Unknown term type: " + term.getType());
+        }
+    }
+
+    /**
+     * Adds {@code factor * atom} to the weighted sum {@code weights} and returns the constant part. The atom is the
+     * result of a factory call on normal forms, so it can also be a constant or a linear term.
+     */
+    private int collectAtom(final Term atom, final int factor, final Map<Term, Integer> weights) {
+        if (isLinearNormalForm(atom)) {
+            return collectCanonical(atom, factor, weights);
+        }
+        weights.merge(atom, factor, Math::addExact);
+        return 0;
+    }
+
+    private static boolean isLinearNormalForm(final Term term) {
+        switch (term.getType()) {
+            case ZERO:
+            case ONE:
+            case CONST:
+            case ADD:
+                return true;
+            case MUL:
+                return ((MultiplicationFunction) term).getLeft() instanceof IntegerConstant;
+            default:
+                return false;
+        }
+    }
+
+    private static int constantFactor(final Term normalForm) {
+        if (normalForm instanceof MultiplicationFunction
+                && ((MultiplicationFunction) normalForm).getLeft() instanceof IntegerConstant) {
+            return ((IntegerConstant) ((MultiplicationFunction) normalForm).getLeft()).getValue();
+        }
+        return 1;
+    }
+
+    private static Term withoutConstantFactor(final Term normalForm) {
+        if (normalForm instanceof MultiplicationFunction
+                && ((MultiplicationFunction) normalForm).getLeft() instanceof IntegerConstant) {
+            return ((MultiplicationFunction) normalForm).getRight();
+        }
+        return normalForm;
+    }
+
     /**
      * Creates the negation of {@code term}
      * @param term the term
@@ -679,6 +947,223 @@ public class CspFactory {
         return predicate;
     }
 
+    /**
+     * Creates an element predicate that tests whether {@code array[index] = value}. The array is indexed starting at
+     * {@code 0}.
+     * @param index the index
+     * @param array the array
+     * @param value the value
+     * @return the element predicate
+     */
+    public ElementPredicate element(final Term index, final List<Term> array, final Term value) {
+        final Pair<Pair<Term, Term>, List<Term>> operands = new Pair<>(new Pair<>(index, value), List.copyOf(array));
+        final ElementPredicate foundFormula = elementPredicates.get(operands);
+        if (foundFormula != null) {
+            return foundFormula;
+        }
+        final ElementPredicate predicate = new ElementPredicate(index, array, value, formulaFactory);
+        elementPredicates.put(operands, predicate);
+        return predicate;
+    }
+
+    /**
+     * Creates a table predicate that tests whether the values of the variables are one of the tuples
+     * ({@code positive = true}) or none of the tuples ({@code positive = false}).
+     * @param variables the variables
+     * @param tuples    the tuples, each tuple must have the same length as {@code variables}
+     * @param positive  {@code true} for a table of allowed tuples, {@code false} for a table of forbidden tuples
+     * @return the table predicate
+     * @throws IllegalArgumentException if a tuple does not have the same length as {@code variables}
+     */
+    public TablePredicate table(final List<IntegerVariable> variables, final Collection<int[]> tuples,
+                                final boolean positive) {
+        final TablePredicate predicate = new TablePredicate(variables, tuples, positive, formulaFactory);
+        final TablePredicate foundFormula = tablePredicates.get(predicate);
+        if (foundFormula != null) {
+            return foundFormula;
+        }
+        tablePredicates.put(predicate, predicate);
+        return predicate;
+    }
+
+    /**
+     * Creates a disjunctive predicate that tests whether no two tasks overlap. Task {@code i} runs from
+     * {@code starts[i]} (inclusive) to {@code starts[i] + durations[i]} (exclusive). The predicate is decomposed with
+     * the {@link SchedulingDecomposition#TASK task decomposition}.
+     * @param starts    the start times of the tasks
+     * @param durations the durations of the tasks
+     * @return the disjunctive predicate
+     * @throws IllegalArgumentException if the lists have different sizes or if a duration is negative
+     */
+    public DisjunctivePredicate disjunctive(final List<IntegerVariable> starts, final List<Integer> durations) {
+        return disjunctive(starts, durations, SchedulingDecomposition.TASK);
+    }
+
+    /**
+     * Creates a disjunctive predicate that tests whether no two tasks overlap. Task {@code i} runs from
+     * {@code starts[i]} (inclusive) to {@code starts[i] + durations[i]} (exclusive).
+     * @param starts        the start times of the tasks
+     * @param durations     the durations of the tasks
+     * @param decomposition the decomposition used for the predicate
+     * @return the disjunctive predicate
+     * @throws IllegalArgumentException if the lists have different sizes or if a duration is negative
+     */
+    public DisjunctivePredicate disjunctive(final List<IntegerVariable> starts, final List<Integer> durations,
+                                            final SchedulingDecomposition decomposition) {
+        final DisjunctivePredicate predicate = new DisjunctivePredicate(starts, durations, decomposition,
+                formulaFactory);
+        final DisjunctivePredicate foundFormula = disjunctivePredicates.get(predicate);
+        if (foundFormula != null) {
+            return foundFormula;
+        }
+        disjunctivePredicates.put(predicate, predicate);
+        return predicate;
+    }
+
+    /**
+     * Creates a cumulative predicate that tests whether the total demand of all tasks running at the same time never
+     * exceeds the capacity. Task {@code i} runs from {@code starts[i]} (inclusive) to
+     * {@code starts[i] + durations[i]} (exclusive). The predicate is decomposed with the
+     * {@link SchedulingDecomposition#TIME time decomposition}.
+     * @param starts    the start times of the tasks
+     * @param durations the durations of the tasks
+     * @param demands   the resource demands of the tasks
+     * @param capacity  the capacity of the resource
+     * @return the cumulative predicate
+     * @throws IllegalArgumentException if the lists have different sizes or if a duration, demand, or the capacity
+     *                                  is negative
+     */
+    public CumulativePredicate cumulative(final List<IntegerVariable> starts, final List<Integer> durations,
+                                          final List<Integer> demands, final int capacity) {
+        return cumulative(starts, durations, demands, capacity, SchedulingDecomposition.TIME);
+    }
+
+    /**
+     * Creates a cumulative predicate that tests whether the total demand of all tasks running at the same time never
+     * exceeds the capacity. Task {@code i} runs from {@code starts[i]} (inclusive) to
+     * {@code starts[i] + durations[i]} (exclusive).
+     * @param starts        the start times of the tasks
+     * @param durations     the durations of the tasks
+     * @param demands       the resource demands of the tasks
+     * @param capacity      the capacity of the resource
+     * @param decomposition the decomposition used for the predicate
+     * @return the cumulative predicate
+     * @throws IllegalArgumentException if the lists have different sizes or if a duration, demand, or the capacity
+     *                                  is negative
+     */
+    public CumulativePredicate cumulative(final List<IntegerVariable> starts, final List<Integer> durations,
+                                          final List<Integer> demands, final int capacity,
+                                          final SchedulingDecomposition decomposition) {
+        final CumulativePredicate predicate =
+                new CumulativePredicate(starts, durations, demands, capacity, decomposition, formulaFactory);
+        final CumulativePredicate foundFormula = cumulativePredicates.get(predicate);
+        if (foundFormula != null) {
+            return foundFormula;
+        }
+        cumulativePredicates.put(predicate, predicate);
+        return predicate;
+    }
+
+    /**
+     * Creates a count predicate that tests whether the number of variables with the given value is in
+     * {@code [minCount, maxCount]}.
+     * @param variables the variables
+     * @param value     the counted value
+     * @param minCount  the minimum number of variables with the value
+     * @param maxCount  the maximum number of variables with the value
+     * @return the count predicate
+     */
+    public CountPredicate count(final List<IntegerVariable> variables, final int value, final int minCount,
+                                final int maxCount) {
+        return count(variables, value, value, minCount, maxCount);
+    }
+
+    /**
+     * Creates a count predicate that tests whether the number of variables with a value in
+     * {@code [valueLb, valueUb]} is in {@code [minCount, maxCount]}.
+     * @param variables the variables
+     * @param valueLb   the lower bound of the counted values
+     * @param valueUb   the upper bound of the counted values
+     * @param minCount  the minimum number of variables with a counted value
+     * @param maxCount  the maximum number of variables with a counted value
+     * @return the count predicate
+     */
+    public CountPredicate count(final List<IntegerVariable> variables, final int valueLb, final int valueUb,
+                                final int minCount, final int maxCount) {
+        final CountPredicate predicate =
+                new CountPredicate(variables, valueLb, valueUb, minCount, maxCount, formulaFactory);
+        final CountPredicate foundFormula = countPredicates.get(predicate);
+        if (foundFormula != null) {
+            return foundFormula;
+        }
+        countPredicates.put(predicate, predicate);
+        return predicate;
+    }
+
+    /**
+     * Creates a global cardinality predicate that tests whether for each index {@code i} the number of variables
+     * with value {@code values[i]} is in {@code [minCounts[i], maxCounts[i]]}.
+     * @param variables the variables
+     * @param values    the counted values
+     * @param minCounts the minimum number of occurrences of each value
+     * @param maxCounts the maximum number of occurrences of each value
+     * @return the global cardinality predicate
+     * @throws IllegalArgumentException if the values and the counts have different sizes
+     */
+    public GlobalCardinalityPredicate globalCardinality(final List<IntegerVariable> variables,
+                                                        final List<Integer> values, final List<Integer> minCounts,
+                                                        final List<Integer> maxCounts) {
+        final GlobalCardinalityPredicate predicate =
+                new GlobalCardinalityPredicate(variables, values, minCounts, maxCounts, formulaFactory);
+        final GlobalCardinalityPredicate foundFormula = globalCardinalityPredicates.get(predicate);
+        if (foundFormula != null) {
+            return foundFormula;
+        }
+        globalCardinalityPredicates.put(predicate, predicate);
+        return predicate;
+    }
+
+    /**
+     * Creates a pseudo-Boolean predicate that tests whether {@code w_1 * l_1 + ... + w_n * l_n + left <= right}.
+     * A literal counts as {@code 1} if it is satisfied and as {@code 0} otherwise.
+     * @param literals the literals
+     * @param weights  the weights of the literals
+     * @param left     the integer term on the left side
+     * @param right    the integer term on the right side
+     * @return the pseudo-Boolean predicate
+     * @throws IllegalArgumentException if the literals and the weights have different sizes
+     */
+    public PseudoBooleanPredicate pbLe(final List<? extends Literal> literals, final List<Integer> weights,
+                                       final Term left, final Term right) {
+        final PseudoBooleanPredicate predicate =
+                new PseudoBooleanPredicate(literals, weights, sub(left, right), formulaFactory);
+        final PseudoBooleanPredicate foundFormula = pseudoBooleanPredicates.get(predicate);
+        if (foundFormula != null) {
+            return foundFormula;
+        }
+        pseudoBooleanPredicates.put(predicate, predicate);
+        return predicate;
+    }
+
+    /**
+     * Creates a pseudo-Boolean predicate that tests whether {@code w_1 * l_1 + ... + w_n * l_n + left >= right}.
+     * A literal counts as {@code 1} if it is satisfied and as {@code 0} otherwise.
+     * @param literals the literals
+     * @param weights  the weights of the literals
+     * @param left     the integer term on the left side
+     * @param right    the integer term on the right side
+     * @return the pseudo-Boolean predicate
+     * @throws IllegalArgumentException if the literals and the weights have different sizes
+     */
+    public PseudoBooleanPredicate pbGe(final List<? extends Literal> literals, final List<Integer> weights,
+                                       final Term left, final Term right) {
+        final List<Integer> negated = new ArrayList<>();
+        for (final int w : weights) {
+            negated.add(-w);
+        }
+        return pbLe(literals, negated, right, left);
+    }
+
     /**
      * Returns the underlying formula factory.
      * @return the underlying formula factory
@@ -696,16 +1181,41 @@ public class CspFactory {
         return CspDecomposition.decompose(formula, this);
     }
 
+    /**
+     * Decomposes a formula into arithmetic clauses. Disjunctions whose factorization would produce more than
+     * {@code maxFactorizedClauses} clauses are decomposed with selector variables.
+     * @param formula              the formula
+     * @param maxFactorizedClauses the maximum number of clauses produced by factorizing a disjunction
+     * @return the decomposition result
+     */
+    public CspPredicate.Decomposition decompose(final Formula formula, final int maxFactorizedClauses) {
+        return CspDecomposition.decompose(formula, maxFactorizedClauses, this);
+    }
+
+    /**
+     * Decomposes a formula into arithmetic clauses and adds them directly to a CSP builder together with their
+     * variables as internal variables. Visible variables are not added.
+     * @param formula the formula
+     * @param builder the destination for the clauses
+     */
+    public void decompose(final Formula formula, final Csp.Builder builder) {
+        CspDecomposition.decompose(formula, builder, this);
+    }
+
     /**
      * Builds a CSP problem from a formula.
      * @param formula the formula
      * @return the CSP problem
      */
     public Csp buildCsp(final Formula formula) {
-        final SortedSet<Variable> variables = formula.variables(formulaFactory);
+        final SortedSet<Variable> variables = new TreeSet<>(formula.variables(formulaFactory));
+        predicateBooleanVariablesInplace(formula, variables);
         final SortedSet<IntegerVariable> integerVariables = IntegerVariablesFunction.integerVariables(formula);
-        final Set<IntegerClause> clauses = decompose(formula).getClauses();
-        return Csp.fromClauses(clauses, integerVariables, variables);
+        final Csp.Builder builder = new Csp.Builder();
+        decompose(formula, builder);
+        return builder.updateVisibleIntegerVariables(integerVariables)
+                .updateVisibleBooleanVariables(variables)
+                .build();
     }
 
     /**
@@ -715,13 +1225,44 @@ public class CspFactory {
      */
     public Csp buildCsp(final Collection<CspPredicate> predicates) {
         final SortedSet<IntegerVariable> vars = new TreeSet<>();
+        final SortedSet<Variable> boolVars = new TreeSet<>();
         for (final CspPredicate predicate : predicates) {
             predicate.variablesInplace(vars);
+            predicate.booleanVariablesInplace(boolVars);
+        }
+        final Csp.Builder builder = new Csp.Builder();
+        for (final CspPredicate predicate : predicates) {
+            builder.addDecomposition(predicate.decompose(this));
+        }
+        return builder.updateVisibleIntegerVariables(vars)
+                .updateVisibleBooleanVariables(boolVars)
+                .build();
+    }
+
+    private static void predicateBooleanVariablesInplace(final Formula formula, final SortedSet<Variable> variables) {
+        final Stack<Formula> stack = new Stack<>();
+        stack.push(formula);
+        while (!stack.isEmpty()) {
+            final Formula current = stack.pop();
+            switch (current.getType()) {
+                case EQUIV:
+                case IMPL:
+                case OR:
+                case AND:
+                case NOT:
+                    for (final Formula op : current) {
+                        stack.add(op);
+                    }
+                    break;
+                case PREDICATE:
+                    if (current instanceof CspPredicate) {
+                        ((CspPredicate) current).booleanVariablesInplace(variables);
+                    }
+                    break;
+                default:
+                    break;
+            }
         }
-        final Set<IntegerClause> clauses = predicates.stream()
-                .flatMap(p -> p.decompose(this).getClauses().stream())
-                .collect(Collectors.toSet());
-        return Csp.fromClauses(clauses, vars);
     }
 
     /**
@@ -759,6 +1300,12 @@ public class CspFactory {
             case CompactOrder:
                 CompactOrderEncoding.encode(csp, (CompactOrderEncodingContext) context, result, this);
                 break;
+            case Direct:
+                DirectEncoding.encode(csp, (DirectEncodingContext) context, result, this);
+                break;
+            case Hybrid:
+                HybridEncoding.encode(csp, (HybridEncodingContext) context, result, this);
+                break;
             default:
                 throw new UnsupportedOperationException(
                         "Unsupported csp encoding algorithm: " + context.getAlgorithm());
@@ -792,6 +1339,12 @@ public class CspFactory {
             case CompactOrder:
                 CompactOrderEncoding.encodeVariable(variable, (CompactOrderEncodingContext) context, result, this);
                 break;
+            case Direct:
+                DirectEncoding.encodeVariable(variable, (DirectEncodingContext) context, result, this);
+                break;
+            case Hybrid:
+                HybridEncoding.encodeVariable(variable, (HybridEncodingContext) context, result, this);
+                break;
             default:
                 throw new UnsupportedOperationException(
                         "Unsupported csp encoding algorithm: " + context.getAlgorithm());
@@ -832,6 +1385,17 @@ public class CspFactory {
                 CompactOrderEncoding.encodeClauses(decomp.getClauses(), (CompactOrderEncodingContext) context, result,
                         this);
                 break;
+            case Direct:
+                for (final IntegerVariable auxVar : decomp.getAuxiliaryIntegerVariables()) {
+                    DirectEncoding.encodeVariable(auxVar, (DirectEncodingContext) context, result, this);
+                }
+                DirectEncoding.encodeClauses(decomp.getClauses(), (DirectEncodingContext) context, result, this);
+                break;
+            case Hybrid:
+                HybridEncoding.encodeVariables(decomp.getAuxiliaryIntegerVariables(), (HybridEncodingContext) context,
+                        result, this);
+                HybridEncoding.encodeClauses(decomp.getClauses(), (HybridEncodingContext) context, result, this);
+                break;
             default:
                 throw new UnsupportedOperationException(
                         "Unsupported csp encoding algorithm: " + context.getAlgorithm());
@@ -851,6 +1415,10 @@ public class CspFactory {
                 return OrderDecoding.decode(model, csp, (OrderEncodingContext) context, this);
             case CompactOrder:
                 return CompactOrderDecoding.decode(model, csp, (CompactOrderEncodingContext) context, this);
+            case Direct:
+                return DirectDecoding.decode(model, csp, (DirectEncodingContext) context, this);
+            case Hybrid:
+                return HybridDecoding.decode(model, csp, (HybridEncodingContext) context, this);
             default:
                 throw new UnsupportedOperationException(
                         "Unsupported csp encoding algorithm: " + context.getAlgorithm());
@@ -874,6 +1442,12 @@ public class CspFactory {
             case CompactOrder:
                 return CompactOrderDecoding.decode(model, integerVariables, booleanVariables,
                         (CompactOrderEncodingContext) context, this);
+            case Direct:
+                return DirectDecoding.decode(model, integerVariables, booleanVariables, (DirectEncodingContext) context,
+                        this);
+            case Hybrid:
+                return HybridDecoding.decode(model, integerVariables, booleanVariables, (HybridEncodingContext) context,
+                        this);
             default:
                 throw new UnsupportedOperationException(
                         "Unsupported csp encoding algorithm: " + context.getAlgorithm());
@@ -895,6 +1469,10 @@ public class CspFactory {
             case CompactOrder:
                 return CompactOrderDecoding.decode(model, integerVariables, (CompactOrderEncodingContext) context,
                         this);
+            case Direct:
+                return DirectDecoding.decode(model, integerVariables, (DirectEncodingContext) context, this);
+            case Hybrid:
+                return HybridDecoding.decode(model, integerVariables, (HybridEncodingContext) context, this);
             default:
                 throw new UnsupportedOperationException(
                         "Unsupported csp encoding algorithm: " + context.getAlgorithm());
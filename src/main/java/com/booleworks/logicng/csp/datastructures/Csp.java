@@ -1,11 +1,20 @@
 package com.booleworks.logicng.csp.datastructures;
 
+import com.booleworks.logicng.csp.literals.ArithmeticLiteral;
+import com.booleworks.logicng.csp.predicates.CspPredicate;
 import com.booleworks.logicng.csp.terms.IntegerVariable;
 import com.booleworks.logicng.formulas.Literal;
 import com.booleworks.logicng.formulas.Variable;
 
+import java.util.AbstractSet;
 import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.NoSuchElementException;
 import java.util.Set;
 import java.util.stream.Collectors;
 
@@ -18,7 +27,11 @@ public class Csp {
     private Set<Variable> visibleBooleanVariables;
     private Set<Variable> internalBooleanVariables;
     private IntegerVariableSubstitution propagateSubstitutions;
+    private Map<IntegerVariable, LinearExpression> eliminations;
     private Set<IntegerClause> clauses;
+    private Map<IntegerVariable, Set<IntegerClause>> integerOccurrences;
+    private Map<Variable, Set<IntegerClause>> booleanOccurrences;
+    private Csp shared;
 
     private Csp() {
         this.internalIntegerVariables = new LinkedHashSet<>();
@@ -27,6 +40,7 @@ public class Csp {
         this.visibleBooleanVariables = new LinkedHashSet<>();
         this.clauses = new LinkedHashSet<>();
         this.propagateSubstitutions = new IntegerVariableSubstitution();
+        this.eliminations = new LinkedHashMap<>();
     }
 
     private Csp(final Csp other) {
@@ -36,6 +50,20 @@ public class Csp {
         this.visibleBooleanVariables = new LinkedHashSet<>(other.visibleBooleanVariables);
         this.clauses = new LinkedHashSet<>(other.clauses);
         this.propagateSubstitutions = new IntegerVariableSubstitution(other.propagateSubstitutions);
+        this.eliminations = new LinkedHashMap<>(other.eliminations);
+    }
+
+    private static Csp sharing(final Csp other) {
+        final Csp csp = new Csp();
+        csp.internalIntegerVariables = new SharedSet<>(other.internalIntegerVariables);
+        csp.visibleIntegerVariables = new SharedSet<>(other.visibleIntegerVariables);
+        csp.internalBooleanVariables = new SharedSet<>(other.internalBooleanVariables);
+        csp.visibleBooleanVariables = new SharedSet<>(other.visibleBooleanVariables);
+        csp.clauses = new SharedSet<>(other.clauses);
+        csp.propagateSubstitutions = other.propagateSubstitutions;
+        csp.eliminations = other.eliminations;
+        csp.shared = other.shared != null ? other.shared : other;
+        return csp;
     }
 
     /**
@@ -106,6 +134,78 @@ public class Csp {
         return propagateSubstitutions;
     }
 
+    /**
+     * Returns the variables eliminated from this problem together with their definitions. The definitions only
+     * contain variables which are not eliminated and are used to reconstruct the values of eliminated variables
+     * when decoding a model.
+     * @return the eliminated variables and their definitions
+     */
+    public Map<IntegerVariable, LinearExpression> getEliminations() {
+        return eliminations;
+    }
+
+    /**
+     * Returns the clauses in which an integer variable occurs.
+     * <p>
+     * The occurrences of all variables are computed on the first call and cached, so further calls are a lookup. If
+     * this problem shares its clauses with another problem (see {@link Builder#sharing(Csp)}), only the occurrences
+     * in the changed clauses are computed and the occurrences of the shared clauses are looked up in the other
+     * problem.
+     * @param variable the integer variable
+     * @return the clauses containing {@code variable}
+     */
+    public synchronized Set<IntegerClause> getClausesOf(final IntegerVariable variable) {
+        computeOccurrences();
+        final Set<IntegerClause> occurrences = integerOccurrences.getOrDefault(variable, Collections.emptySet());
+        return shared == null ? occurrences : mergeOccurrences(shared.getClausesOf(variable), occurrences);
+    }
+
+    /**
+     * Returns the clauses in which a boolean variable occurs, positive or negative.
+     * <p>
+     * The occurrences of all variables are computed on the first call and cached, so further calls are a lookup. If
+     * this problem shares its clauses with another problem (see {@link Builder#sharing(Csp)}), only the occurrences
+     * in the changed clauses are computed and the occurrences of the shared clauses are looked up in the other
+     * problem.
+     * @param variable the boolean variable
+     * @return the clauses containing {@code variable}
+     */
+    public synchronized Set<IntegerClause> getClausesOf(final Variable variable) {
+        computeOccurrences();
+        final Set<IntegerClause> occurrences = booleanOccurrences.getOrDefault(variable, Collections.emptySet());
+        return shared == null ? occurrences : mergeOccurrences(shared.getClausesOf(variable), occurrences);
+    }
+
+    private Set<IntegerClause> mergeOccurrences(final Set<IntegerClause> sharedOccurrences,
+                                                final Set<IntegerClause> addedOccurrences) {
+        final Set<IntegerClause> occurrences = new LinkedHashSet<>();
+        for (final IntegerClause clause : sharedOccurrences) {
+            if (clauses.contains(clause)) {
+                occurrences.add(clause);
+            }
+        }
+        occurrences.addAll(addedOccurrences);
+        return occurrences;
+    }
+
+    private void computeOccurrences() {
+        if (integerOccurrences != null) {
+            return;
+        }
+        integerOccurrences = new HashMap<>();
+        booleanOccurrences = new HashMap<>();
+        for (final IntegerClause clause : shared == null ? clauses : ((SharedSet<IntegerClause>) clauses).added) {
+            for (final ArithmeticLiteral literal : clause.getArithmeticLiterals()) {
+                for (final IntegerVariable v : literal.getVariables()) {
+                    integerOccurrences.computeIfAbsent(v, k -> new LinkedHashSet<>()).add(clause);
+                }
+            }
+            for (final Literal literal : clause.getBoolLiterals()) {
+                booleanOccurrences.computeIfAbsent(literal.variable(), k -> new LinkedHashSet<>()).add(clause);
+            }
+        }
+    }
+
     @Override
     public String toString() {
         return "Csp{" +
@@ -114,6 +214,7 @@ public class Csp {
                 ", visibleBooleanVariables=" + visibleBooleanVariables +
                 ", internBooleanVariables=" + internalBooleanVariables +
                 ", propagateSubstitutions=" + propagateSubstitutions +
+                ", eliminations=" + eliminations +
                 ", clauses=" + clauses +
                 '}';
     }
@@ -195,6 +296,24 @@ public class Csp {
             this.csp = new Csp(csp);
         }
 
+        /**
+         * Constructs a new CSP builder which shares the clauses and variables of a CSP problem instead of copying
+         * them.
+         * <p>
+         * Clauses and variables added to or removed from the builder are recorded separately from the shared ones, so
+         * constructing the builder takes constant time and changes take time proportional to the changed elements.
+         * The occurrence lists of the built problem are derived from the ones of {@code csp} (see
+         * {@link Csp#getClausesOf}). The substitutions and eliminations are shared as well until they are replaced.
+         * The collections of {@code csp} must not be modified afterwards.
+         * @param csp the CSP problem
+         * @return the new builder
+         */
+        public static Builder sharing(final Csp csp) {
+            final Builder builder = new Builder();
+            builder.csp = Csp.sharing(csp);
+            return builder;
+        }
+
         /**
          * Adds a clause.
          * @param clause the clause
@@ -205,6 +324,46 @@ public class Csp {
             return this;
         }
 
+        /**
+         * Removes a clause.
+         * @param clause the clause
+         * @return this builder
+         */
+        public Builder removeClause(final IntegerClause clause) {
+            this.csp.clauses.remove(clause);
+            return this;
+        }
+
+        /**
+         * Adds a clause and registers its integer and boolean variables as internal variables.
+         * @param clause the clause
+         * @return this builder
+         */
+        public Builder addClauseWithVariables(final IntegerClause clause) {
+            csp.clauses.add(clause);
+            for (final ArithmeticLiteral literal : clause.getArithmeticLiterals()) {
+                csp.internalIntegerVariables.addAll(literal.getVariables());
+            }
+            for (final Literal literal : clause.getBoolLiterals()) {
+                csp.internalBooleanVariables.add(literal.variable());
+            }
+            return this;
+        }
+
+        /**
+         * Adds all clauses of a decomposition and registers their variables as internal variables. The clauses are
+         * not copied into an intermediate decomposition, so this method can be used as a sink for decomposing
+         * formulas directly into a CSP problem.
+         * @param decomposition the decomposition
+         * @return this builder
+         */
+        public Builder addDecomposition(final CspPredicate.Decomposition decomposition) {
+            for (final IntegerClause clause : decomposition.getClauses()) {
+                addClauseWithVariables(clause);
+            }
+            return this;
+        }
+
         /**
          * Replaces all clauses with new clauses.
          * @param clauses the new clauses
@@ -212,6 +371,7 @@ public class Csp {
          */
         public Builder updateClauses(final Set<IntegerClause> clauses) {
             csp.clauses = clauses;
+            csp.shared = null;
             return this;
         }
 
@@ -265,6 +425,16 @@ public class Csp {
             return this;
         }
 
+        /**
+         * Replaces the eliminated variables and their definitions.
+         * @param eliminations the new eliminated variables and their definitions
+         * @return this builder
+         */
+        public Builder updateEliminations(final Map<IntegerVariable, LinearExpression> eliminations) {
+            csp.eliminations = eliminations;
+            return this;
+        }
+
         /**
          * Adds an internal integer variable.
          * @param v the variable
@@ -378,4 +548,112 @@ public class Csp {
             return csp.toString();
         }
     }
+
+    /**
+     * A set sharing the elements of another set which is not modified. Elements added to or removed from this set
+     * are recorded separately.
+     * @param <E> the type of the elements
+     */
+    private static final class SharedSet<E> extends AbstractSet<E> {
+        private final Set<E> base;
+        private final Set<Object> removed;
+        private final Set<E> added;
+
+        private SharedSet(final Set<E> set) {
+            if (set instanceof SharedSet) {
+                final SharedSet<E> other = (SharedSet<E>) set;
+                base = other.base;
+                removed = new HashSet<>(other.removed);
+                added = new LinkedHashSet<>(other.added);
+            } else {
+                base = set;
+                removed = new HashSet<>();
+                added = new LinkedHashSet<>();
+            }
+        }
+
+        @Override
+        public boolean contains(final Object o) {
+            return added.contains(o) || (base.contains(o) && !removed.contains(o));
+        }
+
+        @Override
+        public boolean add(final E e) {
+            if (base.contains(e)) {
+                return removed.remove(e);
+            }
+            return added.add(e);
+        }
+
+        @Override
+        public boolean remove(final Object o) {
+            if (added.remove(o)) {
+                return true;
+            }
+            return base.contains(o) && removed.add(o);
+        }
+
+        @Override
+        public int size() {
+            return base.size() - removed.size() + added.size();
+        }
+
+        @Override
+        public Iterator<E> iterator() {
+            return new SharedIterator();
+        }
+
+        private final class SharedIterator implements Iterator<E> {
+            private final Iterator<E> baseIterator = base.iterator();
+            private final Iterator<E> addedIterator = added.iterator();
+            private E next;
+            private E last;
+            private boolean inBase = true;
+            private boolean lastInBase;
+
+            private SharedIterator() {
+                advance();
+            }
+
+            private void advance() {
+                while (baseIterator.hasNext()) {
+                    final E e = baseIterator.next();
+                    if (!removed.contains(e)) {
+                        next = e;
+                        return;
+                    }
+                }
+                inBase = false;
+            }
+
+            @Override
+            public boolean hasNext() {
+                return inBase || addedIterator.hasNext();
+            }
+
+            @Override
+            public E next() {
+                if (!hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                lastInBase = inBase;
+                if (inBase) {
+                    last = next;
+                    advance();
+                } else {
+                    last = addedIterator.next();
+                }
+                return last;
+            }
+
+            @Override
+            public void remove() {
+                if (lastInBase) {
+                    removed.add(last);
+                } else {
+                    addedIterator.remove();
+                }
+            }
+        }
+    }
 }
@@ -191,9 +191,8 @@ public class IntegerClause {
     /**
      * Combines two predicate decompositions by factorizing their clauses.
      * <p>
-     * This expresses a disjunction of two sets of clauses.
-     * <p>
-     * TODO: We could use Tseitin instead
+     * This expresses a disjunction of two sets of clauses. The number of clauses is the product of the number of
+     * clauses of both decompositions.
      * @param left  the left decomposition
      * @param right the right decomposition
      * @return the factorized decomposition.
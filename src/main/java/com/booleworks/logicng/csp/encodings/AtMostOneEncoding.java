@@ -0,0 +1,56 @@
+package com.booleworks.logicng.csp.encodings;
+
+import com.booleworks.logicng.formulas.FormulaFactory;
+import com.booleworks.logicng.formulas.Literal;
+import com.booleworks.logicng.formulas.Variable;
+
+import java.util.List;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
+
+/**
+ * A class grouping functions for encoding at-most-one constraints over boolean variables.
+ * <p>
+ * Up to {@link #MAX_PAIRWISE_SIZE} variables are encoded pairwise, more variables with a sequential counter. All
+ * clauses of both encodings are binary.
+ */
+public final class AtMostOneEncoding {
+    /**
+     * Maximum number of variables for which the at-most-one constraint is encoded pairwise.
+     */
+    public static final int MAX_PAIRWISE_SIZE = 4;
+
+    private AtMostOneEncoding() {
+    }
+
+    /**
+     * Encodes that at most one of the variables is true.
+     * @param vars         the variables
+     * @param clauses      destination for the binary clauses
+     * @param auxVariables destination for new auxiliary variables
+     * @param f            the formula factory
+     */
+    public static void encode(final List<Variable> vars, final BiConsumer<Literal, Literal> clauses,
+                              final Consumer<Variable> auxVariables, final FormulaFactory f) {
+        if (vars.size() <= MAX_PAIRWISE_SIZE) {
+            for (int i = 0; i < vars.size(); i++) {
+                for (int j = i + 1; j < vars.size(); j++) {
+                    clauses.accept(vars.get(i).negate(f), vars.get(j).negate(f));
+                }
+            }
+            return;
+        }
+        Variable s = f.newAuxVariable(CspEncodingContext.CSP_AUX_LNG_VARIABLE);
+        auxVariables.accept(s);
+        clauses.accept(vars.get(0).negate(f), s);
+        for (int i = 1; i < vars.size() - 1; i++) {
+            final Variable next = f.newAuxVariable(CspEncodingContext.CSP_AUX_LNG_VARIABLE);
+            auxVariables.accept(next);
+            clauses.accept(vars.get(i).negate(f), next);
+            clauses.accept(s.negate(f), next);
+            clauses.accept(vars.get(i).negate(f), s.negate(f));
+            s = next;
+        }
+        clauses.accept(vars.get(vars.size() - 1).negate(f), s.negate(f));
+    }
+}
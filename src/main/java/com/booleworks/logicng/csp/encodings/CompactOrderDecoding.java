@@ -4,6 +4,7 @@ import com.booleworks.logicng.csp.CspFactory;
 import com.booleworks.logicng.csp.datastructures.Csp;
 import com.booleworks.logicng.csp.datastructures.CspAssignment;
 import com.booleworks.logicng.csp.datastructures.IntegerVariableSubstitution;
+import com.booleworks.logicng.csp.functions.CspElimination;
 import com.booleworks.logicng.csp.functions.IntegerVariablesFunction;
 import com.booleworks.logicng.csp.terms.IntegerVariable;
 import com.booleworks.logicng.datastructures.Assignment;
@@ -109,6 +110,8 @@ public class CompactOrderDecoding {
 
     /**
      * Decodes a problem that was encoded with the compact order encoding.
+     * <p>
+     * The values of variables eliminated by {@link CspElimination} are reconstructed from their definitions.
      * @param model   propositional model
      * @param csp     csp data structure
      * @param context the context
@@ -117,12 +120,22 @@ public class CompactOrderDecoding {
      */
     public static CspAssignment decode(final Assignment model, final Csp csp, final CompactOrderEncodingContext context,
                                        final CspFactory cf) {
-        return decode(model, csp.getVisibleIntegerVariables(), csp.getVisibleBooleanVariables(),
-                csp.getPropagateSubstitutions(), context, cf);
+        final CspAssignment decoded =
+                decode(model, CspElimination.decodedVariables(csp.getVisibleIntegerVariables(), csp),
+                        csp.getVisibleBooleanVariables(), csp.getPropagateSubstitutions(), context, cf);
+        return CspElimination.reconstruct(decoded, csp.getVisibleIntegerVariables(), csp);
     }
 
-    private static int decodeIntVar(final IntegerVariable var, final Assignment model,
-                                    final CompactOrderEncodingContext context) {
+    /**
+     * Decodes a single integer variable. If the variable is not encoded in the model, it will return any valid value
+     * of the variable.
+     * @param var     the integer variable to decode
+     * @param model   the propositional model
+     * @param context the context
+     * @return the decoded value
+     */
+    static int decodeIntVar(final IntegerVariable var, final Assignment model,
+                            final CompactOrderEncodingContext context) {
         if (context.isEncoded(var)) {
             final IntegerVariable adjusted = context.getAdjustedVariableOrSelf(var);
             final List<IntegerVariable> digits = context.getDigits(adjusted);
@@ -1,6 +1,7 @@
 package com.booleworks.logicng.csp.encodings;
 
 import com.booleworks.logicng.csp.CspFactory;
+import com.booleworks.logicng.csp.datastructures.LinearExpression;
 import com.booleworks.logicng.csp.datastructures.IntegerVariableSubstitution;
 import com.booleworks.logicng.csp.datastructures.domains.IntegerDomain;
 import com.booleworks.logicng.csp.terms.IntegerConstant;
@@ -31,6 +32,7 @@ public class CompactOrderEncodingContext implements CspEncodingContext {
     private final List<IntegerVariable> adjustedVariables;
     private final List<Variable> adjustedBoolVariables;
     private final List<IntegerVariable> ternarySimplificationVariables;
+    private final Map<LinearExpression, IntegerVariable> ternaryExpressions;
     private final List<IntegerVariable> rcspVariables;
     private final List<IntegerVariable> ccspVariables;
     private final List<Variable> ccspBoolVariables;
@@ -50,6 +52,7 @@ public class CompactOrderEncodingContext implements CspEncodingContext {
         this.adjustedVariables = new ArrayList<>();
         this.adjustedBoolVariables = new ArrayList<>();
         this.ternarySimplificationVariables = new ArrayList<>();
+        this.ternaryExpressions = new HashMap<>();
         this.rcspVariables = new ArrayList<>();
         this.ccspVariables = new ArrayList<>();
         this.ccspBoolVariables = new ArrayList<>();
@@ -70,6 +73,7 @@ public class CompactOrderEncodingContext implements CspEncodingContext {
         this.adjustedVariables = new ArrayList<>(context.adjustedVariables);
         this.adjustedBoolVariables = new ArrayList<>(context.adjustedBoolVariables);
         this.ternarySimplificationVariables = new ArrayList<>(context.ternarySimplificationVariables);
+        this.ternaryExpressions = new HashMap<>(context.ternaryExpressions);
         this.rcspVariables = new ArrayList<>(context.rcspVariables);
         this.ccspVariables = new ArrayList<>(context.ccspVariables);
         this.ccspBoolVariables = new ArrayList<>(context.ccspBoolVariables);
@@ -292,6 +296,25 @@ public class CompactOrderEncodingContext implements CspEncodingContext {
         return v;
     }
 
+    /**
+     * Associates a linear expression with the auxiliary variable replacing it in ternary literals.
+     * @param exp the linear expression
+     * @param v   the auxiliary variable
+     */
+    void addTernarySimplificationVariable(final LinearExpression exp, final IntegerVariable v) {
+        ternaryExpressions.put(exp, v);
+    }
+
+    /**
+     * Returns the auxiliary variable replacing a linear expression in ternary literals if the expression was already
+     * replaced with this context.
+     * @param exp the linear expression
+     * @return the auxiliary variable or {@code null} if the expression was not replaced yet
+     */
+    IntegerVariable getTernarySimplificationVariable(final LinearExpression exp) {
+        return ternaryExpressions.get(exp);
+    }
+
     /**
      * Returns auxiliary variables that are used to split arithmetic literals to ternary literals.
      * @return auxiliary variables for splitting arithmetic literals to ternary literals
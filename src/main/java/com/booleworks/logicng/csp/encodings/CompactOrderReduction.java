@@ -312,15 +312,19 @@ public class CompactOrderReduction {
         final LinearExpression.Builder normalized = exp.normalize();
         LinearExpression.Builder simplified = simplifyToTernary(normalized, clauses, auxiliaryVariables, context, cf);
         if (simplified.size() > 1) {
-            final IntegerVariable v =
-                    createAdjustedVariable(simplified.getDomain(), AUX_TERNARY, false, clauses, context, cf);
-            auxiliaryVariables.add(v);
-            final LinearExpression.Builder ls = new LinearExpression.Builder(v);
-            ls.subtract(simplified.build());
+            final LinearExpression sum = simplified.build();
+            IntegerVariable v = context.getTernarySimplificationVariable(sum);
+            if (v == null) {
+                v = createAdjustedVariable(sum.getDomain(), AUX_TERNARY, false, clauses, context, cf);
+                context.addTernarySimplificationVariable(sum, v);
+                auxiliaryVariables.add(v);
+                final LinearExpression.Builder ls = new LinearExpression.Builder(v);
+                ls.subtract(sum);
+                final LinearLiteral ll = new LinearLiteral(ls.build(), LinearLiteral.Operator.EQ);
+                final IntegerClause clause = new IntegerClause(ll);
+                clauses.add(clause);
+            }
             simplified = new LinearExpression.Builder(v);
-            final LinearLiteral ll = new LinearLiteral(ls.build(), LinearLiteral.Operator.EQ);
-            final IntegerClause clause = new IntegerClause(ll);
-            clauses.add(clause);
         }
         if (factor > 1) {
             simplified.multiply(factor);
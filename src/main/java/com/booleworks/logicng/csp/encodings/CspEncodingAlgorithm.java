@@ -12,4 +12,12 @@ public enum CspEncodingAlgorithm {
      * Compact order encoding
      */
     CompactOrder,
+    /**
+     * Direct encoding
+     */
+    Direct,
+    /**
+     * Hybrid encoding selecting order or compact order encoding per variable
+     */
+    Hybrid,
 }
@@ -48,6 +48,26 @@ public interface CspEncodingContext {
         return new OrderEncodingContext();
     }
 
+    /**
+     * Returns a new context for order encoding with custom thresholds for the reduction of linear expressions.
+     * @param maxLinearExpressionSize maximum domain size for linear expressions before they get simplified
+     * @param splits                  number of splits performed for simplifying linear expressions (at least 2)
+     * @return a new context for order encoding
+     */
+    static OrderEncodingContext order(final int maxLinearExpressionSize, final int splits) {
+        return new OrderEncodingContext(maxLinearExpressionSize, splits);
+    }
+
+    /**
+     * Returns a new context for the sparse order encoding. The sparse order encoding only encodes the thresholds of
+     * the integer variables that are referenced by the clauses. Decoded values are representatives of the intervals
+     * between these thresholds.
+     * @return a new context for the sparse order encoding
+     */
+    static OrderEncodingContext sparseOrder() {
+        return new OrderEncodingContext(OrderReduction.MAX_LINEAR_EXPRESSION_SIZE, OrderReduction.SPLITS, true);
+    }
+
     /**
      * Returns a new context for compact order encoding with the given base.
      * @param base the base of the encoding
@@ -56,4 +76,25 @@ public interface CspEncodingContext {
     static CompactOrderEncodingContext compactOrder(final int base) {
         return new CompactOrderEncodingContext(base);
     }
+
+    /**
+     * Returns a new context for direct encoding.
+     * @return a new context for direct encoding
+     */
+    static DirectEncodingContext direct() {
+        return new DirectEncodingContext();
+    }
+
+    /**
+     * Returns a new context for the hybrid encoding. Variables with at most {@code maxOrderDomainSize} values are
+     * encoded with the order encoding, larger variables with the compact order encoding with the given base.
+     * @param maxOrderDomainSize the maximum domain size of variables encoded with the order encoding
+     * @param base               the base of the compact order encoding
+     * @param channeling         whether order encoded variables occurring in constraints with compactly encoded
+     *                           variables are channeled instead of encoded compactly
+     * @return a new context for the hybrid encoding
+     */
+    static HybridEncodingContext hybrid(final int maxOrderDomainSize, final int base, final boolean channeling) {
+        return new HybridEncodingContext(maxOrderDomainSize, base, channeling);
+    }
 }
@@ -0,0 +1,860 @@
+package com.booleworks.logicng.csp.encodings;
+
+import com.booleworks.logicng.csp.datastructures.Csp;
+import com.booleworks.logicng.csp.datastructures.IntegerClause;
+import com.booleworks.logicng.csp.datastructures.LinearExpression;
+import com.booleworks.logicng.csp.datastructures.domains.IntegerDomain;
+import com.booleworks.logicng.csp.literals.ArithmeticLiteral;
+import com.booleworks.logicng.csp.literals.LinearLiteral;
+import com.booleworks.logicng.csp.literals.ProductLiteral;
+import com.booleworks.logicng.csp.terms.IntegerVariable;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.SortedMap;
+import java.util.TreeMap;
+
+/**
+ * A class grouping functions for estimating the size of an encoding without performing it.
+ * <p>
+ * For the order encoding, the estimator replays the order reduction and the recursion of the clause encoding on the
+ * domains of the variables and only counts the SAT variables and clauses which would be produced. No formulas or
+ * arithmetic clauses are created and no auxiliary variables are registered in a factory. The counts are exact up to
+ * clauses which the reduction would produce twice and which are only encoded once. For the sparse order encoding,
+ * the estimator additionally collects the referenced thresholds and counts their ladders instead of the full ones.
+ * <p>
+ * For the direct encoding, the estimator replays the splitting of long linear expressions and evaluates the
+ * arithmetic literals on all assignments of their variables, like the support encoding does. These counts are exact
+ * in the same sense.
+ * <p>
+ * For the compact order encoding, the counts are estimated from the number of digits of the variables and the
+ * structure of the arithmetic literals. They are not exact and are meant for comparing problems and bases. The
+ * hybrid encoding is estimated by selecting the encoding of each variable like the encoder does and by combining the
+ * order and compact order estimates of both parts. It is exact if no variable is encoded compactly.
+ */
+public class CspEncodingEstimator {
+    private static final String AUX_ESTIMATE = "@ESTIMATE_";
+
+    private CspEncodingEstimator() {
+    }
+
+    /**
+     * The estimated size of an encoding.
+     */
+    public static final class Estimate {
+        private final long variables;
+        private final long clauses;
+        private final boolean exact;
+        private final boolean limitExceeded;
+
+        private Estimate(final long variables, final long clauses, final boolean exact, final boolean limitExceeded) {
+            this.variables = variables;
+            this.clauses = clauses;
+            this.exact = exact;
+            this.limitExceeded = limitExceeded;
+        }
+
+        /**
+         * Returns the (estimated) number of SAT variables.
+         * @return the (estimated) number of SAT variables
+         */
+        public long getVariables() {
+            return variables;
+        }
+
+        /**
+         * Returns the (estimated) number of clauses.
+         * @return the (estimated) number of clauses
+         */
+        public long getClauses() {
+            return clauses;
+        }
+
+        /**
+         * Returns whether the counts are exact (up to duplicate clauses) or only estimated.
+         * @return whether the counts are exact
+         */
+        public boolean isExact() {
+            return exact;
+        }
+
+        /**
+         * Returns whether the estimation was aborted because the clause limit was exceeded. In this case the counts
+         * are lower bounds.
+         * @return whether the clause limit was exceeded
+         */
+        public boolean isLimitExceeded() {
+            return limitExceeded;
+        }
+
+        @Override
+        public String toString() {
+            return "Estimate{variables=" + variables + ", clauses=" + clauses + ", exact=" + exact +
+                    ", limitExceeded=" + limitExceeded + "}";
+        }
+    }
+
+    /**
+     * Estimates the size of the encoding of a problem with the algorithm and the parameters of the given context.
+     * The context is not modified.
+     * @param csp     the problem
+     * @param context the encoding context
+     * @return the estimated size
+     */
+    public static Estimate estimate(final Csp csp, final CspEncodingContext context) {
+        return estimate(csp, context, Long.MAX_VALUE);
+    }
+
+    /**
+     * Estimates the size of the encoding of a problem with the algorithm and the parameters of the given context.
+     * The context is not modified. The estimation is aborted as soon as more than {@code clauseLimit} clauses are
+     * counted.
+     * @param csp         the problem
+     * @param context     the encoding context
+     * @param clauseLimit the maximum number of clauses
+     * @return the estimated size
+     */
+    public static Estimate estimate(final Csp csp, final CspEncodingContext context, final long clauseLimit) {
+        switch (context.getAlgorithm()) {
+            case Order:
+                final OrderEncodingContext orderContext = (OrderEncodingContext) context;
+                return estimateOrder(csp, orderContext.getMaxLinearExpressionSize(), orderContext.getSplits(),
+                        orderContext.isSparse(), clauseLimit);
+            case CompactOrder:
+                return estimateCompactOrder(csp, ((CompactOrderEncodingContext) context).getBase(), clauseLimit);
+            case Direct:
+                return estimateDirect(csp, clauseLimit);
+            case Hybrid:
+                final HybridEncodingContext hybridContext = (HybridEncodingContext) context;
+                return estimateHybrid(csp, hybridContext.getMaxOrderDomainSize(),
+                        hybridContext.getCompactOrderContext().getBase(), hybridContext.isChanneling(), clauseLimit);
+            default:
+                throw new UnsupportedOperationException(
+                        "Unsupported csp encoding algorithm for estimation: " + context.getAlgorithm());
+        }
+    }
+
+    /**
+     * Counts the SAT variables and clauses of the order encoding of a problem.
+     * @param csp                     the problem
+     * @param maxLinearExpressionSize maximum domain size for linear expressions before they get simplified
+     * @param splits                  number of splits performed for simplifying linear expressions
+     * @param clauseLimit             the maximum number of clauses before the estimation is aborted
+     * @return the estimated size
+     */
+    public static Estimate estimateOrder(final Csp csp, final int maxLinearExpressionSize, final int splits,
+                                         final long clauseLimit) {
+        return estimateOrder(csp, maxLinearExpressionSize, splits, false, clauseLimit);
+    }
+
+    /**
+     * Counts the SAT variables and clauses of the (sparse) order encoding of a problem.
+     * @param csp                     the problem
+     * @param maxLinearExpressionSize maximum domain size for linear expressions before they get simplified
+     * @param splits                  number of splits performed for simplifying linear expressions
+     * @param sparse                  whether only the referenced thresholds are encoded
+     * @param clauseLimit             the maximum number of clauses before the estimation is aborted
+     * @return the estimated size
+     */
+    public static Estimate estimateOrder(final Csp csp, final int maxLinearExpressionSize, final int splits,
+                                         final boolean sparse, final long clauseLimit) {
+        final OrderCounter counter = new OrderCounter(maxLinearExpressionSize, splits, sparse, clauseLimit);
+        for (final IntegerVariable v : csp.getInternalIntegerVariables()) {
+            counter.countVariable(v.getDomain());
+        }
+        for (final IntegerClause clause : csp.getClauses()) {
+            if (counter.limitExceeded()) {
+                break;
+            }
+            counter.countClause(clause);
+        }
+        counter.countSparseLadders();
+        return new Estimate(counter.variables, counter.clauses, true, counter.limitExceeded());
+    }
+
+    /**
+     * Counts the SAT variables and clauses of the direct encoding of a problem.
+     * @param csp         the problem
+     * @param clauseLimit the maximum number of clauses before the estimation is aborted
+     * @return the estimated size
+     */
+    public static Estimate estimateDirect(final Csp csp, final long clauseLimit) {
+        final DirectCounter counter = new DirectCounter(clauseLimit);
+        for (final IntegerVariable v : csp.getInternalIntegerVariables()) {
+            counter.countVariable(v.getDomain());
+        }
+        for (final IntegerClause clause : csp.getClauses()) {
+            if (counter.limitExceeded()) {
+                break;
+            }
+            counter.countClause(clause);
+        }
+        return new Estimate(counter.variables, counter.clauses, true, counter.limitExceeded());
+    }
+
+    /**
+     * Estimates the SAT variables and clauses of the compact order encoding of a problem.
+     * @param csp         the problem
+     * @param base        the base of the compact order encoding
+     * @param clauseLimit the maximum number of clauses before the estimation is aborted
+     * @return the estimated size
+     */
+    public static Estimate estimateCompactOrder(final Csp csp, final int base, final long clauseLimit) {
+        final CompactOrderCounter counter = new CompactOrderCounter(base);
+        for (final IntegerVariable v : csp.getInternalIntegerVariables()) {
+            counter.countVariable(v.getDomain());
+        }
+        for (final IntegerClause clause : csp.getClauses()) {
+            if (counter.clauses > clauseLimit) {
+                break;
+            }
+            counter.countClause(clause);
+        }
+        return new Estimate(counter.variables, counter.clauses, false, counter.clauses > clauseLimit);
+    }
+
+    /**
+     * Estimates the SAT variables and clauses of the hybrid encoding of a problem.
+     * <p>
+     * The encodings of the variables are selected like in {@link HybridEncoding}. The order encoded part is counted
+     * exactly with the default parameters of the order encoding, the compact part is estimated. Channeled variables
+     * are estimated by their compact representation and one compact comparison per channeling clause.
+     * @param csp                the problem
+     * @param maxOrderDomainSize the maximum domain size of variables encoded with the order encoding
+     * @param base               the base of the compact order encoding
+     * @param channeling         whether order encoded variables occurring in compactly encoded clauses are channeled
+     * @param clauseLimit        the maximum number of clauses before the estimation is aborted
+     * @return the estimated size
+     */
+    public static Estimate estimateHybrid(final Csp csp, final int maxOrderDomainSize, final int base,
+                                          final boolean channeling, final long clauseLimit) {
+        final Set<IntegerVariable> compactVariables = new HashSet<>();
+        for (final IntegerVariable v : csp.getInternalIntegerVariables()) {
+            if (v.getDomain().size() > maxOrderDomainSize) {
+                compactVariables.add(v);
+            }
+        }
+        for (final IntegerClause c : csp.getClauses()) {
+            for (final IntegerVariable v : variablesOf(c)) {
+                if (v.getDomain().size() > maxOrderDomainSize) {
+                    compactVariables.add(v);
+                }
+            }
+        }
+        final Set<IntegerClause> compactClauses = new LinkedHashSet<>();
+        boolean changed = true;
+        while (changed) {
+            changed = false;
+            for (final IntegerClause c : csp.getClauses()) {
+                if (compactClauses.contains(c) || Collections.disjoint(variablesOf(c), compactVariables)) {
+                    continue;
+                }
+                compactClauses.add(c);
+                changed = true;
+                if (!channeling) {
+                    compactVariables.addAll(variablesOf(c));
+                }
+            }
+        }
+        final OrderCounter orderCounter =
+                new OrderCounter(OrderReduction.MAX_LINEAR_EXPRESSION_SIZE, OrderReduction.SPLITS, false, clauseLimit);
+        final CompactOrderCounter compactCounter = new CompactOrderCounter(base);
+        final Set<IntegerVariable> channeledVariables = new HashSet<>();
+        for (final IntegerVariable v : csp.getInternalIntegerVariables()) {
+            if (compactVariables.contains(v)) {
+                compactCounter.countVariable(v.getDomain());
+            } else {
+                orderCounter.countVariable(v.getDomain());
+            }
+        }
+        for (final IntegerClause c : csp.getClauses()) {
+            if (add(orderCounter.clauses, compactCounter.clauses) > clauseLimit) {
+                break;
+            }
+            if (!compactClauses.contains(c)) {
+                orderCounter.countClause(c);
+                continue;
+            }
+            for (final IntegerVariable v : variablesOf(c)) {
+                if (!compactVariables.contains(v) && channeledVariables.add(v)) {
+                    compactCounter.countChanneling(v.getDomain());
+                }
+            }
+            compactCounter.countClause(c);
+        }
+        final long clauses = add(orderCounter.clauses, compactCounter.clauses);
+        return new Estimate(add(orderCounter.variables, compactCounter.variables), clauses,
+                compactVariables.isEmpty(), clauses > clauseLimit);
+    }
+
+    private static Set<IntegerVariable> variablesOf(final IntegerClause clause) {
+        final Set<IntegerVariable> variables = new LinkedHashSet<>();
+        for (final ArithmeticLiteral lit : clause.getArithmeticLiterals()) {
+            variables.addAll(lit.getVariables());
+        }
+        return variables;
+    }
+
+    private static long digitLadderVariables(final long range, final int base) {
+        final int digits = digits(range, base);
+        return add(mul(digits - 1, base - 1), topDigitRange(range, base, digits) - 1);
+    }
+
+    private static long digitLadderClauses(final long range, final int base) {
+        final int digits = digits(range, base);
+        return add(mul(digits - 1, Math.max(0, base - 2)), Math.max(0, topDigitRange(range, base, digits) - 2));
+    }
+
+    private static long topDigitRange(final long range, final int base, final int digits) {
+        long capacity = 1;
+        for (int i = 0; i < digits - 1; ++i) {
+            capacity = mul(capacity, base);
+        }
+        return (range + capacity - 1) / capacity;
+    }
+
+    private static int digits(final long range, final int base) {
+        int digits = 1;
+        long capacity = base;
+        while (capacity < range) {
+            capacity = mul(capacity, base);
+            ++digits;
+        }
+        return digits;
+    }
+
+    private static long range(final IntegerDomain domain) {
+        return (long) domain.ub() - domain.lb() + 1;
+    }
+
+    private static long add(final long a, final long b) {
+        final long r = a + b;
+        return r < 0 ? Long.MAX_VALUE : r;
+    }
+
+    private static long mul(final long a, final long b) {
+        if (a != 0 && b > Long.MAX_VALUE / a) {
+            return Long.MAX_VALUE;
+        }
+        return a * b;
+    }
+
+    /**
+     * Estimates the variables and clauses of the compact order encoding from the digits of the variables.
+     */
+    private static final class CompactOrderCounter {
+        private final int base;
+        private final long digitClauses;
+        private long variables;
+        private long clauses;
+
+        private CompactOrderCounter(final int base) {
+            this.base = base;
+            this.digitClauses = mul(2, mul(base, base));
+        }
+
+        private void countVariable(final IntegerDomain domain) {
+            variables = add(variables, digitLadderVariables(range(domain), base));
+            clauses = add(clauses, digitLadderClauses(range(domain), base));
+        }
+
+        private void countChanneling(final IntegerDomain domain) {
+            countVariable(domain);
+            final long channels = mul(2, Math.max(0, domain.size() - 1));
+            clauses = add(clauses, mul(channels, add(1, mul(digits(range(domain), base), base))));
+        }
+
+        private void countClause(final IntegerClause clause) {
+            if (clause.isValid()) {
+                return;
+            }
+            clauses = add(clauses, 1);
+            for (final ArithmeticLiteral lit : clause.getArithmeticLiterals()) {
+                if (lit instanceof LinearLiteral) {
+                    final LinearLiteral ll = (LinearLiteral) lit;
+                    final int factor = ll.getOperator() == LinearLiteral.Operator.LE ? 1 : 2;
+                    long range = 0;
+                    int terms = 0;
+                    for (final Map.Entry<IntegerVariable, Integer> e : ll.getSum().getCoef().entrySet()) {
+                        final long termRange = mul(Math.abs(e.getValue()), range(e.getKey().getDomain()));
+                        if (Math.abs(e.getValue()) > 1) {
+                            clauses = add(clauses, mul(factor, mul(digits(termRange, base), digitClauses)));
+                        }
+                        range = add(range, termRange);
+                        if (++terms > 1) {
+                            variables = add(variables, digitLadderVariables(range, base));
+                            clauses = add(clauses, digitLadderClauses(range, base));
+                        }
+                        clauses = add(clauses, mul(factor, mul(digits(range, base), add(digitClauses, base))));
+                    }
+                } else if (lit instanceof ProductLiteral) {
+                    final ProductLiteral pl = (ProductLiteral) lit;
+                    final int d1 = digits(range(pl.getV1().getDomain()), base);
+                    final int d2 = digits(range(pl.getV2().getDomain()), base);
+                    variables = add(variables, mul(d1 + d2, base - 1));
+                    clauses = add(clauses, mul(mul(d1, d2), mul(2, digitClauses)));
+                }
+            }
+        }
+    }
+
+    /**
+     * Replays the splitting and the support encoding of the direct encoding and counts the produced variables and
+     * clauses.
+     */
+    private static final class DirectCounter {
+        private final long clauseLimit;
+        private long variables;
+        private long clauses;
+        private int auxCounter;
+
+        private DirectCounter(final long clauseLimit) {
+            this.clauseLimit = clauseLimit;
+        }
+
+        private boolean limitExceeded() {
+            return clauses > clauseLimit;
+        }
+
+        private void countVariable(final IntegerDomain domain) {
+            final int n = domain.size();
+            variables = add(variables, n);
+            clauses = add(clauses, 1);
+            if (n <= AtMostOneEncoding.MAX_PAIRWISE_SIZE) {
+                clauses = add(clauses, (long) n * (n - 1) / 2);
+            } else {
+                variables = add(variables, n - 1);
+                clauses = add(clauses, 3L * n - 4);
+            }
+        }
+
+        private void countClause(final IntegerClause clause) {
+            final List<IntegerClause> split = new ArrayList<>();
+            final Set<ArithmeticLiteral> lits = new LinkedHashSet<>();
+            for (final ArithmeticLiteral lit : clause.getArithmeticLiterals()) {
+                if (lit instanceof LinearLiteral) {
+                    final LinearLiteral ll = (LinearLiteral) lit;
+                    lits.add(new LinearLiteral(splitLinearExpression(ll.getSum(), split), ll.getOperator()));
+                } else {
+                    lits.add(lit);
+                }
+            }
+            split.add(new IntegerClause(clause.getBoolLiterals(), lits));
+            for (final IntegerClause c : split) {
+                if (!c.isValid()) {
+                    countEncodeClause(c);
+                }
+            }
+        }
+
+        private LinearExpression splitLinearExpression(final LinearExpression exp, final List<IntegerClause> split) {
+            if (exp.size() <= DirectEncoding.MAX_ARITY) {
+                return exp;
+            }
+            final LinearExpression.Builder[] es = OrderReduction.split(exp, (exp.size() + 1) / 2);
+            final LinearExpression.Builder result = new LinearExpression.Builder(exp.getB());
+            for (final LinearExpression.Builder e : es) {
+                if (e.size() <= 1) {
+                    result.add(e.build());
+                    continue;
+                }
+                final int factor = e.factor();
+                if (factor > 1) {
+                    e.divide(factor);
+                }
+                final IntegerVariable v = IntegerVariable.auxVar(AUX_ESTIMATE + auxCounter++, e.getDomain());
+                countVariable(v.getDomain());
+                e.subtract(new LinearExpression(v));
+                split.add(new IntegerClause(new LinearLiteral(e.build(), LinearLiteral.Operator.EQ)));
+                result.add(new LinearExpression(factor, v, 0));
+            }
+            return splitLinearExpression(result.build(), split);
+        }
+
+        private void countEncodeClause(final IntegerClause clause) {
+            final List<ArithmeticLiteral> nonUnary = new ArrayList<>();
+            for (final ArithmeticLiteral lit : clause.getArithmeticLiterals()) {
+                if (lit.getVariables().size() > 1) {
+                    nonUnary.add(lit);
+                } else if (lit.getVariables().isEmpty() && lit.isValid()) {
+                    return;
+                }
+            }
+            if (nonUnary.size() == 1) {
+                countSupports(nonUnary.get(0));
+            } else {
+                for (final ArithmeticLiteral lit : nonUnary) {
+                    variables = add(variables, 1);
+                    countSupports(lit);
+                }
+                clauses = add(clauses, 1);
+            }
+        }
+
+        private void countSupports(final ArithmeticLiteral lit) {
+            final List<IntegerVariable> vars;
+            if (lit instanceof LinearLiteral) {
+                vars = List.of(((LinearLiteral) lit).getSum().getVariablesSorted());
+            } else if (lit instanceof ProductLiteral) {
+                final ProductLiteral pl = (ProductLiteral) lit;
+                vars = new ArrayList<>(new LinkedHashSet<>(List.of(pl.getV1(), pl.getV2(), pl.getV())));
+            } else {
+                throw new IllegalArgumentException("Invalid literal for direct encoding estimation: " + lit.getClass());
+            }
+            countSupports(lit, vars, 0, new HashMap<>());
+        }
+
+        private void countSupports(final ArithmeticLiteral lit, final List<IntegerVariable> vars, final int i,
+                                   final Map<IntegerVariable, Integer> assignment) {
+            if (limitExceeded()) {
+                return;
+            }
+            final IntegerVariable v = vars.get(i);
+            if (i == vars.size() - 1) {
+                for (final Iterator<Integer> it = v.getDomain().iterator(); it.hasNext(); ) {
+                    assignment.put(v, it.next());
+                    if (!DirectEncoding.evaluate(lit, assignment)) {
+                        clauses = add(clauses, 1);
+                        break;
+                    }
+                }
+            } else {
+                for (final Iterator<Integer> it = v.getDomain().iterator(); it.hasNext(); ) {
+                    assignment.put(v, it.next());
+                    countSupports(lit, vars, i + 1, assignment);
+                }
+            }
+            assignment.remove(v);
+        }
+    }
+
+    /**
+     * Replays the order reduction and encoding and counts the produced variables and clauses.
+     */
+    private static final class OrderCounter {
+        private static final int FALSE = 0;
+        private static final int TRUE = 1;
+        private static final int VAR = 2;
+
+        private final int maxLinearExpressionSize;
+        private final int splits;
+        private final boolean sparse;
+        private final long clauseLimit;
+        private final Map<LinearExpression, IntegerVariable> substitutions;
+        private final Map<IntegerVariable, Set<Integer>> thresholds;
+        private long variables;
+        private long clauses;
+        private int auxCounter;
+
+        private OrderCounter(final int maxLinearExpressionSize, final int splits, final boolean sparse,
+                             final long clauseLimit) {
+            this.maxLinearExpressionSize = maxLinearExpressionSize;
+            this.splits = splits;
+            this.sparse = sparse;
+            this.clauseLimit = clauseLimit;
+            this.substitutions = new HashMap<>();
+            this.thresholds = new HashMap<>();
+        }
+
+        private boolean limitExceeded() {
+            return clauses > clauseLimit;
+        }
+
+        private void countVariable(final IntegerDomain domain) {
+            if (sparse) {
+                return;
+            }
+            variables = add(variables, Math.max(0, domain.size() - 1));
+            clauses = add(clauses, Math.max(0, domain.size() - 2));
+        }
+
+        /**
+         * Counts the ladders of the sparse encoding. Each referenced threshold is a variable and the thresholds of an
+         * integer variable are connected by a chain of binary clauses.
+         */
+        private void countSparseLadders() {
+            for (final Set<Integer> ladder : thresholds.values()) {
+                variables = add(variables, ladder.size());
+                clauses = add(clauses, ladder.size() - 1);
+            }
+        }
+
+        private void countClause(final IntegerClause clause) {
+            final List<ArithmeticLiteral> lits = new ArrayList<>();
+            for (final ArithmeticLiteral lit : clause.getArithmeticLiterals()) {
+                if (lit instanceof LinearLiteral) {
+                    final LinearLiteral ll = (LinearLiteral) lit;
+                    final LinearExpression sum = simplifyLinearExpression(new LinearExpression.Builder(ll.getSum()),
+                            true).build();
+                    lits.add(new LinearLiteral(sum, ll.getOperator()));
+                } else {
+                    lits.add(lit);
+                }
+            }
+            countSimplify(clause.getBoolLiterals().size(), lits);
+        }
+
+        private LinearExpression.Builder simplifyLinearExpression(final LinearExpression.Builder exp,
+                                                                  final boolean first) {
+            if (exp.size() <= 1 || !exp.isDomainLargerThan(maxLinearExpressionSize)) {
+                return exp;
+            }
+            final int b = exp.getB();
+            final LinearExpression.Builder[] es = OrderReduction.split(exp.build(), first ? 3 : splits);
+            final LinearExpression.Builder result = new LinearExpression.Builder(b);
+            for (final LinearExpression.Builder eMut : es) {
+                final int factor = eMut.factor();
+                if (factor > 1) {
+                    eMut.divide(factor);
+                }
+                LinearExpression.Builder simplified = simplifyLinearExpression(eMut, false);
+                if (simplified.size() > 1) {
+                    simplified = substitute(simplified.build());
+                }
+                if (factor > 1) {
+                    simplified.multiply(factor);
+                }
+                result.add(simplified.build());
+            }
+            return result;
+        }
+
+        private LinearExpression.Builder substitute(final LinearExpression exp) {
+            final IntegerVariable known = substitutions.get(exp);
+            if (known != null) {
+                return new LinearExpression.Builder(known);
+            }
+            final IntegerVariable negated = substitutions.get(LinearExpression.multiply(exp, -1));
+            if (negated != null) {
+                return new LinearExpression.Builder(negated).multiply(-1);
+            }
+            final IntegerDomain domain = exp.getDomain();
+            final IntegerVariable v = IntegerVariable.auxVar(AUX_ESTIMATE + auxCounter++, domain);
+            substitutions.put(exp, v);
+            countVariable(domain);
+            final LinearExpression.Builder definition = new LinearExpression.Builder(exp);
+            definition.subtract(new LinearExpression(v));
+            countSimplify(0, List.of(new LinearLiteral(definition.build(), LinearLiteral.Operator.EQ)));
+            return new LinearExpression.Builder(v);
+        }
+
+        private void countSimplify(final int boolLiterals, final List<ArithmeticLiteral> lits) {
+            for (final ArithmeticLiteral lit : lits) {
+                if (lit.isValid()) {
+                    return;
+                }
+            }
+            final List<ArithmeticLiteral> simple = new ArrayList<>();
+            final List<ArithmeticLiteral> nonSimple = new ArrayList<>();
+            for (final ArithmeticLiteral lit : lits) {
+                if (OrderEncoding.isSimpleLiteral(lit)) {
+                    simple.add(lit);
+                } else {
+                    nonSimple.add(lit);
+                }
+            }
+            if (nonSimple.size() <= 1) {
+                countToLinearLe(boolLiterals, simple, nonSimple.isEmpty() ? null : nonSimple.get(0));
+            } else {
+                for (final ArithmeticLiteral lit : nonSimple) {
+                    variables = add(variables, 1);
+                    countToLinearLe(1, Collections.emptyList(), lit);
+                }
+                countToLinearLe(boolLiterals + nonSimple.size(), simple, null);
+            }
+        }
+
+        private void countToLinearLe(final int boolLiterals, final List<ArithmeticLiteral> simple,
+                                     final ArithmeticLiteral nonSimple) {
+            if (nonSimple == null) {
+                countEncodeClause(boolLiterals, simple, null);
+            } else if (nonSimple instanceof LinearLiteral) {
+                final LinearLiteral literal = (LinearLiteral) nonSimple;
+                switch (literal.getOperator()) {
+                    case LE:
+                        countEncodeClause(boolLiterals, simple, literal);
+                        break;
+                    case EQ:
+                        countEncodeClause(boolLiterals, simple,
+                                new LinearLiteral(literal.getSum(), LinearLiteral.Operator.LE));
+                        countEncodeClause(boolLiterals, simple,
+                                new LinearLiteral(LinearExpression.multiply(literal.getSum(), -1),
+                                        LinearLiteral.Operator.LE));
+                        break;
+                    case NE:
+                        final LinearExpression.Builder ls1 = new LinearExpression.Builder(literal.getSum());
+                        ls1.setB(ls1.getB() + 1);
+                        final LinearExpression.Builder ls2 = new LinearExpression.Builder(literal.getSum());
+                        ls2.multiply(-1);
+                        ls2.setB(ls2.getB() + 1);
+                        final List<ArithmeticLiteral> lits = new ArrayList<>(simple);
+                        lits.add(new LinearLiteral(ls1.build(), LinearLiteral.Operator.LE));
+                        lits.add(new LinearLiteral(ls2.build(), LinearLiteral.Operator.LE));
+                        final List<ArithmeticLiteral> newSimple = new ArrayList<>();
+                        int selectors = 0;
+                        for (final ArithmeticLiteral lit : lits) {
+                            if (OrderEncoding.isSimpleLiteral(lit)) {
+                                newSimple.add(lit);
+                            } else {
+                                ++selectors;
+                                variables = add(variables, 1);
+                                countEncodeClause(1, Collections.emptyList(), (LinearLiteral) lit);
+                            }
+                        }
+                        countEncodeClause(boolLiterals + selectors, newSimple, null);
+                        break;
+                    default:
+                        throw new IllegalArgumentException("Invalid operator of linear expression for order " +
+                                "encoding estimation: " + literal.getOperator());
+                }
+            } else if (nonSimple instanceof ProductLiteral) {
+                final ProductLiteral literal = (ProductLiteral) nonSimple;
+                final IntegerVariable v = literal.getV();
+                final IntegerVariable v1 = literal.getV1();
+                final IntegerVariable v2 = literal.getV2();
+                final IntegerVariable sv = v1.getDomain().size() <= v2.getDomain().size() ? v1 : v2;
+                final IntegerVariable lv = sv == v1 ? v2 : v1;
+                for (final Iterator<Integer> it = sv.getDomain().iterator(); it.hasNext(); ) {
+                    final int a = it.next();
+                    final List<ArithmeticLiteral> lits = new ArrayList<>(simple);
+                    lits.add(new LinearLiteral(new LinearExpression(1, sv, -a + 1), LinearLiteral.Operator.LE));
+                    lits.add(new LinearLiteral(new LinearExpression(-1, sv, a + 1), LinearLiteral.Operator.LE));
+                    final SortedMap<IntegerVariable, Integer> ls1Coefs = new TreeMap<>();
+                    ls1Coefs.put(v, -1);
+                    ls1Coefs.put(lv, a);
+                    final SortedMap<IntegerVariable, Integer> ls2Coefs = new TreeMap<>();
+                    ls2Coefs.put(v, 1);
+                    ls2Coefs.put(lv, -a);
+                    countEncodeClause(boolLiterals, lits,
+                            new LinearLiteral(new LinearExpression(ls1Coefs, 0), LinearLiteral.Operator.LE));
+                    countEncodeClause(boolLiterals, lits,
+                            new LinearLiteral(new LinearExpression(ls2Coefs, 0), LinearLiteral.Operator.LE));
+                }
+            } else {
+                throw new IllegalArgumentException(
+                        "Invalid literal for order encoding estimation: " + nonSimple.getClass());
+            }
+        }
+
+        private void countEncodeClause(final int boolLiterals, final List<ArithmeticLiteral> simple,
+                                       final LinearLiteral lit) {
+            for (final ArithmeticLiteral l : simple) {
+                if (l.isValid()) {
+                    return;
+                }
+            }
+            if (lit != null && lit.isValid()) {
+                return;
+            }
+            boolean hasTrue = false;
+            for (final ArithmeticLiteral l : simple) {
+                hasTrue |= code((LinearLiteral) l) == TRUE;
+            }
+            if (hasTrue && !sparse) {
+                return;
+            }
+            if (lit == null || OrderEncoding.isSimpleLiteral(lit)) {
+                if ((lit == null || code(lit) != TRUE) && !hasTrue) {
+                    clauses = add(clauses, 1);
+                }
+            } else {
+                final LinearExpression ls = lit.getSum();
+                countLinearExpression(ls, ls.getVariablesSorted(), 0, ls.getB(), hasTrue);
+            }
+        }
+
+        /**
+         * Replays the recursion of the encoding of a linear literal. A satisfied prefix means that the clauses of
+         * this branch are dropped. Such branches are only replayed for the sparse encoding, since they still
+         * reference thresholds.
+         */
+        private void countLinearExpression(final LinearExpression exp, final IntegerVariable[] vs, final int i,
+                                           final int s, final boolean satisfied) {
+            if (limitExceeded() || satisfied && !sparse) {
+                return;
+            }
+            if (i >= vs.length - 1) {
+                if (codeLE(vs[i], exp.getA(vs[i]), -s) != TRUE && !satisfied) {
+                    clauses = add(clauses, 1);
+                }
+                return;
+            }
+            int lb0 = s;
+            for (int j = i + 1; j < vs.length; ++j) {
+                final int a = exp.getA(vs[j]);
+                if (a > 0) {
+                    lb0 += a * vs[j].getDomain().lb();
+                } else {
+                    lb0 += a * vs[j].getDomain().ub();
+                }
+            }
+            final int a = exp.getA(vs[i]);
+            final IntegerDomain domain = vs[i].getDomain();
+            int lb = domain.lb();
+            int ub = domain.ub();
+            if (a >= 0) {
+                if (-lb0 >= 0) {
+                    ub = Math.min(ub, -lb0 / a);
+                } else {
+                    ub = Math.min(ub, (-lb0 - a + 1) / a);
+                }
+                for (final Iterator<Integer> it = domain.values(lb, ub); it.hasNext(); ) {
+                    final int c = it.next();
+                    countLinearExpression(exp, vs, i + 1, s + a * c, satisfied || codeLE(vs[i], c - 1) == TRUE);
+                }
+                countLinearExpression(exp, vs, i + 1, s + a * (ub + 1), satisfied || codeLE(vs[i], ub) == TRUE);
+            } else {
+                if (-lb0 >= 0) {
+                    lb = Math.max(lb, -lb0 / a);
+                } else {
+                    lb = Math.max(lb, (-lb0 + a + 1) / a);
+                }
+                countLinearExpression(exp, vs, i + 1, s + a * (lb - 1), satisfied || codeLE(vs[i], lb - 1) == FALSE);
+                for (final Iterator<Integer> it = domain.values(lb, ub); it.hasNext(); ) {
+                    final int c = it.next();
+                    countLinearExpression(exp, vs, i + 1, s + a * c, satisfied || codeLE(vs[i], c) == FALSE);
+                }
+            }
+        }
+
+        private int code(final LinearLiteral lit) {
+            final LinearExpression sum = lit.getSum();
+            if (sum.size() == 0) {
+                return sum.getB() <= 0 ? TRUE : FALSE;
+            }
+            final IntegerVariable v = sum.getCoef().firstKey();
+            return codeLE(v, sum.getA(v), -sum.getB());
+        }
+
+        private int codeLE(final IntegerVariable left, final int right) {
+            final IntegerDomain domain = left.getDomain();
+            if (right < domain.lb()) {
+                return FALSE;
+            } else if (right >= domain.ub()) {
+                return TRUE;
+            }
+            if (sparse) {
+                thresholds.computeIfAbsent(left, k -> new HashSet<>()).add(OrderEncoding.sizeLE(domain, right));
+            }
+            return VAR;
+        }
+
+        private int codeLE(final IntegerVariable left, final int a, final int b) {
+            if (a >= 0) {
+                final int c = b >= 0 ? b / a : (b - a + 1) / a;
+                return codeLE(left, c);
+            } else {
+                final int c = b >= 0 ? b / a - 1 : (b + a + 1) / a - 1;
+                final int code = codeLE(left, c);
+                return code == VAR ? VAR : (code == TRUE ? FALSE : TRUE);
+            }
+        }
+    }
+}
@@ -0,0 +1,153 @@
+package com.booleworks.logicng.csp.encodings;
+
+import com.booleworks.logicng.csp.datastructures.Csp;
+
+import java.util.List;
+
+/**
+ * A class grouping functions for automatically choosing the parameters of the order and compact order encoding.
+ * <p>
+ * The tuner estimates the size of the encoding (number of SAT variables plus number of clauses) for a set of
+ * candidate parameters and returns a context configured with the cheapest candidate. The sizes are computed by
+ * {@link CspEncodingEstimator}, i.e., no formulas or clauses are created.
+ */
+public class CspEncodingTuner {
+    /**
+     * Default candidates for the base of the compact order encoding.
+     */
+    public static final List<Integer> DEFAULT_BASES = List.of(2, 3, 4, 5, 8, 10, 16, 32, 64, 128);
+
+    /**
+     * Default candidates for the maximum domain size of linear expressions of the order encoding.
+     */
+    public static final List<Integer> DEFAULT_MAX_LINEAR_EXPRESSION_SIZES = List.of(256, 1024, 4096, 16384);
+
+    /**
+     * Default candidates for the number of splits of the order encoding.
+     */
+    public static final List<Integer> DEFAULT_SPLITS = List.of(2, 3, 4);
+
+    private CspEncodingTuner() {
+    }
+
+    /**
+     * Returns a new context with the estimated cheapest encoding for a problem. Candidates are the order encoding
+     * with all combinations of {@link #DEFAULT_MAX_LINEAR_EXPRESSION_SIZES} and {@link #DEFAULT_SPLITS} and the
+     * compact order encoding with all {@link #DEFAULT_BASES}.
+     * @param csp the problem
+     * @return a new context with the estimated cheapest encoding
+     */
+    public static CspEncodingContext tune(final Csp csp) {
+        final OrderEncodingContext order = tuneOrder(csp);
+        final CompactOrderEncodingContext compactOrder = tuneCompactOrder(csp);
+        final long orderCost = estimateOrder(csp, order.getMaxLinearExpressionSize(), order.getSplits());
+        final long compactOrderCost = estimateCompactOrder(csp, compactOrder.getBase());
+        return orderCost <= compactOrderCost ? order : compactOrder;
+    }
+
+    /**
+     * Returns a new order encoding context with the estimated best reduction thresholds from the default candidates.
+     * @param csp the problem
+     * @return a new order encoding context
+     */
+    public static OrderEncodingContext tuneOrder(final Csp csp) {
+        return tuneOrder(csp, DEFAULT_MAX_LINEAR_EXPRESSION_SIZES, DEFAULT_SPLITS);
+    }
+
+    /**
+     * Returns a new order encoding context with the estimated best reduction thresholds from the given candidates.
+     * @param csp                      the problem
+     * @param maxLinearExpressionSizes candidates for the maximum domain size of linear expressions
+     * @param splits                   candidates for the number of splits
+     * @return a new order encoding context
+     */
+    public static OrderEncodingContext tuneOrder(final Csp csp, final List<Integer> maxLinearExpressionSizes,
+                                                 final List<Integer> splits) {
+        if (maxLinearExpressionSizes.isEmpty() || splits.isEmpty()) {
+            throw new IllegalArgumentException("At least one candidate for each parameter is required");
+        }
+        int bestSize = maxLinearExpressionSizes.get(0);
+        int bestSplits = splits.get(0);
+        long bestCost = Long.MAX_VALUE;
+        for (final int size : maxLinearExpressionSizes) {
+            for (final int s : splits) {
+                final long cost = estimateOrder(csp, size, s, bestCost);
+                if (cost < bestCost) {
+                    bestCost = cost;
+                    bestSize = size;
+                    bestSplits = s;
+                }
+            }
+        }
+        return CspEncodingContext.order(bestSize, bestSplits);
+    }
+
+    /**
+     * Returns a new compact order encoding context with the estimated best base from the default candidates.
+     * @param csp the problem
+     * @return a new compact order encoding context
+     */
+    public static CompactOrderEncodingContext tuneCompactOrder(final Csp csp) {
+        return tuneCompactOrder(csp, DEFAULT_BASES);
+    }
+
+    /**
+     * Returns a new compact order encoding context with the estimated best base from the given candidates.
+     * @param csp   the problem
+     * @param bases candidates for the base
+     * @return a new compact order encoding context
+     */
+    public static CompactOrderEncodingContext tuneCompactOrder(final Csp csp, final List<Integer> bases) {
+        if (bases.isEmpty()) {
+            throw new IllegalArgumentException("At least one candidate for the base is required");
+        }
+        int bestBase = bases.get(0);
+        long bestCost = Long.MAX_VALUE;
+        for (final int base : bases) {
+            final long cost = estimateCompactOrder(csp, base, bestCost);
+            if (cost < bestCost) {
+                bestCost = cost;
+                bestBase = base;
+            }
+        }
+        return CspEncodingContext.compactOrder(bestBase);
+    }
+
+    /**
+     * Estimates the size (variables plus clauses) of the order encoding of a problem.
+     * @param csp                     the problem
+     * @param maxLinearExpressionSize the maximum domain size of linear expressions
+     * @param splits                  the number of splits
+     * @return the estimated size
+     */
+    public static long estimateOrder(final Csp csp, final int maxLinearExpressionSize, final int splits) {
+        return estimateOrder(csp, maxLinearExpressionSize, splits, Long.MAX_VALUE);
+    }
+
+    /**
+     * Estimates the size (variables plus clauses) of the compact order encoding of a problem.
+     * @param csp  the problem
+     * @param base the base
+     * @return the estimated size
+     */
+    public static long estimateCompactOrder(final Csp csp, final int base) {
+        return estimateCompactOrder(csp, base, Long.MAX_VALUE);
+    }
+
+    private static long estimateOrder(final Csp csp, final int maxLinearExpressionSize, final int splits,
+                                      final long limit) {
+        return cost(CspEncodingEstimator.estimateOrder(csp, maxLinearExpressionSize, splits, limit));
+    }
+
+    private static long estimateCompactOrder(final Csp csp, final int base, final long limit) {
+        return cost(CspEncodingEstimator.estimateCompactOrder(csp, base, limit));
+    }
+
+    private static long cost(final CspEncodingEstimator.Estimate estimate) {
+        if (estimate.isLimitExceeded()) {
+            return Long.MAX_VALUE;
+        }
+        final long cost = estimate.getVariables() + estimate.getClauses();
+        return cost < 0 ? Long.MAX_VALUE : cost;
+    }
+}
@@ -0,0 +1,137 @@
+package com.booleworks.logicng.csp.encodings;
+
+import com.booleworks.logicng.csp.CspFactory;
+import com.booleworks.logicng.csp.datastructures.Csp;
+import com.booleworks.logicng.csp.datastructures.CspAssignment;
+import com.booleworks.logicng.csp.datastructures.IntegerVariableSubstitution;
+import com.booleworks.logicng.csp.functions.CspElimination;
+import com.booleworks.logicng.csp.terms.IntegerVariable;
+import com.booleworks.logicng.datastructures.Assignment;
+import com.booleworks.logicng.formulas.Literal;
+import com.booleworks.logicng.formulas.Variable;
+import com.booleworks.logicng.util.Pair;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Class grouping functions for decoding problems encoded with the direct encoding.
+ */
+public class DirectDecoding {
+    private DirectDecoding() {
+    }
+
+    /**
+     * Decodes a problem that was encoded with the direct encoding.
+     * <p>
+     * It takes a propositional model {@code model} and a list of integer and boolean variables, which are the
+     * variables that should be decoded from {@code model}. Variables not contained in the model will be assigned to
+     * any valid value for this variable.
+     * <p>
+     * {@code propagateSubstitution} is used to resolve addition substitutions that were not done by the encoding.
+     * @param model                 propositional model
+     * @param integerVariables      included integer variables
+     * @param booleanVariables      included boolean variables
+     * @param propagateSubstitution extern substitutions
+     * @param context               the context
+     * @param cf                    the factory
+     * @return the decoded assignment
+     */
+    public static CspAssignment decode(final Assignment model, final Collection<IntegerVariable> integerVariables,
+                                       final Collection<Variable> booleanVariables,
+                                       final IntegerVariableSubstitution propagateSubstitution,
+                                       final DirectEncodingContext context,
+                                       final CspFactory cf) {
+        final CspAssignment result = new CspAssignment();
+        final Map<IntegerVariable, Integer> values = decodeValues(model, context);
+        for (final IntegerVariable v : integerVariables) {
+            final IntegerVariable substituted = propagateSubstitution.getOrSelf(v);
+            final Integer value = values.get(substituted);
+            result.addIntAssignment(v, value != null ? value : substituted.getDomain().lb());
+        }
+        for (final Variable v : booleanVariables) {
+            if (model.positiveVariables().contains(v)) {
+                result.addPos(v);
+            }
+            final Literal negV = v.negate(cf.getFormulaFactory());
+            if (model.negativeLiterals().contains(negV)) {
+                result.addNeg(negV);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Decodes a problem that was encoded with the direct encoding.
+     * <p>
+     * It takes a propositional model {@code model} and a list of integer and boolean variables, which are the
+     * variables that should be decoded from {@code model}. Variables not contained in the model will be assigned to
+     * any valid value for this variable.
+     * @param model            propositional model
+     * @param integerVariables included integer variables
+     * @param booleanVariables included boolean variables
+     * @param context          the context
+     * @param cf               the factory
+     * @return the decoded assignment
+     */
+    public static CspAssignment decode(final Assignment model, final Collection<IntegerVariable> integerVariables,
+                                       final Collection<Variable> booleanVariables,
+                                       final DirectEncodingContext context, final CspFactory cf) {
+        return decode(model, integerVariables, booleanVariables, new IntegerVariableSubstitution(), context, cf);
+    }
+
+    /**
+     * Decodes a problem that was encoded with the direct encoding.
+     * <p>
+     * It takes a propositional model {@code model} and a list of integer variables, which are the variables that
+     * should be decoded from {@code model}. Variables not contained in the model will be assigned to any valid value
+     * for this variable.
+     * @param model            propositional model
+     * @param integerVariables included integer variables
+     * @param context          the context
+     * @param cf               the factory
+     * @return the decoded assignment
+     */
+    public static CspAssignment decode(final Assignment model, final Collection<IntegerVariable> integerVariables,
+                                       final DirectEncodingContext context, final CspFactory cf) {
+        return decode(model, integerVariables, Collections.emptyList(), new IntegerVariableSubstitution(), context, cf);
+    }
+
+    /**
+     * Decodes a problem that was encoded with the direct encoding.
+     * <p>
+     * The values of variables eliminated by {@link CspElimination} are reconstructed from their definitions.
+     * @param model   propositional model
+     * @param csp     csp data structure
+     * @param context the context
+     * @param cf      the factory
+     * @return the decoded assignment
+     */
+    public static CspAssignment decode(final Assignment model, final Csp csp, final DirectEncodingContext context,
+                                       final CspFactory cf) {
+        final CspAssignment decoded =
+                decode(model, CspElimination.decodedVariables(csp.getVisibleIntegerVariables(), csp),
+                        csp.getVisibleBooleanVariables(), csp.getPropagateSubstitutions(), context, cf);
+        return CspElimination.reconstruct(decoded, csp.getVisibleIntegerVariables(), csp);
+    }
+
+    /**
+     * Collects the values of all integer variables with a true value variable in the model. Each value variable is
+     * resolved in constant time, so this is linear in the number of positive variables of the model.
+     * @param model   the propositional model
+     * @param context the context
+     * @return the mapping from integer variables to their values
+     */
+    static Map<IntegerVariable, Integer> decodeValues(final Assignment model, final DirectEncodingContext context) {
+        final Map<IntegerVariable, Integer> values = new HashMap<>();
+        for (final Variable v : model.positiveVariables()) {
+            final Pair<IntegerVariable, Integer> value = context.getValue(v);
+            if (value != null) {
+                values.put(value.getFirst(), value.getSecond());
+            }
+        }
+        return values;
+    }
+}
@@ -0,0 +1,291 @@
+package com.booleworks.logicng.csp.encodings;
+
+import com.booleworks.logicng.collections.LngVector;
+import com.booleworks.logicng.csp.CspFactory;
+import com.booleworks.logicng.csp.datastructures.Csp;
+import com.booleworks.logicng.csp.datastructures.IntegerClause;
+import com.booleworks.logicng.csp.datastructures.LinearExpression;
+import com.booleworks.logicng.csp.literals.ArithmeticLiteral;
+import com.booleworks.logicng.csp.literals.LinearLiteral;
+import com.booleworks.logicng.csp.literals.ProductLiteral;
+import com.booleworks.logicng.csp.terms.IntegerVariable;
+import com.booleworks.logicng.datastructures.EncodingResult;
+import com.booleworks.logicng.formulas.FormulaFactory;
+import com.booleworks.logicng.formulas.Literal;
+import com.booleworks.logicng.formulas.Variable;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * A class grouping functions for the direct encoding.
+ * <p>
+ * The direct encoding represents each value of an integer variable by a boolean variable. Exactly one of these
+ * value variables is true in each model. Arithmetic literals are encoded with support clauses: For each combination
+ * of values of all but the last variable of a literal, the clause enumerates the values of the last variable that
+ * satisfy the literal. For binary constraints this is the classical support encoding, which propagates
+ * disequalities much better than the order encoding.
+ * <p>
+ * The direct encoding is intended for variables with small domains. Linear expressions with more than
+ * {@link #MAX_ARITY} variables are split with auxiliary variables.
+ */
+public class DirectEncoding {
+    /**
+     * Maximum number of variables of an arithmetic literal before it gets split.
+     */
+    public static final int MAX_ARITY = 3;
+
+    /**
+     * Prefix for auxiliary variables used for simplifying linear expressions.
+     */
+    public static final String AUX_SIMPLE = "DE_SIMPLE";
+
+    private DirectEncoding() {
+    }
+
+    /**
+     * Encodes a CSP problem using the direct encoding.
+     * @param csp     the problem
+     * @param context the encoding context
+     * @param result  destination for the result
+     * @param cf      the factory
+     */
+    public static void encode(final Csp csp, final DirectEncodingContext context, final EncodingResult result,
+                              final CspFactory cf) {
+        for (final IntegerVariable v : csp.getInternalIntegerVariables()) {
+            encodeVariable(v, context, result, cf);
+        }
+        encodeClauses(csp.getClauses(), context, result, cf);
+    }
+
+    /**
+     * Encodes a single integer variable using the direct encoding.
+     * @param v       the integer variable
+     * @param context the encoding context
+     * @param result  destination for the result
+     * @param cf      the factory
+     */
+    public static void encodeVariable(final IntegerVariable v, final DirectEncodingContext context,
+                                      final EncodingResult result, final CspFactory cf) {
+        final FormulaFactory f = cf.getFormulaFactory();
+        final List<Variable> values = new ArrayList<>();
+        for (final Iterator<Integer> it = v.getDomain().iterator(); it.hasNext(); ) {
+            values.add(context.valueVariableInstance(v, it.next(), f));
+        }
+        writeClause(result, values);
+        AtMostOneEncoding.encode(values, (a, b) -> writeClause(result, a, b), aux -> {
+        }, f);
+    }
+
+    /**
+     * Encodes a set of arithmetic clauses using the direct encoding.
+     * @param clauses the set of clauses
+     * @param context the encoding context
+     * @param result  destination for the result
+     * @param cf      the factory
+     */
+    public static void encodeClauses(final Set<IntegerClause> clauses, final DirectEncodingContext context,
+                                     final EncodingResult result, final CspFactory cf) {
+        final List<IntegerVariable> auxVars = new ArrayList<>();
+        final Set<IntegerClause> reduced = split(clauses, auxVars, context, cf);
+        for (final IntegerVariable v : auxVars) {
+            encodeVariable(v, context, result, cf);
+        }
+        for (final IntegerClause c : reduced) {
+            if (!c.isValid()) {
+                encodeClause(c, context, result, cf);
+            }
+        }
+    }
+
+    /**
+     * <B>Directly</B> encodes (without splitting) an arithmetic clause using the direct encoding.
+     * @param cl      the arithmetic clause
+     * @param context the encoding context
+     * @param result  destination for the result
+     * @param cf      the factory
+     */
+    static void encodeClause(final IntegerClause cl, final DirectEncodingContext context, final EncodingResult result,
+                             final CspFactory cf) {
+        final FormulaFactory f = cf.getFormulaFactory();
+        final List<Literal> clause = new ArrayList<>(cl.getBoolLiterals());
+        final List<ArithmeticLiteral> nonUnary = new ArrayList<>();
+        for (final ArithmeticLiteral literal : cl.getArithmeticLiterals()) {
+            if (literal.getVariables().size() > 1) {
+                nonUnary.add(literal);
+            } else if (literal.getVariables().isEmpty()) {
+                if (literal.isValid()) {
+                    return;
+                }
+            } else {
+                final IntegerVariable v = literal.getVariables().iterator().next();
+                final Map<IntegerVariable, Integer> assignment = new HashMap<>();
+                for (final Iterator<Integer> it = v.getDomain().iterator(); it.hasNext(); ) {
+                    final int a = it.next();
+                    assignment.put(v, a);
+                    if (evaluate(literal, assignment)) {
+                        clause.add(context.valueVariableInstance(v, a, f));
+                    }
+                }
+            }
+        }
+        if (nonUnary.size() == 1) {
+            encodeSupports(nonUnary.get(0), clause, context, result, f);
+        } else {
+            for (final ArithmeticLiteral literal : nonUnary) {
+                final Variable p = context.newSimplifyBooleanVariable(f);
+                final List<Literal> prefix = new ArrayList<>();
+                prefix.add(p.negate(f));
+                encodeSupports(literal, prefix, context, result, f);
+                clause.add(p);
+            }
+            writeClause(result, clause);
+        }
+    }
+
+    private static void encodeSupports(final ArithmeticLiteral literal, final List<Literal> prefix,
+                                       final DirectEncodingContext context, final EncodingResult result,
+                                       final FormulaFactory f) {
+        final List<IntegerVariable> vars;
+        if (literal instanceof LinearLiteral) {
+            vars = List.of(((LinearLiteral) literal).getSum().getVariablesSorted());
+        } else if (literal instanceof ProductLiteral) {
+            final ProductLiteral pl = (ProductLiteral) literal;
+            vars = new ArrayList<>(new LinkedHashSet<>(List.of(pl.getV1(), pl.getV2(), pl.getV())));
+        } else {
+            throw new IllegalArgumentException("Invalid literal for direct encoding: " + literal.getClass());
+        }
+        encodeSupports(literal, vars, 0, new HashMap<>(), new ArrayList<>(prefix), context, result, f);
+    }
+
+    private static void encodeSupports(final ArithmeticLiteral literal, final List<IntegerVariable> vars, final int i,
+                                       final Map<IntegerVariable, Integer> assignment, final List<Literal> clause,
+                                       final DirectEncodingContext context, final EncodingResult result,
+                                       final FormulaFactory f) {
+        final IntegerVariable v = vars.get(i);
+        if (i == vars.size() - 1) {
+            final List<Literal> supports = new ArrayList<>(clause);
+            int numberOfSupports = 0;
+            for (final Iterator<Integer> it = v.getDomain().iterator(); it.hasNext(); ) {
+                final int a = it.next();
+                assignment.put(v, a);
+                if (evaluate(literal, assignment)) {
+                    supports.add(context.valueVariableInstance(v, a, f));
+                    ++numberOfSupports;
+                }
+            }
+            assignment.remove(v);
+            if (numberOfSupports < v.getDomain().size()) {
+                writeClause(result, supports);
+            }
+        } else {
+            for (final Iterator<Integer> it = v.getDomain().iterator(); it.hasNext(); ) {
+                final int a = it.next();
+                assignment.put(v, a);
+                clause.add(context.valueVariableInstance(v, a, f).negate(f));
+                encodeSupports(literal, vars, i + 1, assignment, clause, context, result, f);
+                clause.remove(clause.size() - 1);
+            }
+            assignment.remove(v);
+        }
+    }
+
+    /**
+     * Evaluates an arithmetic literal under a (complete) assignment of its variables.
+     * @param literal    the arithmetic literal
+     * @param assignment the assignment
+     * @return the value of the literal
+     */
+    static boolean evaluate(final ArithmeticLiteral literal, final Map<IntegerVariable, Integer> assignment) {
+        if (literal instanceof LinearLiteral) {
+            final LinearLiteral ll = (LinearLiteral) literal;
+            final LinearExpression sum = ll.getSum();
+            int value = sum.getB();
+            for (final Map.Entry<IntegerVariable, Integer> entry : sum.getCoef().entrySet()) {
+                value += entry.getValue() * assignment.get(entry.getKey());
+            }
+            switch (ll.getOperator()) {
+                case LE:
+                    return value <= 0;
+                case EQ:
+                    return value == 0;
+                case NE:
+                    return value != 0;
+                default:
+                    throw new RuntimeException("Unreachable code");
+            }
+        } else if (literal instanceof ProductLiteral) {
+            final ProductLiteral pl = (ProductLiteral) literal;
+            return assignment.get(pl.getV()) == assignment.get(pl.getV1()) * assignment.get(pl.getV2());
+        } else {
+            throw new IllegalArgumentException("Invalid literal for direct encoding: " + literal.getClass());
+        }
+    }
+
+    private static Set<IntegerClause> split(final Set<IntegerClause> clauses,
+                                            final List<IntegerVariable> newFrontierAuxVars,
+                                            final DirectEncodingContext context, final CspFactory cf) {
+        final Set<IntegerClause> newClauses = new LinkedHashSet<>();
+        for (final IntegerClause c : clauses) {
+            final Set<ArithmeticLiteral> newArithLits = new LinkedHashSet<>();
+            for (final ArithmeticLiteral al : c.getArithmeticLiterals()) {
+                if (al instanceof LinearLiteral) {
+                    final LinearLiteral ll = (LinearLiteral) al;
+                    final LinearExpression sum = splitLinearExpression(ll.getSum(), newClauses, newFrontierAuxVars,
+                            context, cf);
+                    newArithLits.add(new LinearLiteral(sum, ll.getOperator()));
+                } else {
+                    newArithLits.add(al);
+                }
+            }
+            newClauses.add(new IntegerClause(c.getBoolLiterals(), newArithLits));
+        }
+        return newClauses;
+    }
+
+    private static LinearExpression splitLinearExpression(final LinearExpression exp,
+                                                          final Set<IntegerClause> clauses,
+                                                          final List<IntegerVariable> newFrontierAuxVars,
+                                                          final DirectEncodingContext context, final CspFactory cf) {
+        if (exp.size() <= MAX_ARITY) {
+            return exp;
+        }
+        final LinearExpression.Builder[] es = OrderReduction.split(exp, (exp.size() + 1) / 2);
+        final LinearExpression.Builder result = new LinearExpression.Builder(exp.getB());
+        for (final LinearExpression.Builder e : es) {
+            if (e.size() <= 1) {
+                result.add(e.build());
+                continue;
+            }
+            final int factor = e.factor();
+            if (factor > 1) {
+                e.divide(factor);
+            }
+            final IntegerVariable v = context.newSimplifyIntVariable(e.getDomain(), cf);
+            newFrontierAuxVars.add(v);
+            e.subtract(new LinearExpression(v));
+            clauses.add(new IntegerClause(new LinearLiteral(e.build(), LinearLiteral.Operator.EQ)));
+            result.add(new LinearExpression(factor, v, 0));
+        }
+        return splitLinearExpression(result.build(), clauses, newFrontierAuxVars, context, cf);
+    }
+
+    private static void writeClause(final EncodingResult result, final Literal... literals) {
+        writeClause(result, Arrays.asList(literals));
+    }
+
+    private static void writeClause(final EncodingResult result, final Collection<? extends Literal> literals) {
+        final LngVector<Literal> vec = new LngVector<>();
+        for (final Literal literal : literals) {
+            vec.push(literal);
+        }
+        result.addClause(vec);
+    }
+}
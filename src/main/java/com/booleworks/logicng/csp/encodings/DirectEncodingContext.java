@@ -0,0 +1,153 @@
+package com.booleworks.logicng.csp.encodings;
+
+import com.booleworks.logicng.csp.CspFactory;
+import com.booleworks.logicng.csp.datastructures.domains.IntegerDomain;
+import com.booleworks.logicng.csp.terms.IntegerVariable;
+import com.booleworks.logicng.formulas.FormulaFactory;
+import com.booleworks.logicng.formulas.Variable;
+import com.booleworks.logicng.util.Pair;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.stream.Collectors;
+
+/**
+ * Encoding context for direct encoding.
+ * <p>
+ * In contrast to the order encoding, the boolean variables of an integer variable are indexed by the <I>value</I>
+ * they represent and not by the index of the value in the domain.
+ */
+public class DirectEncodingContext implements CspEncodingContext {
+    private final Map<IntegerVariable, Map<Integer, Variable>> variableMap;
+    private final Map<Variable, Pair<IntegerVariable, Integer>> valueMap;
+    private final List<Variable> simplifyBoolVariables;
+    private final List<IntegerVariable> simplifyIntVariables;
+
+    /**
+     * Constructs a new encoding context for direct encoding.
+     */
+    DirectEncodingContext() {
+        this.variableMap = new TreeMap<>();
+        this.valueMap = new HashMap<>();
+        this.simplifyBoolVariables = new ArrayList<>();
+        this.simplifyIntVariables = new ArrayList<>();
+    }
+
+    /**
+     * Copies the encoding context.
+     * @param context the context to copy
+     */
+    public DirectEncodingContext(final DirectEncodingContext context) {
+        this.variableMap = new TreeMap<>();
+        for (final Map.Entry<IntegerVariable, Map<Integer, Variable>> entry : context.variableMap.entrySet()) {
+            this.variableMap.put(entry.getKey(), new TreeMap<>(entry.getValue()));
+        }
+        this.valueMap = new HashMap<>(context.valueMap);
+        this.simplifyBoolVariables = new ArrayList<>(context.simplifyBoolVariables);
+        this.simplifyIntVariables = new ArrayList<>(context.simplifyIntVariables);
+    }
+
+    @Override
+    public CspEncodingAlgorithm getAlgorithm() {
+        return CspEncodingAlgorithm.Direct;
+    }
+
+    /**
+     * Creates and stores a new auxiliary variable used for simplifying linear expressions.
+     * @param domain the domain
+     * @param cf     the factory
+     * @return new auxiliary variable
+     */
+    IntegerVariable newSimplifyIntVariable(final IntegerDomain domain, final CspFactory cf) {
+        final IntegerVariable var = cf.auxVariable(DirectEncoding.AUX_SIMPLE, domain);
+        this.simplifyIntVariables.add(var);
+        return var;
+    }
+
+    /**
+     * Creates and stores a new boolean auxiliary variable for simplifying arithmetic clauses.
+     * @param f the factory
+     * @return new auxiliary variable
+     */
+    Variable newSimplifyBooleanVariable(final FormulaFactory f) {
+        final Variable var = f.newAuxVariable(CSP_AUX_LNG_VARIABLE);
+        this.simplifyBoolVariables.add(var);
+        return var;
+    }
+
+    /**
+     * Get or create the boolean variable representing that an integer variable takes a certain value.
+     * @param group the integer variable
+     * @param value the value
+     * @param f     the formula factory
+     * @return the boolean variable
+     */
+    Variable valueVariableInstance(final IntegerVariable group, final int value, final FormulaFactory f) {
+        final Map<Integer, Variable> intMap = this.variableMap.computeIfAbsent(group, k -> new TreeMap<>());
+        return intMap.computeIfAbsent(value, i -> {
+            final Variable var = f.newAuxVariable(CSP_AUX_LNG_VARIABLE);
+            this.valueMap.put(var, new Pair<>(group, value));
+            return var;
+        });
+    }
+
+    /**
+     * Returns the integer variable and the value represented by a boolean variable of this context or {@code null}
+     * if the boolean variable is not a value variable of this context.
+     * @param variable the boolean variable
+     * @return the integer variable and the value or {@code null}
+     */
+    Pair<IntegerVariable, Integer> getValue(final Variable variable) {
+        return this.valueMap.get(variable);
+    }
+
+    /**
+     * Returns the mapping between integer variables and their values and associated boolean variables.
+     * @return the mapping between integer variables and their values and associated boolean variables
+     */
+    public Map<IntegerVariable, Map<Integer, Variable>> getVariableMap() {
+        return Collections.unmodifiableMap(this.variableMap);
+    }
+
+    @Override
+    public Set<Variable> getSatVariables(final Collection<IntegerVariable> variables) {
+        return variables.stream().map(variableMap::get).filter(Objects::nonNull).flatMap(m -> m.values().stream())
+                .collect(Collectors.toSet());
+    }
+
+    @Override
+    public boolean isEncoded(final IntegerVariable v) {
+        return variableMap.containsKey(v);
+    }
+
+    /**
+     * Returns all integer variables encoded in this context.
+     * @return all integer variables encoded in this context
+     */
+    public Set<IntegerVariable> getIntegerVariables() {
+        return this.variableMap.keySet();
+    }
+
+    /**
+     * Returns all boolean auxiliary variables that are used for simplifications.
+     * @return all boolean auxiliary variables that are used for simplifications
+     */
+    public List<Variable> getSimplifyBoolVariables() {
+        return this.simplifyBoolVariables;
+    }
+
+    /**
+     * Returns all integer auxiliary variables that are used for simplifications.
+     * @return all integer auxiliary variables that are used for simplifications
+     */
+    public List<IntegerVariable> getSimplifyIntVariables() {
+        return this.simplifyIntVariables;
+    }
+}
@@ -0,0 +1,130 @@
+package com.booleworks.logicng.csp.encodings;
+
+import com.booleworks.logicng.csp.CspFactory;
+import com.booleworks.logicng.csp.datastructures.Csp;
+import com.booleworks.logicng.csp.datastructures.CspAssignment;
+import com.booleworks.logicng.csp.datastructures.IntegerVariableSubstitution;
+import com.booleworks.logicng.csp.functions.CspElimination;
+import com.booleworks.logicng.csp.terms.IntegerVariable;
+import com.booleworks.logicng.datastructures.Assignment;
+import com.booleworks.logicng.formulas.Literal;
+import com.booleworks.logicng.formulas.Variable;
+
+import java.util.Collection;
+import java.util.Collections;
+
+/**
+ * Class grouping functions for decoding problems encoded with the hybrid encoding.
+ */
+public class HybridDecoding {
+    private HybridDecoding() {
+    }
+
+    /**
+     * Decodes a problem that was encoded with the hybrid encoding.
+     * <p>
+     * It takes a propositional model {@code model} and a list of integer and boolean variables, which are the
+     * variables that should be decoded from {@code model}. Variables not contained in the model will be assigned to
+     * any valid value for this variable.
+     * <p>
+     * {@code propagateSubstitution} is used to resolve addition substitutions that were not done by the encoding.
+     * @param model                 propositional model
+     * @param integerVariables      included integer variables
+     * @param booleanVariables      included boolean variables
+     * @param propagateSubstitution extern substitutions
+     * @param context               the context
+     * @param cf                    the factory
+     * @return the decoded assignment
+     */
+    public static CspAssignment decode(final Assignment model, final Collection<IntegerVariable> integerVariables,
+                                       final Collection<Variable> booleanVariables,
+                                       final IntegerVariableSubstitution propagateSubstitution,
+                                       final HybridEncodingContext context,
+                                       final CspFactory cf) {
+        final CspAssignment result = new CspAssignment();
+        for (final IntegerVariable v : integerVariables) {
+            result.addIntAssignment(v, decodeIntVar(propagateSubstitution.getOrSelf(v), model, context));
+        }
+        for (final Variable v : booleanVariables) {
+            if (model.positiveVariables().contains(v)) {
+                result.addPos(v);
+            }
+            final Literal negV = v.negate(cf.getFormulaFactory());
+            if (model.negativeLiterals().contains(negV)) {
+                result.addNeg(negV);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Decodes a problem that was encoded with the hybrid encoding.
+     * <p>
+     * It takes a propositional model {@code model} and a list of integer and boolean variables, which are the
+     * variables that should be decoded from {@code model}. Variables not contained in the model will be assigned to
+     * any valid value for this variable.
+     * @param model            propositional model
+     * @param integerVariables included integer variables
+     * @param booleanVariables included boolean variables
+     * @param context          the context
+     * @param cf               the factory
+     * @return the decoded assignment
+     */
+    public static CspAssignment decode(final Assignment model, final Collection<IntegerVariable> integerVariables,
+                                       final Collection<Variable> booleanVariables,
+                                       final HybridEncodingContext context, final CspFactory cf) {
+        return decode(model, integerVariables, booleanVariables, new IntegerVariableSubstitution(), context, cf);
+    }
+
+    /**
+     * Decodes a problem that was encoded with the hybrid encoding.
+     * <p>
+     * It takes a propositional model {@code model} and a list of integer variables, which are the variables that
+     * should be decoded from {@code model}. Variables not contained in the model will be assigned to any valid value
+     * for this variable.
+     * @param model            propositional model
+     * @param integerVariables included integer variables
+     * @param context          the context
+     * @param cf               the factory
+     * @return the decoded assignment
+     */
+    public static CspAssignment decode(final Assignment model, final Collection<IntegerVariable> integerVariables,
+                                       final HybridEncodingContext context, final CspFactory cf) {
+        return decode(model, integerVariables, Collections.emptyList(), new IntegerVariableSubstitution(), context, cf);
+    }
+
+    /**
+     * Decodes a problem that was encoded with the hybrid encoding.
+     * <p>
+     * The values of variables eliminated by {@link CspElimination} are reconstructed from their definitions.
+     * @param model   propositional model
+     * @param csp     csp data structure
+     * @param context the context
+     * @param cf      the factory
+     * @return the decoded assignment
+     */
+    public static CspAssignment decode(final Assignment model, final Csp csp, final HybridEncodingContext context,
+                                       final CspFactory cf) {
+        final CspAssignment decoded =
+                decode(model, CspElimination.decodedVariables(csp.getVisibleIntegerVariables(), csp),
+                        csp.getVisibleBooleanVariables(), csp.getPropagateSubstitutions(), context, cf);
+        return CspElimination.reconstruct(decoded, csp.getVisibleIntegerVariables(), csp);
+    }
+
+    /**
+     * Decodes a single integer variable. Order encoded and channeled variables are decoded from the order encoding,
+     * all other variables from the compact order encoding. If the variable is not encoded in the model, it will
+     * return any valid value of the variable.
+     * @param var     the integer variable to decode
+     * @param model   the propositional model
+     * @param context the context
+     * @return the decoded value
+     */
+    static int decodeIntVar(final IntegerVariable var, final Assignment model, final HybridEncodingContext context) {
+        if (context.getOrderContext().isEncoded(var)) {
+            return OrderDecoding.decodeIntVar(var, model, context.getOrderContext());
+        } else {
+            return CompactOrderDecoding.decodeIntVar(var, model, context.getCompactOrderContext());
+        }
+    }
+}
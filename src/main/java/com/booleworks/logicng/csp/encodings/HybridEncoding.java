@@ -0,0 +1,219 @@
+package com.booleworks.logicng.csp.encodings;
+
+import com.booleworks.logicng.csp.CspFactory;
+import com.booleworks.logicng.csp.datastructures.Csp;
+import com.booleworks.logicng.csp.datastructures.IntegerClause;
+import com.booleworks.logicng.csp.datastructures.LinearExpression;
+import com.booleworks.logicng.csp.datastructures.domains.IntegerDomain;
+import com.booleworks.logicng.csp.literals.ArithmeticLiteral;
+import com.booleworks.logicng.csp.literals.LinearLiteral;
+import com.booleworks.logicng.csp.terms.IntegerVariable;
+import com.booleworks.logicng.datastructures.EncodingResult;
+import com.booleworks.logicng.formulas.FormulaFactory;
+import com.booleworks.logicng.formulas.Variable;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * A class grouping functions for the hybrid encoding.
+ * <p>
+ * The hybrid encoding uses the order encoding for integer variables with small and medium domains and the compact
+ * order encoding for integer variables with large domains. See {@link HybridEncodingContext} for details on the
+ * selection.
+ */
+public class HybridEncoding {
+    private HybridEncoding() {
+    }
+
+    /**
+     * Encodes a CSP problem using the hybrid encoding.
+     * @param csp     the problem
+     * @param context the encoding context
+     * @param result  destination for the result
+     * @param cf      the factory
+     */
+    public static void encode(final Csp csp, final HybridEncodingContext context, final EncodingResult result,
+                              final CspFactory cf) {
+        encodeIntern(csp.getInternalIntegerVariables(), csp.getClauses(), context, result, cf);
+    }
+
+    /**
+     * Encodes a single integer variable using the hybrid encoding.
+     * @param v       the integer variable
+     * @param context the encoding context
+     * @param result  destination for the result
+     * @param cf      the factory
+     */
+    public static void encodeVariable(final IntegerVariable v, final HybridEncodingContext context,
+                                      final EncodingResult result, final CspFactory cf) {
+        encodeIntern(List.of(v), Collections.emptySet(), context, result, cf);
+    }
+
+    /**
+     * Encodes a list of integer variables using the hybrid encoding.
+     * @param variables the variables
+     * @param context   the encoding context
+     * @param result    destination for the result
+     * @param cf        the factory
+     */
+    public static void encodeVariables(final Collection<IntegerVariable> variables,
+                                       final HybridEncodingContext context, final EncodingResult result,
+                                       final CspFactory cf) {
+        encodeIntern(variables, Collections.emptySet(), context, result, cf);
+    }
+
+    /**
+     * Encodes a set of arithmetic clauses using the hybrid encoding.
+     * <p>
+     * Variables of the clauses that are not yet known to the context are selected and encoded on the fly.
+     * @param clauses the arithmetic clauses
+     * @param context the encoding context
+     * @param result  destination for the result
+     * @param cf      the factory
+     */
+    public static void encodeClauses(final Set<IntegerClause> clauses, final HybridEncodingContext context,
+                                     final EncodingResult result, final CspFactory cf) {
+        encodeIntern(Collections.emptyList(), clauses, context, result, cf);
+    }
+
+    private static void encodeIntern(final Collection<IntegerVariable> variables, final Set<IntegerClause> clauses,
+                                     final HybridEncodingContext context, final EncodingResult result,
+                                     final CspFactory cf) {
+        final Set<IntegerVariable> newVariables = new LinkedHashSet<>();
+        for (final IntegerVariable v : variables) {
+            if (context.getSelection(v) == null) {
+                newVariables.add(v);
+            }
+        }
+        for (final IntegerClause c : clauses) {
+            for (final ArithmeticLiteral lit : c.getArithmeticLiterals()) {
+                for (final IntegerVariable v : lit.getVariables()) {
+                    if (context.getSelection(v) == null) {
+                        newVariables.add(v);
+                    }
+                }
+            }
+        }
+        final Set<IntegerClause> compactClauses = select(newVariables, clauses, context);
+        final Set<IntegerClause> orderClauses = new LinkedHashSet<>(clauses);
+        orderClauses.removeAll(compactClauses);
+
+        final List<IntegerVariable> newCompactVariables = new ArrayList<>();
+        for (final IntegerVariable v : newVariables) {
+            if (context.getSelection(v) == CspEncodingAlgorithm.Order) {
+                OrderEncoding.encodeVariable(v, context.getOrderContext(), result, cf);
+            } else {
+                newCompactVariables.add(v);
+            }
+        }
+        CompactOrderEncoding.encodeVariables(newCompactVariables, context.getCompactOrderContext(), result, cf);
+
+        final Set<IntegerClause> channelingClauses = new LinkedHashSet<>();
+        for (final IntegerClause c : compactClauses) {
+            for (final ArithmeticLiteral lit : c.getArithmeticLiterals()) {
+                for (final IntegerVariable v : lit.getVariables()) {
+                    if (!context.hasCompactRepresentation(v)) {
+                        channelingClauses.addAll(channelVariable(v, context, result, cf));
+                    }
+                }
+            }
+        }
+        OrderEncoding.encodeClauses(orderClauses, context.getOrderContext(), result, cf);
+        channelingClauses.addAll(compactClauses);
+        CompactOrderEncoding.encodeClauses(channelingClauses, context.getCompactOrderContext(), result, cf);
+    }
+
+    /**
+     * Selects the encodings for new variables and returns the clauses which must be encoded with the compact order
+     * encoding.
+     * <p>
+     * Initially, each new variable is selected by its domain size. A clause is encoded compactly if it contains a
+     * compactly encoded variable. Without channeling, the new variables of such clauses are switched to the compact
+     * order encoding until a fixed point is reached.
+     * @param newVariables the new variables
+     * @param clauses      the clauses
+     * @param context      the encoding context
+     * @return the clauses for the compact order encoding
+     */
+    private static Set<IntegerClause> select(final Set<IntegerVariable> newVariables, final Set<IntegerClause> clauses,
+                                             final HybridEncodingContext context) {
+        for (final IntegerVariable v : newVariables) {
+            if (v.getDomain().size() <= context.getMaxOrderDomainSize()) {
+                context.select(v, CspEncodingAlgorithm.Order);
+            } else {
+                context.select(v, CspEncodingAlgorithm.CompactOrder);
+            }
+        }
+        final Set<IntegerClause> compactClauses = new LinkedHashSet<>();
+        boolean changed = true;
+        while (changed) {
+            changed = false;
+            for (final IntegerClause c : clauses) {
+                if (compactClauses.contains(c) || !containsCompactVariable(c, context)) {
+                    continue;
+                }
+                compactClauses.add(c);
+                changed = true;
+                if (!context.isChanneling()) {
+                    for (final ArithmeticLiteral lit : c.getArithmeticLiterals()) {
+                        for (final IntegerVariable v : lit.getVariables()) {
+                            if (newVariables.contains(v)) {
+                                context.select(v, CspEncodingAlgorithm.CompactOrder);
+                            }
+                        }
+                    }
+                }
+            }
+        }
+        return compactClauses;
+    }
+
+    private static boolean containsCompactVariable(final IntegerClause clause, final HybridEncodingContext context) {
+        for (final ArithmeticLiteral lit : clause.getArithmeticLiterals()) {
+            for (final IntegerVariable v : lit.getVariables()) {
+                if (context.getSelection(v) == CspEncodingAlgorithm.CompactOrder) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Encodes an order encoded variable additionally with the compact order encoding and returns the channeling
+     * clauses {@code p_a <=> v <= a} for each order variable {@code p_a} of {@code v}.
+     * @param v       the order encoded variable
+     * @param context the encoding context
+     * @param result  destination for the result
+     * @param cf      the factory
+     * @return the channeling clauses
+     */
+    private static Set<IntegerClause> channelVariable(final IntegerVariable v, final HybridEncodingContext context,
+                                                      final EncodingResult result, final CspFactory cf) {
+        final FormulaFactory f = cf.getFormulaFactory();
+        context.addChanneledVariable(v);
+        CompactOrderEncoding.encodeVariable(v, context.getCompactOrderContext(), result, cf);
+        final Set<IntegerClause> channelingClauses = new LinkedHashSet<>();
+        final IntegerDomain domain = v.getDomain();
+        int index = 0;
+        for (final Iterator<Integer> it = domain.iterator(); it.hasNext(); ) {
+            final int a = it.next();
+            if (a == domain.ub()) {
+                break;
+            }
+            final Variable p = context.getOrderContext().intVariableInstance(v, index, f);
+            final LinearLiteral le = new LinearLiteral(new LinearExpression(1, v, -a), LinearLiteral.Operator.LE);
+            final LinearLiteral gt = new LinearLiteral(new LinearExpression(-1, v, a + 1), LinearLiteral.Operator.LE);
+            channelingClauses.add(new IntegerClause(p.negate(f), le));
+            channelingClauses.add(new IntegerClause(p, gt));
+            ++index;
+        }
+        return channelingClauses;
+    }
+}
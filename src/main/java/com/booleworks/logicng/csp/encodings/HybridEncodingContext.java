@@ -0,0 +1,173 @@
+package com.booleworks.logicng.csp.encodings;
+
+import com.booleworks.logicng.csp.terms.IntegerVariable;
+import com.booleworks.logicng.formulas.Variable;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.stream.Collectors;
+
+/**
+ * Encoding context for the hybrid encoding.
+ * <p>
+ * The hybrid encoding selects the encoding per integer variable: Variables with a domain of at most
+ * {@link #getMaxOrderDomainSize()} values are encoded with the order encoding, larger variables are encoded with the
+ * compact order encoding. Clauses containing a compactly encoded variable are encoded with the compact order
+ * encoding. An order encoded variable occurring in such a clause is either encoded compactly as well or, if
+ * channeling is enabled, encoded with both encodings and connected by channeling clauses. Variables which were
+ * already encoded with the order encoding in an earlier encoding call are always channeled.
+ */
+public class HybridEncodingContext implements CspEncodingContext {
+    private final int maxOrderDomainSize;
+    private final boolean channeling;
+    private final OrderEncodingContext orderContext;
+    private final CompactOrderEncodingContext compactOrderContext;
+    private final Map<IntegerVariable, CspEncodingAlgorithm> selection;
+    private final Set<IntegerVariable> channeledVariables;
+
+    /**
+     * Constructs a new encoding context for the hybrid encoding.
+     * @param maxOrderDomainSize the maximum domain size of variables encoded with the order encoding
+     * @param base               the base of the compact order encoding
+     * @param channeling         whether order encoded variables occurring in compactly encoded clauses are channeled
+     */
+    HybridEncodingContext(final int maxOrderDomainSize, final int base, final boolean channeling) {
+        this.maxOrderDomainSize = maxOrderDomainSize;
+        this.channeling = channeling;
+        this.orderContext = new OrderEncodingContext();
+        this.compactOrderContext = new CompactOrderEncodingContext(base);
+        this.selection = new TreeMap<>();
+        this.channeledVariables = new TreeSet<>();
+    }
+
+    /**
+     * Copies the encoding context.
+     * @param context the context to copy
+     */
+    public HybridEncodingContext(final HybridEncodingContext context) {
+        this.maxOrderDomainSize = context.maxOrderDomainSize;
+        this.channeling = context.channeling;
+        this.orderContext = new OrderEncodingContext(context.orderContext);
+        this.compactOrderContext = new CompactOrderEncodingContext(context.compactOrderContext);
+        this.selection = new TreeMap<>(context.selection);
+        this.channeledVariables = new TreeSet<>(context.channeledVariables);
+    }
+
+    @Override
+    public CspEncodingAlgorithm getAlgorithm() {
+        return CspEncodingAlgorithm.Hybrid;
+    }
+
+    /**
+     * Returns the maximum domain size of variables encoded with the order encoding.
+     * @return the maximum domain size of variables encoded with the order encoding
+     */
+    public int getMaxOrderDomainSize() {
+        return maxOrderDomainSize;
+    }
+
+    /**
+     * Returns whether order encoded variables are channeled to the compact order encoding if necessary.
+     * @return whether order encoded variables are channeled to the compact order encoding if necessary
+     */
+    public boolean isChanneling() {
+        return channeling;
+    }
+
+    /**
+     * Returns the context of the order encoded part.
+     * @return the context of the order encoded part
+     */
+    public OrderEncodingContext getOrderContext() {
+        return orderContext;
+    }
+
+    /**
+     * Returns the context of the compact order encoded part.
+     * @return the context of the compact order encoded part
+     */
+    public CompactOrderEncodingContext getCompactOrderContext() {
+        return compactOrderContext;
+    }
+
+    /**
+     * Returns the selected encoding algorithm for an integer variable or {@code null} if the variable was not
+     * selected yet.
+     * @param v the integer variable
+     * @return the selected encoding algorithm or {@code null}
+     */
+    public CspEncodingAlgorithm getSelection(final IntegerVariable v) {
+        return selection.get(v);
+    }
+
+    /**
+     * Returns the selected encoding algorithms of all known integer variables.
+     * @return the selected encoding algorithms of all known integer variables
+     */
+    public Map<IntegerVariable, CspEncodingAlgorithm> getSelections() {
+        return Collections.unmodifiableMap(selection);
+    }
+
+    /**
+     * Stores the selected encoding algorithm for an integer variable.
+     * @param v         the integer variable
+     * @param algorithm the encoding algorithm
+     */
+    void select(final IntegerVariable v, final CspEncodingAlgorithm algorithm) {
+        selection.put(v, algorithm);
+    }
+
+    /**
+     * Returns all order encoded variables that are additionally encoded with the compact order encoding.
+     * @return all channeled variables
+     */
+    public Set<IntegerVariable> getChanneledVariables() {
+        return Collections.unmodifiableSet(channeledVariables);
+    }
+
+    /**
+     * Marks a variable as channeled.
+     * @param v the integer variable
+     */
+    void addChanneledVariable(final IntegerVariable v) {
+        channeledVariables.add(v);
+    }
+
+    /**
+     * Returns whether a variable has a compact order encoding, i.e., it is either selected for the compact order
+     * encoding or it is channeled.
+     * @param v the integer variable
+     * @return whether a variable has a compact order encoding
+     */
+    boolean hasCompactRepresentation(final IntegerVariable v) {
+        return selection.get(v) == CspEncodingAlgorithm.CompactOrder || channeledVariables.contains(v);
+    }
+
+    @Override
+    public Set<Variable> getSatVariables(final Collection<IntegerVariable> variables) {
+        final Set<Variable> result = new HashSet<>(orderContext.getSatVariables(variables));
+        result.addAll(compactOrderContext.getSatVariables(variables));
+        return result;
+    }
+
+    @Override
+    public boolean isEncoded(final IntegerVariable v) {
+        return orderContext.isEncoded(v) || compactOrderContext.isEncoded(v);
+    }
+
+    /**
+     * Returns all integer variables that are selected for the given encoding algorithm.
+     * @param algorithm the encoding algorithm
+     * @return all integer variables selected for the algorithm
+     */
+    public List<IntegerVariable> getVariablesWithSelection(final CspEncodingAlgorithm algorithm) {
+        return selection.entrySet().stream().filter(e -> e.getValue() == algorithm).map(Map.Entry::getKey)
+                .collect(Collectors.toList());
+    }
+}
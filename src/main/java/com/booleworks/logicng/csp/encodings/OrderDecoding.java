@@ -5,6 +5,7 @@ import com.booleworks.logicng.csp.datastructures.Csp;
 import com.booleworks.logicng.csp.datastructures.CspAssignment;
 import com.booleworks.logicng.csp.datastructures.IntegerVariableSubstitution;
 import com.booleworks.logicng.csp.datastructures.domains.IntegerDomain;
+import com.booleworks.logicng.csp.functions.CspElimination;
 import com.booleworks.logicng.csp.terms.IntegerVariable;
 import com.booleworks.logicng.datastructures.Assignment;
 import com.booleworks.logicng.formulas.Literal;
@@ -12,6 +13,7 @@ import com.booleworks.logicng.formulas.Variable;
 
 import java.util.Collection;
 import java.util.Collections;
+import java.util.Iterator;
 import java.util.Map;
 
 /**
@@ -97,6 +99,8 @@ public class OrderDecoding {
 
     /**
      * Decodes a problem that was encoded with the order encoding.
+     * <p>
+     * The values of variables eliminated by {@link CspElimination} are reconstructed from their definitions.
      * @param model   propositional model
      * @param csp     csp data structure
      * @param context the context
@@ -105,13 +109,18 @@ public class OrderDecoding {
      */
     public static CspAssignment decode(final Assignment model, final Csp csp, final OrderEncodingContext context,
                                        final CspFactory cf) {
-        return decode(model, csp.getVisibleIntegerVariables(), csp.getVisibleBooleanVariables(),
-                csp.getPropagateSubstitutions(), context, cf);
+        final CspAssignment decoded =
+                decode(model, CspElimination.decodedVariables(csp.getVisibleIntegerVariables(), csp),
+                        csp.getVisibleBooleanVariables(), csp.getPropagateSubstitutions(), context, cf);
+        return CspElimination.reconstruct(decoded, csp.getVisibleIntegerVariables(), csp);
     }
 
     /**
      * Decodes a single integer variable. If the variable is not encoded in the model, it will return any valid value
      * of the variable.
+     * <p>
+     * The value is the smallest threshold {@code a} whose boolean variable for {@code var <= a} is true in the model.
+     * For sparse ladders this is the largest domain value of the interval determined by the model.
      * @param var     the integer variable to decode
      * @param model   the propositional model
      * @param context the context
@@ -119,24 +128,26 @@ public class OrderDecoding {
      */
     static int decodeIntVar(final IntegerVariable var, final Assignment model, final OrderEncodingContext context) {
         final IntegerDomain domain = var.getDomain();
-        final int lb = domain.lb();
-        final int ub = domain.ub();
-        int value = ub;
         final Map<Integer, Variable> varMap = context.getVariableMap().get(var);
         if (varMap == null) {
-            return value;
+            return domain.ub();
         }
-        int index = 0;
-        for (int c = lb; c < ub; c++) {
-            if (domain.contains(c)) {
-                final Variable satVar = varMap.get(index);
-                if (satVar != null && model.positiveVariables().contains(satVar)) {
-                    value = c;
-                    break;
-                }
-                ++index;
+        for (final Map.Entry<Integer, Variable> entry : varMap.entrySet()) {
+            if (model.positiveVariables().contains(entry.getValue())) {
+                return valueAt(domain, entry.getKey());
             }
         }
-        return value;
+        return domain.ub();
+    }
+
+    private static int valueAt(final IntegerDomain domain, final int index) {
+        if (domain.isContiguous()) {
+            return domain.lb() + index;
+        }
+        final Iterator<Integer> it = domain.iterator();
+        for (int i = 0; i < index; ++i) {
+            it.next();
+        }
+        return it.next();
     }
 }
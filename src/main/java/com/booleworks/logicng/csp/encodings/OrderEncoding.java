@@ -13,12 +13,19 @@ import com.booleworks.logicng.datastructures.EncodingResult;
 import com.booleworks.logicng.formulas.Formula;
 import com.booleworks.logicng.formulas.FormulaFactory;
 import com.booleworks.logicng.formulas.Literal;
+import com.booleworks.logicng.formulas.Variable;
 
 import java.util.Iterator;
+import java.util.Map;
 import java.util.Set;
+import java.util.TreeSet;
 
 /**
  * A class grouping functions for the order encoding
+ * <p>
+ * If the context is {@link OrderEncodingContext#isSparse() sparse}, the ladder clauses of a variable are not written
+ * when the variable is encoded. Instead, after each encoding call, all thresholds which were referenced by the
+ * encoded clauses are connected to their neighbouring referenced thresholds.
  */
 public class OrderEncoding {
     private OrderEncoding() {
@@ -48,6 +55,10 @@ public class OrderEncoding {
      */
     public static void encodeVariable(final IntegerVariable v, final OrderEncodingContext context,
                                       final EncodingResult result, final CspFactory cf) {
+        if (context.isSparse()) {
+            encodeSparseLadders(context, result, cf.getFormulaFactory());
+            return;
+        }
         final FormulaFactory f = cf.getFormulaFactory();
         final IntegerDomain domain = v.getDomain();
         final Formula[] clause = new Formula[2];
@@ -80,6 +91,47 @@ public class OrderEncoding {
                 encodeClause(c, context, result, cf);
             }
         }
+        if (context.isSparse()) {
+            encodeSparseLadders(context, result, cf.getFormulaFactory());
+        }
+    }
+
+    /**
+     * Connects all thresholds that were created since the last call to the sparse ladders of their variables.
+     * <p>
+     * A new threshold {@code v <= a} is inserted between the nearest connected thresholds {@code v <= a0} and
+     * {@code v <= a1} with {@code a0 < a < a1} by the clauses {@code v <= a0 -> v <= a} and {@code v <= a -> v <= a1}.
+     * The existing clause {@code v <= a0 -> v <= a1} stays valid.
+     * @param context the encoding context
+     * @param result  destination for the result
+     * @param f       the formula factory
+     */
+    private static void encodeSparseLadders(final OrderEncodingContext context, final EncodingResult result,
+                                            final FormulaFactory f) {
+        final Formula[] clause = new Formula[2];
+        for (final IntegerVariable v : context.pollPendingSparseVariables()) {
+            final Map<Integer, Variable> indices = context.getVariableMap().get(v);
+            final TreeSet<Integer> ladder = context.sparseLadder(v);
+            for (final Map.Entry<Integer, Variable> entry : indices.entrySet()) {
+                final int index = entry.getKey();
+                if (ladder.contains(index)) {
+                    continue;
+                }
+                final Integer lower = ladder.lower(index);
+                final Integer higher = ladder.higher(index);
+                if (lower != null) {
+                    clause[0] = indices.get(lower).negate(f);
+                    clause[1] = entry.getValue();
+                    writeClause(clause, result);
+                }
+                if (higher != null) {
+                    clause[0] = entry.getValue().negate(f);
+                    clause[1] = indices.get(higher);
+                    writeClause(clause, result);
+                }
+                ladder.add(index);
+            }
+        }
     }
 
     /**
@@ -246,7 +298,13 @@ public class OrderEncoding {
         }
     }
 
-    private static int sizeLE(final IntegerDomain d, final int value) {
+    /**
+     * Returns the number of values of a domain which are less than or equal to {@code value}.
+     * @param d     the domain
+     * @param value the value
+     * @return the number of values less than or equal to {@code value}
+     */
+    static int sizeLE(final IntegerDomain d, final int value) {
         if (value < d.lb()) {
             return 0;
         }
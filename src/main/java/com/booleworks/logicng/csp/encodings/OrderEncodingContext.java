@@ -1,7 +1,7 @@
 package com.booleworks.logicng.csp.encodings;
 
 import com.booleworks.logicng.csp.CspFactory;
-import com.booleworks.logicng.csp.datastructures.domains.IntegerDomain;
+import com.booleworks.logicng.csp.datastructures.LinearExpression;
 import com.booleworks.logicng.csp.terms.IntegerVariable;
 import com.booleworks.logicng.formulas.FormulaFactory;
 import com.booleworks.logicng.formulas.Variable;
@@ -9,28 +9,69 @@ import com.booleworks.logicng.formulas.Variable;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Set;
 import java.util.TreeMap;
+import java.util.TreeSet;
 import java.util.stream.Collectors;
 
 /**
  * Encoding context for order encoding.
+ * <p>
+ * In the <i>sparse</i> mode, the ladder of an integer variable only contains the thresholds {@code v <= a} which are
+ * actually referenced by the encoded clauses. A model of the sparse encoding then only determines the interval
+ * between two referenced thresholds and the decoding returns the largest domain value of this interval.
  */
 public class OrderEncodingContext implements CspEncodingContext {
     private final Map<IntegerVariable, Map<Integer, Variable>> variableMap;
     private final List<Variable> simplifyBoolVariables;
     private final List<IntegerVariable> simplifyIntVariables;
+    private final Map<LinearExpression, IntegerVariable> simplifyExpressions;
+    private final int maxLinearExpressionSize;
+    private final int splits;
+    private final boolean sparse;
+    private final Map<IntegerVariable, TreeSet<Integer>> sparseLadders;
+    private final Set<IntegerVariable> pendingSparseVariables;
 
     /**
-     * Constructs a new encoding context for order encoding.
+     * Constructs a new encoding context for order encoding with the default reduction thresholds.
      */
     OrderEncodingContext() {
+        this(OrderReduction.MAX_LINEAR_EXPRESSION_SIZE, OrderReduction.SPLITS);
+    }
+
+    /**
+     * Constructs a new encoding context for order encoding.
+     * @param maxLinearExpressionSize maximum domain size for linear expressions before they get simplified
+     * @param splits                  number of splits performed for simplifying linear expressions
+     */
+    OrderEncodingContext(final int maxLinearExpressionSize, final int splits) {
+        this(maxLinearExpressionSize, splits, false);
+    }
+
+    /**
+     * Constructs a new encoding context for order encoding.
+     * @param maxLinearExpressionSize maximum domain size for linear expressions before they get simplified
+     * @param splits                  number of splits performed for simplifying linear expressions
+     * @param sparse                  whether only referenced thresholds are encoded
+     */
+    OrderEncodingContext(final int maxLinearExpressionSize, final int splits, final boolean sparse) {
+        if (splits < 2) {
+            throw new IllegalArgumentException("The number of splits must be at least 2, but was " + splits);
+        }
         this.variableMap = new TreeMap<>();
         this.simplifyBoolVariables = new ArrayList<>();
         this.simplifyIntVariables = new ArrayList<>();
+        this.simplifyExpressions = new HashMap<>();
+        this.maxLinearExpressionSize = maxLinearExpressionSize;
+        this.splits = splits;
+        this.sparse = sparse;
+        this.sparseLadders = new TreeMap<>();
+        this.pendingSparseVariables = new LinkedHashSet<>();
     }
 
     /**
@@ -41,6 +82,15 @@ public class OrderEncodingContext implements CspEncodingContext {
         this.variableMap = new TreeMap<>(context.variableMap);
         this.simplifyBoolVariables = new ArrayList<>(context.simplifyBoolVariables);
         this.simplifyIntVariables = new ArrayList<>(context.simplifyIntVariables);
+        this.simplifyExpressions = new HashMap<>(context.simplifyExpressions);
+        this.maxLinearExpressionSize = context.maxLinearExpressionSize;
+        this.splits = context.splits;
+        this.sparse = context.sparse;
+        this.sparseLadders = new TreeMap<>();
+        for (final Map.Entry<IntegerVariable, TreeSet<Integer>> entry : context.sparseLadders.entrySet()) {
+            this.sparseLadders.put(entry.getKey(), new TreeSet<>(entry.getValue()));
+        }
+        this.pendingSparseVariables = new LinkedHashSet<>(context.pendingSparseVariables);
     }
 
     @Override
@@ -49,17 +99,52 @@ public class OrderEncodingContext implements CspEncodingContext {
     }
 
     /**
-     * Creates and stores a new auxiliary variable used for simplifying linear expressions.
-     * @param domain the domain
-     * @param cf     the factory
+     * Returns the maximum domain size for linear expressions before they get simplified.
+     * @return the maximum domain size for linear expressions before they get simplified
+     */
+    public int getMaxLinearExpressionSize() {
+        return maxLinearExpressionSize;
+    }
+
+    /**
+     * Returns the number of splits performed for simplifying linear expressions.
+     * @return the number of splits performed for simplifying linear expressions
+     */
+    public int getSplits() {
+        return splits;
+    }
+
+    /**
+     * Returns whether this context only encodes the thresholds referenced by the clauses.
+     * @return whether this context only encodes the thresholds referenced by the clauses
+     */
+    public boolean isSparse() {
+        return sparse;
+    }
+
+    /**
+     * Creates and stores a new auxiliary variable used for simplifying a linear expression.
+     * @param exp the linear expression represented by the variable
+     * @param cf  the factory
      * @return new auxiliary variable
      */
-    IntegerVariable newSimplifyIntVariable(final IntegerDomain domain, final CspFactory cf) {
-        final IntegerVariable var = cf.auxVariable(OrderReduction.AUX_SIMPLE, domain);
+    IntegerVariable newSimplifyIntVariable(final LinearExpression exp, final CspFactory cf) {
+        final IntegerVariable var = cf.auxVariable(OrderReduction.AUX_SIMPLE, exp.getDomain());
         this.simplifyIntVariables.add(var);
+        this.simplifyExpressions.put(exp, var);
         return var;
     }
 
+    /**
+     * Returns the auxiliary variable representing a linear expression if the expression was already simplified with
+     * this context.
+     * @param exp the linear expression
+     * @return the auxiliary variable or {@code null} if the expression was not simplified yet
+     */
+    IntegerVariable getSimplifyIntVariable(final LinearExpression exp) {
+        return this.simplifyExpressions.get(exp);
+    }
+
     /**
      * Creates and stores a new boolean auxiliary variable for simplifying arithmetic clauses.
      * @param f the factory
@@ -80,7 +165,31 @@ public class OrderEncodingContext implements CspEncodingContext {
      */
     Variable intVariableInstance(final IntegerVariable group, final int index, final FormulaFactory f) {
         final Map<Integer, Variable> intMap = this.variableMap.computeIfAbsent(group, k -> new TreeMap<>());
-        return intMap.computeIfAbsent(index, i -> f.newAuxVariable(CSP_AUX_LNG_VARIABLE));
+        return intMap.computeIfAbsent(index, i -> {
+            if (sparse) {
+                pendingSparseVariables.add(group);
+            }
+            return f.newAuxVariable(CSP_AUX_LNG_VARIABLE);
+        });
+    }
+
+    /**
+     * Returns and resets the integer variables with thresholds which are not yet connected to the sparse ladder.
+     * @return the integer variables with unconnected thresholds
+     */
+    List<IntegerVariable> pollPendingSparseVariables() {
+        final List<IntegerVariable> pending = new ArrayList<>(pendingSparseVariables);
+        pendingSparseVariables.clear();
+        return pending;
+    }
+
+    /**
+     * Returns the indices of the thresholds of an integer variable which are already connected in the sparse ladder.
+     * @param v the integer variable
+     * @return the connected indices
+     */
+    TreeSet<Integer> sparseLadder(final IntegerVariable v) {
+        return sparseLadders.computeIfAbsent(v, k -> new TreeSet<>());
     }
 
     /**
@@ -27,12 +27,14 @@ import java.util.stream.Stream;
  */
 public class OrderReduction {
     /**
-     * Maximum domain size for linear expressions before they get simplified.
+     * Default maximum domain size for linear expressions before they get simplified.
+     * @see OrderEncodingContext#getMaxLinearExpressionSize()
      */
     public static final int MAX_LINEAR_EXPRESSION_SIZE = 1024;
 
     /**
-     * Number of splits performed for simplifying linear expressions.
+     * Default number of splits performed for simplifying linear expressions.
+     * @see OrderEncodingContext#getSplits()
      */
     public static final int SPLITS = 2;
 
@@ -239,11 +241,11 @@ public class OrderReduction {
                                                                      final List<IntegerVariable> newFrontierAuxVars,
                                                                      final OrderEncodingContext context,
                                                                      final CspFactory cf) {
-        if (exp.size() <= 1 || !exp.isDomainLargerThan(MAX_LINEAR_EXPRESSION_SIZE)) {
+        if (exp.size() <= 1 || !exp.isDomainLargerThan(context.getMaxLinearExpressionSize())) {
             return exp;
         }
         final int b = exp.getB();
-        final LinearExpression.Builder[] es = split(exp.build(), first ? 3 : SPLITS);
+        final LinearExpression.Builder[] es = split(exp.build(), first ? 3 : context.getSplits());
         final LinearExpression.Builder result = new LinearExpression.Builder(b);
         for (final LinearExpression.Builder eMut : es) {
             final int factor = eMut.factor();
@@ -253,13 +255,7 @@ public class OrderReduction {
             LinearExpression.Builder simplified =
                     simplifyLinearExpression(eMut, false, clauses, newFrontierAuxVars, context, cf);
             if (simplified.size() > 1) {
-                final IntegerVariable v = context.newSimplifyIntVariable(simplified.getDomain(), cf);
-                newFrontierAuxVars.add(v);
-                simplified.subtract(new LinearExpression(v));
-                final IntegerClause aux =
-                        new IntegerClause(new LinearLiteral(simplified.build(), LinearLiteral.Operator.EQ));
-                clauses.add(aux);
-                simplified = new LinearExpression.Builder(v);
+                simplified = substituteSimplifyVariable(simplified.build(), clauses, newFrontierAuxVars, context, cf);
             }
             if (factor > 1) {
                 simplified.multiply(factor);
@@ -269,6 +265,38 @@ public class OrderReduction {
         return result;
     }
 
+    /**
+     * Replaces a linear expression by an auxiliary variable. Structurally equal expressions (also up to their sign)
+     * share one auxiliary variable across all reductions with the same context, such that its defining equation is
+     * only added once.
+     * @param exp                the linear expression
+     * @param clauses            the destination for the defining equation
+     * @param newFrontierAuxVars the destination for new auxiliary variables
+     * @param context            the encoding context
+     * @param cf                 the factory
+     * @return the auxiliary variable (or its negation) as linear expression
+     */
+    private static LinearExpression.Builder substituteSimplifyVariable(final LinearExpression exp,
+                                                                       final Set<IntegerClause> clauses,
+                                                                       final List<IntegerVariable> newFrontierAuxVars,
+                                                                       final OrderEncodingContext context,
+                                                                       final CspFactory cf) {
+        final IntegerVariable known = context.getSimplifyIntVariable(exp);
+        if (known != null) {
+            return new LinearExpression.Builder(known);
+        }
+        final IntegerVariable negated = context.getSimplifyIntVariable(LinearExpression.multiply(exp, -1));
+        if (negated != null) {
+            return new LinearExpression.Builder(negated).multiply(-1);
+        }
+        final IntegerVariable v = context.newSimplifyIntVariable(exp, cf);
+        newFrontierAuxVars.add(v);
+        final LinearExpression.Builder definition = new LinearExpression.Builder(exp);
+        definition.subtract(new LinearExpression(v));
+        clauses.add(new IntegerClause(new LinearLiteral(definition.build(), LinearLiteral.Operator.EQ)));
+        return new LinearExpression.Builder(v);
+    }
+
     /**
      * Split a linear expression into multiple linear expressions.
      * @param exp the linear expression
@@ -0,0 +1,371 @@
+package com.booleworks.logicng.csp.functions;
+
+import com.booleworks.logicng.csp.CspFactory;
+import com.booleworks.logicng.csp.datastructures.Csp;
+import com.booleworks.logicng.csp.datastructures.CspAssignment;
+import com.booleworks.logicng.csp.datastructures.IntegerClause;
+import com.booleworks.logicng.csp.datastructures.IntegerVariableSubstitution;
+import com.booleworks.logicng.csp.datastructures.LinearExpression;
+import com.booleworks.logicng.csp.encodings.CspEncodingContext;
+import com.booleworks.logicng.csp.literals.ArithmeticLiteral;
+import com.booleworks.logicng.csp.terms.IntegerVariable;
+import com.booleworks.logicng.datastructures.Model;
+import com.booleworks.logicng.formulas.Literal;
+import com.booleworks.logicng.formulas.Variable;
+import com.booleworks.logicng.solvers.SatSolver;
+
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.function.Supplier;
+
+/**
+ * A class grouping functions for splitting a CSP problem into independent components.
+ * <p>
+ * Two variables are connected if they occur in a common clause. A component is a maximal set of connected variables
+ * together with their clauses. Components do not share variables, so they can be encoded, solved, and enumerated
+ * independently, and the models of the problem are the combinations of the models of its components.
+ */
+public class CspComponents {
+    private CspComponents() {
+    }
+
+    /**
+     * Splits a problem into its independent components.
+     * <p>
+     * Every component is a problem with the clauses, internal variables, and visible variables of one connected
+     * component. The substitutions of the propagation and the eliminated variables are kept, such that the
+     * components can be decoded like the original problem. Visible variables which do not occur in any clause form
+     * components without clauses. A problem containing the empty clause is not split.
+     * @param csp the problem
+     * @return the components of the problem
+     */
+    public static List<Csp> split(final Csp csp) {
+        for (final IntegerClause clause : csp.getClauses()) {
+            if (clause.size() == 0) {
+                return Collections.singletonList(csp);
+            }
+        }
+        final Map<Object, Object> parents = new HashMap<>();
+        for (final IntegerClause clause : csp.getClauses()) {
+            Object first = null;
+            for (final Object v : clauseVariables(clause)) {
+                if (first == null) {
+                    first = v;
+                    find(parents, v);
+                } else {
+                    union(parents, first, v);
+                }
+            }
+        }
+        for (final IntegerVariable v : csp.getInternalIntegerVariables()) {
+            find(parents, v);
+        }
+        for (final Variable v : csp.getInternalBooleanVariables()) {
+            find(parents, v);
+        }
+        final Map<IntegerVariable, Object> anchors = new LinkedHashMap<>();
+        for (final IntegerVariable v : csp.getVisibleIntegerVariables()) {
+            anchors.put(v, anchor(v, csp, parents));
+        }
+
+        final Map<Object, Csp.Builder> components = new LinkedHashMap<>();
+        for (final IntegerClause clause : csp.getClauses()) {
+            final Set<Object> variables = clauseVariables(clause);
+            final Object node = variables.isEmpty() ? clause : variables.iterator().next();
+            component(components, find(parents, node), csp).addClause(clause);
+        }
+        for (final IntegerVariable v : csp.getInternalIntegerVariables()) {
+            component(components, find(parents, v), csp).addInternalIntegerVariable(v);
+        }
+        for (final Variable v : csp.getInternalBooleanVariables()) {
+            component(components, find(parents, v), csp).addInternalBooleanVariable(v);
+        }
+        final Map<Object, Map<IntegerVariable, LinearExpression>> eliminations = new HashMap<>();
+        for (final Map.Entry<IntegerVariable, Object> entry : anchors.entrySet()) {
+            final IntegerVariable v = entry.getKey();
+            final Object root = find(parents, entry.getValue());
+            component(components, root, csp).addVisibleIntegerVariable(v);
+            final IntegerVariable key = csp.getPropagateSubstitutions().getOrSelf(v);
+            final LinearExpression definition = csp.getEliminations().get(key);
+            if (definition != null) {
+                eliminations.computeIfAbsent(root, r -> new LinkedHashMap<>()).put(key, definition);
+            }
+        }
+        for (final Variable v : csp.getVisibleBooleanVariables()) {
+            component(components, find(parents, v), csp).addVisibleBooleanVariable(v);
+        }
+        final List<Csp> result = new ArrayList<>(components.size());
+        for (final Map.Entry<Object, Csp.Builder> entry : components.entrySet()) {
+            final Map<IntegerVariable, LinearExpression> definitions = eliminations.get(entry.getKey());
+            if (definitions != null) {
+                entry.getValue().updateEliminations(definitions);
+            }
+            result.add(entry.getValue().build());
+        }
+        return result;
+    }
+
+    /**
+     * Splits a problem into its components and enumerates the models of every component with an own solver and
+     * encoding context.
+     * <p>
+     * The models of the problem are the combinations of one model of each component, see
+     * {@link #combine(List)}. The problem is unsatisfiable if the models of some component are empty. With sparse
+     * order encoding contexts, the models represent intervals of values, see
+     * {@link CspModelEnumeration#enumerate(SatSolver, Csp, CspEncodingContext, CspFactory)}.
+     * @param csp      the problem
+     * @param contexts supplier for a new encoding context for each component
+     * @param cf       the factory
+     * @return the models of each component
+     */
+    public static List<List<CspAssignment>> enumerateComponents(final Csp csp,
+                                                                final Supplier<CspEncodingContext> contexts,
+                                                                final CspFactory cf) {
+        final List<List<CspAssignment>> result = new ArrayList<>();
+        for (final Csp component : split(csp)) {
+            final List<CspAssignment> models = enumerate(component, contexts.get(), cf);
+            if (models.isEmpty()) {
+                return Collections.singletonList(models);
+            }
+            result.add(models);
+        }
+        return result;
+    }
+
+    /**
+     * Splits a problem into its components and enumerates the models of every component in a task submitted to
+     * {@code executor}. Every task uses an own solver and encoding context.
+     * <p>
+     * Encoding the components in parallel creates auxiliary variables and formulas concurrently. The formula factory
+     * must be thread-safe, e.g., a non-caching formula factory.
+     * @param csp      the problem
+     * @param contexts supplier for a new encoding context for each component
+     * @param cf       the factory
+     * @param executor the executor for the enumeration tasks
+     * @return the models of each component
+     * @throws IllegalStateException if the calling thread is interrupted while waiting for the tasks
+     * @see #enumerateComponents(Csp, Supplier, CspFactory)
+     */
+    public static List<List<CspAssignment>> enumerateComponents(final Csp csp,
+                                                                final Supplier<CspEncodingContext> contexts,
+                                                                final CspFactory cf,
+                                                                final ExecutorService executor) {
+        final List<Future<List<CspAssignment>>> tasks = new ArrayList<>();
+        for (final Csp component : split(csp)) {
+            final CspEncodingContext context = contexts.get();
+            tasks.add(executor.submit(() -> enumerate(component, context, cf)));
+        }
+        final List<List<CspAssignment>> result = new ArrayList<>();
+        for (final Future<List<CspAssignment>> task : tasks) {
+            final List<CspAssignment> models = await(task);
+            if (models.isEmpty()) {
+                tasks.forEach(t -> t.cancel(true));
+                return Collections.singletonList(models);
+            }
+            result.add(models);
+        }
+        return result;
+    }
+
+    /**
+     * Returns a view of all combinations of the models of the components. The combined models are created lazily
+     * while iterating.
+     * @param componentModels the models of each component
+     * @return the combined models
+     */
+    public static Iterable<CspAssignment> combine(final List<List<CspAssignment>> componentModels) {
+        return () -> new ProductIterator(componentModels);
+    }
+
+    /**
+     * Returns the number of combinations of the models of the components, i.e., the number of models of the
+     * problem.
+     * <p>
+     * If the models were enumerated with sparse order encoding contexts, each model represents an interval of values
+     * (see {@link CspModelEnumeration#enumerate(SatSolver, Csp, CspEncodingContext, CspFactory)}). The result is then
+     * the number of combinations of these intervals and not the number of solutions.
+     * @param componentModels the models of each component
+     * @return the number of combined models
+     */
+    public static BigInteger count(final List<List<CspAssignment>> componentModels) {
+        BigInteger count = BigInteger.ONE;
+        for (final List<CspAssignment> models : componentModels) {
+            count = count.multiply(BigInteger.valueOf(models.size()));
+        }
+        return count;
+    }
+
+    /**
+     * Splits a problem into its components and solves every component with an own solver and encoding context.
+     * @param csp      the problem
+     * @param contexts supplier for a new encoding context for each component
+     * @param cf       the factory
+     * @return a model of the problem or {@code null} if the problem is unsatisfiable
+     */
+    public static CspAssignment solve(final Csp csp, final Supplier<CspEncodingContext> contexts,
+                                      final CspFactory cf) {
+        final CspAssignment result = new CspAssignment();
+        for (final Csp component : split(csp)) {
+            final CspEncodingContext context = contexts.get();
+            final SatSolver solver = SatSolver.newSolver(cf.getFormulaFactory());
+            solver.add(cf.encodeCsp(component, context));
+            final Set<Variable> variables = context.getSatVariables(component.getInternalIntegerVariables());
+            variables.addAll(component.getVisibleBooleanVariables());
+            final Model model = solver.satCall().model(variables);
+            if (model == null) {
+                return null;
+            }
+            addAll(result, cf.decode(model.toAssignment(), component, context));
+        }
+        return result;
+    }
+
+    private static List<CspAssignment> enumerate(final Csp component, final CspEncodingContext context,
+                                                 final CspFactory cf) {
+        final SatSolver solver = SatSolver.newSolver(cf.getFormulaFactory());
+        solver.add(cf.encodeCsp(component, context));
+        return CspModelEnumeration.enumerate(solver, component, context, cf);
+    }
+
+    private static Set<Object> clauseVariables(final IntegerClause clause) {
+        final Set<Object> variables = new LinkedHashSet<>();
+        for (final ArithmeticLiteral literal : clause.getArithmeticLiterals()) {
+            variables.addAll(literal.getVariables());
+        }
+        for (final Literal literal : clause.getBoolLiterals()) {
+            variables.add(literal.variable());
+        }
+        return variables;
+    }
+
+    /**
+     * Returns the variable whose component decodes the visible variable {@code v}. These are the substitute of
+     * {@code v} or the variables of its definition if it is eliminated.
+     */
+    private static Object anchor(final IntegerVariable v, final Csp csp, final Map<Object, Object> parents) {
+        final IntegerVariableSubstitution substitutions = csp.getPropagateSubstitutions();
+        final IntegerVariable key = substitutions.getOrSelf(v);
+        final LinearExpression definition = csp.getEliminations().get(key);
+        if (definition == null) {
+            find(parents, key);
+            return key;
+        }
+        if (definition.getVariables().isEmpty()) {
+            find(parents, v);
+            return v;
+        }
+        Object anchor = null;
+        for (final IntegerVariable w : definition.getVariables()) {
+            final IntegerVariable substitute = substitutions.getOrSelf(w);
+            if (anchor == null) {
+                anchor = substitute;
+                find(parents, substitute);
+            } else {
+                union(parents, anchor, substitute);
+            }
+        }
+        return anchor;
+    }
+
+    private static Csp.Builder component(final Map<Object, Csp.Builder> components, final Object root,
+                                         final Csp csp) {
+        return components.computeIfAbsent(root, r -> new Csp.Builder()
+                .updatePropagateSubstitutions(csp.getPropagateSubstitutions()));
+    }
+
+    private static Object find(final Map<Object, Object> parents, final Object v) {
+        Object current = v;
+        Object parent = parents.putIfAbsent(current, current);
+        while (parent != null && !parent.equals(current)) {
+            final Object grandParent = parents.get(parent);
+            parents.put(current, grandParent);
+            current = grandParent;
+            parent = parents.get(current);
+        }
+        return current;
+    }
+
+    private static void union(final Map<Object, Object> parents, final Object v, final Object w) {
+        final Object rootV = find(parents, v);
+        final Object rootW = find(parents, w);
+        if (!rootV.equals(rootW)) {
+            parents.put(rootW, rootV);
+        }
+    }
+
+    private static void addAll(final CspAssignment target, final CspAssignment source) {
+        for (final Map.Entry<IntegerVariable, Integer> entry : source.getIntegerAssignments().entrySet()) {
+            target.addIntAssignment(entry.getKey(), entry.getValue());
+        }
+        for (final Variable v : source.positiveBooleans()) {
+            target.addPos(v);
+        }
+        for (final Literal l : source.negativeBooleans()) {
+            target.addNeg(l);
+        }
+    }
+
+    private static <T> T await(final Future<T> task) {
+        try {
+            return task.get();
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while enumerating the components", e);
+        } catch (final ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw new IllegalStateException("Enumeration failed", e.getCause());
+        }
+    }
+
+    /**
+     * Iterator over all combinations of one model of each component.
+     */
+    private static final class ProductIterator implements Iterator<CspAssignment> {
+        private final List<List<CspAssignment>> componentModels;
+        private final int[] indices;
+        private boolean hasNext;
+
+        private ProductIterator(final List<List<CspAssignment>> componentModels) {
+            this.componentModels = componentModels;
+            this.indices = new int[componentModels.size()];
+            this.hasNext = componentModels.stream().noneMatch(List::isEmpty);
+        }
+
+        @Override
+        public boolean hasNext() {
+            return hasNext;
+        }
+
+        @Override
+        public CspAssignment next() {
+            if (!hasNext) {
+                throw new NoSuchElementException();
+            }
+            final CspAssignment model = new CspAssignment();
+            for (int i = 0; i < indices.length; ++i) {
+                addAll(model, componentModels.get(i).get(indices[i]));
+            }
+            int i = 0;
+            while (i < indices.length && ++indices[i] == componentModels.get(i).size()) {
+                indices[i] = 0;
+                ++i;
+            }
+            hasNext = i < indices.length;
+            return model;
+        }
+    }
+}
@@ -1,21 +1,39 @@
 package com.booleworks.logicng.csp.functions;
 
 import com.booleworks.logicng.csp.CspFactory;
+import com.booleworks.logicng.csp.datastructures.Csp;
 import com.booleworks.logicng.csp.datastructures.IntegerClause;
+import com.booleworks.logicng.csp.encodings.CspEncodingContext;
+import com.booleworks.logicng.csp.literals.ArithmeticLiteral;
+import com.booleworks.logicng.csp.literals.LinearLiteral;
+import com.booleworks.logicng.csp.predicates.ComparisonPredicate;
 import com.booleworks.logicng.csp.predicates.CspPredicate;
+import com.booleworks.logicng.csp.terms.IntegerVariable;
+import com.booleworks.logicng.datastructures.Tristate;
 import com.booleworks.logicng.formulas.FType;
 import com.booleworks.logicng.formulas.Formula;
+import com.booleworks.logicng.formulas.FormulaFactory;
 import com.booleworks.logicng.formulas.Literal;
 import com.booleworks.logicng.formulas.Not;
+import com.booleworks.logicng.formulas.Variable;
 
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.LinkedHashSet;
+import java.util.List;
 import java.util.Set;
+import java.util.function.Consumer;
 
 /**
  * Class grouping functions related to decomposing formula into CSP problems.
  */
 public class CspDecomposition {
+    /**
+     * Default maximum number of clauses produced by factorizing the operands of a disjunction. Disjunctions exceeding
+     * this limit are decomposed with a selector variable per operand.
+     */
+    public static final int MAX_FACTORIZED_CLAUSES = 64;
+
     private CspDecomposition() {
     }
 
@@ -26,47 +44,74 @@ public class CspDecomposition {
      * @return the decomposition result
      */
     public static CspPredicate.Decomposition decompose(final Formula formula, final CspFactory cf) {
+        return decompose(formula, MAX_FACTORIZED_CLAUSES, cf);
+    }
+
+    /**
+     * Decompose a formula into arithmetic clauses.
+     * <p>
+     * The operands of a disjunction are factorized as long as the number of resulting clauses does not exceed
+     * {@code maxFactorizedClauses}. Otherwise, each operand with more than one clause gets a selector variable
+     * {@code s} with {@code s -> operand}, and the disjunction is replaced by the disjunction of the selectors.
+     * This keeps the decomposition linear in the size of the formula.
+     * @param formula              the formula
+     * @param maxFactorizedClauses the maximum number of clauses produced by factorizing a disjunction
+     * @param cf                   the factory
+     * @return the decomposition result
+     */
+    public static CspPredicate.Decomposition decompose(final Formula formula, final int maxFactorizedClauses,
+                                                       final CspFactory cf) {
         final Formula nnf = formula.nnf(cf.getFormulaFactory());
         final Set<CspPredicate.Decomposition> decompositions = new LinkedHashSet<>();
-        decomposeRecursive(nnf, cf, decompositions);
+        decomposeRecursive(nnf, maxFactorizedClauses, cf, decompositions::add);
         return CspPredicate.Decomposition.merge(decompositions);
     }
 
-    private static void decomposeRecursive(final Formula formula, final CspFactory cf,
-                                           final Set<CspPredicate.Decomposition> decompositions) {
+    /**
+     * Decompose a formula into arithmetic clauses and adds them directly to a CSP builder.
+     * <p>
+     * In contrast to {@link #decompose(Formula, CspFactory)}, the decompositions of the operands of the top-level
+     * conjunction are not merged into an intermediate decomposition.
+     * @param formula the formula
+     * @param builder the destination for the clauses
+     * @param cf      the factory
+     */
+    public static void decompose(final Formula formula, final Csp.Builder builder, final CspFactory cf) {
+        decompose(formula, MAX_FACTORIZED_CLAUSES, builder, cf);
+    }
+
+    /**
+     * Decompose a formula into arithmetic clauses and adds them directly to a CSP builder.
+     * @param formula              the formula
+     * @param maxFactorizedClauses the maximum number of clauses produced by factorizing a disjunction
+     * @param builder              the destination for the clauses
+     * @param cf                   the factory
+     * @see #decompose(Formula, int, CspFactory)
+     */
+    public static void decompose(final Formula formula, final int maxFactorizedClauses, final Csp.Builder builder,
+                                 final CspFactory cf) {
+        decomposeRecursive(formula.nnf(cf.getFormulaFactory()), maxFactorizedClauses, cf, builder::addDecomposition);
+    }
+
+    private static void decomposeRecursive(final Formula formula, final int maxFactorizedClauses, final CspFactory cf,
+                                           final Consumer<CspPredicate.Decomposition> decompositions) {
         switch (formula.getType()) {
             case AND:
                 for (final Formula op : formula) {
-                    decomposeRecursive(op, cf, decompositions);
+                    decomposeRecursive(op, maxFactorizedClauses, cf, decompositions);
                 }
                 break;
             case OR:
-                CspPredicate.Decomposition factorized = null;
-                for (final Formula op : formula) {
-                    final Set<CspPredicate.Decomposition> disj = new LinkedHashSet<>();
-                    decomposeRecursive(op, cf, disj);
-                    final CspPredicate.Decomposition disjMerged = CspPredicate.Decomposition.merge(disj);
-                    if (factorized == null) {
-                        factorized = disjMerged;
-                    } else {
-                        factorized = IntegerClause.factorize(factorized, disjMerged);
-                    }
-                    if (factorized.getClauses().isEmpty()) {
-                        break;
-                    }
-                }
-                if (factorized != null) {
-                    decompositions.add(factorized);
-                }
+                decomposeDisjunction(formula, maxFactorizedClauses, cf, decompositions);
                 break;
             case LITERAL:
-                decompositions.add(
+                decompositions.accept(
                         new CspPredicate.Decomposition(Collections.singleton(new IntegerClause((Literal) formula)),
                                 Collections.emptySet(), Collections.emptySet()));
                 break;
             case PREDICATE:
                 if (formula instanceof CspPredicate) {
-                    decompositions.add(((CspPredicate) formula).decompose(cf));
+                    decompositions.accept(((CspPredicate) formula).decompose(cf));
                 } else {
                     throw new RuntimeException("Cannot decompose predicates of type: " + formula.getClass());
                 }
@@ -75,8 +120,8 @@ public class CspDecomposition {
                 final Not not = (Not) formula;
                 assert (not.getOperand().getType() == FType.PREDICATE);
                 if (not.getOperand() instanceof CspPredicate) {
-                    decomposeRecursive(((CspPredicate) not.getOperand()).negate(cf).nnf(cf.getFormulaFactory()), cf,
-                            decompositions);
+                    decomposeRecursive(((CspPredicate) not.getOperand()).negate(cf).nnf(cf.getFormulaFactory()),
+                            maxFactorizedClauses, cf, decompositions);
                 } else {
                     throw new RuntimeException("Cannot decompose predicates of type: " + not.getOperand().getClass());
                 }
@@ -85,4 +130,132 @@ public class CspDecomposition {
                 throw new RuntimeException("Cannot decompose formula of type: " + formula.getClass());
         }
     }
+
+    /**
+     * Decomposes a disjunction.
+     * <p>
+     * If an operand is a comparison which is satisfied by the bounds of its terms, the disjunction is satisfied and no
+     * operand is decomposed. Operands decomposing into a single clause are collected into one guard clause. The
+     * remaining operands form the body. If factorizing the body exceeds {@code maxFactorizedClauses}, each operand of
+     * the body gets its own selector {@code s_i} with {@code ~s_i | c} for each of its clauses {@code c} and the
+     * decomposition contains the clause {@code guard | s_1 | ... | s_k}. Otherwise, the body is factorized and the
+     * guard is added to each clause of the body, which half-reifies the body without auxiliary variables if the guard
+     * consists of boolean literals, e.g., for {@code b -> x + y <= z}. If the guard and more than one clause of the
+     * body contain non-simple arithmetic literals, adding the guard to each clause would require a selector variable
+     * for each of these clauses in the order encoding. In this case, the body is half-reified with a single selector.
+     * @param formula              the disjunction
+     * @param maxFactorizedClauses the maximum number of clauses produced by factorizing the body
+     * @param cf                   the factory
+     * @param decompositions       the destination for the decomposition
+     */
+    private static void decomposeDisjunction(final Formula formula, final int maxFactorizedClauses,
+                                             final CspFactory cf,
+                                             final Consumer<CspPredicate.Decomposition> decompositions) {
+        final Set<Literal> guardBools = new LinkedHashSet<>();
+        final Set<ArithmeticLiteral> guardAriths = new LinkedHashSet<>();
+        final Set<IntegerVariable> intVars = new LinkedHashSet<>();
+        final Set<Variable> boolVars = new LinkedHashSet<>();
+        final List<CspPredicate.Decomposition> bodies = new ArrayList<>();
+        long factorizedSize = 1;
+        for (final Formula op : formula) {
+            if (isValidByBounds(op)) {
+                decompositions.accept(CspPredicate.Decomposition.empty());
+                return;
+            }
+        }
+        for (final Formula op : formula) {
+            final Set<CspPredicate.Decomposition> disj = new LinkedHashSet<>();
+            decomposeRecursive(op, maxFactorizedClauses, cf, disj::add);
+            final CspPredicate.Decomposition disjMerged = CspPredicate.Decomposition.merge(disj);
+            intVars.addAll(disjMerged.getAuxiliaryIntegerVariables());
+            boolVars.addAll(disjMerged.getAuxiliaryBooleanVariables());
+            if (disjMerged.getClauses().isEmpty()) {
+                decompositions.accept(new CspPredicate.Decomposition(Collections.emptySet(), intVars, boolVars));
+                return;
+            }
+            if (disjMerged.getClauses().size() == 1) {
+                final IntegerClause clause = disjMerged.getClauses().iterator().next();
+                guardBools.addAll(clause.getBoolLiterals());
+                guardAriths.addAll(clause.getArithmeticLiterals());
+            } else {
+                bodies.add(disjMerged);
+                factorizedSize = Math.min(factorizedSize * disjMerged.getClauses().size(), Integer.MAX_VALUE);
+            }
+        }
+        final Set<IntegerClause> clauses = new LinkedHashSet<>();
+        if (bodies.isEmpty()) {
+            clauses.add(new IntegerClause(guardBools, guardAriths));
+        } else if (bodies.size() > 1 && factorizedSize > maxFactorizedClauses) {
+            final FormulaFactory f = cf.getFormulaFactory();
+            final Set<Literal> guardWithSelectors = new LinkedHashSet<>(guardBools);
+            for (final CspPredicate.Decomposition body : bodies) {
+                final Variable s = f.newAuxVariable(CspEncodingContext.CSP_AUX_LNG_VARIABLE);
+                boolVars.add(s);
+                guardWithSelectors.add(s);
+                addGuarded(body.getClauses(), Collections.singleton(s.negate(f)), Collections.emptySet(), clauses);
+            }
+            clauses.add(new IntegerClause(guardWithSelectors, guardAriths));
+        } else {
+            CspPredicate.Decomposition body = bodies.get(0);
+            for (int i = 1; i < bodies.size(); i++) {
+                body = IntegerClause.factorize(body, bodies.get(i));
+            }
+            final IntegerClause guard = new IntegerClause(guardBools, guardAriths);
+            if (hasNonSimpleLiteral(guard)
+                    && body.getClauses().stream().filter(CspDecomposition::hasNonSimpleLiteral).count() > 1) {
+                final FormulaFactory f = cf.getFormulaFactory();
+                final Variable s = f.newAuxVariable(CspEncodingContext.CSP_AUX_LNG_VARIABLE);
+                boolVars.add(s);
+                final Set<Literal> guardWithSelector = new LinkedHashSet<>(guardBools);
+                guardWithSelector.add(s);
+                clauses.add(new IntegerClause(guardWithSelector, guardAriths));
+                addGuarded(body.getClauses(), Collections.singleton(s.negate(f)), Collections.emptySet(), clauses);
+            } else {
+                addGuarded(body.getClauses(), guardBools, guardAriths, clauses);
+            }
+        }
+        decompositions.accept(new CspPredicate.Decomposition(clauses, intVars, boolVars));
+    }
+
+    /**
+     * Returns whether a formula is a comparison or a negated comparison which is satisfied by all values of its terms.
+     * This is checked before decomposing the operands of a disjunction, such that no operand is decomposed if the
+     * disjunction is trivially satisfied.
+     */
+    private static boolean isValidByBounds(final Formula formula) {
+        if (formula instanceof ComparisonPredicate) {
+            return ((ComparisonPredicate) formula).evaluateBounds() == Tristate.TRUE;
+        }
+        if (formula.getType() == FType.NOT && ((Not) formula).getOperand() instanceof ComparisonPredicate) {
+            return ((ComparisonPredicate) ((Not) formula).getOperand()).evaluateBounds() == Tristate.FALSE;
+        }
+        return false;
+    }
+
+    private static void addGuarded(final Set<IntegerClause> body, final Set<Literal> guardBools,
+                                   final Set<ArithmeticLiteral> guardAriths, final Set<IntegerClause> clauses) {
+        for (final IntegerClause clause : body) {
+            final Set<Literal> bools = new LinkedHashSet<>(clause.getBoolLiterals());
+            final Set<ArithmeticLiteral> ariths = new LinkedHashSet<>(clause.getArithmeticLiterals());
+            bools.addAll(guardBools);
+            ariths.addAll(guardAriths);
+            clauses.add(new IntegerClause(bools, ariths));
+        }
+    }
+
+    /**
+     * Returns whether a clause contains an arithmetic literal which is not a comparison of a single variable with a
+     * constant.
+     * @param clause the clause
+     * @return whether the clause contains a non-simple arithmetic literal
+     */
+    private static boolean hasNonSimpleLiteral(final IntegerClause clause) {
+        for (final ArithmeticLiteral literal : clause.getArithmeticLiterals()) {
+            if (!(literal instanceof LinearLiteral) || ((LinearLiteral) literal).getSum().size() > 1
+                    || ((LinearLiteral) literal).getOperator() != LinearLiteral.Operator.LE) {
+                return true;
+            }
+        }
+        return false;
+    }
 }
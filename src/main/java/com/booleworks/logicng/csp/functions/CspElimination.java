@@ -0,0 +1,260 @@
+package com.booleworks.logicng.csp.functions;
+
+import com.booleworks.logicng.csp.datastructures.Csp;
+import com.booleworks.logicng.csp.datastructures.CspAssignment;
+import com.booleworks.logicng.csp.datastructures.IntegerClause;
+import com.booleworks.logicng.csp.datastructures.IntegerVariableSubstitution;
+import com.booleworks.logicng.csp.datastructures.LinearExpression;
+import com.booleworks.logicng.csp.datastructures.domains.IntegerDomain;
+import com.booleworks.logicng.csp.literals.ArithmeticLiteral;
+import com.booleworks.logicng.csp.literals.LinearLiteral;
+import com.booleworks.logicng.csp.terms.IntegerVariable;
+import com.booleworks.logicng.formulas.Literal;
+import com.booleworks.logicng.formulas.Variable;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * A class grouping functions for eliminating integer variables which are defined by linear equalities.
+ */
+public class CspElimination {
+    private CspElimination() {
+    }
+
+    /**
+     * Eliminates integer variables which are aliases of other integer variables. This is an optimization that removes
+     * the encoding of the eliminated variables and of their defining equalities.
+     * <p>
+     * A unit clause {@code a*x + b*y + c = 0} with {@code a = 1} or {@code a = -1} defines {@code x} as
+     * {@code -a*(b*y + c)}. The variable {@code x} is substituted out of all clauses and its domain is transferred to
+     * {@code y} by clauses restricting the definition to the domain of {@code x}. Variables occurring in non-linear
+     * literals are not eliminated. If both variables can be eliminated, the variable with the larger domain is
+     * eliminated. The definitions are stored in {@link Csp#getEliminations()} and are used by the decoding to
+     * reconstruct the values of the eliminated variables.
+     * @param csp the problem
+     * @return the problem without the eliminated variables
+     */
+    public static Csp eliminate(final Csp csp) {
+        final Set<IntegerVariable> blocked = new LinkedHashSet<>();
+        for (final IntegerClause clause : csp.getClauses()) {
+            for (final ArithmeticLiteral literal : clause.getArithmeticLiterals()) {
+                if (!(literal instanceof LinearLiteral)) {
+                    blocked.addAll(literal.getVariables());
+                }
+            }
+        }
+        final Map<IntegerVariable, LinearExpression> eliminations = new LinkedHashMap<>(csp.getEliminations());
+        final Set<IntegerClause> restrictions = new LinkedHashSet<>();
+        boolean changed = true;
+        while (changed) {
+            changed = false;
+            for (final IntegerClause clause : csp.getClauses()) {
+                if (!isEquality(clause)) {
+                    continue;
+                }
+                final LinearLiteral literal = (LinearLiteral) clause.getArithmeticLiterals().iterator().next();
+                final LinearExpression sum = substitute(literal.getSum(), eliminations);
+                if (sum.size() != 2) {
+                    continue;
+                }
+                final IntegerVariable x = eliminationCandidate(sum, blocked);
+                if (x == null) {
+                    continue;
+                }
+                final LinearExpression.Builder rest = new LinearExpression.Builder(sum);
+                rest.setA(0, x);
+                rest.multiply(-sum.getA(x));
+                final LinearExpression definition = rest.build();
+                final Map<IntegerVariable, LinearExpression> single = Collections.singletonMap(x, definition);
+                eliminations.replaceAll((v, e) -> substitute(e, single));
+                eliminations.put(x, definition);
+                restrictDomain(x, definition, restrictions);
+                changed = true;
+            }
+        }
+        if (eliminations.size() == csp.getEliminations().size()) {
+            return csp;
+        }
+        final Set<IntegerClause> newClauses = new LinkedHashSet<>();
+        for (final IntegerClause clause : csp.getClauses()) {
+            addSubstitutedClause(clause, eliminations, newClauses);
+        }
+        for (final IntegerClause clause : restrictions) {
+            addSubstitutedClause(clause, eliminations, newClauses);
+        }
+        final Csp eliminated = Csp.fromClauses(newClauses, csp.getVisibleIntegerVariables(),
+                csp.getVisibleBooleanVariables(), csp.getPropagateSubstitutions());
+        return new Csp.Builder(eliminated).updateEliminations(eliminations).build();
+    }
+
+    /**
+     * Returns the integer variables which have to be decoded to reconstruct the values of the given variables. These
+     * are the variables which are not eliminated and the substitutes of the variables in the definitions of the
+     * eliminated ones.
+     * @param variables the variables of interest
+     * @param csp       the problem
+     * @return the integer variables which have to be decoded
+     */
+    public static Collection<IntegerVariable> decodedVariables(final Collection<IntegerVariable> variables,
+                                                               final Csp csp) {
+        if (csp.getEliminations().isEmpty()) {
+            return variables;
+        }
+        final IntegerVariableSubstitution substitutions = csp.getPropagateSubstitutions();
+        final Set<IntegerVariable> decoded = new LinkedHashSet<>();
+        for (final IntegerVariable v : variables) {
+            final LinearExpression definition = csp.getEliminations().get(substitutions.getOrSelf(v));
+            if (definition == null) {
+                decoded.add(v);
+            } else {
+                decoded.addAll(substitutions.getAllOrSelf(definition.getVariables()));
+            }
+        }
+        return decoded;
+    }
+
+    /**
+     * Reconstructs the values of eliminated variables from an assignment of the variables returned by
+     * {@link #decodedVariables(Collection, Csp)}. The result only assigns the given integer variables.
+     * @param decoded   the decoded assignment
+     * @param variables the variables of interest
+     * @param csp       the problem
+     * @return the assignment of the variables of interest
+     */
+    public static CspAssignment reconstruct(final CspAssignment decoded, final Collection<IntegerVariable> variables,
+                                            final Csp csp) {
+        if (csp.getEliminations().isEmpty()) {
+            return decoded;
+        }
+        final IntegerVariableSubstitution substitutions = csp.getPropagateSubstitutions();
+        final Map<IntegerVariable, Integer> values = decoded.getIntegerAssignments();
+        final CspAssignment result = new CspAssignment();
+        for (final IntegerVariable v : variables) {
+            final LinearExpression definition = csp.getEliminations().get(substitutions.getOrSelf(v));
+            if (definition == null) {
+                result.addIntAssignment(v, values.get(v));
+            } else {
+                int value = definition.getB();
+                for (final Map.Entry<IntegerVariable, Integer> entry : definition.getCoef().entrySet()) {
+                    value += entry.getValue() * values.get(substitutions.getOrSelf(entry.getKey()));
+                }
+                result.addIntAssignment(v, value);
+            }
+        }
+        for (final Variable v : decoded.positiveBooleans()) {
+            result.addPos(v);
+        }
+        for (final Literal l : decoded.negativeBooleans()) {
+            result.addNeg(l);
+        }
+        return result;
+    }
+
+    private static boolean isEquality(final IntegerClause clause) {
+        if (!clause.getBoolLiterals().isEmpty() || clause.getArithmeticLiterals().size() != 1) {
+            return false;
+        }
+        final ArithmeticLiteral literal = clause.getArithmeticLiterals().iterator().next();
+        return literal instanceof LinearLiteral && ((LinearLiteral) literal).getOperator() == LinearLiteral.Operator.EQ;
+    }
+
+    private static IntegerVariable eliminationCandidate(final LinearExpression sum,
+                                                        final Set<IntegerVariable> blocked) {
+        IntegerVariable candidate = null;
+        for (final IntegerVariable v : sum.getVariables()) {
+            if (Math.abs(sum.getA(v)) == 1 && !blocked.contains(v)
+                    && (candidate == null || v.getDomain().size() > candidate.getDomain().size())) {
+                candidate = v;
+            }
+        }
+        return candidate;
+    }
+
+    /**
+     * Adds clauses restricting the values of the definition of an eliminated variable to the domain of the variable.
+     * The definition contains exactly one variable.
+     */
+    private static void restrictDomain(final IntegerVariable x, final LinearExpression definition,
+                                       final Set<IntegerClause> restrictions) {
+        final IntegerDomain domain = x.getDomain();
+        final IntegerDomain values = definition.getDomain();
+        final IntegerVariable y = definition.getCoef().firstKey();
+        final int a = definition.getA(y);
+        final int b = definition.getB();
+        if (values.lb() < domain.lb()) {
+            restrictions.add(new IntegerClause(
+                    new LinearLiteral(new LinearExpression(-a, y, domain.lb() - b), LinearLiteral.Operator.LE)));
+        }
+        if (values.ub() > domain.ub()) {
+            restrictions.add(new IntegerClause(
+                    new LinearLiteral(new LinearExpression(a, y, b - domain.ub()), LinearLiteral.Operator.LE)));
+        }
+        if (!domain.isContiguous()) {
+            final Iterator<Integer> it = y.getDomain().iterator();
+            while (it.hasNext()) {
+                final int v = it.next();
+                final int value = a * v + b;
+                if (value >= domain.lb() && value <= domain.ub() && !domain.contains(value)) {
+                    restrictions.add(new IntegerClause(
+                            new LinearLiteral(new LinearExpression(1, y, -v), LinearLiteral.Operator.NE)));
+                }
+            }
+        }
+    }
+
+    private static void addSubstitutedClause(final IntegerClause clause,
+                                             final Map<IntegerVariable, LinearExpression> eliminations,
+                                             final Set<IntegerClause> clauses) {
+        final Set<ArithmeticLiteral> literals = new LinkedHashSet<>();
+        boolean changed = false;
+        for (final ArithmeticLiteral literal : clause.getArithmeticLiterals()) {
+            if (literal instanceof LinearLiteral) {
+                final LinearLiteral ll = (LinearLiteral) literal;
+                final LinearExpression sum = substitute(ll.getSum(), eliminations);
+                if (sum == ll.getSum()) {
+                    literals.add(ll);
+                } else {
+                    changed = true;
+                    final LinearLiteral substituted = new LinearLiteral(sum, ll.getOperator());
+                    if (!substituted.isUnsat()) {
+                        literals.add(substituted);
+                    }
+                }
+            } else {
+                literals.add(literal);
+            }
+        }
+        final IntegerClause newClause = changed ? new IntegerClause(clause.getBoolLiterals(), literals) : clause;
+        if (!newClause.isValid()) {
+            clauses.add(newClause);
+        }
+    }
+
+    /**
+     * Substitutes the definitions of eliminated variables into a linear expression.
+     * @param exp          the linear expression
+     * @param eliminations the definitions of the eliminated variables
+     * @return the substituted expression or {@code exp} itself if it contains no eliminated variable
+     */
+    static LinearExpression substitute(final LinearExpression exp,
+                                       final Map<IntegerVariable, LinearExpression> eliminations) {
+        LinearExpression.Builder builder = null;
+        for (final Map.Entry<IntegerVariable, Integer> entry : exp.getCoef().entrySet()) {
+            final LinearExpression definition = eliminations.get(entry.getKey());
+            if (definition != null) {
+                if (builder == null) {
+                    builder = new LinearExpression.Builder(exp);
+                }
+                builder.setA(0, entry.getKey());
+                builder.add(LinearExpression.multiply(definition, entry.getValue()));
+            }
+        }
+        return builder == null ? exp : builder.build();
+    }
+}
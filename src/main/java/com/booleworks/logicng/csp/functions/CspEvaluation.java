@@ -0,0 +1,218 @@
+package com.booleworks.logicng.csp.functions;
+
+import com.booleworks.logicng.csp.datastructures.CspAssignment;
+import com.booleworks.logicng.csp.predicates.AllDifferentPredicate;
+import com.booleworks.logicng.csp.predicates.BinaryPredicate;
+import com.booleworks.logicng.csp.predicates.CountPredicate;
+import com.booleworks.logicng.csp.predicates.CspPredicate;
+import com.booleworks.logicng.csp.predicates.CumulativePredicate;
+import com.booleworks.logicng.csp.predicates.DisjunctivePredicate;
+import com.booleworks.logicng.csp.predicates.ElementPredicate;
+import com.booleworks.logicng.csp.predicates.GlobalCardinalityPredicate;
+import com.booleworks.logicng.csp.predicates.PseudoBooleanPredicate;
+import com.booleworks.logicng.csp.predicates.TablePredicate;
+import com.booleworks.logicng.csp.terms.AdditionFunction;
+import com.booleworks.logicng.csp.terms.BinaryFunction;
+import com.booleworks.logicng.csp.terms.IntegerConstant;
+import com.booleworks.logicng.csp.terms.IntegerVariable;
+import com.booleworks.logicng.csp.terms.Term;
+import com.booleworks.logicng.csp.terms.UnaryFunction;
+import com.booleworks.logicng.formulas.Literal;
+
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * A class grouping functions for evaluating terms and predicates under an assignment.
+ * <p>
+ * The functions evaluate the terms recursively. For evaluating many assignments, use a compiled
+ * {@link CspEvaluator}.
+ */
+public class CspEvaluation {
+    private CspEvaluation() {
+    }
+
+    /**
+     * Evaluates a term under an assignment.
+     * <p>
+     * Division and modulo follow the semantics of the encodings, i.e., the remainder is always non-negative.
+     * @param term       the term
+     * @param assignment the assignment
+     * @return the value of the term
+     * @throws IllegalArgumentException if a variable of the term is not assigned
+     */
+    public static int evaluate(final Term term, final CspAssignment assignment) {
+        switch (term.getType()) {
+            case ZERO:
+            case ONE:
+            case CONST:
+                return ((IntegerConstant) term).getValue();
+            case VAR:
+                final Integer value = assignment.getIntegerAssignments().get((IntegerVariable) term);
+                if (value == null) {
+                    throw new IllegalArgumentException("Integer variable is not assigned: " + term);
+                }
+                return value;
+            case NEG:
+                return -evaluate(((UnaryFunction) term).getOperand(), assignment);
+            case ABS:
+                return Math.abs(evaluate(((UnaryFunction) term).getOperand(), assignment));
+            case ADD:
+                int sum = 0;
+                for (final Term operand : ((AdditionFunction) term).getOperands()) {
+                    sum += evaluate(operand, assignment);
+                }
+                return sum;
+            default:
+                final BinaryFunction function = (BinaryFunction) term;
+                final int left = evaluate(function.getLeft(), assignment);
+                final int right = evaluate(function.getRight(), assignment);
+                return evaluateBinary(term.getType(), left, right);
+        }
+    }
+
+    /**
+     * Evaluates a predicate under an assignment.
+     * @param predicate  the predicate
+     * @param assignment the assignment
+     * @return {@code true} if the predicate is satisfied by the assignment
+     * @throws IllegalArgumentException if a variable of the predicate is not assigned
+     */
+    public static boolean evaluate(final CspPredicate predicate, final CspAssignment assignment) {
+        if (predicate.getPredicateType() == CspPredicate.Type.ALLDIFFERENT) {
+            final Set<Integer> values = new HashSet<>();
+            for (final Term term : ((AllDifferentPredicate) predicate).getTerms()) {
+                if (!values.add(evaluate(term, assignment))) {
+                    return false;
+                }
+            }
+            return true;
+        }
+        if (predicate.getPredicateType() == CspPredicate.Type.ELEMENT) {
+            final ElementPredicate element = (ElementPredicate) predicate;
+            final int index = evaluate(element.getIndex(), assignment);
+            return index >= 0 && index < element.getArray().size()
+                    && evaluate(element.getArray().get(index), assignment) == evaluate(element.getValue(), assignment);
+        }
+        if (predicate.getPredicateType() == CspPredicate.Type.TABLE) {
+            final TablePredicate table = (TablePredicate) predicate;
+            final int[] values = new int[table.getVariables().size()];
+            for (int i = 0; i < values.length; i++) {
+                values[i] = evaluate(table.getVariables().get(i), assignment);
+            }
+            return table.containsTuple(values) == table.isPositive();
+        }
+        if (predicate.getPredicateType() == CspPredicate.Type.DISJUNCTIVE) {
+            final DisjunctivePredicate disjunctive = (DisjunctivePredicate) predicate;
+            final int n = disjunctive.getStarts().size();
+            return maxLoad(disjunctive.getStarts(), disjunctive.getDurations(), Collections.nCopies(n, 1),
+                    assignment) <= 1;
+        }
+        if (predicate.getPredicateType() == CspPredicate.Type.CUMULATIVE) {
+            final CumulativePredicate cumulative = (CumulativePredicate) predicate;
+            return maxLoad(cumulative.getStarts(), cumulative.getDurations(), cumulative.getDemands(),
+                    assignment) <= cumulative.getCapacity();
+        }
+        if (predicate.getPredicateType() == CspPredicate.Type.COUNT) {
+            final CountPredicate count = (CountPredicate) predicate;
+            final int n = count(count.getVariables(), count.getValueLb(), count.getValueUb(), assignment);
+            return n >= count.getMinCount() && n <= count.getMaxCount();
+        }
+        if (predicate.getPredicateType() == CspPredicate.Type.GLOBAL_CARDINALITY) {
+            final GlobalCardinalityPredicate gcc = (GlobalCardinalityPredicate) predicate;
+            for (int i = 0; i < gcc.getValues().size(); i++) {
+                final int value = gcc.getValues().get(i);
+                final int n = count(gcc.getVariables(), value, value, assignment);
+                if (n < gcc.getMinCounts().get(i) || n > gcc.getMaxCounts().get(i)) {
+                    return false;
+                }
+            }
+            return true;
+        }
+        if (predicate.getPredicateType() == CspPredicate.Type.PSEUDO_BOOLEAN) {
+            final PseudoBooleanPredicate pb = (PseudoBooleanPredicate) predicate;
+            long sum = evaluate(pb.getTerm(), assignment);
+            for (int i = 0; i < pb.getLiterals().size(); i++) {
+                final Literal literal = pb.getLiterals().get(i);
+                if (assignment.positiveBooleans().contains(literal.variable()) == literal.getPhase()) {
+                    sum += pb.getWeights().get(i);
+                }
+            }
+            return sum <= 0;
+        }
+        final BinaryPredicate binary = (BinaryPredicate) predicate;
+        final int left = evaluate(binary.getLeft(), assignment);
+        final int right = evaluate(binary.getRight(), assignment);
+        switch (predicate.getPredicateType()) {
+            case EQ:
+                return left == right;
+            case NE:
+                return left != right;
+            case LE:
+                return left <= right;
+            case LT:
+                return left < right;
+            case GE:
+                return left >= right;
+            case GT:
+                return left > right;
+            default:
+                throw new IllegalArgumentException("Unsupported predicate type: " + predicate.getPredicateType());
+        }
+    }
+
+    private static int count(final List<IntegerVariable> variables, final int valueLb, final int valueUb,
+                             final CspAssignment assignment) {
+        int count = 0;
+        for (final IntegerVariable v : variables) {
+            final int value = evaluate(v, assignment);
+            if (value >= valueLb && value <= valueUb) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    private static long maxLoad(final List<IntegerVariable> starts, final List<Integer> durations,
+                                final List<Integer> demands, final CspAssignment assignment) {
+        final int[] values = new int[starts.size()];
+        for (int i = 0; i < values.length; i++) {
+            values[i] = evaluate(starts.get(i), assignment);
+        }
+        long max = 0;
+        for (int j = 0; j < values.length; j++) {
+            if (durations.get(j) == 0) {
+                continue;
+            }
+            long load = 0;
+            for (int i = 0; i < values.length; i++) {
+                if (values[i] <= values[j] && values[j] < (long) values[i] + durations.get(i)) {
+                    load += demands.get(i);
+                }
+            }
+            max = Math.max(max, load);
+        }
+        return max;
+    }
+
+    private static int evaluateBinary(final Term.Type type, final int left, final int right) {
+        switch (type) {
+            case SUB:
+                return left - right;
+            case MUL:
+                return left * right;
+            case DIV:
+                return (left - Math.floorMod(left, Math.abs(right))) / right;
+            case MOD:
+                return Math.floorMod(left, Math.abs(right));
+            case MIN:
+                return Math.min(left, right);
+            case MAX:
+                return Math.max(left, right);
+            default:
+                throw new IllegalArgumentException("Unsupported term type: " + type);
+        }
+    }
+}
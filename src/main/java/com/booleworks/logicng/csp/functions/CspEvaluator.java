@@ -0,0 +1,769 @@
+package com.booleworks.logicng.csp.functions;
+
+import com.booleworks.logicng.collections.LngIntVector;
+import com.booleworks.logicng.csp.datastructures.Csp;
+import com.booleworks.logicng.csp.datastructures.CspAssignment;
+import com.booleworks.logicng.csp.datastructures.IntegerClause;
+import com.booleworks.logicng.csp.datastructures.LinearExpression;
+import com.booleworks.logicng.csp.literals.ArithmeticLiteral;
+import com.booleworks.logicng.csp.literals.LinearLiteral;
+import com.booleworks.logicng.csp.literals.ProductLiteral;
+import com.booleworks.logicng.csp.predicates.AllDifferentPredicate;
+import com.booleworks.logicng.csp.predicates.BinaryPredicate;
+import com.booleworks.logicng.csp.predicates.CountPredicate;
+import com.booleworks.logicng.csp.predicates.CspPredicate;
+import com.booleworks.logicng.csp.predicates.CumulativePredicate;
+import com.booleworks.logicng.csp.predicates.DisjunctivePredicate;
+import com.booleworks.logicng.csp.predicates.ElementPredicate;
+import com.booleworks.logicng.csp.predicates.GlobalCardinalityPredicate;
+import com.booleworks.logicng.csp.predicates.PseudoBooleanPredicate;
+import com.booleworks.logicng.csp.predicates.TablePredicate;
+import com.booleworks.logicng.csp.terms.BinaryFunction;
+import com.booleworks.logicng.csp.terms.DivisionFunction;
+import com.booleworks.logicng.csp.terms.IntegerConstant;
+import com.booleworks.logicng.csp.terms.IntegerVariable;
+import com.booleworks.logicng.csp.terms.ModuloFunction;
+import com.booleworks.logicng.csp.terms.NAryFunction;
+import com.booleworks.logicng.csp.terms.Term;
+import com.booleworks.logicng.csp.terms.UnaryFunction;
+import com.booleworks.logicng.formulas.Literal;
+import com.booleworks.logicng.formulas.Variable;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A compiled evaluator for terms, predicates, arithmetic clauses, and CSP problems.
+ * <p>
+ * Compiling flattens the term DAG into an array of primitive instructions over registers. Each distinct sub-term
+ * is computed exactly once per evaluation. The condition is stored as a conjunction of disjunctions of atomic
+ * comparisons between registers. Atoms and instructions over many registers, e.g., the membership in a positive
+ * table, the load of a cumulative predicate, or the number of variables taking a value, refer to a flat data array.
+ * An evaluation runs the instructions in a single loop and checks the condition without recursion or boxing.
+ * <p>
+ * Integer variables are identified by their index in {@link #getIntegerVariables()}, boolean variables by their
+ * index in {@link #getBooleanVariables()}. The methods accepting a {@link CspAssignment} are convenience methods that
+ * first convert the assignment into arrays.
+ * <p>
+ * Division and modulo follow the semantics of the encodings, i.e., the remainder is always non-negative.
+ * <p>
+ * An evaluator reuses its registers and is therefore not thread-safe.
+ */
+public final class CspEvaluator {
+    private static final int OP_CONST = 0;
+    private static final int OP_LOAD = 1;
+    private static final int OP_NEG = 2;
+    private static final int OP_ABS = 3;
+    private static final int OP_ADD = 4;
+    private static final int OP_SUB = 5;
+    private static final int OP_MUL = 6;
+    private static final int OP_ADD_MUL = 7;
+    private static final int OP_DIV = 8;
+    private static final int OP_MOD = 9;
+    private static final int OP_MIN = 10;
+    private static final int OP_MAX = 11;
+    private static final int OP_COUNT = 12;
+    private static final int OP_ADD_IF_TRUE = 13;
+    private static final int OP_ADD_IF_FALSE = 14;
+
+    private static final int ATOM_EQ = 0;
+    private static final int ATOM_NE = 1;
+    private static final int ATOM_LE = 2;
+    private static final int ATOM_LT = 3;
+    private static final int ATOM_POS = 4;
+    private static final int ATOM_NEG = 5;
+    private static final int ATOM_TABLE = 6;
+    private static final int ATOM_CUMULATIVE = 7;
+
+    private static final boolean[] NO_BOOLEANS = new boolean[0];
+
+    private final List<IntegerVariable> integerVariables;
+    private final List<Variable> booleanVariables;
+    private final int[] program;
+    private final int[] atoms;
+    private final int[] clauseEnds;
+    private final int[] data;
+    private final int resultRegister;
+    private final int[] registers;
+
+    private CspEvaluator(final Compiler compiler, final int resultRegister) {
+        this.integerVariables = Collections.unmodifiableList(new ArrayList<>(compiler.integerIds.keySet()));
+        this.booleanVariables = Collections.unmodifiableList(new ArrayList<>(compiler.booleanIds.keySet()));
+        this.program = compiler.program.toArray();
+        this.atoms = compiler.atoms.toArray();
+        this.clauseEnds = compiler.clauseEnds.toArray();
+        this.data = compiler.data.toArray();
+        this.resultRegister = resultRegister;
+        this.registers = new int[compiler.registers];
+    }
+
+    /**
+     * Compiles a term. The value of the term is computed by {@link #evaluateTerm(int[])}, the condition of the
+     * evaluator is always satisfied.
+     * @param term the term
+     * @return the evaluator
+     */
+    public static CspEvaluator compile(final Term term) {
+        final Compiler compiler = new Compiler();
+        final int result = compiler.term(term);
+        return new CspEvaluator(compiler, result);
+    }
+
+    /**
+     * Compiles a predicate.
+     * @param predicate the predicate
+     * @return the evaluator
+     */
+    public static CspEvaluator compile(final CspPredicate predicate) {
+        return compilePredicates(List.of(predicate));
+    }
+
+    /**
+     * Compiles the conjunction of a collection of predicates.
+     * @param predicates the predicates
+     * @return the evaluator
+     */
+    public static CspEvaluator compilePredicates(final Collection<? extends CspPredicate> predicates) {
+        final Compiler compiler = new Compiler();
+        for (final CspPredicate predicate : predicates) {
+            compiler.predicate(predicate);
+        }
+        return new CspEvaluator(compiler, -1);
+    }
+
+    /**
+     * Compiles an arithmetic clause.
+     * @param clause the arithmetic clause
+     * @return the evaluator
+     * @throws IllegalArgumentException if the clause contains literals which are only used internally by the
+     *                                  compact order encoding
+     */
+    public static CspEvaluator compile(final IntegerClause clause) {
+        return compileClauses(List.of(clause));
+    }
+
+    /**
+     * Compiles the conjunction of a collection of arithmetic clauses.
+     * @param clauses the arithmetic clauses
+     * @return the evaluator
+     * @throws IllegalArgumentException if a clause contains literals which are only used internally by the
+     *                                  compact order encoding
+     */
+    public static CspEvaluator compileClauses(final Collection<IntegerClause> clauses) {
+        final Compiler compiler = new Compiler();
+        for (final IntegerClause clause : clauses) {
+            compiler.clause(clause);
+        }
+        return new CspEvaluator(compiler, -1);
+    }
+
+    /**
+     * Compiles the clauses of a CSP problem.
+     * <p>
+     * The clauses of a problem usually contain auxiliary variables introduced by the decomposition. Hence, an
+     * assignment must contain all internal integer and boolean variables of the problem which occur in the clauses.
+     * @param csp the problem
+     * @return the evaluator
+     */
+    public static CspEvaluator compile(final Csp csp) {
+        return compileClauses(csp.getClauses());
+    }
+
+    /**
+     * Returns the integer variables of the evaluator. The index of a variable in this list is its index in the value
+     * array.
+     * @return the integer variables of the evaluator
+     */
+    public List<IntegerVariable> getIntegerVariables() {
+        return integerVariables;
+    }
+
+    /**
+     * Returns the boolean variables of the evaluator. The index of a variable in this list is its index in the
+     * boolean array.
+     * @return the boolean variables of the evaluator
+     */
+    public List<Variable> getBooleanVariables() {
+        return booleanVariables;
+    }
+
+    /**
+     * Returns the number of instructions of the compiled program.
+     * @return the number of instructions
+     */
+    public int numberOfInstructions() {
+        return program.length / 4;
+    }
+
+    /**
+     * Evaluates the condition for an assignment of integer variables. Must only be used if there are no boolean
+     * variables.
+     * @param values the values of the integer variables (indexed as in {@link #getIntegerVariables()})
+     * @return {@code true} if the condition is satisfied
+     */
+    public boolean evaluate(final int[] values) {
+        return evaluate(values, NO_BOOLEANS);
+    }
+
+    /**
+     * Evaluates the condition for an assignment of integer and boolean variables.
+     * @param values   the values of the integer variables (indexed as in {@link #getIntegerVariables()})
+     * @param booleans the values of the boolean variables (indexed as in {@link #getBooleanVariables()})
+     * @return {@code true} if the condition is satisfied
+     */
+    public boolean evaluate(final int[] values, final boolean[] booleans) {
+        run(values, booleans);
+        final int[] reg = registers;
+        int atom = 0;
+        for (final int end : clauseEnds) {
+            boolean satisfied = false;
+            while (!satisfied && atom < end) {
+                final int a = atoms[atom + 1];
+                final int b = atoms[atom + 2];
+                switch (atoms[atom]) {
+                    case ATOM_EQ:
+                        satisfied = reg[a] == reg[b];
+                        break;
+                    case ATOM_NE:
+                        satisfied = reg[a] != reg[b];
+                        break;
+                    case ATOM_LE:
+                        satisfied = reg[a] <= reg[b];
+                        break;
+                    case ATOM_LT:
+                        satisfied = reg[a] < reg[b];
+                        break;
+                    case ATOM_POS:
+                        satisfied = booleans[a];
+                        break;
+                    case ATOM_NEG:
+                        satisfied = !booleans[a];
+                        break;
+                    case ATOM_TABLE:
+                        satisfied = containsTuple(a);
+                        break;
+                    default:
+                        satisfied = withinCapacity(a);
+                        break;
+                }
+                atom += 3;
+            }
+            if (!satisfied) {
+                return false;
+            }
+            atom = end;
+        }
+        return true;
+    }
+
+    /**
+     * Evaluates the condition for an assignment.
+     * @param assignment the assignment
+     * @return {@code true} if the condition is satisfied
+     * @throws IllegalArgumentException if an integer variable of the evaluator is not assigned
+     */
+    public boolean evaluate(final CspAssignment assignment) {
+        return evaluate(integerValues(assignment), booleanValues(assignment));
+    }
+
+    /**
+     * Returns the value of the compiled term for an assignment of integer variables.
+     * @param values the values of the integer variables (indexed as in {@link #getIntegerVariables()})
+     * @return the value of the term
+     * @throws IllegalStateException if the evaluator was not compiled from a term
+     */
+    public int evaluateTerm(final int[] values) {
+        if (resultRegister < 0) {
+            throw new IllegalStateException("The evaluator was not compiled from a term");
+        }
+        run(values, NO_BOOLEANS);
+        return registers[resultRegister];
+    }
+
+    /**
+     * Returns the value of the compiled term for an assignment.
+     * @param assignment the assignment
+     * @return the value of the term
+     * @throws IllegalArgumentException if an integer variable of the evaluator is not assigned
+     * @throws IllegalStateException    if the evaluator was not compiled from a term
+     */
+    public int evaluateTerm(final CspAssignment assignment) {
+        return evaluateTerm(integerValues(assignment));
+    }
+
+    /**
+     * Converts an assignment into the value array of the integer variables of this evaluator.
+     * @param assignment the assignment
+     * @return the value array
+     * @throws IllegalArgumentException if an integer variable of the evaluator is not assigned
+     */
+    public int[] integerValues(final CspAssignment assignment) {
+        final int[] values = new int[integerVariables.size()];
+        for (int i = 0; i < values.length; ++i) {
+            final Integer value = assignment.getIntegerAssignments().get(integerVariables.get(i));
+            if (value == null) {
+                throw new IllegalArgumentException("Integer variable is not assigned: " + integerVariables.get(i));
+            }
+            values[i] = value;
+        }
+        return values;
+    }
+
+    /**
+     * Converts an assignment into the array of the boolean variables of this evaluator. Boolean variables that are
+     * not positive in the assignment are considered to be false.
+     * @param assignment the assignment
+     * @return the boolean array
+     */
+    public boolean[] booleanValues(final CspAssignment assignment) {
+        final boolean[] values = new boolean[booleanVariables.size()];
+        for (int i = 0; i < values.length; ++i) {
+            values[i] = assignment.positiveBooleans().contains(booleanVariables.get(i));
+        }
+        return values;
+    }
+
+    private boolean containsTuple(final int offset) {
+        final int arity = data[offset];
+        final int size = data[offset + 1];
+        final int variables = offset + 2;
+        int tuple = variables + arity;
+        for (int t = 0; t < size; ++t) {
+            int i = 0;
+            while (i < arity && registers[data[variables + i]] == data[tuple + i]) {
+                ++i;
+            }
+            if (i == arity) {
+                return true;
+            }
+            tuple += arity;
+        }
+        return false;
+    }
+
+    private boolean withinCapacity(final int offset) {
+        final int size = data[offset];
+        final int capacity = data[offset + 1];
+        final int tasks = offset + 2;
+        for (int j = tasks; j < tasks + 3 * size; j += 3) {
+            if (data[j + 1] == 0) {
+                continue;
+            }
+            final int time = registers[data[j]];
+            long load = 0;
+            for (int i = tasks; i < tasks + 3 * size; i += 3) {
+                final int start = registers[data[i]];
+                if (start <= time && time < (long) start + data[i + 1]) {
+                    load += data[i + 2];
+                }
+            }
+            if (load > capacity) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private int count(final int offset) {
+        final int size = data[offset];
+        final int lb = data[offset + 1];
+        final int ub = data[offset + 2];
+        int count = 0;
+        for (int i = offset + 3; i < offset + 3 + size; ++i) {
+            final int value = registers[data[i]];
+            if (lb <= value && value <= ub) {
+                ++count;
+            }
+        }
+        return count;
+    }
+
+    private void run(final int[] values, final boolean[] booleans) {
+        final int[] reg = registers;
+        final int[] code = program;
+        for (int pc = 0; pc < code.length; pc += 4) {
+            final int dst = code[pc + 1];
+            final int a = code[pc + 2];
+            final int b = code[pc + 3];
+            switch (code[pc]) {
+                case OP_CONST:
+                    reg[dst] = a;
+                    break;
+                case OP_LOAD:
+                    reg[dst] = values[a];
+                    break;
+                case OP_NEG:
+                    reg[dst] = -reg[a];
+                    break;
+                case OP_ABS:
+                    reg[dst] = Math.abs(reg[a]);
+                    break;
+                case OP_ADD:
+                    reg[dst] = reg[a] + reg[b];
+                    break;
+                case OP_SUB:
+                    reg[dst] = reg[a] - reg[b];
+                    break;
+                case OP_MUL:
+                    reg[dst] = reg[a] * reg[b];
+                    break;
+                case OP_ADD_MUL:
+                    reg[dst] += reg[a] * b;
+                    break;
+                case OP_DIV:
+                    reg[dst] = (reg[a] - Math.floorMod(reg[a], Math.abs(b))) / b;
+                    break;
+                case OP_MOD:
+                    reg[dst] = Math.floorMod(reg[a], Math.abs(b));
+                    break;
+                case OP_MIN:
+                    reg[dst] = Math.min(reg[a], reg[b]);
+                    break;
+                case OP_MAX:
+                    reg[dst] = Math.max(reg[a], reg[b]);
+                    break;
+                case OP_COUNT:
+                    reg[dst] = count(a);
+                    break;
+                case OP_ADD_IF_TRUE:
+                    if (booleans[a]) {
+                        reg[dst] += b;
+                    }
+                    break;
+                default:
+                    if (!booleans[a]) {
+                        reg[dst] += b;
+                    }
+                    break;
+            }
+        }
+    }
+
+    /**
+     * Compiler state for building an evaluator.
+     */
+    private static final class Compiler {
+        private final Map<IntegerVariable, Integer> integerIds = new LinkedHashMap<>();
+        private final Map<Variable, Integer> booleanIds = new LinkedHashMap<>();
+        private final Map<Term, Integer> termRegisters = new HashMap<>();
+        private final Map<Integer, Integer> constantRegisters = new HashMap<>();
+        private final Map<LinearExpression, Integer> expressionRegisters = new HashMap<>();
+        private final LngIntVector program = new LngIntVector();
+        private final LngIntVector atoms = new LngIntVector();
+        private final LngIntVector clauseEnds = new LngIntVector();
+        private final LngIntVector data = new LngIntVector();
+        private int registers = 0;
+
+        private int term(final Term term) {
+            final Integer known = termRegisters.get(term);
+            if (known != null) {
+                return known;
+            }
+            final int register;
+            switch (term.getType()) {
+                case ZERO:
+                case ONE:
+                case CONST:
+                    register = constant(((IntegerConstant) term).getValue());
+                    break;
+                case VAR:
+                    register = variable((IntegerVariable) term);
+                    break;
+                case NEG:
+                case ABS:
+                    final int operand = term(((UnaryFunction) term).getOperand());
+                    register = emit(term.getType() == Term.Type.NEG ? OP_NEG : OP_ABS, operand, 0);
+                    break;
+                case ADD:
+                    final Iterator<Term> it = ((NAryFunction) term).getOperands().iterator();
+                    final int first = term(it.next());
+                    register = emit(OP_ADD, first, term(it.next()));
+                    while (it.hasNext()) {
+                        final int next = term(it.next());
+                        push(program, OP_ADD, register, register, next);
+                    }
+                    break;
+                case DIV:
+                    register = emit(OP_DIV, term(((DivisionFunction) term).getLeft()),
+                            ((DivisionFunction) term).getRight().getValue());
+                    break;
+                case MOD:
+                    register = emit(OP_MOD, term(((ModuloFunction) term).getLeft()),
+                            ((ModuloFunction) term).getRight().getValue());
+                    break;
+                default:
+                    final BinaryFunction function = (BinaryFunction) term;
+                    final int left = term(function.getLeft());
+                    final int right = term(function.getRight());
+                    register = emit(binaryOperation(term.getType()), left, right);
+                    break;
+            }
+            termRegisters.put(term, register);
+            return register;
+        }
+
+        private int binaryOperation(final Term.Type type) {
+            switch (type) {
+                case SUB:
+                    return OP_SUB;
+                case MUL:
+                    return OP_MUL;
+                case MIN:
+                    return OP_MIN;
+                case MAX:
+                    return OP_MAX;
+                default:
+                    throw new IllegalArgumentException("Unsupported term type: " + type);
+            }
+        }
+
+        private int constant(final int value) {
+            return constantRegisters.computeIfAbsent(value, v -> emit(OP_CONST, v, 0));
+        }
+
+        private int variable(final IntegerVariable v) {
+            final Integer known = termRegisters.get(v);
+            if (known != null) {
+                return known;
+            }
+            final int id = integerIds.computeIfAbsent(v, k -> integerIds.size());
+            final int register = emit(OP_LOAD, id, 0);
+            termRegisters.put(v, register);
+            return register;
+        }
+
+        private int expression(final LinearExpression expression) {
+            final Integer known = expressionRegisters.get(expression);
+            if (known != null) {
+                return known;
+            }
+            final int register = emit(OP_CONST, expression.getB(), 0);
+            for (final Map.Entry<IntegerVariable, Integer> entry : expression.getCoef().entrySet()) {
+                push(program, OP_ADD_MUL, register, variable(entry.getKey()), entry.getValue());
+            }
+            expressionRegisters.put(expression, register);
+            return register;
+        }
+
+        private int emit(final int op, final int a, final int b) {
+            final int register = registers++;
+            push(program, op, register, a, b);
+            return register;
+        }
+
+        private void predicate(final CspPredicate predicate) {
+            if (predicate.getPredicateType() == CspPredicate.Type.ALLDIFFERENT) {
+                final List<Integer> terms = new ArrayList<>();
+                for (final Term term : ((AllDifferentPredicate) predicate).getTerms()) {
+                    terms.add(term(term));
+                }
+                for (int i = 0; i < terms.size(); ++i) {
+                    for (int j = i + 1; j < terms.size(); ++j) {
+                        push(atoms, ATOM_NE, terms.get(i), terms.get(j));
+                        clauseEnds.push(atoms.size());
+                    }
+                }
+                return;
+            }
+            if (predicate.getPredicateType() == CspPredicate.Type.ELEMENT) {
+                element((ElementPredicate) predicate);
+                return;
+            }
+            if (predicate.getPredicateType() == CspPredicate.Type.TABLE) {
+                table((TablePredicate) predicate);
+                return;
+            }
+            if (predicate.getPredicateType() == CspPredicate.Type.DISJUNCTIVE) {
+                disjunctive((DisjunctivePredicate) predicate);
+                return;
+            }
+            if (predicate.getPredicateType() == CspPredicate.Type.CUMULATIVE) {
+                cumulative((CumulativePredicate) predicate);
+                return;
+            }
+            if (predicate.getPredicateType() == CspPredicate.Type.COUNT) {
+                final CountPredicate count = (CountPredicate) predicate;
+                count(count.getVariables(), count.getValueLb(), count.getValueUb(), count.getMinCount(),
+                        count.getMaxCount());
+                return;
+            }
+            if (predicate.getPredicateType() == CspPredicate.Type.GLOBAL_CARDINALITY) {
+                final GlobalCardinalityPredicate gcc = (GlobalCardinalityPredicate) predicate;
+                for (int i = 0; i < gcc.getValues().size(); ++i) {
+                    final int value = gcc.getValues().get(i);
+                    count(gcc.getVariables(), value, value, gcc.getMinCounts().get(i), gcc.getMaxCounts().get(i));
+                }
+                return;
+            }
+            if (predicate.getPredicateType() == CspPredicate.Type.PSEUDO_BOOLEAN) {
+                pseudoBoolean((PseudoBooleanPredicate) predicate);
+                return;
+            }
+            final BinaryPredicate binary = (BinaryPredicate) predicate;
+            final int left = term(binary.getLeft());
+            final int right = term(binary.getRight());
+            switch (predicate.getPredicateType()) {
+                case EQ:
+                    push(atoms, ATOM_EQ, left, right);
+                    break;
+                case NE:
+                    push(atoms, ATOM_NE, left, right);
+                    break;
+                case LE:
+                    push(atoms, ATOM_LE, left, right);
+                    break;
+                case LT:
+                    push(atoms, ATOM_LT, left, right);
+                    break;
+                case GE:
+                    push(atoms, ATOM_LE, right, left);
+                    break;
+                case GT:
+                    push(atoms, ATOM_LT, right, left);
+                    break;
+                default:
+                    throw new IllegalArgumentException("Unsupported predicate type: " + predicate.getPredicateType());
+            }
+            clauseEnds.push(atoms.size());
+        }
+
+        private void element(final ElementPredicate predicate) {
+            final List<Term> array = predicate.getArray();
+            final int index = term(predicate.getIndex());
+            final int value = term(predicate.getValue());
+            push(atoms, ATOM_LE, constant(0), index);
+            clauseEnds.push(atoms.size());
+            push(atoms, ATOM_LE, index, constant(array.size() - 1));
+            clauseEnds.push(atoms.size());
+            for (int i = 0; i < array.size(); ++i) {
+                push(atoms, ATOM_NE, index, constant(i));
+                push(atoms, ATOM_EQ, value, term(array.get(i)));
+                clauseEnds.push(atoms.size());
+            }
+        }
+
+        private void table(final TablePredicate predicate) {
+            final List<IntegerVariable> variables = predicate.getVariables();
+            if (predicate.isPositive()) {
+                final int offset = data.size();
+                push(data, variables.size(), predicate.getTuples().size());
+                for (final IntegerVariable v : variables) {
+                    data.push(variable(v));
+                }
+                for (final int[] tuple : predicate.getTuples()) {
+                    push(data, tuple);
+                }
+                push(atoms, ATOM_TABLE, offset, 0);
+                clauseEnds.push(atoms.size());
+                return;
+            }
+            for (final int[] tuple : predicate.getTuples()) {
+                for (int i = 0; i < tuple.length; ++i) {
+                    push(atoms, ATOM_NE, variable(variables.get(i)), constant(tuple[i]));
+                }
+                clauseEnds.push(atoms.size());
+            }
+        }
+
+        private void disjunctive(final DisjunctivePredicate predicate) {
+            final List<IntegerVariable> starts = predicate.getStarts();
+            final List<Integer> durations = predicate.getDurations();
+            for (int i = 0; i < starts.size(); ++i) {
+                for (int j = i + 1; j < starts.size(); ++j) {
+                    if (durations.get(i) == 0 || durations.get(j) == 0) {
+                        continue;
+                    }
+                    final int si = variable(starts.get(i));
+                    final int sj = variable(starts.get(j));
+                    push(atoms, ATOM_LE, emit(OP_ADD, si, constant(durations.get(i))), sj);
+                    push(atoms, ATOM_LE, emit(OP_ADD, sj, constant(durations.get(j))), si);
+                    clauseEnds.push(atoms.size());
+                }
+            }
+        }
+
+        private void cumulative(final CumulativePredicate predicate) {
+            final List<IntegerVariable> starts = predicate.getStarts();
+            final int offset = data.size();
+            push(data, starts.size(), predicate.getCapacity());
+            for (int i = 0; i < starts.size(); ++i) {
+                push(data, variable(starts.get(i)), predicate.getDurations().get(i), predicate.getDemands().get(i));
+            }
+            push(atoms, ATOM_CUMULATIVE, offset, 0);
+            clauseEnds.push(atoms.size());
+        }
+
+        private void count(final List<IntegerVariable> variables, final int valueLb, final int valueUb,
+                           final int minCount, final int maxCount) {
+            final int offset = data.size();
+            push(data, variables.size(), valueLb, valueUb);
+            for (final IntegerVariable v : variables) {
+                data.push(variable(v));
+            }
+            final int count = emit(OP_COUNT, offset, 0);
+            push(atoms, ATOM_LE, constant(minCount), count);
+            clauseEnds.push(atoms.size());
+            push(atoms, ATOM_LE, count, constant(maxCount));
+            clauseEnds.push(atoms.size());
+        }
+
+        private void pseudoBoolean(final PseudoBooleanPredicate predicate) {
+            final int sum = emit(OP_ADD, term(predicate.getTerm()), constant(0));
+            for (int i = 0; i < predicate.getLiterals().size(); ++i) {
+                final Literal literal = predicate.getLiterals().get(i);
+                push(program, literal.getPhase() ? OP_ADD_IF_TRUE : OP_ADD_IF_FALSE, sum,
+                        booleanVariable(literal.variable()), predicate.getWeights().get(i));
+            }
+            push(atoms, ATOM_LE, sum, constant(0));
+            clauseEnds.push(atoms.size());
+        }
+
+        private int booleanVariable(final Variable v) {
+            return booleanIds.computeIfAbsent(v, k -> booleanIds.size());
+        }
+
+        private void clause(final IntegerClause clause) {
+            for (final Literal literal : clause.getBoolLiterals()) {
+                push(atoms, literal.getPhase() ? ATOM_POS : ATOM_NEG, booleanVariable(literal.variable()), 0);
+            }
+            for (final ArithmeticLiteral literal : clause.getArithmeticLiterals()) {
+                if (literal instanceof LinearLiteral) {
+                    final LinearLiteral linear = (LinearLiteral) literal;
+                    final int sum = expression(linear.getSum());
+                    final int zero = constant(0);
+                    switch (linear.getOperator()) {
+                        case LE:
+                            push(atoms, ATOM_LE, sum, zero);
+                            break;
+                        case EQ:
+                            push(atoms, ATOM_EQ, sum, zero);
+                            break;
+                        default:
+                            push(atoms, ATOM_NE, sum, zero);
+                            break;
+                    }
+                } else if (literal instanceof ProductLiteral) {
+                    final ProductLiteral product = (ProductLiteral) literal;
+                    final int v = variable(product.getV());
+                    final int mul = emit(OP_MUL, variable(product.getV1()), variable(product.getV2()));
+                    push(atoms, ATOM_EQ, v, mul);
+                } else {
+                    throw new IllegalArgumentException("Unsupported arithmetic literal for evaluation: " + literal);
+                }
+            }
+            clauseEnds.push(atoms.size());
+        }
+
+        private static void push(final LngIntVector vector, final int... values) {
+            for (final int value : values) {
+                vector.push(value);
+            }
+        }
+    }
+}
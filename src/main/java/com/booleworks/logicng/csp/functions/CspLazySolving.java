@@ -0,0 +1,95 @@
+package com.booleworks.logicng.csp.functions;
+
+import com.booleworks.logicng.csp.CspFactory;
+import com.booleworks.logicng.csp.datastructures.CspAssignment;
+import com.booleworks.logicng.csp.encodings.CspEncodingContext;
+import com.booleworks.logicng.csp.predicates.CspPredicate;
+import com.booleworks.logicng.csp.terms.IntegerVariable;
+import com.booleworks.logicng.datastructures.EncodingResult;
+import com.booleworks.logicng.datastructures.Model;
+import com.booleworks.logicng.formulas.Variable;
+import com.booleworks.logicng.solvers.SatSolver;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.SortedSet;
+import java.util.TreeSet;
+
+/**
+ * A class grouping functions for solving conjunctions of CSP predicates lazily.
+ * <p>
+ * Initially, only the integer variables and a core of predicates are encoded on the solver. After each SAT call,
+ * the model is decoded and the remaining (lazy) predicates are evaluated on the decoded assignment. The decoded
+ * assignment contains the integer variables and the boolean variables of all predicates. Predicates that
+ * are violated are encoded on the same solver and the solver is called again. The procedure stops as soon as an
+ * assignment satisfies all lazy predicates or the solver becomes unsatisfiable. Since at least one predicate is
+ * encoded in each iteration, the procedure terminates after at most {@code |lazy| + 1} SAT calls.
+ * <p>
+ * This is useful if many predicates are rarely binding, since only the binding predicates end up on the solver.
+ */
+public class CspLazySolving {
+    private CspLazySolving() {
+    }
+
+    /**
+     * Solves the conjunction of the core and the lazy predicates with a lazy encoding of the lazy predicates.
+     * <p>
+     * The solver, the context, and the factory are updated with the encoded predicates, i.e., subsequent calls may
+     * reuse them. Predicates of {@code lazy} that are not encoded by this call are not added to the solver.
+     * @param solver  the solver
+     * @param core    the predicates that are encoded up front
+     * @param lazy    the predicates that are only encoded if they are violated
+     * @param context the encoding context
+     * @param cf      the factory
+     * @return an assignment satisfying all predicates or {@code null} if the predicates are unsatisfiable
+     */
+    public static CspAssignment solve(final SatSolver solver, final Collection<CspPredicate> core,
+                                      final Collection<CspPredicate> lazy, final CspEncodingContext context,
+                                      final CspFactory cf) {
+        final EncodingResult result =
+                EncodingResult.resultForSatSolver(cf.getFormulaFactory(), solver.getUnderlyingSolver(), null);
+        final SortedSet<IntegerVariable> variables = new TreeSet<>();
+        final SortedSet<Variable> booleanVariables = new TreeSet<>();
+        for (final CspPredicate predicate : core) {
+            predicate.variablesInplace(variables);
+            predicate.booleanVariablesInplace(booleanVariables);
+        }
+        for (final CspPredicate predicate : lazy) {
+            predicate.variablesInplace(variables);
+            predicate.booleanVariablesInplace(booleanVariables);
+        }
+        for (final IntegerVariable v : variables) {
+            cf.encodeVariable(v, context, result);
+        }
+        for (final CspPredicate predicate : core) {
+            cf.encodeConstraint(predicate, context, result);
+        }
+        final List<CspPredicate> pending = new ArrayList<>(lazy);
+        while (true) {
+            final Set<Variable> relevant = new LinkedHashSet<>(context.getSatVariables(variables));
+            relevant.addAll(booleanVariables);
+            final Model model = solver.satCall().model(relevant);
+            if (model == null) {
+                return null;
+            }
+            final CspAssignment assignment =
+                    cf.decode(model.toAssignment(), variables, booleanVariables, context);
+            boolean violated = false;
+            for (final Iterator<CspPredicate> it = pending.iterator(); it.hasNext(); ) {
+                final CspPredicate predicate = it.next();
+                if (!CspEvaluation.evaluate(predicate, assignment)) {
+                    cf.encodeConstraint(predicate, context, result);
+                    it.remove();
+                    violated = true;
+                }
+            }
+            if (!violated) {
+                return assignment;
+            }
+        }
+    }
+}
@@ -4,6 +4,7 @@ import com.booleworks.logicng.csp.CspFactory;
 import com.booleworks.logicng.csp.datastructures.Csp;
 import com.booleworks.logicng.csp.datastructures.CspAssignment;
 import com.booleworks.logicng.csp.encodings.CspEncodingContext;
+import com.booleworks.logicng.csp.encodings.OrderEncodingContext;
 import com.booleworks.logicng.csp.terms.IntegerVariable;
 import com.booleworks.logicng.formulas.Variable;
 import com.booleworks.logicng.solvers.SatSolver;
@@ -25,6 +26,11 @@ public class CspModelEnumeration {
 
     /**
      * Enumerate models from a solver given a CSP problem.
+     * <p>
+     * With a sparse order encoding context (see {@link OrderEncodingContext#isSparse()}), a model of the solver only
+     * determines the interval between two referenced thresholds of each integer variable. Each interval is
+     * enumerated once, represented by its largest value, so the result contains one model per combination of
+     * intervals and not one model per combination of values.
      * @param solver  the solver with the encoded problem
      * @param csp     the corresponding csp problem
      * @param context the encoding context
@@ -34,14 +40,22 @@ public class CspModelEnumeration {
     public static List<CspAssignment> enumerate(final SatSolver solver, final Csp csp,
                                                 final CspEncodingContext context,
                                                 final CspFactory cf) {
-        return enumerate(solver, csp.getPropagateSubstitutions().getAllOrSelf(csp.getVisibleIntegerVariables()),
-                csp.getVisibleBooleanVariables(), context, cf);
+        final List<IntegerVariable> variables =
+                csp.getPropagateSubstitutions().getAllOrSelf(csp.getVisibleIntegerVariables());
+        return enumerate(solver, CspElimination.decodedVariables(variables, csp), csp.getVisibleBooleanVariables(),
+                context, cf).stream().map(m -> CspElimination.reconstruct(m, variables, csp))
+                .collect(Collectors.toList());
     }
 
     /**
      * Enumerate models from a solver and a set of relevant integer and boolean variables. The relevant variables are
      * all in the produced models. If a variable was not encoded on the solver, the function will assume that all
      * values of the variable are allowed.
+     * <p>
+     * With a sparse order encoding context (see {@link OrderEncodingContext#isSparse()}), a model of the solver only
+     * determines the interval between two referenced thresholds of each integer variable. Each interval is
+     * enumerated once, represented by its largest value, so the result contains one model per combination of
+     * intervals and not one model per combination of values.
      * @param solver           the solver with the encoded problem
      * @param integerVariables the relevant integer variables
      * @param booleanVariables the relevant boolean variables
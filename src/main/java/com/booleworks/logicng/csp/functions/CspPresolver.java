@@ -0,0 +1,453 @@
+package com.booleworks.logicng.csp.functions;
+
+import com.booleworks.logicng.csp.datastructures.Csp;
+import com.booleworks.logicng.csp.datastructures.IntegerClause;
+import com.booleworks.logicng.csp.datastructures.LinearExpression;
+import com.booleworks.logicng.csp.datastructures.domains.IntegerDomain;
+import com.booleworks.logicng.csp.literals.ArithmeticLiteral;
+import com.booleworks.logicng.csp.literals.LinearLiteral;
+import com.booleworks.logicng.csp.terms.IntegerVariable;
+import com.booleworks.logicng.formulas.Literal;
+import com.booleworks.logicng.formulas.Variable;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * A presolver simplifying the clauses of a CSP problem before it is encoded.
+ * <p>
+ * The presolver runs the following rewrites until none of them changes the problem:
+ * <ul>
+ *     <li>Fixing variables: variables with a single value are substituted by this value.</li>
+ *     <li>Unit propagation: unit clauses over a single integer variable restrict the domain of the variable, which
+ *     is used to remove unsatisfiable literals and satisfied clauses.</li>
+ *     <li>Subsumption: clauses which contain all literals of another clause are removed.</li>
+ *     <li>Normalization: linear literals are divided by the greatest common divisor of their coefficients. The
+ *     constant is rounded such that the set of solutions does not change.</li>
+ * </ul>
+ * Duplicate and valid clauses are always removed. The values of fixed variables are stored in
+ * {@link Csp#getEliminations()}, such that the decoding of the presolved problem assigns all variables of the
+ * original problem.
+ */
+public class CspPresolver {
+    private final boolean fixVariables;
+    private final boolean propagateUnits;
+    private final boolean removeSubsumed;
+    private final boolean normalize;
+
+    private CspPresolver(final Builder builder) {
+        this.fixVariables = builder.fixVariables;
+        this.propagateUnits = builder.propagateUnits;
+        this.removeSubsumed = builder.removeSubsumed;
+        this.normalize = builder.normalize;
+    }
+
+    /**
+     * Presolves a CSP problem.
+     * @param csp the problem
+     * @return the presolved problem or {@code csp} itself if no rewrite was applicable
+     */
+    public Csp presolve(final Csp csp) {
+        final Set<IntegerVariable> blocked = new HashSet<>();
+        for (final IntegerClause clause : csp.getClauses()) {
+            for (final ArithmeticLiteral literal : clause.getArithmeticLiterals()) {
+                if (!(literal instanceof LinearLiteral)) {
+                    blocked.addAll(literal.getVariables());
+                }
+            }
+        }
+        final Map<IntegerVariable, LinearExpression> eliminations = new LinkedHashMap<>(csp.getEliminations());
+        final Map<IntegerVariable, IntegerDomain> domains = new LinkedHashMap<>();
+        Set<IntegerClause> clauses = new LinkedHashSet<>(csp.getClauses());
+        boolean changed = true;
+        while (changed && !clauses.contains(new IntegerClause())) {
+            changed = false;
+            if (propagateUnits && propagateUnitClauses(clauses, domains)) {
+                changed = true;
+            }
+            if (fixVariables && fixSingletons(clauses, domains, blocked, eliminations)) {
+                changed = true;
+            }
+            final Set<IntegerClause> rewritten = new LinkedHashSet<>();
+            for (final IntegerClause clause : clauses) {
+                final IntegerClause newClause = rewriteClause(clause, domains, eliminations);
+                if (newClause != null) {
+                    rewritten.add(newClause);
+                }
+            }
+            if (removeSubsumed) {
+                removeSubsumedClauses(rewritten);
+            }
+            if (!rewritten.equals(clauses)) {
+                changed = true;
+                clauses = rewritten;
+            }
+        }
+        for (final Map.Entry<IntegerVariable, IntegerDomain> entry : domains.entrySet()) {
+            addDomainRestriction(entry.getKey(), entry.getValue(), clauses);
+        }
+        if (clauses.equals(csp.getClauses()) && eliminations.size() == csp.getEliminations().size()) {
+            return csp;
+        }
+        final Csp presolved = Csp.fromClauses(clauses, csp.getVisibleIntegerVariables(),
+                csp.getVisibleBooleanVariables(), csp.getPropagateSubstitutions());
+        return new Csp.Builder(presolved).updateEliminations(eliminations).build();
+    }
+
+    /**
+     * Removes unit clauses over a single integer variable and restricts the domain of the variable instead. The
+     * restrictions are added as clauses again after the presolving.
+     */
+    private static boolean propagateUnitClauses(final Set<IntegerClause> clauses,
+                                                final Map<IntegerVariable, IntegerDomain> domains) {
+        boolean changed = false;
+        final Iterator<IntegerClause> it = clauses.iterator();
+        while (it.hasNext()) {
+            final IntegerClause clause = it.next();
+            if (!clause.getBoolLiterals().isEmpty() || clause.getArithmeticLiterals().size() != 1) {
+                continue;
+            }
+            final ArithmeticLiteral literal = clause.getArithmeticLiterals().iterator().next();
+            if (!(literal instanceof LinearLiteral) || ((LinearLiteral) literal).getSum().size() != 1) {
+                continue;
+            }
+            final LinearExpression sum = ((LinearLiteral) literal).getSum();
+            final IntegerVariable v = sum.getCoef().firstKey();
+            final IntegerDomain domain = restrict(domainOf(v, domains), sum.getA(v), sum.getB(),
+                    ((LinearLiteral) literal).getOperator());
+            if (domain == null) {
+                it.remove();
+                clauses.add(new IntegerClause());
+                return true;
+            }
+            domains.put(v, domain);
+            it.remove();
+            changed = true;
+        }
+        return changed;
+    }
+
+    /**
+     * Substitutes variables with a single value by this value. Variables occurring in non-linear literals are not
+     * substituted.
+     */
+    private static boolean fixSingletons(final Set<IntegerClause> clauses,
+                                         final Map<IntegerVariable, IntegerDomain> domains,
+                                         final Set<IntegerVariable> blocked,
+                                         final Map<IntegerVariable, LinearExpression> eliminations) {
+        final Set<IntegerVariable> variables = new LinkedHashSet<>(domains.keySet());
+        for (final IntegerClause clause : clauses) {
+            for (final ArithmeticLiteral literal : clause.getArithmeticLiterals()) {
+                variables.addAll(literal.getVariables());
+            }
+        }
+        boolean changed = false;
+        for (final IntegerVariable v : variables) {
+            final IntegerDomain domain = domainOf(v, domains);
+            if (domain.size() != 1 || blocked.contains(v) || eliminations.containsKey(v)) {
+                continue;
+            }
+            final LinearExpression value = new LinearExpression(domain.lb());
+            final Map<IntegerVariable, LinearExpression> single = Collections.singletonMap(v, value);
+            eliminations.replaceAll((w, e) -> CspElimination.substitute(e, single));
+            eliminations.put(v, value);
+            domains.remove(v);
+            changed = true;
+        }
+        return changed;
+    }
+
+    /**
+     * Rewrites a clause with the current domains and eliminations.
+     * @return the rewritten clause or {@code null} if the clause is valid
+     */
+    private IntegerClause rewriteClause(final IntegerClause clause, final Map<IntegerVariable, IntegerDomain> domains,
+                                        final Map<IntegerVariable, LinearExpression> eliminations) {
+        final Map<Variable, Boolean> phases = new HashMap<>();
+        for (final Literal literal : clause.getBoolLiterals()) {
+            final Boolean phase = phases.put(literal.variable(), literal.getPhase());
+            if (phase != null && phase != literal.getPhase()) {
+                return null;
+            }
+        }
+        final Set<ArithmeticLiteral> literals = new LinkedHashSet<>();
+        boolean changed = false;
+        for (final ArithmeticLiteral literal : clause.getArithmeticLiterals()) {
+            if (literal.isValid()) {
+                return null;
+            }
+            if (literal.isUnsat()) {
+                changed = true;
+                continue;
+            }
+            if (!(literal instanceof LinearLiteral)) {
+                literals.add(literal);
+                continue;
+            }
+            final LinearLiteral newLiteral = rewriteLiteral((LinearLiteral) literal, eliminations);
+            if (isValid(newLiteral, domains)) {
+                return null;
+            }
+            if (isUnsat(newLiteral, domains)) {
+                changed = true;
+                continue;
+            }
+            changed |= newLiteral != literal;
+            literals.add(newLiteral);
+        }
+        return changed ? new IntegerClause(clause.getBoolLiterals(), literals) : clause;
+    }
+
+    private LinearLiteral rewriteLiteral(final LinearLiteral literal,
+                                         final Map<IntegerVariable, LinearExpression> eliminations) {
+        final LinearExpression sum = CspElimination.substitute(literal.getSum(), eliminations);
+        if (normalize && sum.size() > 0) {
+            final int factor = new LinearExpression(sum.getCoef(), 0).factor();
+            if (factor > 1) {
+                final boolean divisible = sum.getB() % factor == 0;
+                switch (literal.getOperator()) {
+                    case LE:
+                        // factor * s + b <= 0 iff s + ceil(b / factor) <= 0
+                        final int b = Math.floorDiv(sum.getB(), factor) + (divisible ? 0 : 1);
+                        final LinearExpression divided =
+                                new LinearExpression.Builder(sum).setB(0).divide(factor).setB(b).build();
+                        return new LinearLiteral(divided, LinearLiteral.Operator.LE);
+                    case EQ:
+                    case NE:
+                        // if b is not divisible, factor * s + b = 0 is unsatisfiable and its negation is valid
+                        final LinearExpression quotient =
+                                divisible ? LinearExpression.divide(sum, factor) : new LinearExpression(1);
+                        return new LinearLiteral(quotient, literal.getOperator());
+                    default:
+                        throw new RuntimeException("Unreachable code");
+                }
+            }
+        }
+        return sum == literal.getSum() ? literal : new LinearLiteral(sum, literal.getOperator());
+    }
+
+    /**
+     * Removes all clauses which are a superset of another clause.
+     */
+    private static void removeSubsumedClauses(final Set<IntegerClause> clauses) {
+        final List<IntegerClause> sorted = new ArrayList<>(clauses);
+        sorted.sort(Comparator.comparingInt(IntegerClause::size));
+        final Map<Object, List<IntegerClause>> occurrences = new HashMap<>();
+        for (final IntegerClause clause : sorted) {
+            for (final Literal literal : clause.getBoolLiterals()) {
+                occurrences.computeIfAbsent(literal, k -> new ArrayList<>()).add(clause);
+            }
+            for (final ArithmeticLiteral literal : clause.getArithmeticLiterals()) {
+                occurrences.computeIfAbsent(literal, k -> new ArrayList<>()).add(clause);
+            }
+        }
+        final Set<IntegerClause> subsumed = new HashSet<>();
+        for (final IntegerClause clause : sorted) {
+            if (clause.size() == 0 || subsumed.contains(clause)) {
+                continue;
+            }
+            List<IntegerClause> candidates = null;
+            for (final Literal literal : clause.getBoolLiterals()) {
+                candidates = shorter(candidates, occurrences.get(literal));
+            }
+            for (final ArithmeticLiteral literal : clause.getArithmeticLiterals()) {
+                candidates = shorter(candidates, occurrences.get(literal));
+            }
+            for (final IntegerClause candidate : candidates) {
+                if (candidate != clause && candidate.size() > clause.size() && !subsumed.contains(candidate)
+                        && candidate.getBoolLiterals().containsAll(clause.getBoolLiterals())
+                        && candidate.getArithmeticLiterals().containsAll(clause.getArithmeticLiterals())) {
+                    subsumed.add(candidate);
+                }
+            }
+        }
+        clauses.removeAll(subsumed);
+    }
+
+    private static List<IntegerClause> shorter(final List<IntegerClause> a, final List<IntegerClause> b) {
+        return a == null || b.size() < a.size() ? b : a;
+    }
+
+    /**
+     * Adds the clauses restricting a variable to a subset of its domain.
+     */
+    private static void addDomainRestriction(final IntegerVariable v, final IntegerDomain domain,
+                                             final Set<IntegerClause> clauses) {
+        final IntegerDomain original = v.getDomain();
+        if (domain.lb() > original.lb()) {
+            clauses.add(new IntegerClause(
+                    new LinearLiteral(new LinearExpression(-1, v, domain.lb()), LinearLiteral.Operator.LE)));
+        }
+        if (domain.ub() < original.ub()) {
+            clauses.add(new IntegerClause(
+                    new LinearLiteral(new LinearExpression(1, v, -domain.ub()), LinearLiteral.Operator.LE)));
+        }
+        final Iterator<Integer> it = original.values(domain.lb(), domain.ub());
+        while (it.hasNext()) {
+            final int value = it.next();
+            if (!domain.contains(value)) {
+                clauses.add(new IntegerClause(
+                        new LinearLiteral(new LinearExpression(1, v, -value), LinearLiteral.Operator.NE)));
+            }
+        }
+    }
+
+    /**
+     * Restricts a domain to the values satisfying {@code a * v + b (op) 0}.
+     * @return the restricted domain or {@code null} if no value satisfies the relation
+     */
+    private static IntegerDomain restrict(final IntegerDomain domain, final int a, final int b,
+                                          final LinearLiteral.Operator op) {
+        switch (op) {
+            case LE:
+                if (a > 0) {
+                    final int ub = Math.floorDiv(-b, a);
+                    return ub < domain.lb() ? null : domain.bound(domain.lb(), ub);
+                } else {
+                    final int lb = -Math.floorDiv(b, a);
+                    return lb > domain.ub() ? null : domain.bound(lb, domain.ub());
+                }
+            case EQ:
+                if (b % a != 0 || !domain.contains(-b / a)) {
+                    return null;
+                }
+                return IntegerDomain.of(-b / a, -b / a);
+            case NE:
+                final int value = -b / a;
+                if (b % a != 0 || !domain.contains(value)) {
+                    return domain;
+                } else if (domain.size() == 1) {
+                    return null;
+                } else if (value == domain.lb()) {
+                    return domain.bound(value + 1, domain.ub());
+                } else if (value == domain.ub()) {
+                    return domain.bound(domain.lb(), value - 1);
+                } else {
+                    return domain.bound(domain.lb(), value - 1).cup(domain.bound(value + 1, domain.ub()));
+                }
+            default:
+                throw new RuntimeException("Unreachable code");
+        }
+    }
+
+    private static IntegerDomain domainOf(final IntegerVariable v, final Map<IntegerVariable, IntegerDomain> domains) {
+        final IntegerDomain domain = domains.get(v);
+        return domain == null ? v.getDomain() : domain;
+    }
+
+    private static IntegerDomain domainOf(final LinearExpression sum,
+                                          final Map<IntegerVariable, IntegerDomain> domains) {
+        IntegerDomain domain = IntegerDomain.of(sum.getB(), sum.getB());
+        for (final Map.Entry<IntegerVariable, Integer> entry : sum.getCoef().entrySet()) {
+            domain = domain.add(domainOf(entry.getKey(), domains).mul(entry.getValue()));
+        }
+        return domain;
+    }
+
+    private static boolean isValid(final LinearLiteral literal, final Map<IntegerVariable, IntegerDomain> domains) {
+        if (domains.isEmpty()) {
+            return literal.isValid();
+        }
+        final IntegerDomain d = domainOf(literal.getSum(), domains);
+        switch (literal.getOperator()) {
+            case LE:
+                return d.ub() <= 0;
+            case EQ:
+                return d.contains(0) && d.size() == 1;
+            case NE:
+                return !d.contains(0);
+            default:
+                throw new RuntimeException("Unreachable code");
+        }
+    }
+
+    private static boolean isUnsat(final LinearLiteral literal, final Map<IntegerVariable, IntegerDomain> domains) {
+        if (domains.isEmpty()) {
+            return literal.isUnsat();
+        }
+        final IntegerDomain d = domainOf(literal.getSum(), domains);
+        switch (literal.getOperator()) {
+            case LE:
+                return d.lb() > 0;
+            case EQ:
+                return !d.contains(0);
+            case NE:
+                return d.contains(0) && d.size() == 1;
+            default:
+                throw new RuntimeException("Unreachable code");
+        }
+    }
+
+    /**
+     * A builder for configuring a presolver. By default, all rewrites are enabled.
+     */
+    public static class Builder {
+        private boolean fixVariables = true;
+        private boolean propagateUnits = true;
+        private boolean removeSubsumed = true;
+        private boolean normalize = true;
+
+        /**
+         * Constructs a new presolver builder.
+         */
+        public Builder() {
+        }
+
+        /**
+         * Sets whether variables with a single value are substituted by this value.
+         * @param fixVariables whether variables with a single value are substituted
+         * @return this builder
+         */
+        public Builder fixVariables(final boolean fixVariables) {
+            this.fixVariables = fixVariables;
+            return this;
+        }
+
+        /**
+         * Sets whether unit clauses over a single integer variable are propagated.
+         * @param propagateUnits whether unit clauses are propagated
+         * @return this builder
+         */
+        public Builder propagateUnits(final boolean propagateUnits) {
+            this.propagateUnits = propagateUnits;
+            return this;
+        }
+
+        /**
+         * Sets whether subsumed clauses are removed.
+         * @param removeSubsumed whether subsumed clauses are removed
+         * @return this builder
+         */
+        public Builder removeSubsumed(final boolean removeSubsumed) {
+            this.removeSubsumed = removeSubsumed;
+            return this;
+        }
+
+        /**
+         * Sets whether linear literals are normalized by the greatest common divisor of their coefficients.
+         * @param normalize whether linear literals are normalized
+         * @return this builder
+         */
+        public Builder normalize(final boolean normalize) {
+            this.normalize = normalize;
+            return this;
+        }
+
+        /**
+         * Builds the presolver.
+         * @return the presolver
+         */
+        public CspPresolver build() {
+            return new CspPresolver(this);
+        }
+    }
+}
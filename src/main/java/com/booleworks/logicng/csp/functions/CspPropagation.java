@@ -55,8 +55,9 @@ public class CspPropagation {
             final Set<IntegerClause> newClauses =
                     csp.getClauses().stream().map(c -> rebuildClause(c, restrictions)).filter(c -> !c.isValid())
                             .collect(Collectors.toSet());
-            return Csp.fromClauses(newClauses, csp.getVisibleIntegerVariables(), csp.getVisibleBooleanVariables(),
-                    restrictions);
+            final Csp propagated = Csp.fromClauses(newClauses, csp.getVisibleIntegerVariables(),
+                    csp.getVisibleBooleanVariables(), restrictions);
+            return new Csp.Builder(propagated).updateEliminations(csp.getEliminations()).build();
         } else {
             return csp;
         }
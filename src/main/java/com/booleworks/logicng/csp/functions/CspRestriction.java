@@ -0,0 +1,159 @@
+package com.booleworks.logicng.csp.functions;
+
+import com.booleworks.logicng.csp.datastructures.Csp;
+import com.booleworks.logicng.csp.datastructures.CspAssignment;
+import com.booleworks.logicng.csp.datastructures.IntegerClause;
+import com.booleworks.logicng.csp.datastructures.LinearExpression;
+import com.booleworks.logicng.csp.literals.ArithmeticLiteral;
+import com.booleworks.logicng.csp.literals.LinearLiteral;
+import com.booleworks.logicng.csp.terms.IntegerVariable;
+import com.booleworks.logicng.formulas.Literal;
+import com.booleworks.logicng.formulas.Variable;
+
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * A class grouping functions for conditioning a CSP problem by a partial assignment.
+ */
+public class CspRestriction {
+    private CspRestriction() {
+    }
+
+    /**
+     * Restricts a problem to the models which extend a partial assignment.
+     * <p>
+     * Fixed integer variables are eliminated with their value as definition (see {@link Csp#getEliminations()}) and
+     * their values are substituted into the linear literals. Clauses which become satisfied are dropped, literals
+     * which become unsatisfiable are removed. Fixed integer variables occurring in non-linear literals are not
+     * eliminated but restricted by a unit clause. Fixed boolean variables are kept as unit clauses, such that models
+     * of the restricted problem assign them their fixed value.
+     * <p>
+     * Only the clauses containing a fixed variable are visited and rewritten. They are found by the occurrence lists
+     * of {@code csp} (see {@link Csp#getClausesOf}). The result shares the unaffected clauses and variables with
+     * {@code csp} (see {@link Csp.Builder#sharing}), so restricting takes time linear in the number of affected
+     * clauses and the restriction of a restricted problem is computed the same way. Only if integer variables are
+     * fixed, the definitions of the eliminated variables are rewritten. Variables which only occurred in dropped
+     * clauses stay internal variables of the result. If the assignment contradicts the domain of a variable, the
+     * result contains the empty clause. {@code csp} must not be modified afterwards.
+     * @param csp     the problem
+     * @param partial the partial assignment of visible variables
+     * @return the restricted problem
+     */
+    public static Csp restrict(final Csp csp, final CspAssignment partial) {
+        final Map<IntegerVariable, LinearExpression> fixed = new LinkedHashMap<>();
+        final Set<IntegerClause> units = new LinkedHashSet<>();
+        for (final Map.Entry<IntegerVariable, Integer> entry : partial.getIntegerAssignments().entrySet()) {
+            final IntegerVariable key = csp.getPropagateSubstitutions().getOrSelf(entry.getKey());
+            final int value = entry.getValue();
+            final LinearExpression definition = csp.getEliminations().get(key);
+            if (definition != null) {
+                units.add(new IntegerClause(new LinearLiteral(
+                        LinearExpression.add(definition, new LinearExpression(-value)), LinearLiteral.Operator.EQ)));
+            } else if (!key.getDomain().contains(value)) {
+                units.add(new IntegerClause());
+            } else if (occursNonLinear(key, csp)) {
+                units.add(new IntegerClause(
+                        new LinearLiteral(new LinearExpression(1, key, -value), LinearLiteral.Operator.EQ)));
+            } else {
+                fixed.put(key, new LinearExpression(value));
+            }
+        }
+        final Set<Literal> literals = new LinkedHashSet<>(partial.positiveBooleans());
+        literals.addAll(partial.negativeBooleans());
+        final Set<Variable> trueVariables = new LinkedHashSet<>(partial.positiveBooleans());
+        final Set<Variable> falseVariables = new LinkedHashSet<>();
+        for (final Literal literal : partial.negativeBooleans()) {
+            falseVariables.add(literal.variable());
+        }
+        if (fixed.isEmpty() && literals.isEmpty() && units.isEmpty()) {
+            return csp;
+        }
+
+        final Set<IntegerClause> affected = new LinkedHashSet<>();
+        for (final IntegerVariable v : fixed.keySet()) {
+            affected.addAll(csp.getClausesOf(v));
+        }
+        for (final Literal literal : literals) {
+            affected.addAll(csp.getClausesOf(literal.variable()));
+        }
+        final Set<IntegerClause> restricted = new LinkedHashSet<>();
+        for (final IntegerClause clause : affected) {
+            addRestrictedClause(clause, fixed, trueVariables, falseVariables, restricted);
+        }
+        for (final IntegerClause clause : units) {
+            addRestrictedClause(clause, fixed, trueVariables, falseVariables, restricted);
+        }
+        final Csp.Builder builder = Csp.Builder.sharing(csp);
+        for (final IntegerClause clause : affected) {
+            builder.removeClause(clause);
+        }
+        for (final IntegerClause clause : restricted) {
+            builder.addClause(clause);
+        }
+        for (final Literal literal : literals) {
+            builder.addClause(new IntegerClause(literal));
+            builder.addInternalBooleanVariable(literal.variable());
+        }
+        if (!fixed.isEmpty()) {
+            for (final IntegerVariable v : fixed.keySet()) {
+                builder.getInternalIntegerVariables().remove(v);
+            }
+            final Map<IntegerVariable, LinearExpression> eliminations = new LinkedHashMap<>(csp.getEliminations());
+            eliminations.replaceAll((v, e) -> CspElimination.substitute(e, fixed));
+            eliminations.putAll(fixed);
+            builder.updateEliminations(eliminations);
+        }
+        return builder.build();
+    }
+
+    private static boolean occursNonLinear(final IntegerVariable v, final Csp csp) {
+        for (final IntegerClause clause : csp.getClausesOf(v)) {
+            for (final ArithmeticLiteral literal : clause.getArithmeticLiterals()) {
+                if (!(literal instanceof LinearLiteral) && literal.getVariables().contains(v)) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Adds the restriction of a clause to {@code clauses} unless it is satisfied by the fixed values.
+     */
+    private static void addRestrictedClause(final IntegerClause clause,
+                                            final Map<IntegerVariable, LinearExpression> fixed,
+                                            final Set<Variable> trueVariables, final Set<Variable> falseVariables,
+                                            final Set<IntegerClause> clauses) {
+        final Set<Literal> boolLiterals = new LinkedHashSet<>();
+        for (final Literal literal : clause.getBoolLiterals()) {
+            final Set<Variable> satisfying = literal.getPhase() ? trueVariables : falseVariables;
+            final Set<Variable> falsifying = literal.getPhase() ? falseVariables : trueVariables;
+            if (satisfying.contains(literal.variable())) {
+                return;
+            }
+            if (!falsifying.contains(literal.variable())) {
+                boolLiterals.add(literal);
+            }
+        }
+        final Set<ArithmeticLiteral> arithLiterals = new LinkedHashSet<>();
+        for (final ArithmeticLiteral literal : clause.getArithmeticLiterals()) {
+            if (literal instanceof LinearLiteral) {
+                final LinearLiteral ll = (LinearLiteral) literal;
+                final LinearExpression sum = CspElimination.substitute(ll.getSum(), fixed);
+                final LinearLiteral restricted = sum == ll.getSum() ? ll : new LinearLiteral(sum, ll.getOperator());
+                if (restricted.isValid()) {
+                    return;
+                }
+                if (!restricted.isUnsat()) {
+                    arithLiterals.add(restricted);
+                }
+            } else {
+                arithLiterals.add(literal);
+            }
+        }
+        clauses.add(new IntegerClause(boolLiterals, arithLiterals));
+    }
+}
@@ -0,0 +1,280 @@
+package com.booleworks.logicng.csp.functions;
+
+import com.booleworks.logicng.csp.CspFactory;
+import com.booleworks.logicng.csp.datastructures.Csp;
+import com.booleworks.logicng.csp.datastructures.IntegerClause;
+import com.booleworks.logicng.csp.datastructures.IntegerVariableSubstitution;
+import com.booleworks.logicng.csp.datastructures.LinearExpression;
+import com.booleworks.logicng.csp.datastructures.domains.IntegerDomain;
+import com.booleworks.logicng.csp.literals.ArithmeticLiteral;
+import com.booleworks.logicng.csp.literals.LinearLiteral;
+import com.booleworks.logicng.csp.predicates.AllDifferentPredicate;
+import com.booleworks.logicng.csp.terms.IntegerVariable;
+import com.booleworks.logicng.csp.terms.Term;
+import com.booleworks.logicng.formulas.FType;
+import com.booleworks.logicng.formulas.Formula;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * A class grouping functions for detecting and breaking symmetries of integer variables.
+ */
+public class CspSymmetries {
+    private CspSymmetries() {
+    }
+
+    /**
+     * Detects classes of interchangeable integer variables of a problem.
+     * <p>
+     * Two variables are interchangeable if they have the same domain and swapping them maps the clauses of the
+     * problem onto themselves. Equalities and inequalities are compared up to the sign of their linear expression.
+     * Transpositions of a class generate all permutations of the class, so every permutation of the variables of a
+     * class is a symmetry of the problem. Only the clauses containing the two variables have to be checked for a
+     * transposition. They are found by the occurrence lists of the problem (see {@link Csp#getClausesOf}).
+     * <p>
+     * The detection is syntactic and only permutes integer variables. Symmetries which also need to permute boolean
+     * variables, e.g., the selector variables introduced by the value decomposition of large
+     * {@link AllDifferentPredicate all-different predicates}, are not detected. Use
+     * {@link #detect(Formula, CspFactory)} to detect them on the formula before the decomposition.
+     * @param csp the problem
+     * @return the classes of interchangeable variables with at least two variables each
+     */
+    public static List<List<IntegerVariable>> detect(final Csp csp) {
+        return detect(csp, Collections.emptyList());
+    }
+
+    /**
+     * Detects classes of interchangeable integer variables of a formula.
+     * <p>
+     * All-different predicates over integer variables in the top-level conjunction of the formula are compared as
+     * sets of variables before they are decomposed, all other constraints are compared on the clauses of their
+     * decomposition (see {@link #detect(Csp)}). Two variables are interchangeable if swapping them maps the clauses
+     * onto themselves and each of these all-different predicates onto one of these predicates. Hence, the
+     * symmetries of all-different predicates are detected independently of their decomposition.
+     * @param formula the formula
+     * @param cf      the factory
+     * @return the classes of interchangeable variables with at least two variables each
+     */
+    public static List<List<IntegerVariable>> detect(final Formula formula, final CspFactory cf) {
+        final List<Set<IntegerVariable>> allDifferents = new ArrayList<>();
+        final List<Formula> rest = new ArrayList<>();
+        final Iterable<Formula> ops = formula.getType() == FType.AND ? formula : List.of(formula);
+        for (final Formula op : ops) {
+            final Set<IntegerVariable> variables = op instanceof AllDifferentPredicate
+                    ? variablesOf((AllDifferentPredicate) op) : null;
+            if (variables != null) {
+                allDifferents.add(variables);
+            } else {
+                rest.add(op);
+            }
+        }
+        return detect(cf.buildCsp(cf.getFormulaFactory().and(rest)), allDifferents);
+    }
+
+    private static List<List<IntegerVariable>> detect(final Csp csp,
+                                                      final Collection<Set<IntegerVariable>> allDifferents) {
+        final Set<IntegerClause> normalized = new LinkedHashSet<>();
+        for (final IntegerClause clause : csp.getClauses()) {
+            normalized.add(normalize(clause));
+        }
+        final Set<IntegerVariable> variables = new LinkedHashSet<>(csp.getInternalIntegerVariables());
+        final Map<IntegerVariable, List<Set<IntegerVariable>>> allDifferentsOf = new LinkedHashMap<>();
+        for (final Set<IntegerVariable> allDifferent : allDifferents) {
+            for (final IntegerVariable v : allDifferent) {
+                variables.add(v);
+                allDifferentsOf.computeIfAbsent(v, k -> new ArrayList<>()).add(allDifferent);
+            }
+        }
+        final Set<Set<IntegerVariable>> allDifferentSet = new LinkedHashSet<>(allDifferents);
+        final Map<List<Integer>, List<List<IntegerVariable>>> candidates = new LinkedHashMap<>();
+        for (final IntegerVariable v : variables) {
+            final int occurrences = csp.getClausesOf(v).size();
+            final int allDifferentOccurrences = allDifferentsOf.getOrDefault(v, Collections.emptyList()).size();
+            if (occurrences == 0 && allDifferentOccurrences == 0) {
+                continue;
+            }
+            final IntegerDomain domain = v.getDomain();
+            final List<List<IntegerVariable>> classes = candidates.computeIfAbsent(
+                    List.of(domain.lb(), domain.ub(), domain.size(), occurrences, allDifferentOccurrences),
+                    k -> new ArrayList<>());
+            List<IntegerVariable> symmetric = null;
+            for (final List<IntegerVariable> c : classes) {
+                final IntegerVariable representative = c.get(0);
+                if (representative.getDomain().equals(domain) && isSymmetric(representative, v, csp, normalized)
+                        && isSymmetric(representative, v, allDifferentsOf, allDifferentSet)) {
+                    symmetric = c;
+                    break;
+                }
+            }
+            if (symmetric == null) {
+                symmetric = new ArrayList<>();
+                classes.add(symmetric);
+            }
+            symmetric.add(v);
+        }
+        final List<List<IntegerVariable>> result = new ArrayList<>();
+        for (final List<List<IntegerVariable>> classes : candidates.values()) {
+            for (final List<IntegerVariable> c : classes) {
+                if (c.size() > 1) {
+                    result.add(c);
+                }
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Detects classes of interchangeable integer variables and adds lex-leader constraints for them.
+     * @param csp the problem
+     * @return the problem with symmetry breaking constraints or {@code csp} itself if no symmetries are detected
+     * @see #detect(Csp)
+     * @see #breakSymmetries(Csp, List)
+     */
+    public static Csp breakSymmetries(final Csp csp) {
+        return breakSymmetries(csp, detect(csp));
+    }
+
+    /**
+     * Builds the problem of a formula, detects classes of interchangeable integer variables on the formula and adds
+     * lex-leader constraints for them.
+     * @param formula the formula
+     * @param cf      the factory
+     * @return the problem of the formula with symmetry breaking constraints
+     * @see #detect(Formula, CspFactory)
+     * @see #breakSymmetries(Csp, List)
+     */
+    public static Csp breakSymmetries(final Formula formula, final CspFactory cf) {
+        return breakSymmetries(cf.buildCsp(formula), detect(formula, cf));
+    }
+
+    /**
+     * Adds lex-leader constraints for classes of interchangeable integer variables.
+     * <p>
+     * Since all permutations of a class are symmetries, the lex-leader constraints of a class {@code x1, ..., xn}
+     * reduce to the chain {@code x1 <= x2 <= ... <= xn}. Each link is a binary linear literal, which the order
+     * encoding represents by implications between the order variables of the two variables. The constraints
+     * preserve satisfiability, but only one model of each class of symmetric models remains, i.e., enumerating the
+     * result yields fewer models than enumerating {@code csp}.
+     * @param csp     the problem
+     * @param classes the classes of interchangeable variables, e.g., computed by {@link #detect(Csp)}
+     * @return the problem with symmetry breaking constraints or {@code csp} itself if there are no classes
+     */
+    public static Csp breakSymmetries(final Csp csp, final List<List<IntegerVariable>> classes) {
+        if (classes.isEmpty()) {
+            return csp;
+        }
+        final Csp.Builder builder = new Csp.Builder(csp);
+        for (final List<IntegerVariable> c : classes) {
+            for (int i = 0; i + 1 < c.size(); i++) {
+                final LinearExpression difference =
+                        new LinearExpression.Builder(1, c.get(i), 0).setA(-1, c.get(i + 1)).build();
+                builder.addClause(new IntegerClause(new LinearLiteral(difference, LinearLiteral.Operator.LE)));
+            }
+        }
+        return builder.build();
+    }
+
+    /**
+     * Returns whether swapping {@code x} and {@code y} maps the clauses of the problem onto themselves.
+     * {@code normalized} contains the normalized clauses of the problem.
+     */
+    private static boolean isSymmetric(final IntegerVariable x, final IntegerVariable y, final Csp csp,
+                                       final Set<IntegerClause> normalized) {
+        final IntegerVariableSubstitution swap = new IntegerVariableSubstitution();
+        swap.add(x, y);
+        swap.add(y, x);
+        for (final IntegerClause clause : csp.getClausesOf(x)) {
+            if (!isMappedOnto(clause, swap, normalized)) {
+                return false;
+            }
+        }
+        for (final IntegerClause clause : csp.getClausesOf(y)) {
+            if (!csp.getClausesOf(x).contains(clause) && !isMappedOnto(clause, swap, normalized)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Returns whether swapping {@code x} and {@code y} maps the all-different predicates onto themselves.
+     * Predicates containing both or none of the variables are mapped onto themselves.
+     */
+    private static boolean isSymmetric(final IntegerVariable x, final IntegerVariable y,
+                                       final Map<IntegerVariable, List<Set<IntegerVariable>>> allDifferentsOf,
+                                       final Set<Set<IntegerVariable>> allDifferents) {
+        for (final IntegerVariable v : List.of(x, y)) {
+            final IntegerVariable other = v.equals(x) ? y : x;
+            for (final Set<IntegerVariable> allDifferent : allDifferentsOf.getOrDefault(v, Collections.emptyList())) {
+                if (!allDifferent.contains(other)) {
+                    final Set<IntegerVariable> swapped = new LinkedHashSet<>(allDifferent);
+                    swapped.remove(v);
+                    swapped.add(other);
+                    if (!allDifferents.contains(swapped)) {
+                        return false;
+                    }
+                }
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Returns the variables of an all-different predicate or {@code null} if the predicate contains other terms
+     * than variables or a variable more than once.
+     */
+    private static Set<IntegerVariable> variablesOf(final AllDifferentPredicate predicate) {
+        final Set<IntegerVariable> variables = new LinkedHashSet<>();
+        for (final Term term : predicate.getTerms()) {
+            if (!(term instanceof IntegerVariable) || !variables.add((IntegerVariable) term)) {
+                return null;
+            }
+        }
+        return variables;
+    }
+
+    private static boolean isMappedOnto(final IntegerClause clause, final IntegerVariableSubstitution swap,
+                                        final Set<IntegerClause> normalized) {
+        final Set<ArithmeticLiteral> literals = new LinkedHashSet<>();
+        for (final ArithmeticLiteral literal : clause.getArithmeticLiterals()) {
+            final ArithmeticLiteral substituted = literal.substitute(swap);
+            if (substituted == null) {
+                return false;
+            }
+            literals.add(substituted);
+        }
+        return normalized.contains(normalize(new IntegerClause(clause.getBoolLiterals(), literals)));
+    }
+
+    /**
+     * Normalizes the sign of the linear expressions of equalities and inequalities such that the coefficient of
+     * the smallest variable is positive.
+     */
+    private static IntegerClause normalize(final IntegerClause clause) {
+        final Set<ArithmeticLiteral> literals = new LinkedHashSet<>();
+        boolean changed = false;
+        for (final ArithmeticLiteral literal : clause.getArithmeticLiterals()) {
+            if (literal instanceof LinearLiteral && hasNegativeSign((LinearLiteral) literal)) {
+                final LinearLiteral ll = (LinearLiteral) literal;
+                literals.add(new LinearLiteral(LinearExpression.multiply(ll.getSum(), -1), ll.getOperator()));
+                changed = true;
+            } else {
+                literals.add(literal);
+            }
+        }
+        return changed ? new IntegerClause(clause.getBoolLiterals(), literals) : clause;
+    }
+
+    private static boolean hasNegativeSign(final LinearLiteral literal) {
+        final LinearExpression sum = literal.getSum();
+        return literal.getOperator() != LinearLiteral.Operator.LE && sum.size() > 0
+                && sum.getA(sum.getCoef().firstKey()) < 0;
+    }
+}
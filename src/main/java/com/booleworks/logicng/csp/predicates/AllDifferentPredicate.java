@@ -1,25 +1,51 @@
 package com.booleworks.logicng.csp.predicates;
 
 import com.booleworks.logicng.csp.CspFactory;
+import com.booleworks.logicng.csp.datastructures.IntegerClause;
+import com.booleworks.logicng.csp.datastructures.LinearExpression;
 import com.booleworks.logicng.csp.datastructures.domains.IntegerDomain;
+import com.booleworks.logicng.csp.encodings.AtMostOneEncoding;
+import com.booleworks.logicng.csp.encodings.CspEncodingContext;
 import com.booleworks.logicng.csp.terms.IntegerVariable;
 import com.booleworks.logicng.csp.terms.Term;
 import com.booleworks.logicng.formulas.Formula;
 import com.booleworks.logicng.formulas.FormulaFactory;
+import com.booleworks.logicng.formulas.Literal;
+import com.booleworks.logicng.formulas.Variable;
 
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
+import java.util.Iterator;
 import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 import java.util.Set;
 import java.util.SortedSet;
+import java.util.TreeMap;
 import java.util.stream.Collectors;
 
 /**
  * A predicate that evaluates whether all operands have different values.
  */
 public class AllDifferentPredicate extends CspPredicate {
+    /**
+     * Prefix for auxiliary variables introduced by the decomposition.
+     */
+    public final static String ALLDIFF_AUX_VARIABLE = "ALLDIFF";
+
+    /**
+     * Minimum number of operands for decomposing the predicate with one at-most-one constraint per value instead of
+     * pairwise inequalities.
+     */
+    public static final int VALUE_DECOMPOSITION_MIN_TERMS = 8;
+
+    /**
+     * Maximum sum of the domain sizes of the operands for decomposing the predicate with one at-most-one constraint
+     * per value.
+     */
+    public static final long VALUE_DECOMPOSITION_MAX_SIZE = 1 << 16;
 
     List<Term> terms;
 
@@ -35,6 +61,14 @@ public class AllDifferentPredicate extends CspPredicate {
         this.terms = new ArrayList<>(terms);
     }
 
+    /**
+     * Returns the operands of the predicate.
+     * @return the operands of the predicate
+     */
+    public List<Term> getTerms() {
+        return Collections.unmodifiableList(terms);
+    }
+
     @Override
     public Formula negate(final CspFactory cf) {
         final List<CspPredicate> eqs = new ArrayList<>();
@@ -55,17 +89,44 @@ public class AllDifferentPredicate extends CspPredicate {
 
     @Override
     protected Decomposition calculateDecomposition(final CspFactory cf) {
-        final FormulaFactory f = getFactory();
-        final List<Decomposition> decomps = new ArrayList<>();
-        for (int i = 0; i < terms.size(); i++) {
-            for (int j = i + 1; j < terms.size(); j++) {
-                decomps.add(cf.ne(terms.get(i), terms.get(j)).decompose(cf));
+        final List<Term.Decomposition> termDecompositions = new ArrayList<>();
+        long totalDomainSize = 0;
+        for (final Term term : terms) {
+            final Term.Decomposition decomposition = term.decompose(cf);
+            termDecompositions.add(decomposition);
+            totalDomainSize += decomposition.getLinearExpression().getDomain().size();
+        }
+        final Set<IntegerClause> clauses = new LinkedHashSet<>();
+        final Set<IntegerVariable> intVars = new LinkedHashSet<>();
+        final Set<Variable> boolVars = new LinkedHashSet<>();
+        if (terms.size() >= VALUE_DECOMPOSITION_MIN_TERMS && totalDomainSize <= VALUE_DECOMPOSITION_MAX_SIZE) {
+            decomposeByValues(termDecompositions, clauses, intVars, boolVars, cf);
+        } else {
+            for (int i = 0; i < terms.size(); i++) {
+                for (int j = i + 1; j < terms.size(); j++) {
+                    addDecomposition(cf.ne(terms.get(i), terms.get(j)).decompose(cf), clauses, intVars, boolVars);
+                }
             }
         }
+        for (final Decomposition pigeonhole : decomposePigeonhole(termDecompositions, cf)) {
+            addDecomposition(pigeonhole, clauses, intVars, boolVars);
+        }
+        return new Decomposition(clauses, intVars, boolVars);
+    }
+
+    private static void addDecomposition(final Decomposition decomposition, final Set<IntegerClause> clauses,
+                                         final Set<IntegerVariable> intVars, final Set<Variable> boolVars) {
+        clauses.addAll(decomposition.getClauses());
+        intVars.addAll(decomposition.getAuxiliaryIntegerVariables());
+        boolVars.addAll(decomposition.getAuxiliaryBooleanVariables());
+    }
+
+    private List<Decomposition> decomposePigeonhole(final List<Term.Decomposition> termDecompositions,
+                                                    final CspFactory cf) {
+        final FormulaFactory f = getFactory();
         int lb = Integer.MAX_VALUE;
         int ub = Integer.MIN_VALUE;
-        for (final Term term : terms) {
-            final Term.Decomposition decompositionResult = term.decompose(cf);
+        for (final Term.Decomposition decompositionResult : termDecompositions) {
             final IntegerDomain d = decompositionResult.getLinearExpression().getDomain();
             lb = Math.min(lb, d.lb());
             ub = Math.max(ub, d.ub());
@@ -76,9 +137,77 @@ public class AllDifferentPredicate extends CspPredicate {
             xs1.add(cf.ge(terms.get(i), cf.constant(lb + terms.size() - 1)));
             xs2.add(cf.le(terms.get(i), cf.constant(ub - terms.size() + 1)));
         }
-        decomps.add(cf.decompose(f.or(xs1)));
-        decomps.add(cf.decompose(f.or(xs2)));
-        return Decomposition.merge(decomps);
+        return List.of(cf.decompose(f.or(xs1)), cf.decompose(f.or(xs2)));
+    }
+
+    /**
+     * Decomposes the predicate with one at-most-one constraint per value.
+     * <p>
+     * Each operand is represented by an integer variable (an auxiliary variable if the operand is not a variable).
+     * For each value {@code v} which can be taken by at least two operands, a boolean variable {@code e_(x,v)} is
+     * implied by {@code x = v}, i.e., by the clause {@code e_(x,v) | x <= v - 1 | x >= v + 1}, and at most one of
+     * these variables may be true. The at-most-one constraints are encoded with {@link AtMostOneEncoding}. Constant
+     * operands exclude their value for all other operands directly.
+     * @param termDecompositions the decompositions of the operands
+     * @param clauses            the destination for the clauses
+     * @param intVars            the destination for new auxiliary integer variables
+     * @param boolVars           the destination for new auxiliary boolean variables
+     * @param cf                 the factory
+     */
+    private void decomposeByValues(final List<Term.Decomposition> termDecompositions,
+                                   final Set<IntegerClause> clauses, final Set<IntegerVariable> intVars,
+                                   final Set<Variable> boolVars, final CspFactory cf) {
+        final FormulaFactory f = getFactory();
+        final List<IntegerVariable> variables = new ArrayList<>();
+        final Map<Integer, Integer> constants = new TreeMap<>();
+        for (int i = 0; i < terms.size(); i++) {
+            final Term.Decomposition decomposition = termDecompositions.get(i);
+            final LinearExpression exp = decomposition.getLinearExpression();
+            clauses.addAll(decomposition.getAdditionalConstraints());
+            intVars.addAll(decomposition.getAuxiliaryIntegerVariables());
+            boolVars.addAll(decomposition.getAuxiliaryBooleanVariables());
+            if (exp.size() == 0) {
+                constants.merge(exp.getB(), 1, Integer::sum);
+            } else if (exp.isIntegerVariable()) {
+                variables.add(exp.getCoef().firstKey());
+            } else {
+                final IntegerVariable aux = cf.termAuxVariable(ALLDIFF_AUX_VARIABLE, terms.get(i), exp.getDomain());
+                addDecomposition(cf.eq(aux, terms.get(i)).decompose(cf), clauses, intVars, boolVars);
+                intVars.add(aux);
+                variables.add(aux);
+            }
+        }
+        final Map<Integer, List<IntegerVariable>> occurrences = new TreeMap<>();
+        for (final IntegerVariable v : variables) {
+            for (final Iterator<Integer> it = v.getDomain().iterator(); it.hasNext(); ) {
+                occurrences.computeIfAbsent(it.next(), k -> new ArrayList<>()).add(v);
+            }
+        }
+        for (final Map.Entry<Integer, Integer> constant : constants.entrySet()) {
+            if (constant.getValue() > 1) {
+                clauses.add(new IntegerClause());
+            }
+            for (final IntegerVariable v : occurrences.getOrDefault(constant.getKey(), List.of())) {
+                clauses.add(new IntegerClause(Collections.<Literal>emptySet(),
+                        PredicateEncodings.notEqual(v, constant.getKey())));
+            }
+        }
+        for (final Map.Entry<Integer, List<IntegerVariable>> entry : occurrences.entrySet()) {
+            final int value = entry.getKey();
+            final List<IntegerVariable> vs = entry.getValue();
+            if (vs.size() < 2 || constants.containsKey(value)) {
+                continue;
+            }
+            final List<Variable> selectors = new ArrayList<>();
+            for (final IntegerVariable v : vs) {
+                final Variable e = f.newAuxVariable(CspEncodingContext.CSP_AUX_LNG_VARIABLE);
+                boolVars.add(e);
+                selectors.add(e);
+                clauses.add(
+                        new IntegerClause(Collections.<Literal>singleton(e), PredicateEncodings.notEqual(v, value)));
+            }
+            PredicateEncodings.encodeAtMostOne(selectors, clauses, boolVars, f);
+        }
     }
 
     @Override
@@ -8,6 +8,7 @@ import com.booleworks.logicng.csp.literals.LinearLiteral;
 import com.booleworks.logicng.csp.terms.AbsoluteFunction;
 import com.booleworks.logicng.csp.terms.MultiplicationFunction;
 import com.booleworks.logicng.csp.terms.Term;
+import com.booleworks.logicng.datastructures.Tristate;
 import com.booleworks.logicng.formulas.FormulaFactory;
 
 import java.util.LinkedHashSet;
@@ -51,8 +52,56 @@ public class ComparisonPredicate extends BinaryPredicate {
         }
     }
 
+    /**
+     * Evaluates the comparison on the bounds of both terms (see {@link Term#getBounds()}). This does not decompose
+     * the terms and is therefore cheap, but it cannot decide comparisons whose terms share variables in a way that
+     * only the decomposition reveals, e.g., {@code x + y <= x + 5}.
+     * @return {@link Tristate#TRUE} if all values of the terms satisfy the comparison, {@link Tristate#FALSE} if no
+     * values satisfy it, and {@link Tristate#UNDEF} otherwise
+     */
+    public Tristate evaluateBounds() {
+        final IntegerDomain l = left.getBounds();
+        final IntegerDomain r = right.getBounds();
+        if (!Term.isBounded(l) || !Term.isBounded(r)) {
+            return Tristate.UNDEF;
+        }
+        // bounds of left - right
+        final long lb = (long) l.lb() - r.ub();
+        final long ub = (long) l.ub() - r.lb();
+        switch (type) {
+            case EQ:
+                return lb == 0 && ub == 0 ? Tristate.TRUE : lb > 0 || ub < 0 ? Tristate.FALSE : Tristate.UNDEF;
+            case NE:
+                return lb == 0 && ub == 0 ? Tristate.FALSE : lb > 0 || ub < 0 ? Tristate.TRUE : Tristate.UNDEF;
+            case LE:
+                return ub <= 0 ? Tristate.TRUE : lb > 0 ? Tristate.FALSE : Tristate.UNDEF;
+            case LT:
+                return ub < 0 ? Tristate.TRUE : lb >= 0 ? Tristate.FALSE : Tristate.UNDEF;
+            case GE:
+                return lb >= 0 ? Tristate.TRUE : ub < 0 ? Tristate.FALSE : Tristate.UNDEF;
+            case GT:
+                return lb > 0 ? Tristate.TRUE : ub <= 0 ? Tristate.FALSE : Tristate.UNDEF;
+            default:
+                throw new IllegalArgumentException("Invalid type of ComparisonPredicate: " + type);
+        }
+    }
+
+    /**
+     * Decomposes the comparison. Comparisons decided by the bounds of their terms are decomposed into no clause or
+     * the empty clause without decomposing the terms.
+     * @param cf the factory
+     * @return the decomposition
+     */
     @Override
     protected Decomposition calculateDecomposition(final CspFactory cf) {
+        switch (evaluateBounds()) {
+            case TRUE:
+                return Decomposition.empty();
+            case FALSE:
+                return Decomposition.emptyClause();
+            default:
+                break;
+        }
         switch (type) {
             case EQ:
                 return decomposeEq(cf);
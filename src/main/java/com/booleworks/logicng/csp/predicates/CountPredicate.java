@@ -0,0 +1,230 @@
+package com.booleworks.logicng.csp.predicates;
+
+import com.booleworks.logicng.csp.CspFactory;
+import com.booleworks.logicng.csp.datastructures.IntegerClause;
+import com.booleworks.logicng.csp.datastructures.LinearExpression;
+import com.booleworks.logicng.csp.datastructures.domains.IntegerDomain;
+import com.booleworks.logicng.csp.encodings.CspEncodingContext;
+import com.booleworks.logicng.csp.literals.ArithmeticLiteral;
+import com.booleworks.logicng.csp.literals.LinearLiteral;
+import com.booleworks.logicng.csp.terms.IntegerVariable;
+import com.booleworks.logicng.formulas.CType;
+import com.booleworks.logicng.formulas.Formula;
+import com.booleworks.logicng.formulas.FormulaFactory;
+import com.booleworks.logicng.formulas.Literal;
+import com.booleworks.logicng.formulas.Variable;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+import java.util.SortedSet;
+import java.util.stream.Collectors;
+
+/**
+ * A predicate restricting how many integer variables take a value in a range.
+ * <p>
+ * The predicate is satisfied if the number of variables with a value in {@code [valueLb, valueUb]} is in
+ * {@code [minCount, maxCount]}.
+ */
+public class CountPredicate extends CspPredicate {
+    private final List<IntegerVariable> variables;
+    private final int valueLb;
+    private final int valueUb;
+    private final int minCount;
+    private final int maxCount;
+
+    /**
+     * Constructs a new count predicate.
+     * <p>
+     * <B>This constructor should not be used!</B> Use {@link CspFactory} to create new predicates.
+     * @param variables the variables
+     * @param valueLb   the lower bound of the counted values
+     * @param valueUb   the upper bound of the counted values
+     * @param minCount  the minimum number of variables with a counted value
+     * @param maxCount  the maximum number of variables with a counted value
+     * @param f         the formula factory
+     */
+    public CountPredicate(final List<IntegerVariable> variables, final int valueLb, final int valueUb,
+                          final int minCount, final int maxCount, final FormulaFactory f) {
+        super(Type.COUNT, f);
+        this.variables = new ArrayList<>(variables);
+        this.valueLb = valueLb;
+        this.valueUb = valueUb;
+        this.minCount = minCount;
+        this.maxCount = maxCount;
+    }
+
+    /**
+     * Returns the variables.
+     * @return the variables
+     */
+    public List<IntegerVariable> getVariables() {
+        return Collections.unmodifiableList(variables);
+    }
+
+    /**
+     * Returns the lower bound of the counted values.
+     * @return the lower bound of the counted values
+     */
+    public int getValueLb() {
+        return valueLb;
+    }
+
+    /**
+     * Returns the upper bound of the counted values.
+     * @return the upper bound of the counted values
+     */
+    public int getValueUb() {
+        return valueUb;
+    }
+
+    /**
+     * Returns the minimum number of variables with a counted value.
+     * @return the minimum number of variables with a counted value
+     */
+    public int getMinCount() {
+        return minCount;
+    }
+
+    /**
+     * Returns the maximum number of variables with a counted value.
+     * @return the maximum number of variables with a counted value
+     */
+    public int getMaxCount() {
+        return maxCount;
+    }
+
+    @Override
+    public Formula negate(final CspFactory cf) {
+        final FormulaFactory f = cf.getFormulaFactory();
+        final List<Formula> ops = new ArrayList<>();
+        if (minCount > 0) {
+            ops.add(cf.count(variables, valueLb, valueUb, 0, minCount - 1));
+        }
+        if (maxCount < variables.size()) {
+            ops.add(cf.count(variables, valueLb, valueUb, maxCount + 1, variables.size()));
+        }
+        return f.or(ops);
+    }
+
+    @Override
+    public void variablesInplace(final SortedSet<IntegerVariable> variables) {
+        variables.addAll(this.variables);
+    }
+
+    /**
+     * Decomposes the predicate into indicator variables and a cardinality constraint.
+     * <p>
+     * The indicator of a variable {@code x} is a boolean variable {@code e} with
+     * {@code e <-> valueLb <= x <= valueUb} which is defined over the order literals of {@code x}. Variables whose
+     * domain is contained in or disjoint from the counted values get no indicator. The bounds of the count are
+     * encoded as cardinality constraints over the indicators with the encoder configured on the formula factory.
+     * @param cf the factory
+     * @return the decomposition
+     */
+    @Override
+    protected Decomposition calculateDecomposition(final CspFactory cf) {
+        final Set<IntegerClause> clauses = new LinkedHashSet<>();
+        final Set<Variable> boolVars = new LinkedHashSet<>();
+        encodeCount(variables, valueLb, valueUb, minCount, maxCount, clauses, boolVars, getFactory());
+        return new Decomposition(clauses, Collections.emptySet(), boolVars);
+    }
+
+    /**
+     * Adds the clauses restricting the number of variables with a value in {@code [valueLb, valueUb]} to
+     * {@code [minCount, maxCount]}.
+     * @param variables the variables
+     * @param valueLb   the lower bound of the counted values
+     * @param valueUb   the upper bound of the counted values
+     * @param minCount  the minimum number of variables with a counted value
+     * @param maxCount  the maximum number of variables with a counted value
+     * @param clauses   the destination for the clauses
+     * @param boolVars  the destination for new auxiliary variables
+     * @param f         the formula factory
+     */
+    static void encodeCount(final List<IntegerVariable> variables, final int valueLb, final int valueUb,
+                            final int minCount, final int maxCount, final Set<IntegerClause> clauses,
+                            final Set<Variable> boolVars, final FormulaFactory f) {
+        final List<IntegerVariable> undecided = new ArrayList<>();
+        int fixed = 0;
+        for (final IntegerVariable v : variables) {
+            final IntegerDomain domain = v.getDomain();
+            if (domain.lb() >= valueLb && domain.ub() <= valueUb) {
+                fixed++;
+            } else if (!domain.bound(valueLb, valueUb).isEmpty()) {
+                undecided.add(v);
+            }
+        }
+        final int min = minCount - fixed;
+        final int max = maxCount - fixed;
+        if (max < 0 || min > undecided.size() || min > max) {
+            clauses.add(new IntegerClause());
+            return;
+        }
+        if (min <= 0 && max >= undecided.size()) {
+            return;
+        }
+        final List<Variable> indicators = new ArrayList<>();
+        for (final IntegerVariable v : undecided) {
+            final Variable e = f.newAuxVariable(CspEncodingContext.CSP_AUX_LNG_VARIABLE);
+            boolVars.add(e);
+            indicators.add(e);
+            encodeIndicator(e, v, valueLb, valueUb, clauses, f);
+        }
+        if (min > 0 && max < indicators.size() && min == max) {
+            PredicateEncodings.addCnf(f.cc(CType.EQ, min, indicators), indicators, clauses, boolVars, f);
+            return;
+        }
+        if (min > 0) {
+            PredicateEncodings.addCnf(f.cc(CType.GE, min, indicators), indicators, clauses, boolVars, f);
+        }
+        if (max < indicators.size()) {
+            PredicateEncodings.addCnf(f.cc(CType.LE, max, indicators), indicators, clauses, boolVars, f);
+        }
+    }
+
+    private static void encodeIndicator(final Variable e, final IntegerVariable v, final int valueLb,
+                                        final int valueUb, final Set<IntegerClause> clauses,
+                                        final FormulaFactory f) {
+        final IntegerDomain domain = v.getDomain();
+        final Set<ArithmeticLiteral> outside = new LinkedHashSet<>();
+        if (valueLb > domain.lb()) {
+            final LinearLiteral below = PredicateEncodings.le(new LinearExpression(1, v, -(valueLb - 1)));
+            clauses.add(new IntegerClause(e.negate(f), PredicateEncodings.le(new LinearExpression(-1, v, valueLb))));
+            outside.add(below);
+        }
+        if (valueUb < domain.ub()) {
+            final LinearLiteral above = PredicateEncodings.le(new LinearExpression(-1, v, valueUb + 1));
+            clauses.add(new IntegerClause(e.negate(f), PredicateEncodings.le(new LinearExpression(1, v, -valueUb))));
+            outside.add(above);
+        }
+        clauses.add(new IntegerClause(Collections.<Literal>singleton(e), outside));
+    }
+
+    @Override
+    public boolean equals(final Object other) {
+        if (other == this) {
+            return true;
+        }
+        if (getClass() == other.getClass()) {
+            final CountPredicate that = (CountPredicate) other;
+            return valueLb == that.valueLb && valueUb == that.valueUb && minCount == that.minCount
+                    && maxCount == that.maxCount && variables.equals(that.variables);
+        }
+        return false;
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(variables, valueLb, valueUb, minCount, maxCount);
+    }
+
+    @Override
+    public String toString() {
+        return type + "([" + variables.stream().map(Object::toString).collect(Collectors.joining(", ")) + "], ["
+                + valueLb + ", " + valueUb + "], [" + minCount + ", " + maxCount + "])";
+    }
+}
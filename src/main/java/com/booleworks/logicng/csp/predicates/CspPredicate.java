@@ -72,6 +72,14 @@ public abstract class CspPredicate implements Predicate {
      */
     public abstract void variablesInplace(SortedSet<IntegerVariable> variables);
 
+    /**
+     * Adds all boolean variables used as operands of this predicate to {@code variables}. Auxiliary variables of the
+     * decomposition are not added.
+     * @param variables set to add the variables to
+     */
+    public void booleanVariablesInplace(final SortedSet<Variable> variables) {
+    }
+
     /**
      * Calculates the decomposition of this predicate. (without caching)
      * @param cf the factory
@@ -128,7 +136,35 @@ public abstract class CspPredicate implements Predicate {
         /**
          * All different values.
          */
-        ALLDIFFERENT
+        ALLDIFFERENT,
+        /**
+         * Element of an array {@code array[index] = value}.
+         */
+        ELEMENT,
+        /**
+         * Extensional table of allowed or forbidden tuples.
+         */
+        TABLE,
+        /**
+         * Non-overlapping tasks.
+         */
+        DISJUNCTIVE,
+        /**
+         * Tasks sharing a resource with limited capacity.
+         */
+        CUMULATIVE,
+        /**
+         * Number of variables with a value in a range.
+         */
+        COUNT,
+        /**
+         * Number of variables with each of a list of values.
+         */
+        GLOBAL_CARDINALITY,
+        /**
+         * Weighted sum of boolean literals and an integer term {@code <= 0}.
+         */
+        PSEUDO_BOOLEAN
     }
 
     /**
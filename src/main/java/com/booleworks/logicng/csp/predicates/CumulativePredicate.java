@@ -0,0 +1,265 @@
+package com.booleworks.logicng.csp.predicates;
+
+import com.booleworks.logicng.csp.CspFactory;
+import com.booleworks.logicng.csp.datastructures.IntegerClause;
+import com.booleworks.logicng.csp.datastructures.LinearExpression;
+import com.booleworks.logicng.csp.datastructures.domains.IntegerDomain;
+import com.booleworks.logicng.csp.literals.LinearLiteral;
+import com.booleworks.logicng.csp.terms.IntegerVariable;
+import com.booleworks.logicng.csp.terms.Term;
+import com.booleworks.logicng.formulas.Formula;
+import com.booleworks.logicng.formulas.FormulaFactory;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+import java.util.SortedMap;
+import java.util.SortedSet;
+import java.util.TreeMap;
+
+/**
+ * A scheduling predicate stating that the total demand of all tasks running at the same time never exceeds the
+ * capacity of a resource.
+ * <p>
+ * Task {@code i} starts at {@code starts[i]}, runs for {@code durations[i]} time units, i.e., it runs at all times
+ * {@code t} with {@code starts[i] <= t < starts[i] + durations[i]}, and requires {@code demands[i]} units of the
+ * resource while running.
+ */
+public class CumulativePredicate extends CspPredicate {
+    /**
+     * Prefix for auxiliary variables introduced by the decomposition.
+     */
+    public final static String CUMULATIVE_AUX_VARIABLE = "CUMULATIVE";
+
+    private final List<IntegerVariable> starts;
+    private final List<Integer> durations;
+    private final List<Integer> demands;
+    private final int capacity;
+    private final SchedulingDecomposition decomposition;
+
+    /**
+     * Constructs a new cumulative predicate.
+     * <p>
+     * <B>This constructor should not be used!</B> Use {@link CspFactory} to create new predicates.
+     * @param starts        the start times of the tasks
+     * @param durations     the durations of the tasks
+     * @param demands       the resource demands of the tasks
+     * @param capacity      the capacity of the resource
+     * @param decomposition the decomposition used for this predicate
+     * @param f             the formula factory
+     * @throws IllegalArgumentException if the lists have different sizes or if a duration, demand, or the capacity
+     *                                  is negative
+     */
+    public CumulativePredicate(final List<IntegerVariable> starts, final List<Integer> durations,
+                               final List<Integer> demands, final int capacity,
+                               final SchedulingDecomposition decomposition, final FormulaFactory f) {
+        super(Type.CUMULATIVE, f);
+        if (starts.size() != durations.size() || starts.size() != demands.size()) {
+            throw new IllegalArgumentException("Starts, durations, and demands must have the same size");
+        }
+        if (durations.stream().anyMatch(d -> d < 0) || demands.stream().anyMatch(d -> d < 0) || capacity < 0) {
+            throw new IllegalArgumentException("Durations, demands, and capacity must not be negative");
+        }
+        this.starts = new ArrayList<>(starts);
+        this.durations = new ArrayList<>(durations);
+        this.demands = new ArrayList<>(demands);
+        this.capacity = capacity;
+        this.decomposition = decomposition;
+    }
+
+    /**
+     * Returns the start times of the tasks.
+     * @return the start times of the tasks
+     */
+    public List<IntegerVariable> getStarts() {
+        return Collections.unmodifiableList(starts);
+    }
+
+    /**
+     * Returns the durations of the tasks.
+     * @return the durations of the tasks
+     */
+    public List<Integer> getDurations() {
+        return Collections.unmodifiableList(durations);
+    }
+
+    /**
+     * Returns the resource demands of the tasks.
+     * @return the resource demands of the tasks
+     */
+    public List<Integer> getDemands() {
+        return Collections.unmodifiableList(demands);
+    }
+
+    /**
+     * Returns the capacity of the resource.
+     * @return the capacity of the resource
+     */
+    public int getCapacity() {
+        return capacity;
+    }
+
+    /**
+     * Returns the decomposition used for this predicate.
+     * @return the decomposition used for this predicate
+     */
+    public SchedulingDecomposition getDecomposition() {
+        return decomposition;
+    }
+
+    /**
+     * Returns the indices of the tasks which use the resource, i.e., with positive duration and demand.
+     * @return the indices of the tasks which use the resource
+     */
+    private List<Integer> activeTasks() {
+        final List<Integer> tasks = new ArrayList<>();
+        for (int i = 0; i < starts.size(); i++) {
+            if (durations.get(i) > 0 && demands.get(i) > 0) {
+                tasks.add(i);
+            }
+        }
+        return tasks;
+    }
+
+    /**
+     * The negation states that the load at the start of some task exceeds the capacity. Whether a task {@code i}
+     * runs at time {@code t} is expressed by the term {@code max(0, min(1, min(t - s_i + 1, s_i + d_i - t)))}.
+     * @param cf the factory
+     * @return the negation
+     */
+    @Override
+    public Formula negate(final CspFactory cf) {
+        final FormulaFactory f = cf.getFormulaFactory();
+        final List<Integer> tasks = activeTasks();
+        final List<Formula> ops = new ArrayList<>();
+        for (final int j : tasks) {
+            final IntegerVariable t = starts.get(j);
+            final List<Term> load = new ArrayList<>();
+            load.add(cf.constant(demands.get(j)));
+            for (final int i : tasks) {
+                if (i != j) {
+                    final IntegerVariable s = starts.get(i);
+                    final Term running = cf.max(cf.zero(), cf.min(cf.one(), cf.min(cf.add(cf.sub(t, s), cf.one()),
+                            cf.sub(cf.add(s, cf.constant(durations.get(i))), t))));
+                    load.add(cf.mul(demands.get(i), running));
+                }
+            }
+            ops.add(cf.gt(cf.add(load), cf.constant(capacity)));
+        }
+        return f.or(ops);
+    }
+
+    @Override
+    public void variablesInplace(final SortedSet<IntegerVariable> variables) {
+        variables.addAll(starts);
+    }
+
+    /**
+     * Decomposes the predicate with the configured {@link SchedulingDecomposition}.
+     * <p>
+     * Both decompositions introduce an auxiliary 0/1-variable {@code u} for each task {@code i} and time point
+     * {@code t} at which the task might run, with {@code s_i <= t < s_i + d_i -> u >= 1}, and restrict the weighted
+     * sum of these variables by the capacity. The time decomposition uses all possible start times as time points,
+     * the task decomposition uses the start variables of the tasks. Time points at which the total demand of all
+     * tasks that might run does not exceed the capacity are skipped.
+     * @param cf the factory
+     * @return the decomposition
+     */
+    @Override
+    protected Decomposition calculateDecomposition(final CspFactory cf) {
+        final Set<IntegerClause> clauses = new LinkedHashSet<>();
+        final Set<IntegerVariable> intVars = new LinkedHashSet<>();
+        final List<Integer> tasks = activeTasks();
+        if (decomposition == SchedulingDecomposition.TIME) {
+            for (final int t : PredicateEncodings.timePoints(starts, tasks)) {
+                final List<Integer> running = new ArrayList<>();
+                for (final int i : tasks) {
+                    if (PredicateEncodings.mightRun(starts.get(i), durations.get(i), t)) {
+                        running.add(i);
+                    }
+                }
+                if (exceedsCapacity(running, 0)) {
+                    final SortedMap<IntegerVariable, Integer> load = new TreeMap<>();
+                    for (final int i : running) {
+                        final IntegerVariable u = cf.auxVariable(CUMULATIVE_AUX_VARIABLE, IntegerDomain.of(0, 1));
+                        intVars.add(u);
+                        load.put(u, demands.get(i));
+                        PredicateEncodings.addClause(clauses, Collections.emptySet(), atLeastOne(u),
+                                PredicateEncodings.le(new LinearExpression(-1, starts.get(i), t + 1)),
+                                PredicateEncodings.le(new LinearExpression(1, starts.get(i), durations.get(i) - t)));
+                    }
+                    PredicateEncodings.addClause(clauses, Collections.emptySet(),
+                            PredicateEncodings.le(new LinearExpression(load, -capacity)));
+                }
+            }
+        } else {
+            for (final int j : tasks) {
+                final IntegerVariable t = starts.get(j);
+                final List<Integer> running = new ArrayList<>();
+                for (final int i : tasks) {
+                    if (i != j
+                            && PredicateEncodings.mightOverlap(starts.get(i), durations.get(i), t, durations.get(j))) {
+                        running.add(i);
+                    }
+                }
+                if (exceedsCapacity(running, demands.get(j))) {
+                    final SortedMap<IntegerVariable, Integer> load = new TreeMap<>();
+                    for (final int i : running) {
+                        final IntegerVariable s = starts.get(i);
+                        final IntegerVariable u = cf.auxVariable(CUMULATIVE_AUX_VARIABLE, IntegerDomain.of(0, 1));
+                        intVars.add(u);
+                        load.put(u, demands.get(i));
+                        PredicateEncodings.addClause(clauses, Collections.emptySet(), atLeastOne(u),
+                                PredicateEncodings.le(PredicateEncodings.difference(t, s, 1)),
+                                PredicateEncodings.le(PredicateEncodings.difference(s, t, durations.get(i))));
+                    }
+                    PredicateEncodings.addClause(clauses, Collections.emptySet(),
+                            PredicateEncodings.le(new LinearExpression(load, demands.get(j) - capacity)));
+                }
+            }
+        }
+        return new Decomposition(clauses, intVars, Collections.emptySet());
+    }
+
+    private boolean exceedsCapacity(final List<Integer> running, final int initialLoad) {
+        long load = initialLoad;
+        for (final int i : running) {
+            load += demands.get(i);
+        }
+        return load > capacity;
+    }
+
+    private static LinearLiteral atLeastOne(final IntegerVariable u) {
+        return PredicateEncodings.le(new LinearExpression(-1, u, 1));
+    }
+
+    @Override
+    public boolean equals(final Object other) {
+        if (other == this) {
+            return true;
+        }
+        if (getClass() == other.getClass()) {
+            final CumulativePredicate that = (CumulativePredicate) other;
+            return capacity == that.capacity && decomposition == that.decomposition && starts.equals(that.starts)
+                    && durations.equals(that.durations) && demands.equals(that.demands);
+        }
+        return false;
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(starts, durations, demands, capacity, decomposition);
+    }
+
+    @Override
+    public String toString() {
+        final List<String> tasks = new ArrayList<>();
+        for (int i = 0; i < starts.size(); i++) {
+            tasks.add("(" + starts.get(i) + ", " + durations.get(i) + ", " + demands.get(i) + ")");
+        }
+        return type + "([" + String.join(", ", tasks) + "], " + capacity + ")";
+    }
+}
@@ -0,0 +1,197 @@
+package com.booleworks.logicng.csp.predicates;
+
+import com.booleworks.logicng.csp.CspFactory;
+import com.booleworks.logicng.csp.datastructures.IntegerClause;
+import com.booleworks.logicng.csp.datastructures.LinearExpression;
+import com.booleworks.logicng.csp.encodings.CspEncodingContext;
+import com.booleworks.logicng.csp.terms.IntegerVariable;
+import com.booleworks.logicng.formulas.Formula;
+import com.booleworks.logicng.formulas.FormulaFactory;
+import com.booleworks.logicng.formulas.Literal;
+import com.booleworks.logicng.formulas.Variable;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+import java.util.SortedSet;
+
+/**
+ * A scheduling predicate stating that no two tasks overlap.
+ * <p>
+ * Task {@code i} starts at {@code starts[i]} and runs for {@code durations[i]} time units, i.e., it runs at all times
+ * {@code t} with {@code starts[i] <= t < starts[i] + durations[i]}. Tasks with duration {@code 0} never overlap.
+ */
+public class DisjunctivePredicate extends CspPredicate {
+    private final List<IntegerVariable> starts;
+    private final List<Integer> durations;
+    private final SchedulingDecomposition decomposition;
+
+    /**
+     * Constructs a new disjunctive predicate.
+     * <p>
+     * <B>This constructor should not be used!</B> Use {@link CspFactory} to create new predicates.
+     * @param starts        the start times of the tasks
+     * @param durations     the durations of the tasks
+     * @param decomposition the decomposition used for this predicate
+     * @param f             the formula factory
+     * @throws IllegalArgumentException if the lists have different sizes or if a duration is negative
+     */
+    public DisjunctivePredicate(final List<IntegerVariable> starts, final List<Integer> durations,
+                                final SchedulingDecomposition decomposition, final FormulaFactory f) {
+        super(Type.DISJUNCTIVE, f);
+        if (starts.size() != durations.size()) {
+            throw new IllegalArgumentException("Starts and durations must have the same size");
+        }
+        if (durations.stream().anyMatch(d -> d < 0)) {
+            throw new IllegalArgumentException("Durations must not be negative");
+        }
+        this.starts = new ArrayList<>(starts);
+        this.durations = new ArrayList<>(durations);
+        this.decomposition = decomposition;
+    }
+
+    /**
+     * Returns the start times of the tasks.
+     * @return the start times of the tasks
+     */
+    public List<IntegerVariable> getStarts() {
+        return Collections.unmodifiableList(starts);
+    }
+
+    /**
+     * Returns the durations of the tasks.
+     * @return the durations of the tasks
+     */
+    public List<Integer> getDurations() {
+        return Collections.unmodifiableList(durations);
+    }
+
+    /**
+     * Returns the decomposition used for this predicate.
+     * @return the decomposition used for this predicate
+     */
+    public SchedulingDecomposition getDecomposition() {
+        return decomposition;
+    }
+
+    private List<Integer> activeTasks() {
+        final List<Integer> tasks = new ArrayList<>();
+        for (int i = 0; i < starts.size(); i++) {
+            if (durations.get(i) > 0) {
+                tasks.add(i);
+            }
+        }
+        return tasks;
+    }
+
+    @Override
+    public Formula negate(final CspFactory cf) {
+        final FormulaFactory f = cf.getFormulaFactory();
+        final List<Integer> tasks = activeTasks();
+        final List<Formula> ops = new ArrayList<>();
+        for (int x = 0; x < tasks.size(); x++) {
+            for (int y = x + 1; y < tasks.size(); y++) {
+                final int i = tasks.get(x);
+                final int j = tasks.get(y);
+                ops.add(f.and(cf.lt(starts.get(i), cf.add(starts.get(j), cf.constant(durations.get(j)))),
+                        cf.lt(starts.get(j), cf.add(starts.get(i), cf.constant(durations.get(i))))));
+            }
+        }
+        return f.or(ops);
+    }
+
+    @Override
+    public void variablesInplace(final SortedSet<IntegerVariable> variables) {
+        variables.addAll(starts);
+    }
+
+    /**
+     * Decomposes the predicate with the configured {@link SchedulingDecomposition}.
+     * <p>
+     * The task decomposition introduces a boolean variable {@code b} for each pair of tasks which might overlap with
+     * {@code b -> s_i + d_i <= s_j} and {@code ~b -> s_j + d_j <= s_i}. The time decomposition introduces a boolean
+     * variable {@code r} for each task {@code i} and possible start time {@code t} at which the task might run with
+     * {@code s_i <= t < s_i + d_i -> r} and states that at most one of these variables is true at each time point.
+     * @param cf the factory
+     * @return the decomposition
+     */
+    @Override
+    protected Decomposition calculateDecomposition(final CspFactory cf) {
+        final FormulaFactory f = getFactory();
+        final Set<IntegerClause> clauses = new LinkedHashSet<>();
+        final Set<Variable> boolVars = new LinkedHashSet<>();
+        final List<Integer> tasks = activeTasks();
+        if (decomposition == SchedulingDecomposition.TIME) {
+            for (final int t : PredicateEncodings.timePoints(starts, tasks)) {
+                final List<Integer> running = new ArrayList<>();
+                for (final int i : tasks) {
+                    if (PredicateEncodings.mightRun(starts.get(i), durations.get(i), t)) {
+                        running.add(i);
+                    }
+                }
+                if (running.size() < 2) {
+                    continue;
+                }
+                final List<Variable> selectors = new ArrayList<>();
+                for (final int i : running) {
+                    final Variable r = f.newAuxVariable(CspEncodingContext.CSP_AUX_LNG_VARIABLE);
+                    boolVars.add(r);
+                    selectors.add(r);
+                    PredicateEncodings.addClause(clauses, Collections.<Literal>singleton(r),
+                            PredicateEncodings.le(new LinearExpression(-1, starts.get(i), t + 1)),
+                            PredicateEncodings.le(new LinearExpression(1, starts.get(i), durations.get(i) - t)));
+                }
+                PredicateEncodings.encodeAtMostOne(selectors, clauses, boolVars, f);
+            }
+        } else {
+            for (int x = 0; x < tasks.size(); x++) {
+                for (int y = x + 1; y < tasks.size(); y++) {
+                    final int i = tasks.get(x);
+                    final int j = tasks.get(y);
+                    final IntegerVariable si = starts.get(i);
+                    final IntegerVariable sj = starts.get(j);
+                    if (!PredicateEncodings.mightOverlap(si, durations.get(i), sj, durations.get(j))) {
+                        continue;
+                    }
+                    final Variable b = f.newAuxVariable(CspEncodingContext.CSP_AUX_LNG_VARIABLE);
+                    boolVars.add(b);
+                    PredicateEncodings.addClause(clauses, Collections.singleton(b.negate(f)),
+                            PredicateEncodings.le(PredicateEncodings.difference(si, sj, durations.get(i))));
+                    PredicateEncodings.addClause(clauses, Collections.<Literal>singleton(b),
+                            PredicateEncodings.le(PredicateEncodings.difference(sj, si, durations.get(j))));
+                }
+            }
+        }
+        return new Decomposition(clauses, Collections.emptySet(), boolVars);
+    }
+
+    @Override
+    public boolean equals(final Object other) {
+        if (other == this) {
+            return true;
+        }
+        if (getClass() == other.getClass()) {
+            final DisjunctivePredicate that = (DisjunctivePredicate) other;
+            return decomposition == that.decomposition && starts.equals(that.starts)
+                    && durations.equals(that.durations);
+        }
+        return false;
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(starts, durations, decomposition);
+    }
+
+    @Override
+    public String toString() {
+        final List<String> tasks = new ArrayList<>();
+        for (int i = 0; i < starts.size(); i++) {
+            tasks.add("(" + starts.get(i) + ", " + durations.get(i) + ")");
+        }
+        return type + "([" + String.join(", ", tasks) + "])";
+    }
+}
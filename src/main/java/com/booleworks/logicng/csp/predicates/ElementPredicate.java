@@ -0,0 +1,194 @@
+package com.booleworks.logicng.csp.predicates;
+
+import com.booleworks.logicng.csp.CspFactory;
+import com.booleworks.logicng.csp.datastructures.IntegerClause;
+import com.booleworks.logicng.csp.datastructures.LinearExpression;
+import com.booleworks.logicng.csp.datastructures.domains.IntegerDomain;
+import com.booleworks.logicng.csp.literals.LinearLiteral;
+import com.booleworks.logicng.csp.terms.IntegerVariable;
+import com.booleworks.logicng.csp.terms.Term;
+import com.booleworks.logicng.formulas.Formula;
+import com.booleworks.logicng.formulas.FormulaFactory;
+import com.booleworks.logicng.formulas.Literal;
+import com.booleworks.logicng.formulas.Variable;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+import java.util.SortedSet;
+import java.util.stream.Collectors;
+
+/**
+ * A predicate representing the element constraint {@code array[index] = value}. The array is indexed starting at
+ * {@code 0} and the index must be in the range of the array.
+ */
+public class ElementPredicate extends CspPredicate {
+    /**
+     * Prefix for auxiliary variables introduced by the decomposition.
+     */
+    public final static String ELEMENT_AUX_VARIABLE = "ELEMENT";
+
+    private final Term index;
+    private final List<Term> array;
+    private final Term value;
+
+    /**
+     * Constructs a new element predicate.
+     * <p>
+     * <B>This constructor should not be used!</B> Use {@link CspFactory} to create new predicates.
+     * @param index the index
+     * @param array the array
+     * @param value the value
+     * @param f     the formula factory
+     */
+    public ElementPredicate(final Term index, final List<Term> array, final Term value, final FormulaFactory f) {
+        super(Type.ELEMENT, f);
+        this.index = index;
+        this.array = new ArrayList<>(array);
+        this.value = value;
+    }
+
+    /**
+     * Returns the index.
+     * @return the index
+     */
+    public Term getIndex() {
+        return index;
+    }
+
+    /**
+     * Returns the array.
+     * @return the array
+     */
+    public List<Term> getArray() {
+        return Collections.unmodifiableList(array);
+    }
+
+    /**
+     * Returns the value.
+     * @return the value
+     */
+    public Term getValue() {
+        return value;
+    }
+
+    @Override
+    public Formula negate(final CspFactory cf) {
+        final FormulaFactory f = cf.getFormulaFactory();
+        final List<Formula> ops = new ArrayList<>();
+        ops.add(cf.lt(index, cf.zero()));
+        ops.add(cf.gt(index, cf.constant(array.size() - 1)));
+        for (int i = 0; i < array.size(); i++) {
+            ops.add(f.and(cf.eq(index, cf.constant(i)), cf.ne(value, array.get(i))));
+        }
+        return f.or(ops);
+    }
+
+    @Override
+    public void variablesInplace(final SortedSet<IntegerVariable> variables) {
+        index.variablesInplace(variables);
+        for (final Term term : array) {
+            term.variablesInplace(variables);
+        }
+        value.variablesInplace(variables);
+    }
+
+    /**
+     * Decomposes the predicate by linking the order literals of the index directly to the value.
+     * <p>
+     * For each possible index {@code i}, the clause {@code index <= i - 1 | index >= i + 1 | value = array[i]} is
+     * produced. If {@code array[i]} is a constant {@code c}, the equation is split into the two clauses containing
+     * {@code value <= c} and {@code value >= c}, such that the clauses only contain order literals if the value is a
+     * variable. The index is restricted to the range of the array. If the index is not a single (scaled) variable, it
+     * is replaced by an auxiliary variable.
+     * @param cf the factory
+     * @return the decomposition
+     */
+    @Override
+    protected Decomposition calculateDecomposition(final CspFactory cf) {
+        final Set<IntegerClause> clauses = new LinkedHashSet<>();
+        final Set<IntegerVariable> intVars = new LinkedHashSet<>();
+        final Set<Variable> boolVars = new LinkedHashSet<>();
+        final LinearExpression idx = decomposeIndex(clauses, intVars, boolVars, cf);
+        final LinearExpression val = collect(value.decompose(cf), clauses, intVars, boolVars);
+        final IntegerDomain idxDomain = idx.getDomain();
+        final Set<Literal> none = Collections.emptySet();
+        PredicateEncodings.addClause(clauses, none,
+                PredicateEncodings.le(new LinearExpression.Builder(idx).multiply(-1).build()));
+        PredicateEncodings.addClause(clauses, none,
+                PredicateEncodings.le(new LinearExpression.Builder(idx).setB(idx.getB() - array.size() + 1).build()));
+        for (int i = 0; i < array.size(); i++) {
+            if (!idxDomain.contains(i)) {
+                continue;
+            }
+            final LinearLiteral below =
+                    PredicateEncodings.le(new LinearExpression.Builder(idx).setB(idx.getB() - i + 1).build());
+            final LinearLiteral above = PredicateEncodings.le(
+                    new LinearExpression.Builder(idx).multiply(-1).setB(i + 1 - idx.getB()).build());
+            final LinearExpression element = collect(array.get(i).decompose(cf), clauses, intVars, boolVars);
+            final LinearExpression diff = LinearExpression.subtract(val, element);
+            if (element.size() == 0) {
+                PredicateEncodings.addClause(clauses, none, below, above, PredicateEncodings.le(diff));
+                PredicateEncodings.addClause(clauses, none, below, above,
+                        PredicateEncodings.le(LinearExpression.multiply(diff, -1)));
+            } else {
+                PredicateEncodings.addClause(clauses, none, below, above,
+                        new LinearLiteral(diff, LinearLiteral.Operator.EQ));
+            }
+        }
+        return new Decomposition(clauses, intVars, boolVars);
+    }
+
+    private LinearExpression decomposeIndex(final Set<IntegerClause> clauses, final Set<IntegerVariable> intVars,
+                                            final Set<Variable> boolVars, final CspFactory cf) {
+        final LinearExpression idx = collect(index.decompose(cf), clauses, intVars, boolVars);
+        if (idx.size() <= 1) {
+            return idx;
+        }
+        final IntegerVariable aux = cf.termAuxVariable(ELEMENT_AUX_VARIABLE, index, idx.getDomain());
+        intVars.add(aux);
+        final Decomposition eq = cf.eq(aux, index).decompose(cf);
+        clauses.addAll(eq.getClauses());
+        intVars.addAll(eq.getAuxiliaryIntegerVariables());
+        boolVars.addAll(eq.getAuxiliaryBooleanVariables());
+        return new LinearExpression(aux);
+    }
+
+    private static LinearExpression collect(final Term.Decomposition decomposition, final Set<IntegerClause> clauses,
+                                            final Set<IntegerVariable> intVars, final Set<Variable> boolVars) {
+        clauses.addAll(decomposition.getAdditionalConstraints());
+        intVars.addAll(decomposition.getAuxiliaryIntegerVariables());
+        boolVars.addAll(decomposition.getAuxiliaryBooleanVariables());
+        return decomposition.getLinearExpression();
+    }
+
+    @Override
+    public boolean equals(final Object other) {
+        if (other == this) {
+            return true;
+        }
+        if (getClass() == other.getClass()) {
+            final ElementPredicate that = (ElementPredicate) other;
+            if (getFactory() == that.getFactory()) {
+                return false; // the same factory would have produced a == object
+            }
+            return Objects.equals(index, that.index) && Objects.equals(array, that.array)
+                    && Objects.equals(value, that.value);
+        }
+        return false;
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(index, array, value);
+    }
+
+    @Override
+    public String toString() {
+        return type + "(" + index + ", [" + array.stream().map(Object::toString).collect(Collectors.joining(", "))
+                + "], " + value + ")";
+    }
+}
@@ -0,0 +1,145 @@
+package com.booleworks.logicng.csp.predicates;
+
+import com.booleworks.logicng.csp.CspFactory;
+import com.booleworks.logicng.csp.datastructures.IntegerClause;
+import com.booleworks.logicng.csp.terms.IntegerVariable;
+import com.booleworks.logicng.formulas.Formula;
+import com.booleworks.logicng.formulas.FormulaFactory;
+import com.booleworks.logicng.formulas.Variable;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+import java.util.SortedSet;
+import java.util.stream.Collectors;
+
+/**
+ * A predicate restricting for each of a list of values how many integer variables take this value.
+ * <p>
+ * The predicate is satisfied if for each index {@code i} the number of variables with value {@code values[i]} is
+ * in {@code [minCounts[i], maxCounts[i]]}. Values which are not listed are not restricted.
+ */
+public class GlobalCardinalityPredicate extends CspPredicate {
+    private final List<IntegerVariable> variables;
+    private final List<Integer> values;
+    private final List<Integer> minCounts;
+    private final List<Integer> maxCounts;
+
+    /**
+     * Constructs a new global cardinality predicate.
+     * <p>
+     * <B>This constructor should not be used!</B> Use {@link CspFactory} to create new predicates.
+     * @param variables the variables
+     * @param values    the counted values
+     * @param minCounts the minimum number of occurrences of each value
+     * @param maxCounts the maximum number of occurrences of each value
+     * @param f         the formula factory
+     * @throws IllegalArgumentException if the values and the counts have different sizes
+     */
+    public GlobalCardinalityPredicate(final List<IntegerVariable> variables, final List<Integer> values,
+                                      final List<Integer> minCounts, final List<Integer> maxCounts,
+                                      final FormulaFactory f) {
+        super(Type.GLOBAL_CARDINALITY, f);
+        if (values.size() != minCounts.size() || values.size() != maxCounts.size()) {
+            throw new IllegalArgumentException("Values, minimum counts, and maximum counts must have the same size");
+        }
+        this.variables = new ArrayList<>(variables);
+        this.values = new ArrayList<>(values);
+        this.minCounts = new ArrayList<>(minCounts);
+        this.maxCounts = new ArrayList<>(maxCounts);
+    }
+
+    /**
+     * Returns the variables.
+     * @return the variables
+     */
+    public List<IntegerVariable> getVariables() {
+        return Collections.unmodifiableList(variables);
+    }
+
+    /**
+     * Returns the counted values.
+     * @return the counted values
+     */
+    public List<Integer> getValues() {
+        return Collections.unmodifiableList(values);
+    }
+
+    /**
+     * Returns the minimum number of occurrences of each value.
+     * @return the minimum number of occurrences of each value
+     */
+    public List<Integer> getMinCounts() {
+        return Collections.unmodifiableList(minCounts);
+    }
+
+    /**
+     * Returns the maximum number of occurrences of each value.
+     * @return the maximum number of occurrences of each value
+     */
+    public List<Integer> getMaxCounts() {
+        return Collections.unmodifiableList(maxCounts);
+    }
+
+    @Override
+    public Formula negate(final CspFactory cf) {
+        final List<Formula> ops = new ArrayList<>();
+        for (int i = 0; i < values.size(); i++) {
+            ops.add(cf.count(variables, values.get(i), values.get(i), minCounts.get(i), maxCounts.get(i)).negate(cf));
+        }
+        return cf.getFormulaFactory().or(ops);
+    }
+
+    @Override
+    public void variablesInplace(final SortedSet<IntegerVariable> variables) {
+        variables.addAll(this.variables);
+    }
+
+    /**
+     * Decomposes the predicate into one count restriction per value. See {@link CountPredicate} for the
+     * decomposition of a single value.
+     * @param cf the factory
+     * @return the decomposition
+     */
+    @Override
+    protected Decomposition calculateDecomposition(final CspFactory cf) {
+        final Set<IntegerClause> clauses = new LinkedHashSet<>();
+        final Set<Variable> boolVars = new LinkedHashSet<>();
+        for (int i = 0; i < values.size(); i++) {
+            CountPredicate.encodeCount(variables, values.get(i), values.get(i), minCounts.get(i), maxCounts.get(i),
+                    clauses, boolVars, getFactory());
+        }
+        return new Decomposition(clauses, Collections.emptySet(), boolVars);
+    }
+
+    @Override
+    public boolean equals(final Object other) {
+        if (other == this) {
+            return true;
+        }
+        if (getClass() == other.getClass()) {
+            final GlobalCardinalityPredicate that = (GlobalCardinalityPredicate) other;
+            return variables.equals(that.variables) && values.equals(that.values)
+                    && minCounts.equals(that.minCounts) && maxCounts.equals(that.maxCounts);
+        }
+        return false;
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(variables, values, minCounts, maxCounts);
+    }
+
+    @Override
+    public String toString() {
+        final List<String> counts = new ArrayList<>();
+        for (int i = 0; i < values.size(); i++) {
+            counts.add(values.get(i) + ": [" + minCounts.get(i) + ", " + maxCounts.get(i) + "]");
+        }
+        return type + "([" + variables.stream().map(Object::toString).collect(Collectors.joining(", ")) + "], {"
+                + String.join(", ", counts) + "})";
+    }
+}
@@ -0,0 +1,179 @@
+package com.booleworks.logicng.csp.predicates;
+
+import com.booleworks.logicng.csp.datastructures.IntegerClause;
+import com.booleworks.logicng.csp.datastructures.LinearExpression;
+import com.booleworks.logicng.csp.datastructures.domains.IntegerDomain;
+import com.booleworks.logicng.csp.encodings.AtMostOneEncoding;
+import com.booleworks.logicng.csp.literals.ArithmeticLiteral;
+import com.booleworks.logicng.csp.literals.LinearLiteral;
+import com.booleworks.logicng.csp.terms.IntegerVariable;
+import com.booleworks.logicng.formulas.Formula;
+import com.booleworks.logicng.formulas.FormulaFactory;
+import com.booleworks.logicng.formulas.Literal;
+import com.booleworks.logicng.formulas.Variable;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.SortedSet;
+import java.util.TreeSet;
+
+/**
+ * Helper functions for the decompositions of the predicates into clauses.
+ */
+final class PredicateEncodings {
+    private PredicateEncodings() {
+    }
+
+    /**
+     * Returns the literal {@code exp <= 0}.
+     * @param exp the linear expression
+     * @return the literal
+     */
+    static LinearLiteral le(final LinearExpression exp) {
+        return new LinearLiteral(exp, LinearLiteral.Operator.LE);
+    }
+
+    /**
+     * Returns the literals of the disjunction {@code v < value | v > value}. Literals which are unsatisfiable
+     * according to the domain of {@code v} are omitted.
+     * @param v     the variable
+     * @param value the value
+     * @return the literals of the disjunction
+     */
+    static Set<ArithmeticLiteral> notEqual(final IntegerVariable v, final int value) {
+        final IntegerDomain domain = v.getDomain();
+        final Set<ArithmeticLiteral> literals = new LinkedHashSet<>();
+        if (value > domain.lb()) {
+            literals.add(le(new LinearExpression(1, v, -(value - 1))));
+        }
+        if (value < domain.ub()) {
+            literals.add(le(new LinearExpression(-1, v, value + 1)));
+        }
+        return literals;
+    }
+
+    /**
+     * Returns the linear expression {@code a - b + c}.
+     * @param a the first variable
+     * @param b the second variable
+     * @param c the constant
+     * @return the linear expression
+     */
+    static LinearExpression difference(final IntegerVariable a, final IntegerVariable b, final int c) {
+        return new LinearExpression.Builder(1, a, c).setA(-1, b).build();
+    }
+
+    /**
+     * Adds a clause without its unsatisfiable arithmetic literals. Valid clauses are not added.
+     * @param clauses      the destination
+     * @param boolLiterals the boolean literals of the clause
+     * @param literals     the arithmetic literals of the clause
+     */
+    static void addClause(final Set<IntegerClause> clauses, final Set<Literal> boolLiterals,
+                          final LinearLiteral... literals) {
+        final Set<ArithmeticLiteral> lits = new LinkedHashSet<>();
+        for (final LinearLiteral literal : literals) {
+            if (literal.isValid()) {
+                return;
+            }
+            if (!literal.isUnsat()) {
+                lits.add(literal);
+            }
+        }
+        clauses.add(new IntegerClause(boolLiterals, lits));
+    }
+
+    /**
+     * Adds clauses stating that at most one of the variables is true.
+     * @param vars     the variables
+     * @param clauses  the destination for the clauses
+     * @param boolVars the destination for new auxiliary variables
+     * @param f        the formula factory
+     * @see AtMostOneEncoding
+     */
+    static void encodeAtMostOne(final List<Variable> vars, final Set<IntegerClause> clauses,
+                                final Set<Variable> boolVars, final FormulaFactory f) {
+        AtMostOneEncoding.encode(vars, (a, b) -> clauses.add(new IntegerClause(a, b)), boolVars::add, f);
+    }
+
+    /**
+     * Adds the CNF of a cardinality or pseudo-Boolean constraint as clauses. All variables of the CNF which are not
+     * among the operands of the constraint are auxiliary variables of the encoding.
+     * @param constraint the constraint
+     * @param operands   the variables of the operands of the constraint
+     * @param clauses    the destination for the clauses
+     * @param boolVars   the destination for new auxiliary variables
+     * @param f          the formula factory
+     */
+    static void addCnf(final Formula constraint, final Collection<Variable> operands,
+                       final Set<IntegerClause> clauses, final Set<Variable> boolVars, final FormulaFactory f) {
+        final Formula cnf = constraint.cnf(f);
+        for (final Variable v : cnf.variables(f)) {
+            if (!operands.contains(v)) {
+                boolVars.add(v);
+            }
+        }
+        switch (cnf.getType()) {
+            case TRUE:
+                break;
+            case FALSE:
+                clauses.add(new IntegerClause());
+                break;
+            case AND:
+                for (final Formula clause : cnf) {
+                    clauses.add(new IntegerClause(new LinkedHashSet<>(clause.literals(f)), Collections.emptySet()));
+                }
+                break;
+            default:
+                clauses.add(new IntegerClause(new LinkedHashSet<>(cnf.literals(f)), Collections.emptySet()));
+                break;
+        }
+    }
+
+    /**
+     * Returns all possible start times of the given tasks.
+     * @param starts the start times of all tasks
+     * @param tasks  the indices of the relevant tasks
+     * @return all possible start times of the given tasks
+     */
+    static SortedSet<Integer> timePoints(final List<IntegerVariable> starts, final List<Integer> tasks) {
+        final SortedSet<Integer> timePoints = new TreeSet<>();
+        for (final int i : tasks) {
+            for (final Iterator<Integer> it = starts.get(i).getDomain().iterator(); it.hasNext(); ) {
+                timePoints.add(it.next());
+            }
+        }
+        return timePoints;
+    }
+
+    /**
+     * Returns whether a task might run at time {@code t} according to the bounds of its start variable.
+     * @param start    the start of the task
+     * @param duration the duration of the task
+     * @param t        the time point
+     * @return whether the task might run at time {@code t}
+     */
+    static boolean mightRun(final IntegerVariable start, final int duration, final int t) {
+        final IntegerDomain domain = start.getDomain();
+        return domain.lb() <= t && (long) domain.ub() + duration > t;
+    }
+
+    /**
+     * Returns whether two tasks might overlap according to the bounds of their start variables.
+     * @param start1    the start of the first task
+     * @param duration1 the duration of the first task
+     * @param start2    the start of the second task
+     * @param duration2 the duration of the second task
+     * @return whether the tasks might overlap
+     */
+    static boolean mightOverlap(final IntegerVariable start1, final int duration1, final IntegerVariable start2,
+                                final int duration2) {
+        final IntegerDomain domain1 = start1.getDomain();
+        final IntegerDomain domain2 = start2.getDomain();
+        return (long) domain1.ub() + duration1 > domain2.lb() && (long) domain2.ub() + duration2 > domain1.lb();
+    }
+}
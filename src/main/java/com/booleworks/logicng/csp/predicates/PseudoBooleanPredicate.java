@@ -0,0 +1,253 @@
+package com.booleworks.logicng.csp.predicates;
+
+import com.booleworks.logicng.csp.CspFactory;
+import com.booleworks.logicng.csp.datastructures.IntegerClause;
+import com.booleworks.logicng.csp.datastructures.LinearExpression;
+import com.booleworks.logicng.csp.encodings.CspEncodingContext;
+import com.booleworks.logicng.csp.literals.LinearLiteral;
+import com.booleworks.logicng.csp.terms.IntegerVariable;
+import com.booleworks.logicng.csp.terms.Term;
+import com.booleworks.logicng.formulas.CType;
+import com.booleworks.logicng.formulas.Formula;
+import com.booleworks.logicng.formulas.FormulaFactory;
+import com.booleworks.logicng.formulas.Literal;
+import com.booleworks.logicng.formulas.Variable;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.SortedMap;
+import java.util.SortedSet;
+import java.util.TreeMap;
+
+/**
+ * A linear predicate mixing weighted boolean literals and an integer term.
+ * <p>
+ * The predicate is satisfied if {@code w_1 * l_1 + ... + w_n * l_n + term <= 0} where a literal counts as {@code 1}
+ * if it is satisfied and as {@code 0} otherwise. The literals are used directly in the encoding, i.e., they are not
+ * lifted to integer variables.
+ */
+public class PseudoBooleanPredicate extends CspPredicate {
+    private final List<Literal> literals;
+    private final List<Integer> weights;
+    private final Term term;
+
+    /**
+     * Constructs a new pseudo-Boolean predicate.
+     * <p>
+     * <B>This constructor should not be used!</B> Use {@link CspFactory} to create new predicates.
+     * @param literals the literals
+     * @param weights  the weights of the literals
+     * @param term     the integer term
+     * @param f        the formula factory
+     * @throws IllegalArgumentException if the literals and the weights have different sizes
+     */
+    public PseudoBooleanPredicate(final List<? extends Literal> literals, final List<Integer> weights,
+                                  final Term term, final FormulaFactory f) {
+        super(Type.PSEUDO_BOOLEAN, f);
+        if (literals.size() != weights.size()) {
+            throw new IllegalArgumentException("Literals and weights must have the same size");
+        }
+        this.literals = new ArrayList<>(literals);
+        this.weights = new ArrayList<>(weights);
+        this.term = term;
+    }
+
+    /**
+     * Returns the literals.
+     * @return the literals
+     */
+    public List<Literal> getLiterals() {
+        return Collections.unmodifiableList(literals);
+    }
+
+    /**
+     * Returns the weights of the literals.
+     * @return the weights of the literals
+     */
+    public List<Integer> getWeights() {
+        return Collections.unmodifiableList(weights);
+    }
+
+    /**
+     * Returns the integer term.
+     * @return the integer term
+     */
+    public Term getTerm() {
+        return term;
+    }
+
+    @Override
+    public Formula negate(final CspFactory cf) {
+        final List<Integer> negated = new ArrayList<>();
+        for (final int w : weights) {
+            negated.add(-w);
+        }
+        return cf.pbLe(literals, negated, cf.sub(cf.one(), term), cf.zero());
+    }
+
+    @Override
+    public void variablesInplace(final SortedSet<IntegerVariable> variables) {
+        term.variablesInplace(variables);
+    }
+
+    @Override
+    public void booleanVariablesInplace(final SortedSet<Variable> variables) {
+        for (final Literal literal : literals) {
+            variables.add(literal.variable());
+        }
+    }
+
+    /**
+     * Decomposes the predicate with a generalized totalizer over the literals.
+     * <p>
+     * Let {@code P} be the weighted sum of the literals and {@code z} the integer part. If the integer part is
+     * constant, the predicate is a single pseudo-Boolean constraint, which is encoded with the encoder configured on
+     * the formula factory. Otherwise, literals with negative weights are replaced by their negations, such that
+     * {@code P = c + a_1 * l_1 + ... + a_n * l_n} with positive weights {@code a_i}. The positive sum is encoded once
+     * by a balanced tree of boolean variables {@code o_k} which are implied if the sum of the literals below a node
+     * is at least {@code k}. Sums which violate the predicate for all values of {@code z} are merged into a single
+     * variable. Each output {@code o_k} of the root is linked to the integer part by the clause
+     * {@code -o_k | z + c + k <= 0}, and {@code z + c <= 0} holds unconditionally. No auxiliary integer variables
+     * are introduced.
+     * @param cf the factory
+     * @return the decomposition
+     * @throws ArithmeticException if the bounds of the sums exceed the integer range
+     */
+    @Override
+    protected Decomposition calculateDecomposition(final CspFactory cf) {
+        final FormulaFactory f = getFactory();
+        final Set<IntegerClause> clauses = new LinkedHashSet<>();
+        final Set<IntegerVariable> intVars = new LinkedHashSet<>();
+        final Set<Variable> boolVars = new LinkedHashSet<>();
+        final Term.Decomposition termDecomposition = term.decompose(cf);
+        clauses.addAll(termDecomposition.getAdditionalConstraints());
+        intVars.addAll(termDecomposition.getAuxiliaryIntegerVariables());
+        boolVars.addAll(termDecomposition.getAuxiliaryBooleanVariables());
+        final LinearExpression exp = termDecomposition.getLinearExpression();
+        if (exp.size() == 0) {
+            final Set<Variable> operands = new LinkedHashSet<>();
+            for (final Literal literal : literals) {
+                operands.add(literal.variable());
+            }
+            PredicateEncodings.addCnf(f.pbc(CType.LE, -exp.getB(), literals, weights), operands, clauses, boolVars, f);
+        } else {
+            encodeTotalizer(exp, clauses, boolVars);
+        }
+        return new Decomposition(clauses, intVars, boolVars);
+    }
+
+    private void encodeTotalizer(final LinearExpression exp, final Set<IntegerClause> clauses,
+                                 final Set<Variable> boolVars) {
+        final FormulaFactory f = getFactory();
+        final List<Literal> lits = new ArrayList<>();
+        final List<Long> ws = new ArrayList<>();
+        long offset = 0;
+        long max = 0;
+        for (int i = 0; i < literals.size(); i++) {
+            final long w = weights.get(i);
+            if (w > 0) {
+                lits.add(literals.get(i));
+                ws.add(w);
+            } else if (w < 0) {
+                lits.add(literals.get(i).negate(f));
+                ws.add(-w);
+                offset += w;
+            }
+            max += Math.abs(w);
+        }
+        final long zMin = exp.getDomain().lb();
+        final long zMax = exp.getDomain().ub();
+        if (offset + max + zMax <= 0) {
+            return;
+        }
+        if (offset + zMin > 0) {
+            clauses.add(new IntegerClause());
+            return;
+        }
+        PredicateEncodings.addClause(clauses, Collections.emptySet(), link(exp, offset));
+        if (lits.isEmpty()) {
+            return;
+        }
+        // all sums from cap on violate the predicate
+        final long cap = -offset - zMin + 1;
+        final SortedMap<Long, Literal> sums = totalizer(lits, ws, 0, lits.size(), cap, clauses, boolVars);
+        for (final Map.Entry<Long, Literal> sum : sums.entrySet()) {
+            PredicateEncodings.addClause(clauses, Set.of(sum.getValue().negate(f)),
+                    link(exp, offset + sum.getKey()));
+        }
+    }
+
+    private SortedMap<Long, Literal> totalizer(final List<Literal> lits, final List<Long> ws, final int from,
+                                               final int to, final long cap, final Set<IntegerClause> clauses,
+                                               final Set<Variable> boolVars) {
+        final SortedMap<Long, Literal> sums = new TreeMap<>();
+        if (to - from == 1) {
+            sums.put(Math.min(ws.get(from), cap), lits.get(from));
+            return sums;
+        }
+        final FormulaFactory f = getFactory();
+        final int mid = (from + to) / 2;
+        final SortedMap<Long, Literal> left = totalizer(lits, ws, from, mid, cap, clauses, boolVars);
+        final SortedMap<Long, Literal> right = totalizer(lits, ws, mid, to, cap, clauses, boolVars);
+        for (final Map.Entry<Long, Literal> l : left.entrySet()) {
+            clauses.add(new IntegerClause(l.getValue().negate(f), output(sums, l.getKey(), boolVars)));
+        }
+        for (final Map.Entry<Long, Literal> r : right.entrySet()) {
+            clauses.add(new IntegerClause(r.getValue().negate(f), output(sums, r.getKey(), boolVars)));
+        }
+        for (final Map.Entry<Long, Literal> l : left.entrySet()) {
+            for (final Map.Entry<Long, Literal> r : right.entrySet()) {
+                final Literal o = output(sums, Math.min(l.getKey() + r.getKey(), cap), boolVars);
+                final Set<Literal> clause = new LinkedHashSet<>();
+                clause.add(l.getValue().negate(f));
+                clause.add(r.getValue().negate(f));
+                clause.add(o);
+                clauses.add(new IntegerClause(clause, Collections.emptySet()));
+            }
+        }
+        return sums;
+    }
+
+    private Literal output(final SortedMap<Long, Literal> sums, final long sum, final Set<Variable> boolVars) {
+        return sums.computeIfAbsent(sum, k -> {
+            final Variable o = getFactory().newAuxVariable(CspEncodingContext.CSP_AUX_LNG_VARIABLE);
+            boolVars.add(o);
+            return o;
+        });
+    }
+
+    private static LinearLiteral link(final LinearExpression exp, final long sum) {
+        return PredicateEncodings.le(LinearExpression.add(exp, new LinearExpression(Math.toIntExact(sum))));
+    }
+
+    @Override
+    public boolean equals(final Object other) {
+        if (other == this) {
+            return true;
+        }
+        if (getClass() == other.getClass()) {
+            final PseudoBooleanPredicate that = (PseudoBooleanPredicate) other;
+            return literals.equals(that.literals) && weights.equals(that.weights) && term.equals(that.term);
+        }
+        return false;
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(literals, weights, term);
+    }
+
+    @Override
+    public String toString() {
+        final List<String> summands = new ArrayList<>();
+        for (int i = 0; i < literals.size(); i++) {
+            summands.add(weights.get(i) + "*" + literals.get(i));
+        }
+        return type + "([" + String.join(", ", summands) + "], " + term + ")";
+    }
+}
@@ -0,0 +1,17 @@
+package com.booleworks.logicng.csp.predicates;
+
+/**
+ * Decompositions of the scheduling predicates {@link DisjunctivePredicate} and {@link CumulativePredicate}.
+ */
+public enum SchedulingDecomposition {
+    /**
+     * Time decomposition: the resource usage is restricted at each possible start time. The size of the
+     * decomposition grows with the number of tasks times the number of possible start times.
+     */
+    TIME,
+    /**
+     * Task decomposition: the resource usage is restricted at the start of each task. The size of the
+     * decomposition grows quadratically with the number of tasks and is independent of the horizon.
+     */
+    TASK
+}
@@ -0,0 +1,241 @@
+package com.booleworks.logicng.csp.predicates;
+
+import com.booleworks.logicng.csp.CspFactory;
+import com.booleworks.logicng.csp.datastructures.IntegerClause;
+import com.booleworks.logicng.csp.datastructures.LinearExpression;
+import com.booleworks.logicng.csp.datastructures.domains.IntegerDomain;
+import com.booleworks.logicng.csp.encodings.CspEncodingContext;
+import com.booleworks.logicng.csp.literals.ArithmeticLiteral;
+import com.booleworks.logicng.csp.terms.IntegerVariable;
+import com.booleworks.logicng.formulas.Formula;
+import com.booleworks.logicng.formulas.FormulaFactory;
+import com.booleworks.logicng.formulas.Literal;
+import com.booleworks.logicng.formulas.Variable;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.SortedSet;
+import java.util.TreeSet;
+import java.util.stream.Collectors;
+
+/**
+ * An extensional predicate over a list of integer variables defined by a set of tuples.
+ * <p>
+ * A positive table is satisfied if the values of the variables are one of the tuples, a negative table is satisfied
+ * if the values of the variables are none of the tuples.
+ */
+public class TablePredicate extends CspPredicate {
+    private final List<IntegerVariable> variables;
+    private final List<int[]> tuples;
+    private final boolean positive;
+    private final int hashCode;
+
+    /**
+     * Constructs a new table predicate.
+     * <p>
+     * <B>This constructor should not be used!</B> Use {@link CspFactory} to create new predicates.
+     * @param variables the variables
+     * @param tuples    the tuples, each tuple must have the same length as {@code variables}
+     * @param positive  {@code true} for a table of allowed tuples, {@code false} for a table of forbidden tuples
+     * @param f         the formula factory
+     * @throws IllegalArgumentException if a tuple does not have the same length as {@code variables}
+     */
+    public TablePredicate(final List<IntegerVariable> variables, final Collection<int[]> tuples,
+                          final boolean positive, final FormulaFactory f) {
+        super(Type.TABLE, f);
+        this.variables = new ArrayList<>(variables);
+        this.tuples = new ArrayList<>(tuples.size());
+        for (final int[] tuple : tuples) {
+            if (tuple.length != variables.size()) {
+                throw new IllegalArgumentException(
+                        "Tuple " + Arrays.toString(tuple) + " does not match the arity " + variables.size());
+            }
+            this.tuples.add(tuple.clone());
+        }
+        this.positive = positive;
+        int hash = this.variables.hashCode() * 31 + Boolean.hashCode(positive);
+        for (final int[] tuple : this.tuples) {
+            hash = hash * 31 + Arrays.hashCode(tuple);
+        }
+        this.hashCode = hash;
+    }
+
+    /**
+     * Returns the variables of the table.
+     * @return the variables of the table
+     */
+    public List<IntegerVariable> getVariables() {
+        return Collections.unmodifiableList(variables);
+    }
+
+    /**
+     * Returns the tuples of the table. The arrays must not be modified.
+     * @return the tuples of the table
+     */
+    public List<int[]> getTuples() {
+        return Collections.unmodifiableList(tuples);
+    }
+
+    /**
+     * Returns whether the tuples are the allowed or the forbidden tuples.
+     * @return {@code true} if the tuples are allowed, {@code false} if the tuples are forbidden
+     */
+    public boolean isPositive() {
+        return positive;
+    }
+
+    /**
+     * Returns whether the values are one of the tuples.
+     * @param values the values of the variables
+     * @return {@code true} if the values are one of the tuples
+     */
+    public boolean containsTuple(final int[] values) {
+        for (final int[] tuple : tuples) {
+            if (Arrays.equals(tuple, values)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @Override
+    public Formula negate(final CspFactory cf) {
+        return cf.table(variables, tuples, !positive);
+    }
+
+    @Override
+    public void variablesInplace(final SortedSet<IntegerVariable> variables) {
+        variables.addAll(this.variables);
+    }
+
+    /**
+     * Decomposes the table into clauses over order literals.
+     * <p>
+     * Tuples containing a value outside the domain of its variable are removed first. Each remaining tuple of a
+     * negative table results in one clause excluding the tuple. For a positive table, each remaining tuple {@code t}
+     * gets a selector {@code s_t} with {@code s_t -> x_i = t_i} and at least one selector must be true. Additionally,
+     * a support clause {@code x_i != d | s_t1 | ... | s_tk} is added for each variable {@code x_i} and value
+     * {@code d} of its domain, where {@code t1, ..., tk} are the tuples with {@code t_i = d}. The support clauses
+     * ensure that unit propagation removes values without remaining supports. The size of the decomposition is linear
+     * in the size of the table and the domains instead of a disjunction of conjunctions which is exponential in
+     * clausal form.
+     * @param cf the factory
+     * @return the decomposition
+     */
+    @Override
+    protected Decomposition calculateDecomposition(final CspFactory cf) {
+        final List<int[]> feasible = feasibleTuples();
+        if (positive && feasible.isEmpty() || !positive && variables.isEmpty() && !feasible.isEmpty()) {
+            return Decomposition.emptyClause();
+        }
+        return positive ? decomposePositive(feasible) : decomposeNegative(feasible);
+    }
+
+    private List<int[]> feasibleTuples() {
+        final SortedSet<int[]> feasible = new TreeSet<>(Arrays::compare);
+        for (final int[] tuple : tuples) {
+            boolean inDomain = true;
+            for (int i = 0; i < variables.size() && inDomain; i++) {
+                inDomain = variables.get(i).getDomain().contains(tuple[i]);
+            }
+            if (inDomain) {
+                feasible.add(tuple);
+            }
+        }
+        return new ArrayList<>(feasible);
+    }
+
+    private Decomposition decomposeNegative(final List<int[]> feasible) {
+        final Set<IntegerClause> clauses = new LinkedHashSet<>();
+        for (final int[] tuple : feasible) {
+            final Set<ArithmeticLiteral> literals = new LinkedHashSet<>();
+            for (int i = 0; i < variables.size(); i++) {
+                literals.addAll(PredicateEncodings.notEqual(variables.get(i), tuple[i]));
+            }
+            clauses.add(new IntegerClause(Collections.emptySet(), literals));
+        }
+        return new Decomposition(clauses, Collections.emptySet(), Collections.emptySet());
+    }
+
+    private Decomposition decomposePositive(final List<int[]> feasible) {
+        if (variables.isEmpty()) {
+            return Decomposition.empty();
+        }
+        final FormulaFactory f = getFactory();
+        final Set<IntegerClause> clauses = new LinkedHashSet<>();
+        final Set<Variable> boolVars = new LinkedHashSet<>();
+        final List<Variable> selectors = new ArrayList<>(feasible.size());
+        final List<Map<Integer, Set<Literal>>> supports = new ArrayList<>(variables.size());
+        for (int i = 0; i < variables.size(); i++) {
+            supports.add(new HashMap<>());
+        }
+        for (final int[] tuple : feasible) {
+            final Variable s = f.newAuxVariable(CspEncodingContext.CSP_AUX_LNG_VARIABLE);
+            boolVars.add(s);
+            selectors.add(s);
+            final Literal notS = s.negate(f);
+            for (int i = 0; i < variables.size(); i++) {
+                final IntegerVariable v = variables.get(i);
+                final IntegerDomain domain = v.getDomain();
+                if (tuple[i] < domain.ub()) {
+                    clauses.add(new IntegerClause(notS, PredicateEncodings.le(new LinearExpression(1, v, -tuple[i]))));
+                }
+                if (tuple[i] > domain.lb()) {
+                    clauses.add(new IntegerClause(notS, PredicateEncodings.le(new LinearExpression(-1, v, tuple[i]))));
+                }
+                supports.get(i).computeIfAbsent(tuple[i], k -> new LinkedHashSet<>()).add(s);
+            }
+        }
+        clauses.add(new IntegerClause(new LinkedHashSet<>(selectors), Collections.emptySet()));
+        for (int i = 0; i < variables.size(); i++) {
+            final IntegerVariable v = variables.get(i);
+            for (final Iterator<Integer> it = v.getDomain().iterator(); it.hasNext(); ) {
+                final int value = it.next();
+                final Set<Literal> support = supports.get(i).getOrDefault(value, Collections.emptySet());
+                clauses.add(new IntegerClause(support, PredicateEncodings.notEqual(v, value)));
+            }
+        }
+        return new Decomposition(clauses, Collections.emptySet(), boolVars);
+    }
+
+    @Override
+    public boolean equals(final Object other) {
+        if (other == this) {
+            return true;
+        }
+        if (getClass() == other.getClass()) {
+            final TablePredicate that = (TablePredicate) other;
+            if (hashCode != that.hashCode || positive != that.positive || !variables.equals(that.variables)
+                    || tuples.size() != that.tuples.size()) {
+                return false;
+            }
+            for (int i = 0; i < tuples.size(); i++) {
+                if (!Arrays.equals(tuples.get(i), that.tuples.get(i))) {
+                    return false;
+                }
+            }
+            return true;
+        }
+        return false;
+    }
+
+    @Override
+    public int hashCode() {
+        return hashCode;
+    }
+
+    @Override
+    public String toString() {
+        return type + "(" + (positive ? "+" : "-") + ", ["
+                + variables.stream().map(Object::toString).collect(Collectors.joining(", ")) + "], "
+                + tuples.size() + " tuples)";
+    }
+}
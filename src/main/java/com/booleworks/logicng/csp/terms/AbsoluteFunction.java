@@ -57,4 +57,11 @@ public class AbsoluteFunction extends UnaryFunction {
         auxBoolVars.addAll(decomp.getAuxiliaryBooleanVariables());
         return new Decomposition(new LinearExpression(newVariable), constraints, auxIntVars, auxBoolVars);
     }
+
+    @Override
+    protected IntegerDomain calculateBounds() {
+        final IntegerDomain d = operand.getBounds();
+        final long lb = d.lb() >= 0 ? d.lb() : d.ub() <= 0 ? -(long) d.ub() : 0;
+        return boundsOf(lb, Math.max(Math.abs((long) d.lb()), Math.abs((long) d.ub())));
+    }
 }
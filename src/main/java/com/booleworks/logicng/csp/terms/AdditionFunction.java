@@ -3,6 +3,7 @@ package com.booleworks.logicng.csp.terms;
 import com.booleworks.logicng.csp.CspFactory;
 import com.booleworks.logicng.csp.datastructures.IntegerClause;
 import com.booleworks.logicng.csp.datastructures.LinearExpression;
+import com.booleworks.logicng.csp.datastructures.domains.IntegerDomain;
 import com.booleworks.logicng.formulas.Variable;
 
 import java.util.LinkedHashSet;
@@ -38,4 +39,16 @@ public final class AdditionFunction extends NAryFunction {
         return new Decomposition(expression.build(), constraints, auxIntVars, auxBoolVars);
     }
 
+    @Override
+    protected IntegerDomain calculateBounds() {
+        long lb = 0;
+        long ub = 0;
+        for (final Term operand : operands) {
+            final IntegerDomain d = operand.getBounds();
+            lb += d.lb();
+            ub += d.ub();
+        }
+        return boundsOf(lb, ub);
+    }
+
 }
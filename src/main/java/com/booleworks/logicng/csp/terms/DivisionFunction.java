@@ -18,6 +18,8 @@ public class DivisionFunction extends BinaryFunction {
      */
     public final static String DIV_AUX_VARIABLE = "DIV";
 
+    private IntegerVariable remainder;
+
     /**
      * Constructs a new division function term.
      * <p>
@@ -29,6 +31,17 @@ public class DivisionFunction extends BinaryFunction {
         super(Term.Type.DIV, left, right);
     }
 
+    /**
+     * Returns the auxiliary variable representing the remainder of the division. The variable is introduced by the
+     * decomposition of this term and shared with the modulo function of the same operands.
+     * @param cf the factory
+     * @return the auxiliary variable representing the remainder
+     */
+    IntegerVariable getRemainder(final CspFactory cf) {
+        decompose(cf);
+        return remainder;
+    }
+
     @Override
     protected Decomposition calculateDecomposition(final CspFactory cf) {
         final Decomposition resultLeft = left.decompose(cf);
@@ -39,6 +52,7 @@ public class DivisionFunction extends BinaryFunction {
         final IntegerVariable r = cf.auxVariable(DIV_AUX_VARIABLE, domainLeft.mod(rightValue));
         intVars.add(q);
         intVars.add(r);
+        remainder = r;
         final Term px = cf.mul(getRight(), q);
         final CspPredicate.Decomposition d1 = cf.eq(left, cf.add(px, r)).decompose(cf);
         final CspPredicate.Decomposition d2 = cf.ge(r, cf.zero()).decompose(cf);
@@ -49,6 +63,23 @@ public class DivisionFunction extends BinaryFunction {
         return Term.Decomposition.merge(newTerm, List.of(d1, d2, d3));
     }
 
+    @Override
+    protected IntegerDomain calculateBounds() {
+        // the quotient is monotone in the dividend
+        final IntegerDomain l = left.getBounds();
+        if (!isBounded(l)) {
+            return UNBOUNDED;
+        }
+        final int q1 = quotient(l.lb());
+        final int q2 = quotient(l.ub());
+        return IntegerDomain.of(Math.min(q1, q2), Math.max(q1, q2));
+    }
+
+    private int quotient(final int dividend) {
+        final int divisor = getRight().getValue();
+        return (int) (((long) dividend - Math.floorMod(dividend, Math.abs(divisor))) / divisor);
+    }
+
     @Override
     public IntegerConstant getRight() {
         return (IntegerConstant) super.getRight();
@@ -47,6 +47,11 @@ public final class IntegerConstant extends Term implements IntegerHolder {
                 Collections.emptySet());
     }
 
+    @Override
+    protected IntegerDomain calculateBounds() {
+        return getDomain();
+    }
+
     @Override
     public IntegerDomain getDomain() {
         return IntegerDomain.of(value, value);
@@ -133,6 +133,11 @@ public final class IntegerVariable extends Term implements IntegerHolder {
                 Collections.emptySet());
     }
 
+    @Override
+    protected IntegerDomain calculateBounds() {
+        return domain.isContiguous() ? domain : IntegerDomain.of(domain.lb(), domain.ub());
+    }
+
     @Override
     public IntegerDomain getDomain() {
         return domain;
@@ -1,13 +1,13 @@
 package com.booleworks.logicng.csp.terms;
 
 import com.booleworks.logicng.csp.CspFactory;
-import com.booleworks.logicng.csp.datastructures.IntegerClause;
 import com.booleworks.logicng.csp.datastructures.LinearExpression;
 import com.booleworks.logicng.csp.datastructures.domains.IntegerDomain;
 import com.booleworks.logicng.csp.predicates.CspPredicate;
 import com.booleworks.logicng.formulas.Formula;
 import com.booleworks.logicng.formulas.Variable;
 
+import java.util.Collections;
 import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Set;
@@ -45,10 +45,9 @@ public class MaxFunction extends BinaryFunction {
             return resultLeft;
         }
 
-        final Set<IntegerClause> constraints = new LinkedHashSet<>(resultLeft.getAdditionalConstraints());
+        // the constraints of the operands are part of the decompositions of the comparisons below
         final Set<IntegerVariable> intVars = new LinkedHashSet<>(resultLeft.getAuxiliaryIntegerVariables());
         final Set<Variable> boolVars = new LinkedHashSet<>(resultLeft.getAuxiliaryBooleanVariables());
-        constraints.addAll(resultRight.getAdditionalConstraints());
         intVars.addAll(resultRight.getAuxiliaryIntegerVariables());
         boolVars.addAll(resultRight.getAuxiliaryBooleanVariables());
 
@@ -61,7 +60,15 @@ public class MaxFunction extends BinaryFunction {
         final Formula leLeft = cf.le(x, this.left);
         final Formula leRight = cf.le(x, this.right);
         final CspPredicate.Decomposition d3 = cf.decompose(cf.getFormulaFactory().or(leLeft, leRight));
-        final Decomposition newTerm = new Decomposition(new LinearExpression(x), constraints, intVars, boolVars);
+        final Decomposition newTerm =
+                new Decomposition(new LinearExpression(x), Collections.emptySet(), intVars, boolVars);
         return Term.Decomposition.merge(newTerm, List.of(d1, d2, d3));
     }
+
+    @Override
+    protected IntegerDomain calculateBounds() {
+        final IntegerDomain l = left.getBounds();
+        final IntegerDomain r = right.getBounds();
+        return IntegerDomain.of(Math.max(l.lb(), r.lb()), Math.max(l.ub(), r.ub()));
+    }
 }
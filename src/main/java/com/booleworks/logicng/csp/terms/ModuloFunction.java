@@ -3,11 +3,8 @@ package com.booleworks.logicng.csp.terms;
 import com.booleworks.logicng.csp.CspFactory;
 import com.booleworks.logicng.csp.datastructures.LinearExpression;
 import com.booleworks.logicng.csp.datastructures.domains.IntegerDomain;
-import com.booleworks.logicng.csp.predicates.CspPredicate;
 
 import java.util.LinkedHashSet;
-import java.util.List;
-import java.util.Set;
 
 /**
  * A function term representing the modulo operation.
@@ -15,7 +12,10 @@ import java.util.Set;
 public class ModuloFunction extends BinaryFunction {
     /**
      * Prefix for auxiliary variables introduced by the decomposition
+     * @deprecated the decomposition shares the auxiliary variables of the {@link DivisionFunction} with the same
+     * operands and does not introduce own variables anymore
      */
+    @Deprecated
     public final static String MOD_AUX_VARIABLE = "MOD";
 
     /**
@@ -37,21 +37,19 @@ public class ModuloFunction extends BinaryFunction {
                     LinkedHashSet<>(),
                     new LinkedHashSet<>());
         }
-        final Decomposition resultLeft = left.decompose(cf);
-        final Set<IntegerVariable> intVars = new LinkedHashSet<>(resultLeft.getAuxiliaryIntegerVariables());
-        final IntegerDomain domainLeft = resultLeft.getLinearExpression().getDomain();
-        final IntegerVariable q = cf.auxVariable(MOD_AUX_VARIABLE, domainLeft.div(rightValue));
-        final IntegerVariable r = cf.auxVariable(MOD_AUX_VARIABLE, domainLeft.mod(rightValue));
-        intVars.add(q);
-        intVars.add(r);
-        final Term px = cf.mul(getRight(), q);
-        final CspPredicate.Decomposition d1 = cf.eq(this.left, cf.add(px, r)).decompose(cf);
-        final CspPredicate.Decomposition d2 = cf.ge(r, cf.zero()).decompose(cf);
-        final CspPredicate.Decomposition d3 = cf.gt(cf.constant(Math.abs(rightValue)), r).decompose(cf);
-        final Term.Decomposition newTerm =
-                new Decomposition(new LinearExpression(r), resultLeft.getAdditionalConstraints(), intVars,
-                        resultLeft.getAuxiliaryBooleanVariables());
-        return Term.Decomposition.merge(newTerm, List.of(d1, d2, d3));
+        // the quotient and the remainder are shared with the division of the same operands
+        final DivisionFunction division = (DivisionFunction) cf.div(left, getRight());
+        final Decomposition resultDivision = division.decompose(cf);
+        return new Decomposition(new LinearExpression(division.getRemainder(cf)),
+                resultDivision.getAdditionalConstraints(), resultDivision.getAuxiliaryIntegerVariables(),
+                resultDivision.getAuxiliaryBooleanVariables());
+    }
+
+    @Override
+    protected IntegerDomain calculateBounds() {
+        final IntegerDomain l = left.getBounds();
+        final int c = Math.abs(getRight().getValue());
+        return l.lb() >= 0 && l.ub() < c ? l : IntegerDomain.of(0, c - 1);
     }
 
     @Override
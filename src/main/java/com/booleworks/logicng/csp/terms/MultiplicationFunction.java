@@ -57,6 +57,17 @@ public final class MultiplicationFunction extends BinaryFunction {
         }
     }
 
+    @Override
+    protected IntegerDomain calculateBounds() {
+        final IntegerDomain l = left.getBounds();
+        final IntegerDomain r = right.getBounds();
+        final long p1 = (long) l.lb() * r.lb();
+        final long p2 = (long) l.lb() * r.ub();
+        final long p3 = (long) l.ub() * r.lb();
+        final long p4 = (long) l.ub() * r.ub();
+        return boundsOf(Math.min(Math.min(p1, p2), Math.min(p3, p4)), Math.max(Math.max(p1, p2), Math.max(p3, p4)));
+    }
+
     private Decomposition decomposeNonConstantMultiplication(final Term left, final Term right,
                                                              final Set<IntegerClause> additionalClauses,
                                                              final Set<IntegerVariable> additionalIntegerVariables,
@@ -100,7 +111,7 @@ public final class MultiplicationFunction extends BinaryFunction {
             assert term instanceof IntegerVariable;
             atom = (IntegerVariable) term;
         } else {
-            atom = cf.auxVariable(MUL_AUX_VARIABLE, domain);
+            atom = cf.termAuxVariable(MUL_AUX_VARIABLE, term, domain);
             additionalIntegerVariables.add((IntegerVariable) atom);
             final CspPredicate.Decomposition eq = cf.eq(atom, term).decompose(cf);
             additionalClauses.addAll(eq.getClauses());
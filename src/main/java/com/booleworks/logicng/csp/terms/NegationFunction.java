@@ -2,6 +2,7 @@ package com.booleworks.logicng.csp.terms;
 
 import com.booleworks.logicng.csp.CspFactory;
 import com.booleworks.logicng.csp.datastructures.LinearExpression;
+import com.booleworks.logicng.csp.datastructures.domains.IntegerDomain;
 
 /**
  * A function term representing the negation operation.
@@ -25,4 +26,10 @@ public final class NegationFunction extends UnaryFunction {
                 result.getAdditionalConstraints(), result.getAuxiliaryIntegerVariables(),
                 result.getAuxiliaryBooleanVariables());
     }
+
+    @Override
+    protected IntegerDomain calculateBounds() {
+        final IntegerDomain d = operand.getBounds();
+        return boundsOf(-(long) d.ub(), -(long) d.lb());
+    }
 }
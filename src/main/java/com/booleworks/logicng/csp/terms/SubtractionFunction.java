@@ -3,6 +3,7 @@ package com.booleworks.logicng.csp.terms;
 import com.booleworks.logicng.csp.CspFactory;
 import com.booleworks.logicng.csp.datastructures.IntegerClause;
 import com.booleworks.logicng.csp.datastructures.LinearExpression;
+import com.booleworks.logicng.csp.datastructures.domains.IntegerDomain;
 import com.booleworks.logicng.formulas.Variable;
 
 import java.util.LinkedHashSet;
@@ -38,6 +39,13 @@ public final class SubtractionFunction extends BinaryFunction {
         return new Decomposition(expression, constraints, intVars, boolVars);
     }
 
+    @Override
+    protected IntegerDomain calculateBounds() {
+        final IntegerDomain l = left.getBounds();
+        final IntegerDomain r = right.getBounds();
+        return boundsOf((long) l.lb() - r.ub(), (long) l.ub() - r.lb());
+    }
+
     @Override
     public boolean equals(final Object o) {
         return equals(o, true);
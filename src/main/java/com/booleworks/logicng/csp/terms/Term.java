@@ -3,6 +3,7 @@ package com.booleworks.logicng.csp.terms;
 import com.booleworks.logicng.csp.CspFactory;
 import com.booleworks.logicng.csp.datastructures.IntegerClause;
 import com.booleworks.logicng.csp.datastructures.LinearExpression;
+import com.booleworks.logicng.csp.datastructures.domains.IntegerDomain;
 import com.booleworks.logicng.csp.predicates.CspPredicate;
 import com.booleworks.logicng.formulas.Variable;
 
@@ -23,6 +24,11 @@ import java.util.TreeSet;
  */
 public abstract class Term {
 
+    /**
+     * The bounds of terms whose values exceed the range of {@code int}.
+     */
+    protected static final IntegerDomain UNBOUNDED = IntegerDomain.of(Integer.MIN_VALUE, Integer.MAX_VALUE);
+
     /**
      * Type of this term.
      */
@@ -31,6 +37,10 @@ public abstract class Term {
      * Cached decomposition of this term.
      */
     protected Decomposition decompositionResult;
+    /**
+     * Cached bounds of this term.
+     */
+    protected IntegerDomain boundsResult;
 
     /**
      * Constructs new term of a given type.
@@ -80,17 +90,63 @@ public abstract class Term {
 
     /**
      * Decomposes the term into a linear sum and addition constraints.
-     * The result is cached and reused for further calls.
+     * The result is cached and reused for further calls. Terms with the same normal form
+     * ({@link CspFactory#canonical(Term)}) share the decomposition of the normal form.
      * @param cf the factory
      * @return the decomposition result
      */
     public final Decomposition decompose(final CspFactory cf) {
         if (decompositionResult == null) {
-            decompositionResult = calculateDecomposition(cf);
+            final Term canonical = cf.canonical(this);
+            decompositionResult = canonical == this ? calculateDecomposition(cf) : canonical.decompose(cf);
         }
         return decompositionResult;
     }
 
+    /**
+     * Calculates an interval containing all values of this term. (without caching)
+     * @return an interval containing all values of this term
+     */
+    protected abstract IntegerDomain calculateBounds();
+
+    /**
+     * Returns an interval containing all values of this term. The interval is calculated from the bounds of the
+     * variables without decomposing the term, so it can be larger than the domain of the decomposed term.
+     * If the interval exceeds the range of {@code int}, the full range is returned (see {@link #isBounded}).
+     * The result is cached and reused for further calls.
+     * @return an interval containing all values of this term
+     */
+    public final IntegerDomain getBounds() {
+        if (boundsResult == null) {
+            boundsResult = calculateBounds();
+        }
+        return boundsResult;
+    }
+
+    /**
+     * Returns whether an interval computed by {@link #getBounds()} lies strictly within the range of {@code int}.
+     * Bounds exceeding this range are widened to the full range, so an interval reaching one of its limits does
+     * not bound the values of the term reliably.
+     * @param bounds the interval
+     * @return {@code true} if the interval does not reach the limits of the range of {@code int}
+     */
+    public static boolean isBounded(final IntegerDomain bounds) {
+        return bounds.lb() > Integer.MIN_VALUE && bounds.ub() < Integer.MAX_VALUE;
+    }
+
+    /**
+     * Returns the interval {@code [lb, ub]} or the full range of {@code int} if the interval exceeds this range.
+     * @param lb the lower bound
+     * @param ub the upper bound
+     * @return the interval
+     */
+    protected static IntegerDomain boundsOf(final long lb, final long ub) {
+        if (lb < Integer.MIN_VALUE || ub > Integer.MAX_VALUE) {
+            return UNBOUNDED;
+        }
+        return IntegerDomain.of((int) lb, (int) ub);
+    }
+
     /**
      * Types a term can have.
      */
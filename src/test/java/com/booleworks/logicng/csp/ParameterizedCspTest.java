@@ -1,7 +1,12 @@
 package com.booleworks.logicng.csp;
 
+import com.booleworks.logicng.csp.datastructures.Csp;
+import com.booleworks.logicng.csp.datastructures.CspAssignment;
 import com.booleworks.logicng.csp.encodings.CspEncodingContext;
+import com.booleworks.logicng.csp.functions.CspModelEnumeration;
+import com.booleworks.logicng.datastructures.EncodingResult;
 import com.booleworks.logicng.formulas.FormulaFactory;
+import com.booleworks.logicng.solvers.SatSolver;
 import org.junit.jupiter.params.provider.Arguments;
 
 import java.util.ArrayList;
@@ -22,7 +27,17 @@ public abstract class ParameterizedCspTest {
         args.add(Arguments.arguments(new CspFactory(FormulaFactory.nonCaching()), CspEncodingContext.order()));
         args.add(Arguments.arguments(new CspFactory(FormulaFactory.caching()), CspEncodingContext.compactOrder(5)));
         args.add(Arguments.arguments(new CspFactory(FormulaFactory.nonCaching()), CspEncodingContext.compactOrder(5)));
+        args.add(Arguments.arguments(new CspFactory(FormulaFactory.caching()), CspEncodingContext.direct()));
+        args.add(Arguments.arguments(new CspFactory(FormulaFactory.nonCaching()), CspEncodingContext.direct()));
         return args;
     }
 
+    protected static List<CspAssignment> enumerate(final Csp csp, final CspEncodingContext context,
+                                                   final CspFactory cf) {
+        final SatSolver solver = SatSolver.newSolver(cf.getFormulaFactory());
+        final EncodingResult result =
+                EncodingResult.resultForSatSolver(cf.getFormulaFactory(), solver.getUnderlyingSolver(), null);
+        cf.encodeCsp(csp, context, result);
+        return CspModelEnumeration.enumerate(solver, csp, context, cf);
+    }
 }
@@ -65,14 +65,6 @@ public class CompactOrderEncodingTest extends ParameterizedCspTest {
         assertThat(results5).containsExactlyInAnyOrderElementsOf(results0);
     }
 
-    private List<CspAssignment> enumerate(final Csp csp, final CspEncodingContext context, final CspFactory cf) {
-        final SatSolver solver = SatSolver.newSolver(cf.getFormulaFactory());
-        final EncodingResult result =
-                EncodingResult.resultForSatSolver(cf.getFormulaFactory(), solver.getUnderlyingSolver(), null);
-        cf.encodeCsp(csp, context, result);
-        return CspModelEnumeration.enumerate(solver, csp, context, cf);
-    }
-
     private List<CspAssignment> enumerateOrder(final CspPredicate p, final List<IntegerVariable> vars,
                                                final CspFactory cf) {
         final SatSolver solver = SatSolver.newSolver(cf.getFormulaFactory());
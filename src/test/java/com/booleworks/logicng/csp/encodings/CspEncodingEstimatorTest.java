@@ -0,0 +1,140 @@
+package com.booleworks.logicng.csp.encodings;
+
+import com.booleworks.logicng.csp.CspFactory;
+import com.booleworks.logicng.csp.ParameterizedCspTest;
+import com.booleworks.logicng.csp.datastructures.Csp;
+import com.booleworks.logicng.csp.terms.IntegerVariable;
+import com.booleworks.logicng.formulas.Formula;
+import com.booleworks.logicng.formulas.FormulaFactory;
+import com.booleworks.logicng.formulas.Variable;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.MethodSource;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class CspEncodingEstimatorTest extends ParameterizedCspTest {
+    @ParameterizedTest
+    @MethodSource("cspFactories")
+    public void testOrderCountsMatchEncoding(final CspFactory cf) {
+        for (final Formula formula : formulas(cf)) {
+            final Csp csp = cf.buildCsp(formula);
+            final List<OrderEncodingContext> contexts =
+                    List.of(CspEncodingContext.order(), CspEncodingContext.order(8, 2));
+            for (final OrderEncodingContext context : contexts) {
+                final CspEncodingEstimator.Estimate estimate = CspEncodingEstimator.estimate(csp, context);
+                final List<Formula> encoding = cf.encodeCsp(csp, context);
+                final int variables = context.getSatVariables(context.getIntegerVariables()).size()
+                        + context.getSimplifyBoolVariables().size();
+                assertThat(estimate.isExact()).isTrue();
+                assertThat(estimate.isLimitExceeded()).isFalse();
+                assertThat(estimate.getClauses()).isEqualTo(encoding.size());
+                assertThat(estimate.getVariables()).isEqualTo(variables);
+            }
+        }
+    }
+
+    @ParameterizedTest
+    @MethodSource("cspFactories")
+    public void testSparseOrderCountsMatchEncoding(final CspFactory cf) {
+        for (final Formula formula : formulas(cf)) {
+            final Csp csp = cf.buildCsp(formula);
+            final OrderEncodingContext context = CspEncodingContext.sparseOrder();
+            final CspEncodingEstimator.Estimate estimate = CspEncodingEstimator.estimate(csp, context);
+            final List<Formula> encoding = cf.encodeCsp(csp, context);
+            final int variables = context.getSatVariables(context.getIntegerVariables()).size()
+                    + context.getSimplifyBoolVariables().size();
+            assertThat(estimate.isExact()).isTrue();
+            assertThat(estimate.getClauses()).isEqualTo(encoding.size());
+            assertThat(estimate.getVariables()).isEqualTo(variables);
+            assertThat(estimate.getClauses())
+                    .isLessThanOrEqualTo(CspEncodingEstimator.estimate(csp, CspEncodingContext.order()).getClauses());
+        }
+    }
+
+    @ParameterizedTest
+    @MethodSource("cspFactories")
+    public void testDirectCountsMatchEncoding(final CspFactory cf) {
+        final FormulaFactory f = cf.getFormulaFactory();
+        for (final Formula formula : formulas(cf)) {
+            final Csp csp = cf.buildCsp(formula);
+            final DirectEncodingContext context = CspEncodingContext.direct();
+            final CspEncodingEstimator.Estimate estimate = CspEncodingEstimator.estimate(csp, context);
+            final List<Formula> encoding = cf.encodeCsp(csp, context);
+            final Set<Variable> variables = new HashSet<>();
+            for (final Formula clause : encoding) {
+                variables.addAll(clause.variables(f));
+            }
+            variables.removeAll(formula.variables(f));
+            assertThat(estimate.isExact()).isTrue();
+            assertThat(estimate.getClauses()).isEqualTo(encoding.size());
+            assertThat(estimate.getVariables()).isEqualTo(variables.size());
+        }
+    }
+
+    @ParameterizedTest
+    @MethodSource("cspFactories")
+    public void testHybrid(final CspFactory cf) {
+        for (final Formula formula : formulas(cf)) {
+            final Csp csp = cf.buildCsp(formula);
+            for (final boolean channeling : List.of(true, false)) {
+                final HybridEncodingContext orderOnly = CspEncodingContext.hybrid(1000, 10, channeling);
+                final CspEncodingEstimator.Estimate estimate = CspEncodingEstimator.estimate(csp, orderOnly);
+                assertThat(estimate.isExact()).isTrue();
+                assertThat(estimate.getClauses()).isEqualTo(cf.encodeCsp(csp, orderOnly).size());
+                final CspEncodingEstimator.Estimate mixed =
+                        CspEncodingEstimator.estimate(csp, CspEncodingContext.hybrid(6, 2, channeling));
+                assertThat(mixed.isExact()).isFalse();
+                assertThat(mixed.getVariables()).isPositive();
+                assertThat(mixed.getClauses()).isPositive();
+            }
+        }
+    }
+
+    @ParameterizedTest
+    @MethodSource("cspFactories")
+    public void testLimit(final CspFactory cf) {
+        final IntegerVariable a = cf.variable("a", 0, 1000);
+        final IntegerVariable b = cf.variable("b", 0, 1000);
+        final Csp csp = cf.buildCsp(cf.le(cf.add(a, b), cf.constant(1000)));
+        final CspEncodingEstimator.Estimate estimate =
+                CspEncodingEstimator.estimate(csp, CspEncodingContext.order(), 100);
+        assertThat(estimate.isLimitExceeded()).isTrue();
+        assertThat(estimate.getClauses()).isGreaterThan(100);
+    }
+
+    @ParameterizedTest
+    @MethodSource("cspFactories")
+    public void testCompactOrder(final CspFactory cf) {
+        final IntegerVariable a = cf.variable("a", 0, 1000);
+        final IntegerVariable b = cf.variable("b", 0, 1000);
+        final Csp csp = cf.buildCsp(cf.le(cf.add(a, b), cf.constant(1000)));
+        final CspEncodingEstimator.Estimate estimate = CspEncodingEstimator.estimate(csp,
+                CspEncodingContext.compactOrder(10));
+        assertThat(estimate.isExact()).isFalse();
+        assertThat(estimate.getVariables()).isPositive();
+        assertThat(estimate.getClauses()).isPositive();
+        assertThat(estimate.getClauses())
+                .isLessThan(CspEncodingEstimator.estimate(csp, CspEncodingContext.order()).getClauses());
+    }
+
+    private static List<Formula> formulas(final CspFactory cf) {
+        final FormulaFactory f = cf.getFormulaFactory();
+        final IntegerVariable a = cf.variable("a", 0, 5);
+        final IntegerVariable b = cf.variable("b", -3, 3);
+        final IntegerVariable c = cf.variable("c", List.of(1, 4, 7, 9));
+        final IntegerVariable d = cf.variable("d", 0, 20);
+        return List.of(
+                cf.le(cf.add(a, b), c),
+                cf.eq(cf.add(a, cf.mul(3, b)), d),
+                cf.ne(a, b),
+                f.or(cf.ne(a, c), cf.gt(d, b), f.variable("X")),
+                cf.eq(cf.mul(a, b), d),
+                cf.le(cf.add(a, b, c, d), cf.constant(12)),
+                f.and(cf.le(cf.add(a, b, c, d), cf.constant(12)), cf.ge(cf.add(a, b, c, d), cf.constant(3)))
+        );
+    }
+}
@@ -0,0 +1,46 @@
+package com.booleworks.logicng.csp.encodings;
+
+import com.booleworks.logicng.csp.CspFactory;
+import com.booleworks.logicng.csp.ParameterizedCspTest;
+import com.booleworks.logicng.csp.datastructures.Csp;
+import com.booleworks.logicng.csp.datastructures.CspAssignment;
+import com.booleworks.logicng.csp.terms.IntegerVariable;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.MethodSource;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class CspEncodingTunerTest extends ParameterizedCspTest {
+    @ParameterizedTest
+    @MethodSource("cspFactories")
+    public void testAlgorithmSelection(final CspFactory cf) {
+        final IntegerVariable a = cf.variable("a", 0, 3);
+        final IntegerVariable b = cf.variable("b", 0, 3);
+        final IntegerVariable x = cf.variable("x", 0, 1_000_000);
+        final IntegerVariable y = cf.variable("y", 0, 1_000_000);
+        final Csp small = cf.buildCsp(cf.le(a, b));
+        final Csp large = cf.buildCsp(cf.le(cf.add(x, y), cf.constant(1_500_000)));
+        assertThat(CspEncodingTuner.tune(small).getAlgorithm()).isEqualTo(CspEncodingAlgorithm.Order);
+        assertThat(CspEncodingTuner.tune(large).getAlgorithm()).isEqualTo(CspEncodingAlgorithm.CompactOrder);
+        assertThat(CspEncodingTuner.tuneCompactOrder(large, List.of(7, 11)).getBase()).isIn(7, 11);
+    }
+
+    @ParameterizedTest
+    @MethodSource("cspFactories")
+    public void testCustomReductionThresholds(final CspFactory cf) {
+        final IntegerVariable a = cf.variable("a", 0, 3);
+        final IntegerVariable b = cf.variable("b", -2, 3);
+        final IntegerVariable c = cf.variable("c", 1, 4);
+        final IntegerVariable d = cf.variable("d", 0, 5);
+        final IntegerVariable e = cf.variable("e", 0, 10);
+        final Csp csp = cf.buildCsp(cf.eq(cf.add(a, cf.mul(2, b), c, d), e));
+        final OrderEncodingContext tuned = CspEncodingTuner.tuneOrder(csp, List.of(4), List.of(2, 3));
+        assertThat(tuned.getMaxLinearExpressionSize()).isEqualTo(4);
+        assertThat(tuned.getSplits()).isIn(2, 3);
+        final List<CspAssignment> expected = enumerate(csp, CspEncodingContext.order(), cf);
+        assertThat(enumerate(csp, tuned, cf)).containsExactlyInAnyOrderElementsOf(expected);
+        assertThat(enumerate(csp, CspEncodingContext.order(2, 4), cf)).containsExactlyInAnyOrderElementsOf(expected);
+    }
+}
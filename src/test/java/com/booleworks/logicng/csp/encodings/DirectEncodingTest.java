@@ -0,0 +1,64 @@
+package com.booleworks.logicng.csp.encodings;
+
+import com.booleworks.logicng.csp.CspFactory;
+import com.booleworks.logicng.csp.ParameterizedCspTest;
+import com.booleworks.logicng.csp.datastructures.Csp;
+import com.booleworks.logicng.csp.datastructures.CspAssignment;
+import com.booleworks.logicng.csp.terms.IntegerVariable;
+import com.booleworks.logicng.formulas.Formula;
+import com.booleworks.logicng.formulas.FormulaFactory;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.MethodSource;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class DirectEncodingTest extends ParameterizedCspTest {
+    @ParameterizedTest
+    @MethodSource("cspFactories")
+    public void testValueVariables(final CspFactory cf) {
+        final IntegerVariable a = cf.variable("a", 0, 3);
+        final IntegerVariable b = cf.variable("b", List.of(1, 5, 7));
+        final DirectEncodingContext context = CspEncodingContext.direct();
+        cf.encodeVariable(a, context);
+        cf.encodeVariable(b, context);
+        assertThat(context.getVariableMap().get(a)).containsOnlyKeys(0, 1, 2, 3);
+        assertThat(context.getVariableMap().get(b)).containsOnlyKeys(1, 5, 7);
+        assertThat(context.getSatVariables(List.of(a, b))).hasSize(7);
+        assertThat(context.isEncoded(a)).isTrue();
+    }
+
+    @ParameterizedTest
+    @MethodSource("cspFactories")
+    public void testExactlyOne(final CspFactory cf) {
+        final IntegerVariable small = cf.variable("small", 0, 3);
+        final IntegerVariable large = cf.variable("large", -10, 10);
+        for (final IntegerVariable v : List.of(small, large)) {
+            final Csp csp = cf.buildCsp(cf.ne(v, cf.constant(2)));
+            assertThat(enumerate(csp, CspEncodingContext.direct(), cf)).hasSize(v.getDomain().size() - 1);
+        }
+    }
+
+    @ParameterizedTest
+    @MethodSource("cspFactories")
+    public void compareModelsWithOrder(final CspFactory cf) {
+        final FormulaFactory f = cf.getFormulaFactory();
+        final IntegerVariable a = cf.variable("a", 0, 4);
+        final IntegerVariable b = cf.variable("b", 0, 4);
+        final IntegerVariable c = cf.variable("c", List.of(-1, 2, 3));
+        final IntegerVariable d = cf.variable("d", 1, 3);
+        final List<Formula> formulas = List.of(
+                cf.allDifferent(List.of(a, b, d)),
+                f.or(cf.ne(a, b), cf.eq(cf.add(c, d), cf.constant(4))),
+                cf.le(cf.add(a, cf.mul(2, b), cf.mul(-3, c), d), cf.constant(3)),
+                cf.eq(cf.mul(a, c), b),
+                f.and(f.variable("X"), cf.gt(cf.sub(a, b), cf.constant(1)))
+        );
+        for (final Formula formula : formulas) {
+            final Csp csp = cf.buildCsp(formula);
+            final List<CspAssignment> expected = enumerate(csp, CspEncodingContext.order(), cf);
+            assertThat(enumerate(csp, CspEncodingContext.direct(), cf)).containsExactlyInAnyOrderElementsOf(expected);
+        }
+    }
+}
@@ -0,0 +1,64 @@
+package com.booleworks.logicng.csp.encodings;
+
+import com.booleworks.logicng.csp.CspFactory;
+import com.booleworks.logicng.csp.ParameterizedCspTest;
+import com.booleworks.logicng.csp.datastructures.Csp;
+import com.booleworks.logicng.csp.datastructures.CspAssignment;
+import com.booleworks.logicng.csp.terms.IntegerVariable;
+import com.booleworks.logicng.formulas.Formula;
+import com.booleworks.logicng.formulas.FormulaFactory;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.MethodSource;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class HybridEncodingTest extends ParameterizedCspTest {
+    @ParameterizedTest
+    @MethodSource("cspFactories")
+    public void testSelection(final CspFactory cf) {
+        final IntegerVariable small = cf.variable("small", 0, 5);
+        final IntegerVariable large = cf.variable("large", 0, 100);
+        final IntegerVariable other = cf.variable("other", 0, 5);
+        final Csp csp = cf.buildCsp(cf.getFormulaFactory().and(cf.le(small, large), cf.ne(other, cf.constant(3))));
+
+        final HybridEncodingContext context = CspEncodingContext.hybrid(10, 5, false);
+        cf.encodeCsp(csp, context);
+        assertThat(context.getSelection(small)).isEqualTo(CspEncodingAlgorithm.CompactOrder);
+        assertThat(context.getSelection(large)).isEqualTo(CspEncodingAlgorithm.CompactOrder);
+        assertThat(context.getSelection(other)).isEqualTo(CspEncodingAlgorithm.Order);
+        assertThat(context.getChanneledVariables()).isEmpty();
+
+        final HybridEncodingContext channelingContext = CspEncodingContext.hybrid(10, 5, true);
+        cf.encodeCsp(csp, channelingContext);
+        assertThat(channelingContext.getSelection(small)).isEqualTo(CspEncodingAlgorithm.Order);
+        assertThat(channelingContext.getSelection(large)).isEqualTo(CspEncodingAlgorithm.CompactOrder);
+        assertThat(channelingContext.getSelection(other)).isEqualTo(CspEncodingAlgorithm.Order);
+        assertThat(channelingContext.getChanneledVariables()).containsExactly(small);
+    }
+
+    @ParameterizedTest
+    @MethodSource("cspFactories")
+    public void compareModelsWithOrder(final CspFactory cf) {
+        final FormulaFactory f = cf.getFormulaFactory();
+        final IntegerVariable a = cf.variable("a", 0, 3);
+        final IntegerVariable b = cf.variable("b", -2, 2);
+        final IntegerVariable c = cf.variable("c", 0, 40);
+        final IntegerVariable d = cf.variable("d", List.of(-1, 2, 3));
+        final List<Formula> formulas = List.of(
+                f.and(cf.eq(cf.add(a, b), d), cf.le(cf.mul(10, a), c)),
+                f.or(cf.ne(a, b), cf.eq(cf.add(c, d), cf.constant(20))),
+                f.and(cf.allDifferent(List.of(a, b, d)), cf.ge(c, cf.mul(a, d))),
+                f.and(f.variable("X"), cf.gt(cf.sub(c, b), cf.constant(37)))
+        );
+        for (final Formula formula : formulas) {
+            final Csp csp = cf.buildCsp(formula);
+            final List<CspAssignment> expected = enumerate(csp, CspEncodingContext.order(), cf);
+            assertThat(enumerate(csp, CspEncodingContext.hybrid(8, 3, false), cf))
+                    .containsExactlyInAnyOrderElementsOf(expected);
+            assertThat(enumerate(csp, CspEncodingContext.hybrid(8, 3, true), cf))
+                    .containsExactlyInAnyOrderElementsOf(expected);
+        }
+    }
+}
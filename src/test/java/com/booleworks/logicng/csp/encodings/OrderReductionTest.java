@@ -0,0 +1,43 @@
+package com.booleworks.logicng.csp.encodings;
+
+import com.booleworks.logicng.csp.CspFactory;
+import com.booleworks.logicng.csp.ParameterizedCspTest;
+import com.booleworks.logicng.csp.datastructures.Csp;
+import com.booleworks.logicng.csp.datastructures.CspAssignment;
+import com.booleworks.logicng.csp.terms.IntegerVariable;
+import com.booleworks.logicng.csp.terms.Term;
+import com.booleworks.logicng.formulas.FormulaFactory;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.MethodSource;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class OrderReductionTest extends ParameterizedCspTest {
+    @ParameterizedTest
+    @MethodSource("cspFactories")
+    public void testSharedSimplifyVariables(final CspFactory cf) {
+        final FormulaFactory f = cf.getFormulaFactory();
+        final IntegerVariable a = cf.variable("a", 0, 3);
+        final IntegerVariable b = cf.variable("b", 0, 3);
+        final IntegerVariable c = cf.variable("c", 0, 3);
+        final IntegerVariable d = cf.variable("d", 0, 3);
+        final Term sum = cf.add(a, b, c, d);
+
+        final OrderEncodingContext single = CspEncodingContext.order(2, 2);
+        cf.encodeCsp(cf.buildCsp(cf.le(sum, cf.constant(8))), single);
+        assertThat(single.getSimplifyIntVariables()).isNotEmpty();
+
+        final Csp csp = cf.buildCsp(f.and(cf.le(sum, cf.constant(8)), cf.ge(sum, cf.constant(2)),
+                cf.ne(sum, cf.constant(5))));
+        final OrderEncodingContext context = CspEncodingContext.order(2, 2);
+        final List<CspAssignment> models = enumerate(csp, context, cf);
+        assertThat(context.getSimplifyIntVariables()).hasSameSizeAs(single.getSimplifyIntVariables());
+        assertThat(models).containsExactlyInAnyOrderElementsOf(enumerate(csp, CspEncodingContext.order(), cf));
+
+        // subsequent encodings with the same context reuse the variables as well
+        cf.encodeCsp(cf.buildCsp(cf.lt(sum, cf.constant(7))), context);
+        assertThat(context.getSimplifyIntVariables()).hasSameSizeAs(single.getSimplifyIntVariables());
+    }
+}
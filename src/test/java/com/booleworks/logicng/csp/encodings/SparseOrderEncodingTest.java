@@ -0,0 +1,89 @@
+package com.booleworks.logicng.csp.encodings;
+
+import com.booleworks.logicng.csp.CspFactory;
+import com.booleworks.logicng.csp.ParameterizedCspTest;
+import com.booleworks.logicng.csp.datastructures.Csp;
+import com.booleworks.logicng.csp.datastructures.CspAssignment;
+import com.booleworks.logicng.csp.functions.CspModelEnumeration;
+import com.booleworks.logicng.csp.terms.IntegerVariable;
+import com.booleworks.logicng.datastructures.EncodingResult;
+import com.booleworks.logicng.formulas.Formula;
+import com.booleworks.logicng.formulas.FormulaFactory;
+import com.booleworks.logicng.solvers.SatSolver;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.MethodSource;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class SparseOrderEncodingTest extends ParameterizedCspTest {
+    @ParameterizedTest
+    @MethodSource("cspFactories")
+    public void testReferencedThresholds(final CspFactory cf) {
+        final FormulaFactory f = cf.getFormulaFactory();
+        final IntegerVariable x = cf.variable("x", 0, 1000);
+        final Csp csp = cf.buildCsp(f.and(cf.le(x, cf.constant(500)), cf.ge(x, cf.constant(100))));
+
+        final OrderEncodingContext context = CspEncodingContext.sparseOrder();
+        assertThat(context.isSparse()).isTrue();
+        final List<CspAssignment> models = enumerate(csp, context, cf);
+        assertThat(context.getVariableMap().get(x)).hasSize(2);
+        assertThat(models).hasSize(1);
+        assertThat(models.get(0).getIntegerAssignments().get(x)).isEqualTo(500);
+
+        final OrderEncodingContext denseContext = CspEncodingContext.order();
+        assertThat(enumerate(csp, denseContext, cf)).hasSize(401);
+        assertThat(denseContext.getVariableMap().get(x)).hasSize(1000);
+    }
+
+    @ParameterizedTest
+    @MethodSource("cspFactories")
+    public void compareModelsWithOrder(final CspFactory cf) {
+        final FormulaFactory f = cf.getFormulaFactory();
+        final IntegerVariable a = cf.variable("a", 0, 3);
+        final IntegerVariable b = cf.variable("b", -2, 2);
+        final IntegerVariable c = cf.variable("c", 0, 40);
+        final IntegerVariable d = cf.variable("d", List.of(-1, 2, 3));
+        final List<Formula> formulas = List.of(
+                f.and(cf.eq(cf.add(a, b), d), cf.le(cf.mul(10, a), c)),
+                f.or(cf.ne(a, b), cf.eq(cf.add(c, d), cf.constant(20))),
+                f.and(cf.allDifferent(List.of(a, b, d)), cf.ge(c, cf.mul(a, d))),
+                f.and(f.variable("X"), cf.gt(cf.sub(c, b), cf.constant(37))),
+                f.and(cf.le(c, cf.constant(12)), cf.ge(c, cf.constant(30)))
+        );
+        for (final Formula formula : formulas) {
+            final Csp csp = cf.buildCsp(formula);
+            final List<CspAssignment> dense = enumerate(csp, CspEncodingContext.order(), cf);
+            final List<CspAssignment> sparse = enumerate(csp, CspEncodingContext.sparseOrder(), cf);
+            assertThat(sparse.isEmpty()).isEqualTo(dense.isEmpty());
+            assertThat(dense).containsAll(sparse);
+        }
+    }
+
+    @ParameterizedTest
+    @MethodSource("cspFactories")
+    public void testIncrementalEncoding(final CspFactory cf) {
+        final FormulaFactory f = cf.getFormulaFactory();
+        final IntegerVariable x = cf.variable("x", 0, 100);
+        final IntegerVariable y = cf.variable("y", 0, 100);
+        final Formula formula1 = cf.le(x, cf.constant(50));
+        final Formula formula2 = cf.ge(x, cf.constant(20));
+        final Formula formula3 = cf.eq(y, cf.add(x, cf.constant(3)));
+        final Csp csp1 = cf.buildCsp(formula1);
+        final Csp csp2 = cf.buildCsp(formula2);
+        final Csp csp3 = cf.buildCsp(formula3);
+
+        final OrderEncodingContext context = CspEncodingContext.sparseOrder();
+        final SatSolver solver = SatSolver.newSolver(f);
+        final EncodingResult result = EncodingResult.resultForSatSolver(f, solver.getUnderlyingSolver(), null);
+        cf.encodeCsp(csp1, context, result);
+        cf.encodeCsp(csp2, context, result);
+        cf.encodeCsp(csp3, context, result);
+        final Csp csp = cf.buildCsp(f.and(formula1, formula2, formula3));
+        final List<CspAssignment> models = CspModelEnumeration.enumerate(solver, csp, context, cf);
+        final List<CspAssignment> dense = enumerate(csp, CspEncodingContext.order(), cf);
+        assertThat(models).isNotEmpty();
+        assertThat(dense).containsAll(models);
+    }
+}
@@ -334,6 +334,31 @@ public class TermFunctionEncodingTest extends ParameterizedCspTest {
         ));
     }
 
+    @ParameterizedTest
+    @MethodSource("algorithmsAndFactories")
+    public void testDivModSharedVariables(final CspFactory cf, final CspEncodingContext context) {
+        final IntegerVariable a = cf.variable("A", 0, 10);
+        final IntegerVariable t = cf.variable("T", 0, 5);
+        final IntegerVariable u = cf.variable("U", 0, 5);
+        final Formula formula = cf.getFormulaFactory().and(cf.eq(t, cf.div(a, 4)), cf.eq(u, cf.mod(a, 4)));
+
+        final Csp csp = cf.buildCsp(formula);
+        assertThat(csp.getInternalIntegerVariables().stream().filter(IntegerVariable::isAux)).hasSize(2);
+        checkModels(formula, cf, context, List.of(
+                assignmentFrom(a, 0, t, 0, u, 0),
+                assignmentFrom(a, 1, t, 0, u, 1),
+                assignmentFrom(a, 2, t, 0, u, 2),
+                assignmentFrom(a, 3, t, 0, u, 3),
+                assignmentFrom(a, 4, t, 1, u, 0),
+                assignmentFrom(a, 5, t, 1, u, 1),
+                assignmentFrom(a, 6, t, 1, u, 2),
+                assignmentFrom(a, 7, t, 1, u, 3),
+                assignmentFrom(a, 8, t, 2, u, 0),
+                assignmentFrom(a, 9, t, 2, u, 1),
+                assignmentFrom(a, 10, t, 2, u, 2)
+        ));
+    }
+
     private void checkModels(final Formula formula, final CspFactory cf, final CspEncodingContext context,
                              final List<CspAssignment> expected) {
         final Csp csp = cf.buildCsp(formula);
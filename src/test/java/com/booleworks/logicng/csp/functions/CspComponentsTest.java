@@ -0,0 +1,138 @@
+package com.booleworks.logicng.csp.functions;
+
+import com.booleworks.logicng.csp.CspFactory;
+import com.booleworks.logicng.csp.ParameterizedCspTest;
+import com.booleworks.logicng.csp.datastructures.Csp;
+import com.booleworks.logicng.csp.datastructures.CspAssignment;
+import com.booleworks.logicng.csp.encodings.CspEncodingContext;
+import com.booleworks.logicng.csp.terms.IntegerVariable;
+import com.booleworks.logicng.formulas.Formula;
+import com.booleworks.logicng.formulas.FormulaFactory;
+import com.booleworks.logicng.formulas.Variable;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.MethodSource;
+
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class CspComponentsTest extends ParameterizedCspTest {
+    @ParameterizedTest
+    @MethodSource("cspFactories")
+    public void testSplit(final CspFactory cf) {
+        final FormulaFactory f = cf.getFormulaFactory();
+        final Variable a = f.variable("A");
+        final Variable b = f.variable("B");
+        final IntegerVariable x = cf.variable("x", 0, 3);
+        final IntegerVariable y = cf.variable("y", 0, 3);
+        final IntegerVariable z = cf.variable("z", 0, 3);
+        final IntegerVariable w = cf.variable("w", 0, 3);
+        final Csp csp = cf.buildCsp(f.and(cf.le(x, y), cf.ne(z, w), f.or(a, b)));
+        final List<Csp> components = CspComponents.split(csp);
+
+        assertThat(components).extracting(Csp::getVisibleIntegerVariables)
+                .containsExactlyInAnyOrder(Set.of(x, y), Set.of(z, w), Set.of());
+        assertThat(components).extracting(Csp::getVisibleBooleanVariables)
+                .containsExactlyInAnyOrder(Set.of(), Set.of(), Set.of(a, b));
+        assertThat(components.stream().mapToInt(c -> c.getClauses().size()).sum()).isEqualTo(csp.getClauses().size());
+
+        final Csp connected = cf.buildCsp(f.and(cf.le(x, y), cf.ne(y, z), f.or(a, cf.eq(z, w))));
+        assertThat(CspComponents.split(connected)).hasSize(1);
+    }
+
+    @ParameterizedTest
+    @MethodSource("cspFactories")
+    public void testEnumeration(final CspFactory cf) {
+        final FormulaFactory f = cf.getFormulaFactory();
+        final IntegerVariable x = cf.variable("x", 0, 5);
+        final IntegerVariable y = cf.variable("y", 0, 5);
+        final IntegerVariable z = cf.variable("z", 0, 5);
+        final IntegerVariable w = cf.variable("w", 0, 5);
+        final IntegerVariable v = cf.variable("v", 0, 2);
+        final Formula formula = f.and(cf.lt(x, y), f.or(cf.eq(z, w), f.variable("A")), cf.le(v, cf.constant(5)));
+        final Csp csp = cf.buildCsp(formula);
+        final List<CspAssignment> expected = enumerate(csp, CspEncodingContext.order(), cf);
+
+        final List<List<CspAssignment>> componentModels =
+                CspComponents.enumerateComponents(csp, CspEncodingContext::direct, cf);
+        assertThat(componentModels).hasSize(3);
+        assertThat(CspComponents.count(componentModels)).isEqualTo(BigInteger.valueOf(expected.size()));
+        assertThat(CspComponents.combine(componentModels)).containsExactlyInAnyOrderElementsOf(expected);
+        for (final CspAssignment model : CspComponents.combine(componentModels)) {
+            assertThat(CspEvaluation.evaluate(formula, model)).isTrue();
+        }
+        final CspAssignment model = CspComponents.solve(csp, CspEncodingContext::order, cf);
+        assertThat(expected).contains(model);
+    }
+
+    @ParameterizedTest
+    @MethodSource("cspFactories")
+    public void testUnsatComponent(final CspFactory cf) {
+        final FormulaFactory f = cf.getFormulaFactory();
+        final IntegerVariable x = cf.variable("x", 0, 5);
+        final IntegerVariable y = cf.variable("y", 0, 5);
+        final IntegerVariable z = cf.variable("z", 0, 5);
+        final Csp csp = cf.buildCsp(f.and(cf.le(cf.add(x, y), cf.constant(3)), cf.gt(z, cf.constant(2)),
+                cf.lt(z, cf.constant(3))));
+        final List<List<CspAssignment>> componentModels =
+                CspComponents.enumerateComponents(csp, CspEncodingContext::order, cf);
+
+        assertThat(CspComponents.count(componentModels)).isEqualTo(BigInteger.ZERO);
+        assertThat(CspComponents.combine(componentModels)).isEmpty();
+        assertThat(CspComponents.solve(csp, CspEncodingContext::order, cf)).isNull();
+    }
+
+    @ParameterizedTest
+    @MethodSource("cspFactories")
+    public void testAfterPropagationAndElimination(final CspFactory cf) {
+        final FormulaFactory f = cf.getFormulaFactory();
+        final IntegerVariable x = cf.variable("x", 0, 5);
+        final IntegerVariable y = cf.variable("y", 0, 10);
+        final IntegerVariable z = cf.variable("z", 0, 10);
+        final IntegerVariable w = cf.variable("w", 0, 10);
+        final Formula formula = f.and(cf.eq(y, cf.add(x, cf.constant(2))), cf.le(x, cf.constant(3)),
+                f.or(cf.lt(z, w), f.variable("A")));
+        final Csp csp = CspElimination.eliminate(CspPropagation.propagate(cf.buildCsp(formula), cf));
+        final List<List<CspAssignment>> componentModels =
+                CspComponents.enumerateComponents(csp, CspEncodingContext::order, cf);
+
+        assertThat(componentModels).hasSize(2);
+        assertThat(CspComponents.combine(componentModels))
+                .containsExactlyInAnyOrderElementsOf(enumerate(csp, CspEncodingContext.order(), cf));
+    }
+
+    @Test
+    public void testParallelEnumeration() throws InterruptedException {
+        final CspFactory cf = new CspFactory(FormulaFactory.nonCaching());
+        final FormulaFactory f = cf.getFormulaFactory();
+        final List<Formula> operands = new ArrayList<>();
+        for (int i = 0; i < 8; i++) {
+            final IntegerVariable a = cf.variable("a" + i, 0, 4);
+            final IntegerVariable b = cf.variable("b" + i, 0, 4);
+            operands.add(cf.le(cf.add(a, b), cf.constant(i % 5 + 2)));
+        }
+        final Csp csp = cf.buildCsp(f.and(operands));
+        final ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            final List<List<CspAssignment>> parallel =
+                    CspComponents.enumerateComponents(csp, CspEncodingContext::order, cf, executor);
+            final List<List<CspAssignment>> sequential =
+                    CspComponents.enumerateComponents(csp, CspEncodingContext::order, cf);
+            assertThat(parallel).hasSize(8);
+            for (int i = 0; i < parallel.size(); i++) {
+                assertThat(parallel.get(i)).containsExactlyInAnyOrderElementsOf(sequential.get(i));
+            }
+            assertThat(CspComponents.count(parallel)).isEqualTo(CspComponents.count(sequential));
+        } finally {
+            executor.shutdown();
+            executor.awaitTermination(1, TimeUnit.MINUTES);
+        }
+    }
+}
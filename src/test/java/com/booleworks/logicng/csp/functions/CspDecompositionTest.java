@@ -3,20 +3,26 @@ package com.booleworks.logicng.csp.functions;
 import com.booleworks.logicng.csp.Common;
 import com.booleworks.logicng.csp.CspFactory;
 import com.booleworks.logicng.csp.ParameterizedCspTest;
+import com.booleworks.logicng.csp.datastructures.Csp;
 import com.booleworks.logicng.csp.datastructures.IntegerClause;
 import com.booleworks.logicng.csp.datastructures.LinearExpression;
+import com.booleworks.logicng.csp.encodings.CspEncodingContext;
 import com.booleworks.logicng.csp.literals.LinearLiteral;
 import com.booleworks.logicng.csp.predicates.CspPredicate;
 import com.booleworks.logicng.csp.terms.IntegerVariable;
 import com.booleworks.logicng.formulas.Formula;
 import com.booleworks.logicng.formulas.FormulaFactory;
+import com.booleworks.logicng.formulas.Literal;
 import com.booleworks.logicng.formulas.Variable;
 import com.booleworks.logicng.io.parsers.ParserException;
+import com.booleworks.logicng.solvers.SatSolver;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.MethodSource;
 
 import java.util.Collections;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
 import java.util.SortedMap;
 import java.util.TreeMap;
 
@@ -69,6 +75,135 @@ public class CspDecompositionTest extends ParameterizedCspTest {
         assertThat(decomp4.getAuxiliaryIntegerVariables()).isEmpty();
     }
 
+    @ParameterizedTest
+    @MethodSource("cspFactories")
+    public void testHalfReification(final CspFactory cf) {
+        final FormulaFactory f = cf.getFormulaFactory();
+        final IntegerVariable a = cf.variable("a", 0, 3);
+        final IntegerVariable b = cf.variable("b", 3, 5);
+        final IntegerVariable c = cf.variable("c", 1, 2);
+        final Variable A = f.variable("A");
+        final Formula consequent = f.and(cf.le(cf.add(a, c), b), cf.ne(cf.add(b, c), cf.constant(5)));
+
+        final CspPredicate.Decomposition boolGuard = cf.decompose(f.implication(A, consequent));
+        assertThat(boolGuard.getClauses()).hasSize(2);
+        assertThat(boolGuard.getClauses()).allMatch(clause -> clause.getBoolLiterals().equals(Set.of(A.negate(f))));
+        assertThat(boolGuard.getAuxiliaryBooleanVariables()).isEmpty();
+
+        final CspPredicate.Decomposition arithGuard =
+                cf.decompose(f.implication(cf.le(cf.add(a, b), cf.constant(4)), consequent));
+        assertThat(arithGuard.getClauses()).hasSize(3);
+        assertThat(arithGuard.getAuxiliaryBooleanVariables()).hasSize(1);
+        final Variable s = arithGuard.getAuxiliaryBooleanVariables().iterator().next();
+        assertThat(arithGuard.getClauses()).filteredOn(clause -> clause.getBoolLiterals().contains(s)).hasSize(1);
+        assertThat(arithGuard.getClauses()).filteredOn(clause -> clause.getBoolLiterals().contains(s.negate(f)))
+                .hasSize(2);
+
+        final CspPredicate.Decomposition simpleGuard =
+                cf.decompose(f.implication(cf.le(a, cf.constant(2)), consequent));
+        assertThat(simpleGuard.getClauses()).hasSize(2);
+        assertThat(simpleGuard.getAuxiliaryBooleanVariables()).isEmpty();
+    }
+
+    @ParameterizedTest
+    @MethodSource("cspFactories")
+    public void testSelectorDecomposition(final CspFactory cf) throws ParserException {
+        final FormulaFactory f = cf.getFormulaFactory();
+        final Formula formula = f.parse("(A1 & A2 & A3 & A4) | (B1 & B2 & B3 & B4) | (C1 & C2 & C3 & C4) | D");
+
+        final CspPredicate.Decomposition factorized = cf.decompose(formula);
+        assertThat(factorized.getClauses()).hasSize(64);
+        assertThat(factorized.getAuxiliaryBooleanVariables()).isEmpty();
+
+        final CspPredicate.Decomposition selectors = cf.decompose(formula, 63);
+        assertThat(selectors.getClauses()).hasSize(13);
+        assertThat(selectors.getAuxiliaryBooleanVariables()).hasSize(3);
+        final Set<Literal> top = new HashSet<>(selectors.getAuxiliaryBooleanVariables());
+        top.add(f.variable("D"));
+        assertThat(selectors.getClauses()).contains(new IntegerClause(top, Collections.emptySet()));
+    }
+
+    @ParameterizedTest
+    @MethodSource("cspFactories")
+    public void testSelectorDecompositionModels(final CspFactory cf) {
+        final FormulaFactory f = cf.getFormulaFactory();
+        final IntegerVariable x = cf.variable("x", 0, 3);
+        final IntegerVariable y = cf.variable("y", 0, 3);
+        final Variable A = f.variable("A");
+        final Variable B = f.variable("B");
+        final Variable C = f.variable("C");
+        final Formula formula = f.or(
+                f.and(A, cf.le(x, cf.one()), cf.ge(y, cf.constant(2))),
+                f.and(B, cf.eq(cf.add(x, y), cf.constant(3))),
+                f.and(C, cf.ne(x, y), cf.ge(x, cf.constant(2))));
+        final List<Variable> boolVars = List.of(A, B, C);
+        final List<IntegerVariable> intVars = List.of(x, y);
+        final CspPredicate.Decomposition factorized = cf.decompose(formula);
+        final CspPredicate.Decomposition selectors = cf.decompose(formula, 1);
+        assertThat(selectors.getAuxiliaryBooleanVariables()).hasSize(3);
+        assertThat(selectors.getClauses().size()).isLessThan(factorized.getClauses().size());
+
+        final int[] counts = new int[2];
+        final List<CspPredicate.Decomposition> decompositions = List.of(factorized, selectors);
+        for (int i = 0; i < 2; i++) {
+            final Csp csp = Csp.fromClauses(decompositions.get(i).getClauses(), new HashSet<>(intVars),
+                    new HashSet<>(boolVars));
+            final CspEncodingContext context = CspEncodingContext.order();
+            final SatSolver solver = SatSolver.newSolver(f);
+            solver.add(cf.encodeCsp(csp, context));
+            counts[i] = CspModelEnumeration.enumerate(solver, intVars, boolVars, context, cf).size();
+        }
+        assertThat(counts[1]).isEqualTo(counts[0]);
+    }
+
+    @ParameterizedTest
+    @MethodSource("cspFactories")
+    public void testDecompositionIntoBuilder(final CspFactory cf) throws ParserException {
+        final FormulaFactory f = cf.getFormulaFactory();
+        final IntegerVariable a = cf.variable("a", 0, 3);
+        final IntegerVariable b = cf.variable("b", 3, 5);
+        final IntegerVariable c = cf.variable("c", 1, 2);
+        final Formula formula = f.and(f.parse("A | ~B"), cf.allDifferent(List.of(a, b, c)),
+                f.or(cf.eq(a, cf.constant(2)), f.and(f.variable("C"), cf.lt(cf.add(b, c), a))));
+
+        final Csp.Builder builder = new Csp.Builder();
+        cf.decompose(formula, builder);
+        final CspPredicate.Decomposition decomposition = cf.decompose(formula);
+        final Csp expected = Csp.fromClauses(decomposition.getClauses(), Collections.emptySet());
+        assertThat(builder.getClauses()).containsExactlyInAnyOrderElementsOf(expected.getClauses());
+        assertThat(builder.getInternalIntegerVariables())
+                .containsExactlyInAnyOrderElementsOf(expected.getInternalIntegerVariables());
+        assertThat(builder.getInternalBooleanVariables())
+                .containsExactlyInAnyOrderElementsOf(expected.getInternalBooleanVariables());
+        assertThat(builder.getVisibleIntegerVariables()).isEmpty();
+
+        final Csp csp = cf.buildCsp(formula);
+        assertThat(csp.getClauses()).containsExactlyInAnyOrderElementsOf(expected.getClauses());
+        assertThat(csp.getVisibleIntegerVariables()).containsExactlyInAnyOrder(a, b, c);
+        assertThat(csp.getVisibleBooleanVariables()).containsExactlyInAnyOrder(f.variable("A"), f.variable("B"),
+                f.variable("C"));
+    }
+
+    @ParameterizedTest
+    @MethodSource("cspFactories")
+    public void testDisjunctionDecidedByBounds(final CspFactory cf) {
+        final FormulaFactory f = cf.getFormulaFactory();
+        final IntegerVariable x = cf.variable("x", 0, 10);
+        final IntegerVariable y = cf.variable("y", 0, 10);
+        final IntegerVariable z = cf.variable("z", -5, 5);
+        final Formula guard = f.or(cf.eq(cf.mul(x, z), cf.constant(7)), f.variable("A"),
+                cf.le(cf.mul(x, y), cf.constant(100)));
+        final CspPredicate.Decomposition decomposition = cf.decompose(guard);
+        assertThat(decomposition.getClauses()).isEmpty();
+        assertThat(decomposition.getAuxiliaryIntegerVariables()).isEmpty();
+        assertThat(decomposition.getAuxiliaryBooleanVariables()).isEmpty();
+
+        final Formula negated =
+                f.or(cf.eq(cf.mul(x, z), cf.constant(7)), cf.gt(cf.mul(x, y), cf.constant(100)).negate(f));
+        assertThat(cf.decompose(negated).getClauses()).isEmpty();
+        assertThat(cf.decompose(negated).getAuxiliaryIntegerVariables()).isEmpty();
+    }
+
     private static LinearLiteral lt(final int c0, final IntegerVariable a0) {
         final SortedMap<IntegerVariable, Integer> coefs = new TreeMap<>();
         coefs.put(a0, c0);
@@ -0,0 +1,115 @@
+package com.booleworks.logicng.csp.functions;
+
+import com.booleworks.logicng.csp.CspFactory;
+import com.booleworks.logicng.csp.ParameterizedCspTest;
+import com.booleworks.logicng.csp.datastructures.Csp;
+import com.booleworks.logicng.csp.datastructures.CspAssignment;
+import com.booleworks.logicng.csp.datastructures.LinearExpression;
+import com.booleworks.logicng.csp.encodings.CspEncodingContext;
+import com.booleworks.logicng.csp.terms.IntegerVariable;
+import com.booleworks.logicng.datastructures.Model;
+import com.booleworks.logicng.formulas.Formula;
+import com.booleworks.logicng.formulas.FormulaFactory;
+import com.booleworks.logicng.solvers.SatSolver;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.MethodSource;
+
+import java.util.List;
+
+import static com.booleworks.logicng.csp.Common.assignmentFrom;
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class CspEliminationTest extends ParameterizedCspTest {
+    @ParameterizedTest
+    @MethodSource("algorithmsAndFactories")
+    public void testAliases(final CspFactory cf, final CspEncodingContext context) {
+        final FormulaFactory f = cf.getFormulaFactory();
+        final IntegerVariable x = cf.variable("x", 0, 5);
+        final IntegerVariable y = cf.variable("y", 0, 10);
+        final IntegerVariable z = cf.variable("z", 0, 10);
+        final Formula formula = f.and(cf.eq(y, cf.add(x, cf.constant(2))), cf.eq(z, cf.sub(y, cf.one())),
+                cf.le(cf.add(x, z), cf.constant(6)), f.variable("A"));
+        final Csp csp = cf.buildCsp(formula);
+        final Csp eliminated = CspElimination.eliminate(csp);
+
+        assertThat(eliminated.getEliminations()).containsOnlyKeys(y, z);
+        assertThat(eliminated.getEliminations().get(y)).isEqualTo(new LinearExpression(1, x, 2));
+        assertThat(eliminated.getEliminations().get(z)).isEqualTo(new LinearExpression(1, x, 1));
+        assertThat(eliminated.getInternalIntegerVariables()).containsExactly(x);
+        assertThat(eliminated.getVisibleIntegerVariables()).containsExactlyInAnyOrder(x, y, z);
+        assertThat(eliminated.getClauses().size()).isLessThan(csp.getClauses().size());
+
+        final List<CspAssignment> models = enumerate(eliminated, context, cf);
+        assertThat(models).containsExactlyInAnyOrderElementsOf(enumerate(csp, CspEncodingContext.order(), cf));
+        for (final CspAssignment model : models) {
+            assertThat(CspEvaluation.evaluate(formula, model)).isTrue();
+        }
+    }
+
+    @ParameterizedTest
+    @MethodSource("algorithmsAndFactories")
+    public void testDomainRestriction(final CspFactory cf, final CspEncodingContext context) {
+        final IntegerVariable x = cf.variable("x", List.of(0, 2, 4, 6, 8, 10, 12));
+        final IntegerVariable y = cf.variable("y", 0, 5);
+        final Csp csp = cf.buildCsp(cf.eq(x, cf.add(y, cf.constant(3))));
+        final Csp eliminated = CspElimination.eliminate(csp);
+
+        assertThat(eliminated.getEliminations()).containsOnlyKeys(x);
+        assertThat(eliminated.getInternalIntegerVariables()).containsExactly(y);
+        assertThat(enumerate(eliminated, context, cf)).containsExactlyInAnyOrder(
+                assignmentFrom(x, 4, y, 1),
+                assignmentFrom(x, 6, y, 3),
+                assignmentFrom(x, 8, y, 5)
+        );
+    }
+
+    @ParameterizedTest
+    @MethodSource("cspFactories")
+    public void testDecode(final CspFactory cf) {
+        final FormulaFactory f = cf.getFormulaFactory();
+        final IntegerVariable x = cf.variable("x", 0, 5);
+        final IntegerVariable y = cf.variable("y", -10, 10);
+        final Formula formula = f.and(cf.eq(cf.mul(2, x), cf.sub(y, cf.constant(4))), cf.ge(x, cf.constant(3)));
+        final Csp eliminated = CspElimination.eliminate(cf.buildCsp(formula));
+        assertThat(eliminated.getEliminations()).containsOnlyKeys(y);
+
+        final CspEncodingContext context = CspEncodingContext.order();
+        final SatSolver solver = SatSolver.newSolver(f);
+        solver.add(cf.encodeCsp(eliminated, context));
+        final Model model = solver.satCall().model(context.getSatVariables(eliminated.getInternalIntegerVariables()));
+        assertThat(model).isNotNull();
+        final CspAssignment assignment = cf.decode(model.toAssignment(), eliminated, context);
+        assertThat(assignment.getIntegerAssignments()).containsOnlyKeys(x, y);
+        assertThat(CspEvaluation.evaluate(formula, assignment)).isTrue();
+    }
+
+    @ParameterizedTest
+    @MethodSource("cspFactories")
+    public void testNoElimination(final CspFactory cf) {
+        final FormulaFactory f = cf.getFormulaFactory();
+        final IntegerVariable x = cf.variable("x", 0, 5);
+        final IntegerVariable y = cf.variable("y", 0, 5);
+        final IntegerVariable z = cf.variable("z", 0, 25);
+        final Csp nonUnit = cf.buildCsp(f.or(cf.eq(x, y), f.variable("A")));
+        assertThat(CspElimination.eliminate(nonUnit)).isSameAs(nonUnit);
+        final Csp scaled = cf.buildCsp(cf.eq(cf.mul(2, x), cf.mul(3, y)));
+        assertThat(CspElimination.eliminate(scaled)).isSameAs(scaled);
+        final Csp product = cf.buildCsp(f.and(cf.eq(x, y), cf.eq(z, cf.mul(x, y))));
+        assertThat(CspElimination.eliminate(product).getEliminations()).doesNotContainKeys(x, y);
+    }
+
+    @ParameterizedTest
+    @MethodSource("cspFactories")
+    public void testAfterPropagation(final CspFactory cf) {
+        final FormulaFactory f = cf.getFormulaFactory();
+        final IntegerVariable x = cf.variable("x", 0, 10);
+        final IntegerVariable y = cf.variable("y", 0, 20);
+        final Formula formula = f.and(cf.eq(y, cf.add(x, cf.constant(5))), cf.le(x, cf.constant(3)));
+        final Csp propagated = CspPropagation.propagate(cf.buildCsp(formula), cf);
+        final Csp eliminated = CspElimination.eliminate(propagated);
+        assertThat(eliminated.getEliminations()).isNotEmpty();
+        assertThat(enumerate(eliminated, CspEncodingContext.order(), cf))
+                .containsExactlyInAnyOrderElementsOf(enumerate(propagated, CspEncodingContext.order(), cf))
+                .hasSize(4);
+    }
+}
@@ -0,0 +1,62 @@
+package com.booleworks.logicng.csp.functions;
+
+import com.booleworks.logicng.csp.CspFactory;
+import com.booleworks.logicng.csp.ParameterizedCspTest;
+import com.booleworks.logicng.csp.datastructures.CspAssignment;
+import com.booleworks.logicng.csp.terms.IntegerVariable;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.MethodSource;
+
+import java.util.List;
+
+import static com.booleworks.logicng.csp.Common.assignmentFrom;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class CspEvaluationTest extends ParameterizedCspTest {
+    @ParameterizedTest
+    @MethodSource("cspFactories")
+    public void testTerms(final CspFactory cf) {
+        final IntegerVariable a = cf.variable("a", -10, 10);
+        final IntegerVariable b = cf.variable("b", -10, 10);
+        final CspAssignment assignment = assignmentFrom(a, -7, b, 3);
+        assertThat(CspEvaluation.evaluate(cf.constant(5), assignment)).isEqualTo(5);
+        assertThat(CspEvaluation.evaluate(a, assignment)).isEqualTo(-7);
+        assertThat(CspEvaluation.evaluate(cf.minus(a), assignment)).isEqualTo(7);
+        assertThat(CspEvaluation.evaluate(cf.add(a, b, cf.constant(2)), assignment)).isEqualTo(-2);
+        assertThat(CspEvaluation.evaluate(cf.sub(a, b), assignment)).isEqualTo(-10);
+        assertThat(CspEvaluation.evaluate(cf.mul(a, b), assignment)).isEqualTo(-21);
+        assertThat(CspEvaluation.evaluate(cf.mul(4, b), assignment)).isEqualTo(12);
+        assertThat(CspEvaluation.evaluate(cf.abs(a), assignment)).isEqualTo(7);
+        assertThat(CspEvaluation.evaluate(cf.div(a, 2), assignment)).isEqualTo(-4);
+        assertThat(CspEvaluation.evaluate(cf.mod(a, 2), assignment)).isEqualTo(1);
+        assertThat(CspEvaluation.evaluate(cf.min(a, b), assignment)).isEqualTo(-7);
+        assertThat(CspEvaluation.evaluate(cf.max(a, b), assignment)).isEqualTo(3);
+    }
+
+    @ParameterizedTest
+    @MethodSource("cspFactories")
+    public void testPredicates(final CspFactory cf) {
+        final IntegerVariable a = cf.variable("a", -10, 10);
+        final IntegerVariable b = cf.variable("b", -10, 10);
+        final IntegerVariable c = cf.variable("c", -10, 10);
+        final CspAssignment assignment = assignmentFrom(a, 1, b, 3, c, 1);
+        assertThat(CspEvaluation.evaluate(cf.eq(cf.add(a, cf.constant(2)), b), assignment)).isTrue();
+        assertThat(CspEvaluation.evaluate(cf.ne(a, c), assignment)).isFalse();
+        assertThat(CspEvaluation.evaluate(cf.le(a, c), assignment)).isTrue();
+        assertThat(CspEvaluation.evaluate(cf.lt(a, c), assignment)).isFalse();
+        assertThat(CspEvaluation.evaluate(cf.ge(b, a), assignment)).isTrue();
+        assertThat(CspEvaluation.evaluate(cf.gt(a, b), assignment)).isFalse();
+        assertThat(CspEvaluation.evaluate(cf.allDifferent(List.of(a, b)), assignment)).isTrue();
+        assertThat(CspEvaluation.evaluate(cf.allDifferent(List.of(a, b, c)), assignment)).isFalse();
+    }
+
+    @ParameterizedTest
+    @MethodSource("cspFactories")
+    public void testUnassignedVariable(final CspFactory cf) {
+        final IntegerVariable a = cf.variable("a", -10, 10);
+        final IntegerVariable b = cf.variable("b", -10, 10);
+        assertThatThrownBy(() -> CspEvaluation.evaluate(cf.add(a, b), assignmentFrom(a, 1)))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
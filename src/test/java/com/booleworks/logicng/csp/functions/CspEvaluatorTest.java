@@ -0,0 +1,280 @@
+package com.booleworks.logicng.csp.functions;
+
+import com.booleworks.logicng.csp.CspFactory;
+import com.booleworks.logicng.csp.ParameterizedCspTest;
+import com.booleworks.logicng.csp.datastructures.Csp;
+import com.booleworks.logicng.csp.datastructures.CspAssignment;
+import com.booleworks.logicng.csp.datastructures.IntegerClause;
+import com.booleworks.logicng.csp.datastructures.LinearExpression;
+import com.booleworks.logicng.csp.encodings.CspEncodingContext;
+import com.booleworks.logicng.csp.literals.LinearLiteral;
+import com.booleworks.logicng.csp.predicates.CspPredicate;
+import com.booleworks.logicng.csp.terms.IntegerVariable;
+import com.booleworks.logicng.csp.terms.Term;
+import com.booleworks.logicng.datastructures.Model;
+import com.booleworks.logicng.formulas.Formula;
+import com.booleworks.logicng.formulas.FormulaFactory;
+import com.booleworks.logicng.formulas.Variable;
+import com.booleworks.logicng.solvers.SatSolver;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.MethodSource;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+import static com.booleworks.logicng.csp.Common.assignmentFrom;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class CspEvaluatorTest extends ParameterizedCspTest {
+    @ParameterizedTest
+    @MethodSource("cspFactories")
+    public void testTermsAgainstRecursiveEvaluation(final CspFactory cf) {
+        final IntegerVariable a = cf.variable("a", -10, 10);
+        final IntegerVariable b = cf.variable("b", -10, 10);
+        final Term shared = cf.add(a, cf.mul(3, b));
+        final List<Term> terms = List.of(
+                cf.constant(5),
+                a,
+                cf.minus(a),
+                cf.add(a, b, cf.constant(2)),
+                cf.sub(a, b),
+                cf.mul(a, b),
+                cf.abs(cf.sub(b, a)),
+                cf.div(a, 3),
+                cf.div(a, -3),
+                cf.mod(a, 3),
+                cf.min(a, b),
+                cf.max(shared, cf.mul(2, shared))
+        );
+        for (final Term term : terms) {
+            final CspEvaluator evaluator = CspEvaluator.compile(term);
+            for (int va = -10; va <= 10; ++va) {
+                for (int vb = -10; vb <= 10; ++vb) {
+                    final CspAssignment assignment = assignmentFrom(a, va, b, vb);
+                    assertThat(evaluator.evaluateTerm(assignment))
+                            .isEqualTo(CspEvaluation.evaluate(term, assignment));
+                }
+            }
+        }
+    }
+
+    @ParameterizedTest
+    @MethodSource("cspFactories")
+    public void testPredicates(final CspFactory cf) {
+        final IntegerVariable a = cf.variable("a", 0, 5);
+        final IntegerVariable b = cf.variable("b", 0, 5);
+        final IntegerVariable c = cf.variable("c", 0, 5);
+        final List<CspPredicate> predicates = List.of(
+                cf.eq(cf.add(a, b), c),
+                cf.ne(a, b),
+                cf.lt(a, cf.constant(4)),
+                cf.ge(cf.mul(2, c), b),
+                cf.allDifferent(List.of(a, b, c))
+        );
+        final CspEvaluator evaluator = CspEvaluator.compilePredicates(predicates);
+        assertThat(evaluator.getIntegerVariables()).containsExactlyInAnyOrder(a, b, c);
+        final int[] values = new int[3];
+        for (int va = 0; va <= 5; ++va) {
+            for (int vb = 0; vb <= 5; ++vb) {
+                for (int vc = 0; vc <= 5; ++vc) {
+                    final CspAssignment assignment = assignmentFrom(a, va, b, vb, c, vc);
+                    final boolean expected = predicates.stream().allMatch(p -> CspEvaluation.evaluate(p, assignment));
+                    assertThat(evaluator.evaluate(assignment)).isEqualTo(expected);
+                    for (int i = 0; i < 3; ++i) {
+                        values[i] = assignment.getIntegerAssignments().get(evaluator.getIntegerVariables().get(i));
+                    }
+                    assertThat(evaluator.evaluate(values)).isEqualTo(expected);
+                }
+            }
+        }
+    }
+
+    @ParameterizedTest
+    @MethodSource("cspFactories")
+    public void testTables(final CspFactory cf) {
+        final IntegerVariable a = cf.variable("a", 0, 3);
+        final IntegerVariable b = cf.variable("b", -1, 2);
+        final IntegerVariable c = cf.variable("c", 0, 2);
+        final List<int[]> tuples = List.of(new int[]{0, -1, 2}, new int[]{1, 1, 0}, new int[]{3, 2, 2});
+        assertAgreesWithRecursiveEvaluation(cf.table(List.of(a, b, c), tuples, true), List.of(a, b, c));
+        assertAgreesWithRecursiveEvaluation(cf.table(List.of(a, b, c), tuples, false), List.of(a, b, c));
+        assertAgreesWithRecursiveEvaluation(cf.table(List.of(a, c), List.of(), true), List.of(a, c));
+    }
+
+    @ParameterizedTest
+    @MethodSource("cspFactories")
+    public void testScheduling(final CspFactory cf) {
+        final IntegerVariable a = cf.variable("a", 0, 4);
+        final IntegerVariable b = cf.variable("b", 0, 4);
+        final IntegerVariable c = cf.variable("c", 0, 4);
+        final List<IntegerVariable> starts = List.of(a, b, c);
+        assertAgreesWithRecursiveEvaluation(cf.cumulative(starts, List.of(2, 3, 1), List.of(2, 1, 2), 3), starts);
+        assertAgreesWithRecursiveEvaluation(cf.cumulative(starts, List.of(2, 0, 1), List.of(1, 4, 1), 1), starts);
+        assertAgreesWithRecursiveEvaluation(cf.disjunctive(starts, List.of(2, 0, 3)), starts);
+    }
+
+    @ParameterizedTest
+    @MethodSource("cspFactories")
+    public void testCounting(final CspFactory cf) {
+        final IntegerVariable a = cf.variable("a", 0, 3);
+        final IntegerVariable b = cf.variable("b", 0, 3);
+        final IntegerVariable c = cf.variable("c", 1, 4);
+        final List<IntegerVariable> variables = List.of(a, b, c);
+        assertAgreesWithRecursiveEvaluation(cf.count(variables, 2, 1, 2), variables);
+        assertAgreesWithRecursiveEvaluation(cf.count(variables, 1, 3, 2, 3), variables);
+        assertAgreesWithRecursiveEvaluation(
+                cf.globalCardinality(variables, List.of(1, 3), List.of(0, 1), List.of(1, 2)), variables);
+    }
+
+    @ParameterizedTest
+    @MethodSource("cspFactories")
+    public void testPseudoBoolean(final CspFactory cf) {
+        final FormulaFactory f = cf.getFormulaFactory();
+        final Variable p = f.variable("p");
+        final Variable q = f.variable("q");
+        final Variable r = f.variable("r");
+        final IntegerVariable a = cf.variable("a", 0, 3);
+        final IntegerVariable b = cf.variable("b", -1, 2);
+        final List<Variable> booleans = List.of(p, q, r);
+        assertAgreesWithRecursiveEvaluation(cf.pbLe(List.of(p, q.negate(f), r), List.of(2, -1, 3), a, b),
+                List.of(a, b), booleans);
+        assertAgreesWithRecursiveEvaluation(cf.pbGe(List.of(p, q, r), List.of(1, 1, 1), cf.mul(2, a), cf.one()),
+                List.of(a), booleans);
+        assertAgreesWithRecursiveEvaluation(cf.pbLe(List.of(p, r), List.of(1, 2), cf.zero(), cf.constant(2)),
+                List.of(a), booleans);
+    }
+
+    @ParameterizedTest
+    @MethodSource("algorithmsAndFactories")
+    public void testModelsOfAllPredicateTypes(final CspFactory cf, final CspEncodingContext context) {
+        final FormulaFactory f = cf.getFormulaFactory();
+        final Variable p = f.variable("p");
+        final Variable q = f.variable("q");
+        final IntegerVariable a = cf.variable("a", 0, 3);
+        final IntegerVariable b = cf.variable("b", -1, 2);
+        final IntegerVariable c = cf.variable("c", 0, 2);
+        final List<IntegerVariable> variables = List.of(a, b, c);
+        final List<CspPredicate> predicates = List.of(
+                cf.le(cf.add(a, cf.mul(2, b)), c),
+                cf.allDifferent(List.of(a, b, c)),
+                cf.element(c, List.of(a, b, cf.constant(1)), cf.constant(1)),
+                cf.table(variables, List.of(new int[]{0, -1, 2}, new int[]{1, 1, 0}, new int[]{3, 2, 2}), true),
+                cf.disjunctive(variables, List.of(2, 1, 1)),
+                cf.cumulative(variables, List.of(2, 2, 1), List.of(1, 2, 1), 2),
+                cf.count(variables, 1, 2, 1, 2),
+                cf.globalCardinality(variables, List.of(0, 2), List.of(1, 0), List.of(2, 1)),
+                cf.pbLe(List.of(p, q.negate(f)), List.of(2, -1), a, cf.add(b, c))
+        );
+        for (final CspPredicate predicate : predicates) {
+            final CspEvaluator evaluator = CspEvaluator.compile(predicate);
+            for (final Formula formula : List.of(predicate, predicate.negate(cf))) {
+                final List<CspAssignment> models = enumerate(cf.buildCsp(formula), context, cf);
+                for (final CspAssignment model : models) {
+                    for (final IntegerVariable v : variables) {
+                        if (!model.getIntegerAssignments().containsKey(v)) {
+                            model.addIntAssignment(v, v.getDomain().lb());
+                        }
+                    }
+                    final boolean expected = formula == predicate;
+                    assertThat(CspEvaluation.evaluate(predicate, model)).isEqualTo(expected);
+                    assertThat(evaluator.evaluate(model)).isEqualTo(expected);
+                }
+            }
+        }
+    }
+
+    @ParameterizedTest
+    @MethodSource("cspFactories")
+    public void testClause(final CspFactory cf) {
+        final FormulaFactory f = cf.getFormulaFactory();
+        final IntegerVariable a = cf.variable("a", 0, 5);
+        final IntegerVariable b = cf.variable("b", 0, 5);
+        final Variable x = f.variable("X");
+        final LinearLiteral le = new LinearLiteral(new LinearExpression(1, a, -2), LinearLiteral.Operator.LE);
+        final LinearLiteral eq = new LinearLiteral(new LinearExpression(2, b, -4), LinearLiteral.Operator.EQ);
+        final CspEvaluator evaluator = CspEvaluator.compile(
+                new IntegerClause.Builder().addBooleanLiteral(x.negate(f)).addArithmeticLiterals(le, eq).build());
+        assertThat(evaluator.getBooleanVariables()).containsExactly(x);
+        assertThat(evaluator.evaluate(assignmentFrom(a, 3, b, 1))).isTrue();
+        final CspAssignment withX = assignmentFrom(a, 3, b, 1);
+        withX.addPos(x);
+        assertThat(evaluator.evaluate(withX)).isFalse();
+        withX.addIntAssignment(b, 2);
+        assertThat(evaluator.evaluate(withX)).isTrue();
+        withX.addIntAssignment(b, 1);
+        withX.addIntAssignment(a, 2);
+        assertThat(evaluator.evaluate(withX)).isTrue();
+    }
+
+    @ParameterizedTest
+    @MethodSource("cspFactories")
+    public void testCspWithDecodedModels(final CspFactory cf) {
+        final FormulaFactory f = cf.getFormulaFactory();
+        final IntegerVariable a = cf.variable("a", 0, 5);
+        final IntegerVariable b = cf.variable("b", -3, 3);
+        final IntegerVariable c = cf.variable("c", 0, 20);
+        final Csp csp = cf.buildCsp(f.and(cf.eq(cf.mul(a, b), cf.sub(c, cf.constant(4))),
+                f.or(f.variable("X"), cf.eq(cf.mod(c, 3), cf.constant(1)))));
+        final CspEvaluator evaluator = CspEvaluator.compile(csp);
+        final SatSolver solver = SatSolver.newSolver(f);
+        final CspEncodingContext context = CspEncodingContext.order();
+        solver.add(cf.encodeCsp(csp, context));
+        final Set<Variable> relevant = context.getSatVariables(csp.getInternalIntegerVariables());
+        relevant.addAll(csp.getInternalBooleanVariables());
+        final List<Model> models = solver.enumerateAllModels(relevant);
+        assertThat(models).isNotEmpty();
+        for (final Model model : models) {
+            final CspAssignment assignment = cf.decode(model.toAssignment(), csp.getInternalIntegerVariables(),
+                    csp.getInternalBooleanVariables(), context);
+            assertThat(evaluator.evaluate(assignment)).isTrue();
+        }
+    }
+
+    @ParameterizedTest
+    @MethodSource("cspFactories")
+    public void testErrors(final CspFactory cf) {
+        final IntegerVariable a = cf.variable("a", 0, 5);
+        final IntegerVariable b = cf.variable("b", 0, 5);
+        final CspEvaluator evaluator = CspEvaluator.compile(cf.le(a, b));
+        assertThatThrownBy(() -> evaluator.evaluate(assignmentFrom(a, 1))).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> evaluator.evaluateTerm(new int[]{1, 2})).isInstanceOf(IllegalStateException.class);
+    }
+
+    private static void assertAgreesWithRecursiveEvaluation(final CspPredicate predicate,
+                                                            final List<IntegerVariable> variables) {
+        assertAgreesWithRecursiveEvaluation(predicate, variables, List.of());
+    }
+
+    private static void assertAgreesWithRecursiveEvaluation(final CspPredicate predicate,
+                                                            final List<IntegerVariable> variables,
+                                                            final List<Variable> booleans) {
+        final CspEvaluator evaluator = CspEvaluator.compile(predicate);
+        final List<List<Integer>> domains = new ArrayList<>();
+        for (final IntegerVariable v : variables) {
+            final List<Integer> domain = new ArrayList<>();
+            v.getDomain().iterator().forEachRemaining(domain::add);
+            domains.add(domain);
+        }
+        final int[] indices = new int[variables.size()];
+        int i = 0;
+        while (i < indices.length) {
+            for (int mask = 0; mask < 1 << booleans.size(); ++mask) {
+                final CspAssignment assignment = new CspAssignment();
+                for (int j = 0; j < indices.length; ++j) {
+                    assignment.addIntAssignment(variables.get(j), domains.get(j).get(indices[j]));
+                }
+                for (int j = 0; j < booleans.size(); ++j) {
+                    if ((mask & 1 << j) != 0) {
+                        assignment.addPos(booleans.get(j));
+                    }
+                }
+                assertThat(evaluator.evaluate(assignment)).isEqualTo(CspEvaluation.evaluate(predicate, assignment));
+            }
+            for (i = 0; i < indices.length && ++indices[i] == domains.get(i).size(); ++i) {
+                indices[i] = 0;
+            }
+        }
+    }
+}
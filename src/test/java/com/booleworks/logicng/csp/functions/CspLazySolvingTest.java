@@ -0,0 +1,87 @@
+package com.booleworks.logicng.csp.functions;
+
+import com.booleworks.logicng.csp.CspFactory;
+import com.booleworks.logicng.csp.ParameterizedCspTest;
+import com.booleworks.logicng.csp.datastructures.CspAssignment;
+import com.booleworks.logicng.csp.encodings.CspEncodingContext;
+import com.booleworks.logicng.csp.encodings.OrderEncodingContext;
+import com.booleworks.logicng.csp.predicates.CspPredicate;
+import com.booleworks.logicng.csp.terms.IntegerVariable;
+import com.booleworks.logicng.formulas.Variable;
+import com.booleworks.logicng.solvers.SatSolver;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.MethodSource;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class CspLazySolvingTest extends ParameterizedCspTest {
+    @ParameterizedTest
+    @MethodSource("algorithmsAndFactories")
+    public void testSatisfiable(final CspFactory cf, final CspEncodingContext context) {
+        final IntegerVariable x = cf.variable("x", 0, 20);
+        final IntegerVariable y = cf.variable("y", 0, 20);
+        final IntegerVariable z = cf.variable("z", 0, 20);
+        final List<CspPredicate> core = List.of(cf.eq(cf.add(x, y), cf.constant(20)));
+        final List<CspPredicate> lazy = List.of(
+                cf.le(x, cf.constant(5)),
+                cf.le(y, cf.constant(17)),
+                cf.ge(z, cf.mul(2, x)),
+                cf.ne(z, cf.constant(8)),
+                cf.allDifferent(List.of(x, y, z))
+        );
+        final SatSolver solver = SatSolver.newSolver(cf.getFormulaFactory());
+        final CspAssignment assignment = CspLazySolving.solve(solver, core, lazy, context, cf);
+        assertThat(assignment).isNotNull();
+        for (final CspPredicate predicate : core) {
+            assertThat(CspEvaluation.evaluate(predicate, assignment)).isTrue();
+        }
+        for (final CspPredicate predicate : lazy) {
+            assertThat(CspEvaluation.evaluate(predicate, assignment)).isTrue();
+        }
+    }
+
+    @ParameterizedTest
+    @MethodSource("algorithmsAndFactories")
+    public void testUnsatisfiable(final CspFactory cf, final CspEncodingContext context) {
+        final IntegerVariable x = cf.variable("x", 0, 20);
+        final IntegerVariable y = cf.variable("y", 0, 20);
+        final List<CspPredicate> core = List.of(cf.eq(cf.add(x, y), cf.constant(20)));
+        final List<CspPredicate> lazy = List.of(cf.le(x, cf.constant(5)), cf.le(y, cf.constant(10)));
+        final SatSolver solver = SatSolver.newSolver(cf.getFormulaFactory());
+        assertThat(CspLazySolving.solve(solver, core, lazy, context, cf)).isNull();
+    }
+
+    @ParameterizedTest
+    @MethodSource("algorithmsAndFactories")
+    public void testBooleanVariables(final CspFactory cf, final CspEncodingContext context) {
+        final Variable b = cf.getFormulaFactory().variable("b");
+        final IntegerVariable x = cf.variable("x", 0, 3);
+        final List<CspPredicate> core = List.of(cf.pbGe(List.of(b), List.of(1), cf.zero(), cf.one()));
+        final List<CspPredicate> lazy = List.of(cf.pbLe(List.of(b), List.of(1), x, cf.zero()));
+        assertThat(CspLazySolving.solve(SatSolver.newSolver(cf.getFormulaFactory()), core, lazy, context, cf))
+                .isNull();
+
+        final List<CspPredicate> satLazy = List.of(cf.pbLe(List.of(b), List.of(1), x, cf.constant(2)));
+        final CspAssignment assignment =
+                CspLazySolving.solve(SatSolver.newSolver(cf.getFormulaFactory()), core, satLazy, context, cf);
+        assertThat(assignment).isNotNull();
+        assertThat(assignment.positiveBooleans()).contains(b);
+        assertThat(assignment.getIntegerAssignments().get(x)).isLessThanOrEqualTo(1);
+        assertThat(CspEvaluation.evaluate(satLazy.get(0), assignment)).isTrue();
+    }
+
+    @ParameterizedTest
+    @MethodSource("cspFactories")
+    public void testNonBindingPredicatesAreNotEncoded(final CspFactory cf) {
+        final IntegerVariable x = cf.variable("x", 0, 10);
+        final List<CspPredicate> core = List.of(cf.le(x, cf.constant(3)));
+        final List<CspPredicate> lazy = List.of(cf.le(x, cf.constant(7)));
+        final OrderEncodingContext context = CspEncodingContext.sparseOrder();
+        final SatSolver solver = SatSolver.newSolver(cf.getFormulaFactory());
+        final CspAssignment assignment = CspLazySolving.solve(solver, core, lazy, context, cf);
+        assertThat(assignment.getIntegerAssignments().get(x)).isEqualTo(3);
+        assertThat(context.getVariableMap().get(x).keySet()).containsExactly(3);
+    }
+}
@@ -0,0 +1,155 @@
+package com.booleworks.logicng.csp.functions;
+
+import com.booleworks.logicng.csp.CspFactory;
+import com.booleworks.logicng.csp.ParameterizedCspTest;
+import com.booleworks.logicng.csp.datastructures.Csp;
+import com.booleworks.logicng.csp.datastructures.CspAssignment;
+import com.booleworks.logicng.csp.datastructures.IntegerClause;
+import com.booleworks.logicng.csp.datastructures.LinearExpression;
+import com.booleworks.logicng.csp.encodings.CspEncodingContext;
+import com.booleworks.logicng.csp.literals.LinearLiteral;
+import com.booleworks.logicng.csp.terms.IntegerVariable;
+import com.booleworks.logicng.formulas.Formula;
+import com.booleworks.logicng.formulas.FormulaFactory;
+import com.booleworks.logicng.formulas.Variable;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.MethodSource;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class CspPresolverTest extends ParameterizedCspTest {
+    private static final CspPresolver PRESOLVER = new CspPresolver.Builder().build();
+
+    @ParameterizedTest
+    @MethodSource("algorithmsAndFactories")
+    public void testFixedVariables(final CspFactory cf, final CspEncodingContext context) {
+        final FormulaFactory f = cf.getFormulaFactory();
+        final IntegerVariable x = cf.variable("x", 3, 3);
+        final IntegerVariable y = cf.variable("y", 0, 5);
+        final IntegerVariable z = cf.variable("z", 0, 5);
+        final Formula formula = f.and(cf.le(cf.add(x, y), cf.constant(6)), cf.eq(z, cf.constant(2)),
+                f.or(cf.ge(cf.add(y, z), cf.constant(4)), f.variable("A")));
+        final Csp csp = cf.buildCsp(formula);
+        final Csp presolved = PRESOLVER.presolve(csp);
+
+        assertThat(presolved.getEliminations()).containsOnlyKeys(x, z);
+        assertThat(presolved.getEliminations().get(x)).isEqualTo(new LinearExpression(3));
+        assertThat(presolved.getEliminations().get(z)).isEqualTo(new LinearExpression(2));
+        assertThat(presolved.getInternalIntegerVariables()).containsExactly(y);
+        final List<CspAssignment> models = enumerate(presolved, context, cf);
+        assertThat(models).containsExactlyInAnyOrderElementsOf(enumerate(csp, CspEncodingContext.order(), cf));
+        for (final CspAssignment model : models) {
+            assertThat(CspEvaluation.evaluate(formula, model)).isTrue();
+        }
+    }
+
+    @ParameterizedTest
+    @MethodSource("algorithmsAndFactories")
+    public void testUnitPropagation(final CspFactory cf, final CspEncodingContext context) {
+        final FormulaFactory f = cf.getFormulaFactory();
+        final Variable a = f.variable("A");
+        final IntegerVariable x = cf.variable("x", 0, 10);
+        final IntegerVariable y = cf.variable("y", 0, 10);
+        final Formula formula = f.and(cf.le(x, cf.constant(4)), cf.ge(x, cf.one()), cf.ne(x, cf.constant(2)),
+                f.or(cf.ge(x, cf.constant(5)), a), f.or(cf.le(x, cf.constant(6)), cf.eq(y, cf.constant(7))),
+                cf.le(x, y));
+        final Csp csp = cf.buildCsp(formula);
+        final Csp presolved = PRESOLVER.presolve(csp);
+
+        assertThat(presolved.getClauses()).contains(new IntegerClause(a));
+        assertThat(presolved.getClauses()).contains(
+                new IntegerClause(new LinearLiteral(new LinearExpression(-1, x, 1), LinearLiteral.Operator.LE)),
+                new IntegerClause(new LinearLiteral(new LinearExpression(1, x, -4), LinearLiteral.Operator.LE)),
+                new IntegerClause(new LinearLiteral(new LinearExpression(1, x, -2), LinearLiteral.Operator.NE)));
+        assertThat(presolved.getClauses().size()).isLessThan(csp.getClauses().size());
+        assertThat(enumerate(presolved, context, cf))
+                .containsExactlyInAnyOrderElementsOf(enumerate(csp, CspEncodingContext.order(), cf));
+    }
+
+    @ParameterizedTest
+    @MethodSource("algorithmsAndFactories")
+    public void testNormalization(final CspFactory cf, final CspEncodingContext context) {
+        final IntegerVariable x = cf.variable("x", 0, 5);
+        final IntegerVariable y = cf.variable("y", 0, 5);
+        final Csp csp = cf.buildCsp(cf.le(cf.add(cf.mul(2, x), cf.mul(4, y)), cf.constant(7)));
+        final Csp presolved = PRESOLVER.presolve(csp);
+
+        final LinearExpression sum =
+                LinearExpression.add(new LinearExpression(1, x, -3), new LinearExpression(2, y, 0));
+        assertThat(presolved.getClauses()).containsExactly(
+                new IntegerClause(new LinearLiteral(sum, LinearLiteral.Operator.LE)));
+        assertThat(enumerate(presolved, context, cf))
+                .containsExactlyInAnyOrderElementsOf(enumerate(csp, CspEncodingContext.order(), cf));
+
+        final Csp unsat = cf.buildCsp(cf.eq(cf.mul(2, x), cf.add(cf.mul(2, y), cf.one())));
+        assertThat(PRESOLVER.presolve(unsat).getClauses()).containsExactly(new IntegerClause());
+        final Csp disabled = new CspPresolver.Builder().normalize(false).build().presolve(csp);
+        assertThat(disabled).isSameAs(csp);
+    }
+
+    @ParameterizedTest
+    @MethodSource("algorithmsAndFactories")
+    public void testNormalizedCoefficients(final CspFactory cf, final CspEncodingContext context) {
+        final IntegerVariable x = cf.variable("x", 0, 5);
+        final IntegerVariable y = cf.variable("y", 0, 5);
+        final Csp rounded = cf.buildCsp(cf.le(cf.mul(3, x), cf.sub(cf.mul(6, y), cf.constant(4))));
+        final Csp presolvedRounded = PRESOLVER.presolve(rounded);
+        assertThat(presolvedRounded.getClauses()).containsExactly(new IntegerClause(new LinearLiteral(
+                new LinearExpression.Builder(1, x, 2).setA(-2, y).build(), LinearLiteral.Operator.LE)));
+        assertThat(enumerate(presolvedRounded, context, cf))
+                .containsExactlyInAnyOrderElementsOf(enumerate(rounded, CspEncodingContext.order(), cf));
+
+        final Csp divisible = cf.buildCsp(cf.le(cf.mul(3, x), cf.add(cf.mul(6, y), cf.constant(3))));
+        final Csp presolvedDivisible = PRESOLVER.presolve(divisible);
+        assertThat(presolvedDivisible.getClauses()).containsExactly(new IntegerClause(new LinearLiteral(
+                new LinearExpression.Builder(1, x, -1).setA(-2, y).build(), LinearLiteral.Operator.LE)));
+        assertThat(enumerate(presolvedDivisible, context, cf))
+                .containsExactlyInAnyOrderElementsOf(enumerate(divisible, CspEncodingContext.order(), cf));
+    }
+
+    @ParameterizedTest
+    @MethodSource("cspFactories")
+    public void testSubsumption(final CspFactory cf) {
+        final FormulaFactory f = cf.getFormulaFactory();
+        final Variable a = f.variable("A");
+        final Variable b = f.variable("B");
+        final Variable c = f.variable("C");
+        final Csp csp = cf.buildCsp(f.and(f.or(a, b), f.or(a, b, c), f.or(c, b.negate(f), a), f.or(b, c)));
+        final Csp presolved = PRESOLVER.presolve(csp);
+
+        assertThat(presolved.getClauses()).containsExactlyInAnyOrder(
+                new IntegerClause(a, b), new IntegerClause(c, b.negate(f), a), new IntegerClause(b, c));
+        assertThat(new CspPresolver.Builder().removeSubsumed(false).build().presolve(csp)).isSameAs(csp);
+    }
+
+    @ParameterizedTest
+    @MethodSource("cspFactories")
+    public void testUnchanged(final CspFactory cf) {
+        final FormulaFactory f = cf.getFormulaFactory();
+        final IntegerVariable x = cf.variable("x", 0, 5);
+        final IntegerVariable y = cf.variable("y", 0, 5);
+        final Csp csp = cf.buildCsp(f.or(cf.le(x, y), f.variable("A")));
+        assertThat(PRESOLVER.presolve(csp)).isSameAs(csp);
+    }
+
+    @ParameterizedTest
+    @MethodSource("cspFactories")
+    public void testAfterPropagationAndElimination(final CspFactory cf) {
+        final FormulaFactory f = cf.getFormulaFactory();
+        final IntegerVariable x = cf.variable("x", 0, 10);
+        final IntegerVariable y = cf.variable("y", 0, 20);
+        final IntegerVariable z = cf.variable("z", 0, 20);
+        final Formula formula = f.and(cf.eq(y, cf.add(x, cf.constant(5))), cf.le(x, cf.constant(3)),
+                cf.ge(x, cf.constant(3)), f.or(cf.le(cf.add(y, z), cf.constant(10)), f.variable("A")));
+        final Csp csp = cf.buildCsp(formula);
+        final Csp propagated = CspElimination.eliminate(CspPropagation.propagate(csp, cf));
+        final Csp presolved = PRESOLVER.presolve(propagated);
+        final List<CspAssignment> models = enumerate(presolved, CspEncodingContext.order(), cf);
+        assertThat(models).containsExactlyInAnyOrderElementsOf(enumerate(csp, CspEncodingContext.order(), cf));
+        for (final CspAssignment model : models) {
+            assertThat(model.getIntegerAssignments()).containsEntry(x, 3).containsEntry(y, 8);
+        }
+    }
+}
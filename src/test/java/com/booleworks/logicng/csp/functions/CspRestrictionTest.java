@@ -0,0 +1,147 @@
+package com.booleworks.logicng.csp.functions;
+
+import com.booleworks.logicng.csp.CspFactory;
+import com.booleworks.logicng.csp.ParameterizedCspTest;
+import com.booleworks.logicng.csp.datastructures.Csp;
+import com.booleworks.logicng.csp.datastructures.CspAssignment;
+import com.booleworks.logicng.csp.datastructures.IntegerClause;
+import com.booleworks.logicng.csp.encodings.CspEncodingContext;
+import com.booleworks.logicng.csp.terms.IntegerVariable;
+import com.booleworks.logicng.formulas.Formula;
+import com.booleworks.logicng.formulas.FormulaFactory;
+import com.booleworks.logicng.formulas.Variable;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.MethodSource;
+
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class CspRestrictionTest extends ParameterizedCspTest {
+    @ParameterizedTest
+    @MethodSource("algorithmsAndFactories")
+    public void testRestrict(final CspFactory cf, final CspEncodingContext context) {
+        final FormulaFactory f = cf.getFormulaFactory();
+        final Variable a = f.variable("A");
+        final Variable b = f.variable("B");
+        final IntegerVariable x = cf.variable("x", 0, 5);
+        final IntegerVariable y = cf.variable("y", 0, 5);
+        final IntegerVariable z = cf.variable("z", 0, 5);
+        final Formula formula = f.and(f.or(a, cf.le(cf.add(x, y), cf.constant(4))),
+                f.or(b.negate(f), cf.eq(z, cf.add(x, cf.one()))), cf.le(y, z));
+        final Csp csp = cf.buildCsp(formula);
+        final CspAssignment partial = new CspAssignment();
+        partial.addIntAssignment(x, 2);
+        partial.addNeg(a.negate(f));
+        final Csp restricted = CspRestriction.restrict(csp, partial);
+
+        assertThat(restricted.getInternalIntegerVariables()).doesNotContain(x);
+        assertThat(restricted.getClausesOf(x)).isEmpty();
+        assertThat(restricted.getClauses()).contains(new IntegerClause(a.negate(f)));
+        final Csp expected = cf.buildCsp(f.and(formula, cf.eq(x, cf.constant(2)), a.negate(f)));
+        final List<CspAssignment> models = enumerate(restricted, context, cf);
+        assertThat(models).containsExactlyInAnyOrderElementsOf(enumerate(expected, CspEncodingContext.order(), cf));
+        for (final CspAssignment model : models) {
+            assertThat(model.getIntegerAssignments()).containsEntry(x, 2);
+            assertThat(CspEvaluation.evaluate(formula, model)).isTrue();
+        }
+    }
+
+    @ParameterizedTest
+    @MethodSource("cspFactories")
+    public void testSatisfiedClauses(final CspFactory cf) {
+        final FormulaFactory f = cf.getFormulaFactory();
+        final Variable a = f.variable("A");
+        final IntegerVariable x = cf.variable("x", 0, 5);
+        final IntegerVariable y = cf.variable("y", 0, 5);
+        final Csp csp = cf.buildCsp(f.and(f.or(a, cf.le(x, y)), f.or(a.negate(f), cf.ne(x, y))));
+
+        final CspAssignment positive = new CspAssignment();
+        positive.addPos(a);
+        final Csp restricted = CspRestriction.restrict(csp, positive);
+        assertThat(restricted.getClausesOf(a)).containsExactly(new IntegerClause(a));
+        assertThat(restricted.getClauses()).allMatch(c -> c.getBoolLiterals().isEmpty() || c.size() == 1);
+
+        final CspAssignment fixedX = new CspAssignment();
+        fixedX.addIntAssignment(x, 0);
+        final Csp restrictedX = CspRestriction.restrict(csp, fixedX);
+        assertThat(restrictedX.getEliminations()).containsOnlyKeys(x);
+        assertThat(restrictedX.getInternalIntegerVariables()).containsExactly(y);
+        assertThat(CspRestriction.restrict(csp, new CspAssignment())).isSameAs(csp);
+    }
+
+    @ParameterizedTest
+    @MethodSource("cspFactories")
+    public void testSharedClauses(final CspFactory cf) {
+        final FormulaFactory f = cf.getFormulaFactory();
+        final Variable a = f.variable("A");
+        final Variable b = f.variable("B");
+        final IntegerVariable x = cf.variable("x", 0, 5);
+        final IntegerVariable y = cf.variable("y", 0, 5);
+        final IntegerVariable z = cf.variable("z", 0, 5);
+        final Formula formula = f.and(f.or(a, cf.le(cf.add(x, y), cf.constant(4))),
+                f.or(b.negate(f), cf.eq(z, cf.add(x, cf.one()))), cf.le(y, z), f.or(a, b));
+        final Csp csp = cf.buildCsp(formula);
+        final Set<IntegerClause> clauses = new LinkedHashSet<>(csp.getClauses());
+        final Set<IntegerVariable> variables = new LinkedHashSet<>(csp.getInternalIntegerVariables());
+
+        final CspAssignment first = new CspAssignment();
+        first.addNeg(a.negate(f));
+        final Csp restricted = CspRestriction.restrict(csp, first);
+        final CspAssignment second = new CspAssignment();
+        second.addIntAssignment(x, 1);
+        final Csp twice = CspRestriction.restrict(restricted, second);
+
+        assertThat(csp.getClauses()).containsExactlyElementsOf(clauses);
+        assertThat(csp.getInternalIntegerVariables()).containsExactlyElementsOf(variables);
+        assertThat(restricted.getInternalIntegerVariables()).contains(x);
+        assertThat(twice.getInternalIntegerVariables()).doesNotContain(x);
+        final Csp copy = new Csp.Builder(twice).build();
+        assertThat(copy.getClauses()).containsExactlyInAnyOrderElementsOf(twice.getClauses());
+        for (final IntegerVariable v : List.of(x, y, z)) {
+            assertThat(twice.getClausesOf(v)).containsExactlyInAnyOrderElementsOf(copy.getClausesOf(v));
+        }
+        for (final Variable v : List.of(a, b)) {
+            assertThat(twice.getClausesOf(v)).containsExactlyInAnyOrderElementsOf(copy.getClausesOf(v));
+        }
+        final Csp expected = cf.buildCsp(f.and(formula, a.negate(f), cf.eq(x, cf.one())));
+        assertThat(enumerate(twice, CspEncodingContext.order(), cf))
+                .containsExactlyInAnyOrderElementsOf(enumerate(expected, CspEncodingContext.order(), cf));
+    }
+
+    @ParameterizedTest
+    @MethodSource("cspFactories")
+    public void testContradiction(final CspFactory cf) {
+        final IntegerVariable x = cf.variable("x", 0, 5);
+        final IntegerVariable y = cf.variable("y", 0, 5);
+        final Csp csp = cf.buildCsp(cf.le(cf.add(x, y), cf.constant(4)));
+
+        final CspAssignment outside = new CspAssignment();
+        outside.addIntAssignment(x, 7);
+        assertThat(CspRestriction.restrict(csp, outside).getClauses()).contains(new IntegerClause());
+        final CspAssignment violating = new CspAssignment();
+        violating.addIntAssignment(x, 5);
+        assertThat(CspRestriction.restrict(csp, violating).getClauses()).contains(new IntegerClause());
+    }
+
+    @ParameterizedTest
+    @MethodSource("cspFactories")
+    public void testAfterPropagationAndElimination(final CspFactory cf) {
+        final FormulaFactory f = cf.getFormulaFactory();
+        final IntegerVariable x = cf.variable("x", 0, 5);
+        final IntegerVariable y = cf.variable("y", 0, 10);
+        final IntegerVariable z = cf.variable("z", 0, 10);
+        final Formula formula = f.and(cf.eq(y, cf.add(x, cf.constant(2))), cf.le(x, cf.constant(4)),
+                f.or(cf.lt(z, y), f.variable("A")), cf.eq(z, cf.mul(x, cf.variable("w", 0, 2))));
+        final Csp csp = CspElimination.eliminate(CspPropagation.propagate(cf.buildCsp(formula), cf));
+        for (final IntegerVariable v : List.of(x, y, z)) {
+            final CspAssignment partial = new CspAssignment();
+            partial.addIntAssignment(v, 3);
+            final Csp expected = cf.buildCsp(f.and(formula, cf.eq(v, cf.constant(3))));
+            assertThat(enumerate(CspRestriction.restrict(csp, partial), CspEncodingContext.order(), cf))
+                    .containsExactlyInAnyOrderElementsOf(enumerate(expected, CspEncodingContext.order(), cf));
+        }
+    }
+}
@@ -0,0 +1,99 @@
+package com.booleworks.logicng.csp.functions;
+
+import com.booleworks.logicng.csp.CspFactory;
+import com.booleworks.logicng.csp.ParameterizedCspTest;
+import com.booleworks.logicng.csp.datastructures.Csp;
+import com.booleworks.logicng.csp.datastructures.CspAssignment;
+import com.booleworks.logicng.csp.encodings.CspEncodingContext;
+import com.booleworks.logicng.csp.terms.IntegerVariable;
+import com.booleworks.logicng.csp.terms.Term;
+import com.booleworks.logicng.formulas.Formula;
+import com.booleworks.logicng.formulas.FormulaFactory;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.MethodSource;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static com.booleworks.logicng.csp.Common.assignmentFrom;
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class CspSymmetriesTest extends ParameterizedCspTest {
+    @ParameterizedTest
+    @MethodSource("cspFactories")
+    public void testDetect(final CspFactory cf) {
+        final FormulaFactory f = cf.getFormulaFactory();
+        final IntegerVariable a = cf.variable("a", 0, 3);
+        final IntegerVariable b = cf.variable("b", 0, 3);
+        final IntegerVariable c = cf.variable("c", 0, 3);
+        final IntegerVariable d = cf.variable("d", 0, 3);
+        final Csp csp = cf.buildCsp(f.and(cf.allDifferent(List.<Term>of(a, b, c)),
+                cf.le(cf.add(a, b, c), cf.constant(6)), cf.lt(d, a)));
+        assertThat(CspSymmetries.detect(csp)).containsExactly(List.of(b, c));
+
+        final Csp unordered = cf.buildCsp(f.and(cf.ne(a, b), cf.ne(b, c), cf.ne(c, a)));
+        assertThat(CspSymmetries.detect(unordered)).containsExactly(List.of(a, b, c));
+    }
+
+    @ParameterizedTest
+    @MethodSource("algorithmsAndFactories")
+    public void testBreakSymmetries(final CspFactory cf, final CspEncodingContext context) {
+        final IntegerVariable x = cf.variable("x", 0, 2);
+        final IntegerVariable y = cf.variable("y", 0, 2);
+        final IntegerVariable z = cf.variable("z", 0, 2);
+        final Csp csp = cf.buildCsp(cf.allDifferent(List.<Term>of(x, y, z)));
+        assertThat(enumerate(csp, CspEncodingContext.order(), cf)).hasSize(6);
+        final Csp broken = CspSymmetries.breakSymmetries(csp);
+        assertThat(enumerate(broken, context, cf)).containsExactly(assignmentFrom(x, 0, y, 1, z, 2));
+
+        final IntegerVariable w = cf.variable("w", 0, 2);
+        final Csp pigeonhole = cf.buildCsp(cf.allDifferent(List.<Term>of(x, y, z, w)));
+        assertThat(CspSymmetries.detect(pigeonhole)).containsExactly(List.of(x, y, z, w));
+        assertThat(enumerate(CspSymmetries.breakSymmetries(pigeonhole), context, cf)).isEmpty();
+    }
+
+    @ParameterizedTest
+    @MethodSource("algorithmsAndFactories")
+    public void testValueDecomposedAllDifferent(final CspFactory cf, final CspEncodingContext context) {
+        final FormulaFactory f = cf.getFormulaFactory();
+        final List<IntegerVariable> shifts = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            shifts.add(cf.variable("s" + i, 0, 9));
+        }
+        final Formula roster = f.and(cf.allDifferent(new ArrayList<>(shifts)), cf.le(shifts.get(0), cf.constant(3)));
+        assertThat(CspSymmetries.detect(cf.buildCsp(roster))).isEmpty();
+        assertThat(CspSymmetries.detect(roster, cf)).containsExactly(shifts.subList(1, 10));
+
+        final List<CspAssignment> models = enumerate(CspSymmetries.breakSymmetries(roster, cf), context, cf);
+        assertThat(models).hasSize(4);
+        for (final CspAssignment model : models) {
+            assertThat(model.getIntegerAssignments().get(shifts.get(0))).isLessThanOrEqualTo(3);
+            for (int i = 1; i < 9; i++) {
+                assertThat(model.getIntegerAssignments().get(shifts.get(i)))
+                        .isLessThan(model.getIntegerAssignments().get(shifts.get(i + 1)));
+            }
+        }
+
+        final IntegerVariable extra = cf.variable("e", 0, 9);
+        final Formula overlapping = f.and(roster, cf.allDifferent(List.<Term>of(shifts.get(1), shifts.get(2), extra)));
+        assertThat(CspSymmetries.detect(overlapping, cf))
+                .containsExactly(List.of(shifts.get(1), shifts.get(2)), shifts.subList(3, 10));
+    }
+
+    @ParameterizedTest
+    @MethodSource("cspFactories")
+    public void testNoSymmetries(final CspFactory cf) {
+        final FormulaFactory f = cf.getFormulaFactory();
+        final IntegerVariable x = cf.variable("x", 0, 3);
+        final IntegerVariable y = cf.variable("y", 0, 3);
+        final IntegerVariable z = cf.variable("z", 0, 4);
+        final Csp ordered = cf.buildCsp(cf.le(x, y));
+        assertThat(CspSymmetries.detect(ordered)).isEmpty();
+        assertThat(CspSymmetries.breakSymmetries(ordered)).isSameAs(ordered);
+
+        final Csp domains = cf.buildCsp(f.and(cf.ne(x, z), cf.le(cf.add(x, z), cf.constant(5))));
+        assertThat(CspSymmetries.detect(domains)).isEmpty();
+        final Csp booleans = cf.buildCsp(f.and(f.or(f.variable("A"), cf.eq(x, cf.one())), cf.eq(y, cf.one())));
+        assertThat(CspSymmetries.detect(booleans)).isEmpty();
+    }
+}
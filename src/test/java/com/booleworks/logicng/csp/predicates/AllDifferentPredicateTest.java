@@ -3,17 +3,26 @@ package com.booleworks.logicng.csp.predicates;
 import com.booleworks.logicng.csp.Common;
 import com.booleworks.logicng.csp.CspFactory;
 import com.booleworks.logicng.csp.ParameterizedCspTest;
+import com.booleworks.logicng.csp.datastructures.Csp;
+import com.booleworks.logicng.csp.datastructures.CspAssignment;
 import com.booleworks.logicng.csp.datastructures.IntegerClause;
 import com.booleworks.logicng.csp.datastructures.LinearExpression;
+import com.booleworks.logicng.csp.encodings.CspEncodingContext;
+import com.booleworks.logicng.csp.functions.CspEvaluation;
+import com.booleworks.logicng.csp.functions.CspModelEnumeration;
+import com.booleworks.logicng.csp.literals.ArithmeticLiteral;
 import com.booleworks.logicng.csp.literals.LinearLiteral;
 import com.booleworks.logicng.csp.terms.IntegerVariable;
 import com.booleworks.logicng.csp.terms.Term;
 import com.booleworks.logicng.formulas.FType;
 import com.booleworks.logicng.formulas.Formula;
+import com.booleworks.logicng.formulas.FormulaFactory;
 import com.booleworks.logicng.formulas.Or;
+import com.booleworks.logicng.solvers.SatSolver;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.MethodSource;
 
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
 import java.util.SortedMap;
@@ -160,4 +169,56 @@ public class AllDifferentPredicateTest extends ParameterizedCspTest {
         assertThat(pred3.getAuxiliaryBooleanVariables()).isEmpty();
         assertThat(pred3.getAuxiliaryIntegerVariables()).isEmpty();
     }
+
+    @ParameterizedTest
+    @MethodSource("cspFactories")
+    public void testValueDecomposition(final CspFactory cf) {
+        final List<Term> vars = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            vars.add(cf.variable("x" + i, 0, 9));
+        }
+        final CspPredicate.Decomposition decomp = cf.allDifferent(vars).decompose(cf);
+        for (final IntegerClause clause : decomp.getClauses()) {
+            for (final ArithmeticLiteral lit : clause.getArithmeticLiterals()) {
+                assertThat(lit.getVariables()).hasSize(1);
+                assertThat(((LinearLiteral) lit).getOperator()).isEqualTo(LinearLiteral.Operator.LE);
+            }
+        }
+        assertThat(decomp.getClauses().size()).isLessThan(10 * 10 * 4 + 2);
+        assertThat(decomp.getAuxiliaryIntegerVariables()).isEmpty();
+    }
+
+    @ParameterizedTest
+    @MethodSource("algorithmsAndFactories")
+    public void testValueDecompositionModels(final CspFactory cf, final CspEncodingContext context) {
+        final FormulaFactory f = cf.getFormulaFactory();
+        final List<IntegerVariable> xs = new ArrayList<>();
+        for (int i = 0; i < 9; i++) {
+            xs.add(cf.variable("x" + i, 0, 9));
+        }
+        final List<Term> operands = new ArrayList<>(xs);
+        operands.add(cf.add(xs.get(0), cf.constant(9)));
+        final List<Formula> fixed = new ArrayList<>();
+        fixed.add(cf.allDifferent(operands));
+        for (int i = 0; i < 6; i++) {
+            fixed.add(cf.eq(xs.get(i), cf.constant(i)));
+        }
+        final Csp csp = cf.buildCsp(f.and(fixed));
+        final SatSolver solver = SatSolver.newSolver(f);
+        solver.add(cf.encodeCsp(csp, context));
+        final List<CspAssignment> models = CspModelEnumeration.enumerate(solver, csp, context, cf);
+        assertThat(models).hasSize(6);
+        for (final CspAssignment model : models) {
+            assertThat(CspEvaluation.evaluate(cf.allDifferent(operands), model)).isTrue();
+        }
+
+        final List<Term> pigeons = new ArrayList<>();
+        for (int i = 0; i < 9; i++) {
+            pigeons.add(cf.variable("p" + i, 0, 7));
+        }
+        final Csp pigeonhole = cf.buildCsp(cf.allDifferent(pigeons));
+        final SatSolver unsatSolver = SatSolver.newSolver(f);
+        unsatSolver.add(cf.encodeCsp(pigeonhole, context));
+        assertThat(CspModelEnumeration.enumerate(unsatSolver, pigeonhole, context, cf)).isEmpty();
+    }
 }
@@ -4,12 +4,15 @@ import com.booleworks.logicng.csp.CspFactory;
 import com.booleworks.logicng.csp.ParameterizedCspTest;
 import com.booleworks.logicng.csp.datastructures.IntegerClause;
 import com.booleworks.logicng.csp.datastructures.LinearExpression;
+import com.booleworks.logicng.csp.datastructures.domains.IntegerDomain;
 import com.booleworks.logicng.csp.literals.LinearLiteral;
 import com.booleworks.logicng.csp.terms.IntegerVariable;
 import com.booleworks.logicng.csp.terms.Term;
+import com.booleworks.logicng.datastructures.Tristate;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.MethodSource;
 
+import java.util.List;
 import java.util.SortedMap;
 import java.util.TreeMap;
 
@@ -179,4 +182,58 @@ public class ComparisonPredicateTest extends ParameterizedCspTest {
         assertThat(pred6.getAuxiliaryBooleanVariables()).isEmpty();
         assertThat(pred6.getAuxiliaryIntegerVariables()).isEmpty();
     }
+
+    @ParameterizedTest
+    @MethodSource("cspFactories")
+    public void testBoundsFolding(final CspFactory cf) {
+        final IntegerVariable x = cf.variable("x", 0, 10);
+        final IntegerVariable y = cf.variable("y", List.of(0, 5, 10));
+        assertThat(x.getBounds()).isEqualTo(IntegerDomain.of(0, 10));
+        assertThat(y.getBounds()).isEqualTo(IntegerDomain.of(0, 10));
+        assertThat(cf.mul(x, cf.minus(y)).getBounds()).isEqualTo(IntegerDomain.of(-100, 0));
+        assertThat(cf.div(cf.sub(x, cf.constant(4)), -3).getBounds()).isEqualTo(IntegerDomain.of(-2, 1));
+        assertThat(cf.mod(cf.add(x, y), 7).getBounds()).isEqualTo(IntegerDomain.of(0, 6));
+        assertThat(cf.max(cf.abs(cf.sub(x, y)), cf.min(x, cf.constant(3))).getBounds())
+                .isEqualTo(IntegerDomain.of(0, 10));
+
+        assertThat(cf.le(x, cf.constant(100)).evaluateBounds()).isEqualTo(Tristate.TRUE);
+        assertThat(cf.gt(cf.mul(x, y), cf.constant(100)).evaluateBounds()).isEqualTo(Tristate.FALSE);
+        assertThat(cf.ne(cf.add(x, y), cf.constant(25)).evaluateBounds()).isEqualTo(Tristate.TRUE);
+        assertThat(cf.eq(cf.mod(x, 3), cf.constant(3)).evaluateBounds()).isEqualTo(Tristate.FALSE);
+        assertThat(cf.lt(cf.max(x, y), cf.constant(10)).evaluateBounds()).isEqualTo(Tristate.UNDEF);
+        assertThat(cf.le(cf.add(x, y), cf.add(x, cf.constant(10))).evaluateBounds()).isEqualTo(Tristate.UNDEF);
+
+        final CspPredicate.Decomposition valid = cf.ge(cf.constant(100), cf.mul(x, y)).decompose(cf);
+        assertThat(valid.getClauses()).isEmpty();
+        assertThat(valid.getAuxiliaryIntegerVariables()).isEmpty();
+        final CspPredicate.Decomposition unsat = cf.gt(cf.mul(x, y), cf.constant(100)).decompose(cf);
+        assertThat(unsat.getClauses()).containsExactly(new IntegerClause());
+        assertThat(unsat.getAuxiliaryIntegerVariables()).isEmpty();
+    }
+
+    @ParameterizedTest
+    @MethodSource("cspFactories")
+    public void testBoundsOverflow(final CspFactory cf) {
+        final IntegerVariable x = cf.variable("x", 0, 1 << 30);
+        final IntegerVariable y = cf.variable("y", -(1 << 30), 1 << 30);
+        final IntegerVariable z = cf.variable("z", 0, 1 << 29);
+        final IntegerVariable w = cf.variable("w", 0, 1 << 29);
+        assertThat(Term.isBounded(cf.mul(x, y).getBounds())).isFalse();
+        assertThat(Term.isBounded(cf.add(x, x, z).getBounds())).isFalse();
+        assertThat(Term.isBounded(cf.sub(z, x).getBounds())).isTrue();
+        assertThat(Term.isBounded(cf.sub(x, cf.sub(y, x)).getBounds())).isFalse();
+        assertThat(Term.isBounded(cf.minus(cf.mul(2, cf.add(x, y))).getBounds())).isFalse();
+        assertThat(Term.isBounded(cf.div(cf.mul(x, y), 2).getBounds())).isFalse();
+        assertThat(cf.abs(cf.sub(cf.constant(Integer.MIN_VALUE + 1), z)).getBounds().ub()).isEqualTo(Integer.MAX_VALUE);
+
+        // wrapped bounds would decide these comparisons
+        assertThat(cf.le(cf.mul(x, x), cf.zero()).evaluateBounds()).isEqualTo(Tristate.UNDEF);
+        assertThat(cf.gt(cf.add(x, x), cf.zero()).evaluateBounds()).isEqualTo(Tristate.UNDEF);
+        assertThat(cf.lt(cf.sub(cf.constant(Integer.MIN_VALUE + 1), x), cf.zero()).evaluateBounds())
+                .isEqualTo(Tristate.UNDEF);
+        assertThat(cf.ge(cf.minus(cf.mul(x, y)), cf.one()).evaluateBounds()).isEqualTo(Tristate.UNDEF);
+
+        assertThat(cf.le(cf.add(z, w), cf.constant(1 << 30)).evaluateBounds()).isEqualTo(Tristate.TRUE);
+        assertThat(cf.gt(cf.sub(z, w), cf.constant(1 << 29)).evaluateBounds()).isEqualTo(Tristate.FALSE);
+    }
 }
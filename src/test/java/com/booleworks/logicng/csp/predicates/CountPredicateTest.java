@@ -0,0 +1,106 @@
+package com.booleworks.logicng.csp.predicates;
+
+import com.booleworks.logicng.csp.CspFactory;
+import com.booleworks.logicng.csp.ParameterizedCspTest;
+import com.booleworks.logicng.csp.datastructures.Csp;
+import com.booleworks.logicng.csp.datastructures.CspAssignment;
+import com.booleworks.logicng.csp.datastructures.IntegerClause;
+import com.booleworks.logicng.csp.encodings.CspEncodingContext;
+import com.booleworks.logicng.csp.functions.CspEvaluation;
+import com.booleworks.logicng.csp.functions.CspModelEnumeration;
+import com.booleworks.logicng.csp.terms.IntegerVariable;
+import com.booleworks.logicng.formulas.Formula;
+import com.booleworks.logicng.formulas.FormulaFactory;
+import com.booleworks.logicng.solvers.SatSolver;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.MethodSource;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class CountPredicateTest extends ParameterizedCspTest {
+    @ParameterizedTest
+    @MethodSource("cspFactories")
+    public void testSimpleExamples(final CspFactory cf) {
+        final FormulaFactory f = cf.getFormulaFactory();
+        final IntegerVariable a = cf.variable("a", 0, 4);
+        final IntegerVariable b = cf.variable("b", 0, 4);
+        final CountPredicate pred = cf.count(List.of(a, b), 2, 1, 1);
+        assertThat(pred.getPredicateType()).isEqualTo(CspPredicate.Type.COUNT);
+        assertThat(pred.getVariables()).containsExactly(a, b);
+        assertThat(pred.getValueLb()).isEqualTo(2);
+        assertThat(pred.getValueUb()).isEqualTo(2);
+        assertThat(pred.getMinCount()).isEqualTo(1);
+        assertThat(pred.getMaxCount()).isEqualTo(1);
+        assertThat(cf.count(List.of(a, b), 2, 2, 1, 1)).isSameAs(pred);
+        assertThat(pred.negate(cf)).isEqualTo(f.or(cf.count(List.of(a, b), 2, 2, 0, 0),
+                cf.count(List.of(a, b), 2, 2, 2, 2)));
+        assertThat(cf.count(List.of(a, b), 2, 0, 2).negate(cf)).isEqualTo(f.falsum());
+    }
+
+    @ParameterizedTest
+    @MethodSource("cspFactories")
+    public void testDecomposition(final CspFactory cf) {
+        final IntegerVariable a = cf.variable("a", 0, 4);
+        final IntegerVariable b = cf.variable("b", 1, 2);
+        final IntegerVariable c = cf.variable("c", 5, 7);
+        final List<IntegerVariable> vars = List.of(a, b, c);
+        // b is always counted, c never
+        assertThat(cf.count(vars, 1, 3, 1, 2).decompose(cf).getClauses()).isEmpty();
+        final CspPredicate.Decomposition decomposition = cf.count(vars, 1, 3, 2, 2).decompose(cf);
+        assertThat(decomposition.getAuxiliaryIntegerVariables()).isEmpty();
+        // three clauses for the indicator of a and one clause forcing it
+        assertThat(decomposition.getClauses()).hasSize(4);
+        assertThat(decomposition.getAuxiliaryBooleanVariables()).hasSize(1);
+
+        assertThat(cf.count(vars, 1, 3, 3, 3).decompose(cf).getClauses()).containsExactly(new IntegerClause());
+        assertThat(cf.count(vars, 1, 3, 0, 0).decompose(cf).getClauses()).containsExactly(new IntegerClause());
+    }
+
+    @ParameterizedTest
+    @MethodSource("algorithmsAndFactories")
+    public void testModels(final CspFactory cf, final CspEncodingContext context) {
+        final FormulaFactory f = cf.getFormulaFactory();
+        final List<IntegerVariable> vars = List.of(cf.variable("a", 0, 3), cf.variable("b", 0, 3),
+                cf.variable("c", 1, 4), cf.variable("d", 0, 2), cf.variable("e", 2, 3));
+        final int[][] bounds = {{1, 2, 2, 3}, {2, 2, 0, 1}, {0, 1, 3, 5}, {3, 3, 1, 1}};
+        for (final int[] bound : bounds) {
+            int expected = 0;
+            for (int a = 0; a <= 3; a++) {
+                for (int b = 0; b <= 3; b++) {
+                    for (int c = 1; c <= 4; c++) {
+                        for (int d = 0; d <= 2; d++) {
+                            for (int e = 2; e <= 3; e++) {
+                                int count = 0;
+                                for (final int value : new int[]{a, b, c, d, e}) {
+                                    if (value >= bound[0] && value <= bound[1]) {
+                                        count++;
+                                    }
+                                }
+                                if (count >= bound[2] && count <= bound[3]) {
+                                    expected++;
+                                }
+                            }
+                        }
+                    }
+                }
+            }
+            final CountPredicate pred = cf.count(vars, bound[0], bound[1], bound[2], bound[3]);
+            for (final Formula formula : List.of(pred, pred.negate(cf))) {
+                final Csp csp = cf.buildCsp(formula);
+                final SatSolver solver = SatSolver.newSolver(f);
+                solver.add(cf.encodeCsp(csp, context));
+                final List<CspAssignment> models = CspModelEnumeration.enumerate(solver, csp, context, cf);
+                if (formula == pred) {
+                    assertThat(models).hasSize(expected);
+                    for (final CspAssignment model : models) {
+                        assertThat(CspEvaluation.evaluate(pred, model)).isTrue();
+                    }
+                } else {
+                    assertThat(models).hasSize(4 * 4 * 4 * 3 * 2 - expected);
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,115 @@
+package com.booleworks.logicng.csp.predicates;
+
+import com.booleworks.logicng.csp.CspFactory;
+import com.booleworks.logicng.csp.ParameterizedCspTest;
+import com.booleworks.logicng.csp.datastructures.Csp;
+import com.booleworks.logicng.csp.datastructures.CspAssignment;
+import com.booleworks.logicng.csp.datastructures.IntegerClause;
+import com.booleworks.logicng.csp.encodings.CspEncodingContext;
+import com.booleworks.logicng.csp.functions.CspEvaluation;
+import com.booleworks.logicng.csp.functions.CspModelEnumeration;
+import com.booleworks.logicng.csp.terms.IntegerVariable;
+import com.booleworks.logicng.formulas.FormulaFactory;
+import com.booleworks.logicng.solvers.SatSolver;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.MethodSource;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class CumulativePredicateTest extends ParameterizedCspTest {
+    @ParameterizedTest
+    @MethodSource("cspFactories")
+    public void testSimpleExamples(final CspFactory cf) {
+        final IntegerVariable a = cf.variable("a", 0, 4);
+        final IntegerVariable b = cf.variable("b", 0, 4);
+        final CumulativePredicate pred = cf.cumulative(List.of(a, b), List.of(2, 3), List.of(1, 2), 2);
+        assertThat(pred.getPredicateType()).isEqualTo(CspPredicate.Type.CUMULATIVE);
+        assertThat(pred.getStarts()).containsExactly(a, b);
+        assertThat(pred.getDurations()).containsExactly(2, 3);
+        assertThat(pred.getDemands()).containsExactly(1, 2);
+        assertThat(pred.getCapacity()).isEqualTo(2);
+        assertThat(pred.getDecomposition()).isEqualTo(SchedulingDecomposition.TIME);
+        assertThat(cf.cumulative(List.of(a, b), List.of(2, 3), List.of(1, 2), 2, SchedulingDecomposition.TIME))
+                .isSameAs(pred);
+        assertThat(cf.cumulative(List.of(a, b), List.of(2, 3), List.of(1, 2), 3)).isNotSameAs(pred);
+        assertThatThrownBy(() -> cf.cumulative(List.of(a, b), List.of(2, 3), List.of(1), 2))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> cf.cumulative(List.of(a, b), List.of(2, 3), List.of(1, 2), -1))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @ParameterizedTest
+    @MethodSource("cspFactories")
+    public void testDecomposition(final CspFactory cf) {
+        final IntegerVariable a = cf.variable("a", 0, 4);
+        final IntegerVariable b = cf.variable("b", 0, 4);
+        final IntegerVariable c = cf.variable("c", 0, 4);
+        final List<IntegerVariable> starts = List.of(a, b, c);
+        assertThat(cf.cumulative(starts, List.of(2, 3, 1), List.of(1, 1, 1), 3).decompose(cf).getClauses())
+                .isEmpty();
+        assertThat(cf.cumulative(starts, List.of(2, 3, 0), List.of(1, 4, 1), 3, SchedulingDecomposition.TASK)
+                .decompose(cf).getClauses()).contains(new IntegerClause());
+
+        final CspPredicate.Decomposition time =
+                cf.cumulative(starts, List.of(2, 3, 1), List.of(1, 2, 1), 2).decompose(cf);
+        // time points 0 to 4 with three tasks each
+        assertThat(time.getAuxiliaryIntegerVariables()).hasSize(15);
+        assertThat(time.getClauses()).hasSize(20);
+
+        final CspPredicate.Decomposition task =
+                cf.cumulative(starts, List.of(2, 3, 1), List.of(1, 2, 1), 2, SchedulingDecomposition.TASK)
+                        .decompose(cf);
+        // at the start of each task, the two other tasks might run
+        assertThat(task.getAuxiliaryIntegerVariables()).hasSize(6);
+        assertThat(task.getClauses()).hasSize(9);
+    }
+
+    @ParameterizedTest
+    @MethodSource("algorithmsAndFactories")
+    public void testModels(final CspFactory cf, final CspEncodingContext context) {
+        final FormulaFactory f = cf.getFormulaFactory();
+        final List<IntegerVariable> starts = List.of(cf.variable("a", 0, 3), cf.variable("b", 0, 3),
+                cf.variable("c", 1, 3), cf.variable("d", 0, 2));
+        final List<Integer> durations = List.of(2, 1, 3, 2);
+        final List<Integer> demands = List.of(2, 1, 1, 2);
+        final int capacity = 3;
+        int expected = 0;
+        for (int a = 0; a <= 3; a++) {
+            for (int b = 0; b <= 3; b++) {
+                for (int c = 1; c <= 3; c++) {
+                    for (int d = 0; d <= 2; d++) {
+                        final int[] values = {a, b, c, d};
+                        boolean feasible = true;
+                        for (int t = 0; t < 6 && feasible; t++) {
+                            int load = 0;
+                            for (int i = 0; i < 4; i++) {
+                                if (values[i] <= t && t < values[i] + durations.get(i)) {
+                                    load += demands.get(i);
+                                }
+                            }
+                            feasible = load <= capacity;
+                        }
+                        if (feasible) {
+                            expected++;
+                        }
+                    }
+                }
+            }
+        }
+        assertThat(expected).isGreaterThan(0);
+        for (final SchedulingDecomposition decomposition : SchedulingDecomposition.values()) {
+            final CumulativePredicate pred = cf.cumulative(starts, durations, demands, capacity, decomposition);
+            final Csp csp = cf.buildCsp(pred);
+            final SatSolver solver = SatSolver.newSolver(f);
+            solver.add(cf.encodeCsp(csp, context));
+            final List<CspAssignment> models = CspModelEnumeration.enumerate(solver, csp, context, cf);
+            assertThat(models).hasSize(expected);
+            for (final CspAssignment model : models) {
+                assertThat(CspEvaluation.evaluate(pred, model)).isTrue();
+            }
+        }
+    }
+}
@@ -0,0 +1,95 @@
+package com.booleworks.logicng.csp.predicates;
+
+import com.booleworks.logicng.csp.CspFactory;
+import com.booleworks.logicng.csp.ParameterizedCspTest;
+import com.booleworks.logicng.csp.datastructures.Csp;
+import com.booleworks.logicng.csp.datastructures.CspAssignment;
+import com.booleworks.logicng.csp.encodings.CspEncodingContext;
+import com.booleworks.logicng.csp.functions.CspEvaluation;
+import com.booleworks.logicng.csp.functions.CspModelEnumeration;
+import com.booleworks.logicng.csp.terms.IntegerVariable;
+import com.booleworks.logicng.formulas.FormulaFactory;
+import com.booleworks.logicng.solvers.SatSolver;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.MethodSource;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class DisjunctivePredicateTest extends ParameterizedCspTest {
+    @ParameterizedTest
+    @MethodSource("cspFactories")
+    public void testSimpleExamples(final CspFactory cf) {
+        final IntegerVariable a = cf.variable("a", 0, 4);
+        final IntegerVariable b = cf.variable("b", 0, 4);
+        final DisjunctivePredicate pred = cf.disjunctive(List.of(a, b), List.of(2, 3));
+        assertThat(pred.getPredicateType()).isEqualTo(CspPredicate.Type.DISJUNCTIVE);
+        assertThat(pred.getStarts()).containsExactly(a, b);
+        assertThat(pred.getDurations()).containsExactly(2, 3);
+        assertThat(pred.getDecomposition()).isEqualTo(SchedulingDecomposition.TASK);
+        assertThat(cf.disjunctive(List.of(a, b), List.of(2, 3), SchedulingDecomposition.TASK)).isSameAs(pred);
+        assertThat(cf.disjunctive(List.of(a, b), List.of(2, 3), SchedulingDecomposition.TIME)).isNotSameAs(pred);
+        assertThat(pred.negate(cf)).isEqualTo(cf.getFormulaFactory().and(
+                cf.lt(a, cf.add(b, cf.constant(3))), cf.lt(b, cf.add(a, cf.constant(2)))));
+        assertThatThrownBy(() -> cf.disjunctive(List.of(a, b), List.of(2))).isInstanceOf(
+                IllegalArgumentException.class);
+        assertThatThrownBy(() -> cf.disjunctive(List.of(a, b), List.of(2, -1))).isInstanceOf(
+                IllegalArgumentException.class);
+    }
+
+    @ParameterizedTest
+    @MethodSource("cspFactories")
+    public void testDecomposition(final CspFactory cf) {
+        final IntegerVariable a = cf.variable("a", 0, 4);
+        final IntegerVariable b = cf.variable("b", 0, 4);
+        final IntegerVariable c = cf.variable("c", 10, 12);
+        final List<IntegerVariable> starts = List.of(a, b, c);
+        final CspPredicate.Decomposition task =
+                cf.disjunctive(starts, List.of(2, 3, 1), SchedulingDecomposition.TASK).decompose(cf);
+        assertThat(task.getAuxiliaryBooleanVariables()).hasSize(1);
+        assertThat(task.getClauses()).hasSize(2);
+
+        final CspPredicate.Decomposition time =
+                cf.disjunctive(starts, List.of(2, 3, 0), SchedulingDecomposition.TIME).decompose(cf);
+        assertThat(time.getAuxiliaryIntegerVariables()).isEmpty();
+        // time points 0 to 4 with two tasks each
+        assertThat(time.getAuxiliaryBooleanVariables()).hasSize(10);
+        assertThat(time.getClauses()).hasSize(15);
+    }
+
+    @ParameterizedTest
+    @MethodSource("algorithmsAndFactories")
+    public void testModels(final CspFactory cf, final CspEncodingContext context) {
+        final FormulaFactory f = cf.getFormulaFactory();
+        final List<IntegerVariable> starts =
+                List.of(cf.variable("a", 0, 4), cf.variable("b", 0, 4), cf.variable("c", 1, 5));
+        final List<Integer> durations = List.of(2, 1, 2);
+        int expected = 0;
+        for (int a = 0; a <= 4; a++) {
+            for (int b = 0; b <= 4; b++) {
+                for (int c = 1; c <= 5; c++) {
+                    if (disjoint(a, 2, b, 1) && disjoint(a, 2, c, 2) && disjoint(b, 1, c, 2)) {
+                        expected++;
+                    }
+                }
+            }
+        }
+        for (final SchedulingDecomposition decomposition : SchedulingDecomposition.values()) {
+            final DisjunctivePredicate pred = cf.disjunctive(starts, durations, decomposition);
+            final Csp csp = cf.buildCsp(pred);
+            final SatSolver solver = SatSolver.newSolver(f);
+            solver.add(cf.encodeCsp(csp, context));
+            final List<CspAssignment> models = CspModelEnumeration.enumerate(solver, csp, context, cf);
+            assertThat(models).hasSize(expected);
+            for (final CspAssignment model : models) {
+                assertThat(CspEvaluation.evaluate(pred, model)).isTrue();
+            }
+        }
+    }
+
+    private static boolean disjoint(final int s1, final int d1, final int s2, final int d2) {
+        return s1 + d1 <= s2 || s2 + d2 <= s1;
+    }
+}
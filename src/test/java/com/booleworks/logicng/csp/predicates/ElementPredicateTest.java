@@ -0,0 +1,118 @@
+package com.booleworks.logicng.csp.predicates;
+
+import com.booleworks.logicng.csp.CspFactory;
+import com.booleworks.logicng.csp.ParameterizedCspTest;
+import com.booleworks.logicng.csp.datastructures.Csp;
+import com.booleworks.logicng.csp.datastructures.CspAssignment;
+import com.booleworks.logicng.csp.datastructures.IntegerClause;
+import com.booleworks.logicng.csp.encodings.CspEncodingContext;
+import com.booleworks.logicng.csp.functions.CspEvaluation;
+import com.booleworks.logicng.csp.functions.CspModelEnumeration;
+import com.booleworks.logicng.csp.literals.ArithmeticLiteral;
+import com.booleworks.logicng.csp.terms.IntegerVariable;
+import com.booleworks.logicng.csp.terms.Term;
+import com.booleworks.logicng.formulas.FType;
+import com.booleworks.logicng.formulas.Formula;
+import com.booleworks.logicng.formulas.FormulaFactory;
+import com.booleworks.logicng.solvers.SatSolver;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.MethodSource;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class ElementPredicateTest extends ParameterizedCspTest {
+    @ParameterizedTest
+    @MethodSource("cspFactories")
+    public void testSimpleExamples(final CspFactory cf) {
+        final IntegerVariable i = cf.variable("i", 0, 2);
+        final IntegerVariable a = cf.variable("a", 0, 5);
+        final IntegerVariable v = cf.variable("v", 0, 9);
+        final ElementPredicate pred = cf.element(i, List.of(a, cf.constant(3), cf.constant(7)), v);
+        assertThat(pred.getPredicateType()).isEqualTo(CspPredicate.Type.ELEMENT);
+        assertThat(pred.getIndex()).isEqualTo(i);
+        assertThat(pred.getArray()).containsExactly(a, cf.constant(3), cf.constant(7));
+        assertThat(pred.getValue()).isEqualTo(v);
+        assertThat(cf.element(i, List.of(a, cf.constant(3), cf.constant(7)), v)).isSameAs(pred);
+        assertThat(cf.element(i, List.of(cf.constant(3), a, cf.constant(7)), v)).isNotSameAs(pred);
+    }
+
+    @ParameterizedTest
+    @MethodSource("cspFactories")
+    public void testNegation(final CspFactory cf) {
+        final FormulaFactory f = cf.getFormulaFactory();
+        final IntegerVariable i = cf.variable("i", 0, 2);
+        final IntegerVariable v = cf.variable("v", 0, 9);
+        final Formula negation = cf.element(i, List.of(cf.constant(3), v), cf.constant(3)).negate(cf);
+        assertThat(negation.getType()).isEqualTo(FType.OR);
+        assertThat(negation).isEqualTo(f.or(
+                cf.lt(i, cf.zero()),
+                cf.gt(i, cf.one()),
+                f.and(cf.eq(i, cf.zero()), cf.ne(cf.constant(3), cf.constant(3))),
+                f.and(cf.eq(i, cf.one()), cf.ne(cf.constant(3), v))
+        ));
+    }
+
+    @ParameterizedTest
+    @MethodSource("cspFactories")
+    public void testDecomposition(final CspFactory cf) {
+        final IntegerVariable i = cf.variable("i", 0, 3);
+        final IntegerVariable v = cf.variable("v", 0, 9);
+        final IntegerVariable a = cf.variable("a", 0, 9);
+        final CspPredicate.Decomposition decomposition =
+                cf.element(i, List.of(cf.constant(3), a, cf.constant(7)), v).decompose(cf);
+        assertThat(decomposition.getAuxiliaryIntegerVariables()).isEmpty();
+        assertThat(decomposition.getAuxiliaryBooleanVariables()).isEmpty();
+        // i <= 2 and two clauses for each constant plus one clause for the variable
+        assertThat(decomposition.getClauses()).hasSize(6);
+        for (final IntegerClause clause : decomposition.getClauses()) {
+            assertThat(clause.getArithmeticLiterals().stream().filter(l -> !isSimple(l))).hasSizeLessThanOrEqualTo(1);
+        }
+    }
+
+    @ParameterizedTest
+    @MethodSource("algorithmsAndFactories")
+    public void testModels(final CspFactory cf, final CspEncodingContext context) {
+        final FormulaFactory f = cf.getFormulaFactory();
+        final IntegerVariable i = cf.variable("i", -1, 4);
+        final IntegerVariable a = cf.variable("a", 0, 2);
+        final IntegerVariable b = cf.variable("b", 1, 3);
+        final IntegerVariable v = cf.variable("v", 0, 6);
+        final ElementPredicate pred = cf.element(i, List.of(a, cf.constant(5), b), v);
+        final Csp csp = cf.buildCsp(pred);
+        final SatSolver solver = SatSolver.newSolver(f);
+        solver.add(cf.encodeCsp(csp, context));
+        final List<CspAssignment> models = CspModelEnumeration.enumerate(solver, csp, context, cf);
+        assertThat(models).hasSize(27);
+        for (final CspAssignment model : models) {
+            assertThat(CspEvaluation.evaluate(pred, model)).isTrue();
+        }
+    }
+
+    @ParameterizedTest
+    @MethodSource("algorithmsAndFactories")
+    public void testModelsWithCompoundIndex(final CspFactory cf, final CspEncodingContext context) {
+        final FormulaFactory f = cf.getFormulaFactory();
+        final IntegerVariable x = cf.variable("x", 0, 2);
+        final IntegerVariable y = cf.variable("y", 0, 2);
+        final IntegerVariable v = cf.variable("v", 0, 9);
+        final Term index = cf.add(x, y);
+        final ElementPredicate pred =
+                cf.element(index, List.of(cf.constant(4), cf.constant(2), cf.constant(9)), v);
+        assertThat(pred.decompose(cf).getAuxiliaryIntegerVariables()).hasSize(1);
+        final Csp csp = cf.buildCsp(f.and(pred, cf.ne(v, cf.constant(2))));
+        final SatSolver solver = SatSolver.newSolver(f);
+        solver.add(cf.encodeCsp(csp, context));
+        final List<CspAssignment> models = CspModelEnumeration.enumerate(solver, csp, context, cf);
+        // (0,0) -> 4, (1,1), (0,2), (2,0) -> 9
+        assertThat(models).hasSize(4);
+        for (final CspAssignment model : models) {
+            assertThat(CspEvaluation.evaluate(pred, model)).isTrue();
+        }
+    }
+
+    private static boolean isSimple(final ArithmeticLiteral literal) {
+        return literal.getVariables().size() <= 1;
+    }
+}
@@ -0,0 +1,82 @@
+package com.booleworks.logicng.csp.predicates;
+
+import com.booleworks.logicng.csp.CspFactory;
+import com.booleworks.logicng.csp.ParameterizedCspTest;
+import com.booleworks.logicng.csp.datastructures.Csp;
+import com.booleworks.logicng.csp.datastructures.CspAssignment;
+import com.booleworks.logicng.csp.encodings.CspEncodingContext;
+import com.booleworks.logicng.csp.functions.CspEvaluation;
+import com.booleworks.logicng.csp.functions.CspModelEnumeration;
+import com.booleworks.logicng.csp.terms.IntegerVariable;
+import com.booleworks.logicng.formulas.FormulaFactory;
+import com.booleworks.logicng.solvers.SatSolver;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.MethodSource;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class GlobalCardinalityPredicateTest extends ParameterizedCspTest {
+    @ParameterizedTest
+    @MethodSource("cspFactories")
+    public void testSimpleExamples(final CspFactory cf) {
+        final FormulaFactory f = cf.getFormulaFactory();
+        final IntegerVariable a = cf.variable("a", 0, 4);
+        final IntegerVariable b = cf.variable("b", 0, 4);
+        final GlobalCardinalityPredicate pred =
+                cf.globalCardinality(List.of(a, b), List.of(1, 2), List.of(0, 1), List.of(1, 2));
+        assertThat(pred.getPredicateType()).isEqualTo(CspPredicate.Type.GLOBAL_CARDINALITY);
+        assertThat(pred.getVariables()).containsExactly(a, b);
+        assertThat(pred.getValues()).containsExactly(1, 2);
+        assertThat(pred.getMinCounts()).containsExactly(0, 1);
+        assertThat(pred.getMaxCounts()).containsExactly(1, 2);
+        assertThat(cf.globalCardinality(List.of(a, b), List.of(1, 2), List.of(0, 1), List.of(1, 2))).isSameAs(pred);
+        assertThat(pred.negate(cf)).isEqualTo(f.or(cf.count(List.of(a, b), 1, 2, 2),
+                cf.count(List.of(a, b), 2, 0, 0)));
+        assertThatThrownBy(() -> cf.globalCardinality(List.of(a, b), List.of(1, 2), List.of(0), List.of(1, 2)))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @ParameterizedTest
+    @MethodSource("algorithmsAndFactories")
+    public void testModels(final CspFactory cf, final CspEncodingContext context) {
+        final FormulaFactory f = cf.getFormulaFactory();
+        final List<IntegerVariable> vars = List.of(cf.variable("a", 0, 3), cf.variable("b", 0, 3),
+                cf.variable("c", 1, 3), cf.variable("d", 0, 2));
+        final List<Integer> values = List.of(0, 1, 3);
+        final List<Integer> minCounts = List.of(1, 0, 1);
+        final List<Integer> maxCounts = List.of(2, 1, 1);
+        int expected = 0;
+        for (int a = 0; a <= 3; a++) {
+            for (int b = 0; b <= 3; b++) {
+                for (int c = 1; c <= 3; c++) {
+                    for (int d = 0; d <= 2; d++) {
+                        final int[] counts = new int[4];
+                        for (final int value : new int[]{a, b, c, d}) {
+                            counts[value]++;
+                        }
+                        boolean feasible = true;
+                        for (int i = 0; i < values.size(); i++) {
+                            final int count = counts[values.get(i)];
+                            feasible &= count >= minCounts.get(i) && count <= maxCounts.get(i);
+                        }
+                        if (feasible) {
+                            expected++;
+                        }
+                    }
+                }
+            }
+        }
+        final GlobalCardinalityPredicate pred = cf.globalCardinality(vars, values, minCounts, maxCounts);
+        final Csp csp = cf.buildCsp(pred);
+        final SatSolver solver = SatSolver.newSolver(f);
+        solver.add(cf.encodeCsp(csp, context));
+        final List<CspAssignment> models = CspModelEnumeration.enumerate(solver, csp, context, cf);
+        assertThat(models).hasSize(expected);
+        for (final CspAssignment model : models) {
+            assertThat(CspEvaluation.evaluate(pred, model)).isTrue();
+        }
+    }
+}
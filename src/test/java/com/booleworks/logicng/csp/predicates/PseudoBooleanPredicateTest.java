@@ -0,0 +1,172 @@
+package com.booleworks.logicng.csp.predicates;
+
+import com.booleworks.logicng.csp.CspFactory;
+import com.booleworks.logicng.csp.ParameterizedCspTest;
+import com.booleworks.logicng.csp.datastructures.Csp;
+import com.booleworks.logicng.csp.datastructures.CspAssignment;
+import com.booleworks.logicng.csp.datastructures.IntegerClause;
+import com.booleworks.logicng.csp.datastructures.LinearExpression;
+import com.booleworks.logicng.csp.encodings.CspEncodingContext;
+import com.booleworks.logicng.csp.functions.CspEvaluation;
+import com.booleworks.logicng.csp.functions.CspModelEnumeration;
+import com.booleworks.logicng.csp.literals.LinearLiteral;
+import com.booleworks.logicng.csp.terms.IntegerVariable;
+import com.booleworks.logicng.formulas.Formula;
+import com.booleworks.logicng.formulas.FormulaFactory;
+import com.booleworks.logicng.formulas.Literal;
+import com.booleworks.logicng.formulas.Variable;
+import com.booleworks.logicng.solvers.SatSolver;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.MethodSource;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class PseudoBooleanPredicateTest extends ParameterizedCspTest {
+    @ParameterizedTest
+    @MethodSource("cspFactories")
+    public void testSimpleExamples(final CspFactory cf) {
+        final FormulaFactory f = cf.getFormulaFactory();
+        final Variable p = f.variable("p");
+        final Variable q = f.variable("q");
+        final IntegerVariable x = cf.variable("x", 0, 3);
+        final IntegerVariable y = cf.variable("y", 0, 3);
+        final PseudoBooleanPredicate pred = cf.pbLe(List.of(p, q.negate(f)), List.of(2, 3), x, y);
+        assertThat(pred.getPredicateType()).isEqualTo(CspPredicate.Type.PSEUDO_BOOLEAN);
+        assertThat(pred.getLiterals()).containsExactly(p, q.negate(f));
+        assertThat(pred.getWeights()).containsExactly(2, 3);
+        assertThat(pred.getTerm()).isEqualTo(cf.sub(x, y));
+        assertThat(pred.variables()).containsExactly(x, y);
+        assertThat(cf.pbLe(List.of(p, q.negate(f)), List.of(2, 3), x, y)).isSameAs(pred);
+        assertThat(cf.pbGe(List.of(p, q.negate(f)), List.of(-2, -3), y, x)).isSameAs(pred);
+        assertThat(pred.negate(cf)).isEqualTo(cf.pbLe(List.of(p, q.negate(f)), List.of(-2, -3),
+                cf.sub(cf.one(), cf.sub(x, y)), cf.zero()));
+    }
+
+    @ParameterizedTest
+    @MethodSource("cspFactories")
+    public void testIllegalArguments(final CspFactory cf) {
+        final Variable p = cf.getFormulaFactory().variable("p");
+        assertThatThrownBy(() -> cf.pbLe(List.of(p), List.of(1, 2), cf.zero(), cf.one()))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @ParameterizedTest
+    @MethodSource("cspFactories")
+    public void testDecomposition(final CspFactory cf) {
+        final FormulaFactory f = cf.getFormulaFactory();
+        final Variable p = f.variable("p");
+        final Variable q = f.variable("q");
+        final IntegerVariable x = cf.variable("x", 0, 3);
+        final List<Literal> lits = List.of(p, q);
+        final List<Integer> weights = List.of(1, 1);
+
+        assertThat(cf.pbLe(lits, weights, cf.zero(), cf.constant(5)).decompose(cf).getClauses()).isEmpty();
+        assertThat(cf.pbLe(lits, weights, cf.constant(3), cf.one()).decompose(cf).getClauses())
+                .containsExactly(new IntegerClause());
+        final CspPredicate.Decomposition constant = cf.pbLe(lits, weights, cf.one(), cf.constant(2)).decompose(cf);
+        assertThat(constant.getClauses()).isNotEmpty();
+        assertThat(constant.getAuxiliaryIntegerVariables()).isEmpty();
+
+        // p + q + x <= 0 forces x <= 0 directly
+        final CspPredicate.Decomposition single = cf.pbLe(lits, weights, x, cf.zero()).decompose(cf);
+        assertThat(single.getAuxiliaryIntegerVariables()).isEmpty();
+        assertThat(single.getClauses()).contains(
+                new IntegerClause(new LinearLiteral(new LinearExpression(1, x, 0), LinearLiteral.Operator.LE)));
+
+        // p + q + x <= 3 needs the outputs p + q >= 1 and p + q >= 2
+        final CspPredicate.Decomposition counter = cf.pbLe(lits, weights, x, cf.constant(3)).decompose(cf);
+        assertThat(counter.getAuxiliaryIntegerVariables()).isEmpty();
+        assertThat(counter.getAuxiliaryBooleanVariables()).hasSize(2);
+
+        final IntegerVariable y = cf.variable("y", 0, 3);
+        assertThat(cf.pbLe(lits, weights, x, y).decompose(cf).getAuxiliaryIntegerVariables()).isEmpty();
+    }
+
+    @ParameterizedTest
+    @MethodSource("cspFactories")
+    public void testDecompositionSize(final CspFactory cf) {
+        final FormulaFactory f = cf.getFormulaFactory();
+        final IntegerVariable x = cf.variable("x", 0, 1000);
+        final List<Literal> lits = new ArrayList<>();
+        final List<Integer> weights = new ArrayList<>();
+        int total = 0;
+        for (int i = 0; i < 64; i++) {
+            lits.add(f.variable("p" + i));
+            weights.add(i % 2 == 0 ? i % 3 + 1 : -(i % 3 + 1));
+            total += i % 3 + 1;
+        }
+        final CspPredicate.Decomposition decomposition =
+                cf.pbLe(lits, weights, x, cf.constant(500)).decompose(cf);
+        // each of the six inner levels of the totalizer has at most one output per value of the sum
+        assertThat(decomposition.getAuxiliaryIntegerVariables()).isEmpty();
+        assertThat(decomposition.getAuxiliaryBooleanVariables()).hasSizeLessThanOrEqualTo(6 * total);
+    }
+
+    @ParameterizedTest
+    @MethodSource("algorithmsAndFactories")
+    public void testModels(final CspFactory cf, final CspEncodingContext context) {
+        final FormulaFactory f = cf.getFormulaFactory();
+        final Variable p = f.variable("p");
+        final Variable q = f.variable("q");
+        final Variable r = f.variable("r");
+        final IntegerVariable x = cf.variable("x", 0, 3);
+        final IntegerVariable y = cf.variable("y", -1, 2);
+        final List<PseudoBooleanPredicate> predicates = List.of(
+                cf.pbLe(List.of(p, q, r), List.of(2, 1, 3), x, y),
+                cf.pbLe(List.of(p, q.negate(f), r), List.of(1, -2, 2), cf.mul(2, x), cf.add(y, cf.one())),
+                cf.pbGe(List.of(p, q, r), List.of(1, 1, 1), cf.minus(x), y),
+                cf.pbLe(List.of(p, q, r), List.of(1, 2, -1), cf.minus(x), cf.constant(-1)));
+        for (int i = 0; i < predicates.size(); i++) {
+            final PseudoBooleanPredicate pred = predicates.get(i);
+            final boolean usesY = pred.variables().contains(y);
+            int expected = 0;
+            int total = 0;
+            for (int pv = 0; pv <= 1; pv++) {
+                for (int qv = 0; qv <= 1; qv++) {
+                    for (int rv = 0; rv <= 1; rv++) {
+                        for (int xv = 0; xv <= 3; xv++) {
+                            for (int yv = -1; yv <= (usesY ? 2 : -1); yv++) {
+                                total++;
+                                if (satisfied(i, pv, qv, rv, xv, yv)) {
+                                    expected++;
+                                }
+                            }
+                        }
+                    }
+                }
+            }
+            for (final Formula formula : List.of(pred, pred.negate(cf))) {
+                final Csp csp = cf.buildCsp(formula);
+                assertThat(csp.getVisibleBooleanVariables()).containsExactlyInAnyOrder(p, q, r);
+                final SatSolver solver = SatSolver.newSolver(f);
+                solver.add(cf.encodeCsp(csp, context));
+                final List<CspAssignment> models = CspModelEnumeration.enumerate(solver, csp, context, cf);
+                if (formula == pred) {
+                    assertThat(models).hasSize(expected);
+                    for (final CspAssignment model : models) {
+                        assertThat(CspEvaluation.evaluate(pred, model)).isTrue();
+                    }
+                } else {
+                    assertThat(models).hasSize(total - expected);
+                }
+            }
+        }
+    }
+
+    private static boolean satisfied(final int i, final int p, final int q, final int r, final int x, final int y) {
+        switch (i) {
+            case 0:
+                return 2 * p + q + 3 * r + x <= y;
+            case 1:
+                return p - 2 * (1 - q) + 2 * r + 2 * x <= y + 1;
+            case 2:
+                return p + q + r - x >= y;
+            default:
+                return p + 2 * q - r - x <= -1;
+        }
+    }
+}
@@ -0,0 +1,111 @@
+package com.booleworks.logicng.csp.predicates;
+
+import com.booleworks.logicng.csp.CspFactory;
+import com.booleworks.logicng.csp.ParameterizedCspTest;
+import com.booleworks.logicng.csp.datastructures.Csp;
+import com.booleworks.logicng.csp.datastructures.CspAssignment;
+import com.booleworks.logicng.csp.datastructures.IntegerClause;
+import com.booleworks.logicng.csp.encodings.CspEncodingContext;
+import com.booleworks.logicng.csp.functions.CspEvaluation;
+import com.booleworks.logicng.csp.functions.CspModelEnumeration;
+import com.booleworks.logicng.csp.terms.IntegerVariable;
+import com.booleworks.logicng.formulas.FormulaFactory;
+import com.booleworks.logicng.solvers.SatSolver;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.MethodSource;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class TablePredicateTest extends ParameterizedCspTest {
+    @ParameterizedTest
+    @MethodSource("cspFactories")
+    public void testSimpleExamples(final CspFactory cf) {
+        final IntegerVariable a = cf.variable("a", 0, 3);
+        final IntegerVariable b = cf.variable("b", 0, 3);
+        final List<int[]> tuples = List.of(new int[]{0, 1}, new int[]{2, 3});
+        final TablePredicate pred = cf.table(List.of(a, b), tuples, true);
+        assertThat(pred.getPredicateType()).isEqualTo(CspPredicate.Type.TABLE);
+        assertThat(pred.getVariables()).containsExactly(a, b);
+        assertThat(pred.getTuples()).containsExactly(new int[]{0, 1}, new int[]{2, 3});
+        assertThat(pred.isPositive()).isTrue();
+        assertThat(pred.containsTuple(new int[]{2, 3})).isTrue();
+        assertThat(pred.containsTuple(new int[]{3, 2})).isFalse();
+        assertThat(cf.table(List.of(a, b), List.of(new int[]{0, 1}, new int[]{2, 3}), true)).isSameAs(pred);
+        assertThat(cf.table(List.of(a, b), tuples, false)).isNotSameAs(pred);
+        assertThat(pred.negate(cf)).isSameAs(cf.table(List.of(a, b), tuples, false));
+        assertThatThrownBy(() -> cf.table(List.of(a, b), List.of(new int[]{0}), true))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @ParameterizedTest
+    @MethodSource("cspFactories")
+    public void testDecomposition(final CspFactory cf) {
+        final IntegerVariable a = cf.variable("a", 0, 3);
+        final IntegerVariable b = cf.variable("b", 0, 3);
+        final List<int[]> tuples = List.of(new int[]{0, 1}, new int[]{2, 3}, new int[]{2, 3}, new int[]{5, 0});
+        final CspPredicate.Decomposition positive = cf.table(List.of(a, b), tuples, true).decompose(cf);
+        assertThat(positive.getAuxiliaryIntegerVariables()).isEmpty();
+        assertThat(positive.getAuxiliaryBooleanVariables()).hasSize(2);
+        // 6 channelling clauses, 1 selection clause, 8 support clauses
+        assertThat(positive.getClauses()).hasSize(15);
+
+        final CspPredicate.Decomposition negative = cf.table(List.of(a, b), tuples, false).decompose(cf);
+        assertThat(negative.getAuxiliaryIntegerVariables()).isEmpty();
+        assertThat(negative.getAuxiliaryBooleanVariables()).isEmpty();
+        assertThat(negative.getClauses()).hasSize(2);
+
+        final List<int[]> infeasible = List.of(new int[]{4, 0});
+        assertThat(cf.table(List.of(a, b), infeasible, true).decompose(cf).getClauses())
+                .containsExactly(new IntegerClause());
+        assertThat(cf.table(List.of(a, b), infeasible, false).decompose(cf).getClauses()).isEmpty();
+    }
+
+    @ParameterizedTest
+    @MethodSource("algorithmsAndFactories")
+    public void testModels(final CspFactory cf, final CspEncodingContext context) {
+        final FormulaFactory f = cf.getFormulaFactory();
+        final List<IntegerVariable> vars = List.of(cf.variable("a", 0, 3), cf.variable("b", 1, 4),
+                cf.variable("c", -2, 2));
+        final List<int[]> tuples = new ArrayList<>();
+        for (int i = 0; i < 20; i++) {
+            tuples.add(new int[]{i % 5, (i * 3) % 6, (i * 7) % 5 - 2});
+        }
+        int expected = 0;
+        final TablePredicate positive = cf.table(vars, tuples, true);
+        for (int a = 0; a <= 3; a++) {
+            for (int b = 1; b <= 4; b++) {
+                for (int c = -2; c <= 2; c++) {
+                    if (positive.containsTuple(new int[]{a, b, c})) {
+                        expected++;
+                    }
+                }
+            }
+        }
+        assertThat(expected).isGreaterThan(0);
+
+        final Csp positiveCsp = cf.buildCsp(positive);
+        final SatSolver positiveSolver = SatSolver.newSolver(f);
+        positiveSolver.add(cf.encodeCsp(positiveCsp, context));
+        final List<CspAssignment> positiveModels =
+                CspModelEnumeration.enumerate(positiveSolver, positiveCsp, context, cf);
+        assertThat(positiveModels).hasSize(expected);
+        for (final CspAssignment model : positiveModels) {
+            assertThat(CspEvaluation.evaluate(positive, model)).isTrue();
+        }
+
+        final TablePredicate negative = cf.table(vars, tuples, false);
+        final Csp negativeCsp = cf.buildCsp(negative);
+        final SatSolver negativeSolver = SatSolver.newSolver(f);
+        negativeSolver.add(cf.encodeCsp(negativeCsp, context));
+        final List<CspAssignment> negativeModels =
+                CspModelEnumeration.enumerate(negativeSolver, negativeCsp, context, cf);
+        assertThat(negativeModels).hasSize(4 * 4 * 5 - expected);
+        for (final CspAssignment model : negativeModels) {
+            assertThat(CspEvaluation.evaluate(negative, model)).isTrue();
+        }
+    }
+}
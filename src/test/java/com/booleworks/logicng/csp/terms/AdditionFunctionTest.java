@@ -91,4 +91,42 @@ public class AdditionFunctionTest extends ParameterizedCspTest {
         assertThat(add3Decomp.getLinearExpression().getA(b)).isEqualTo(6);
         assertThat(add3Decomp.getAdditionalConstraints()).isEmpty();
     }
+
+    @ParameterizedTest
+    @MethodSource("cspFactories")
+    public void testNormalForm(final CspFactory cf) {
+        final IntegerVariable a = cf.variable("a", 0, 10);
+        final IntegerVariable b = cf.variable("b", 0, 10);
+        final IntegerConstant c = cf.constant(5);
+        final Term sum = cf.add(a, cf.mul(-1, b));
+
+        assertThat(cf.canonical(a)).isSameAs(a);
+        assertThat(cf.canonical(sum)).isSameAs(sum);
+        assertThat(cf.canonical(cf.sub(a, b))).isSameAs(sum);
+        assertThat(cf.canonical(cf.add(a, cf.minus(b)))).isSameAs(sum);
+        assertThat(cf.canonical(cf.add(cf.minus(b), a))).isSameAs(sum);
+        assertThat(cf.canonical(cf.minus(cf.sub(b, a)))).isSameAs(sum);
+        assertThat(cf.canonical(cf.sub(cf.add(a, c), c))).isSameAs(a);
+        assertThat(cf.canonical(cf.sub(a, a))).isSameAs(cf.zero());
+        assertThat(cf.canonical(cf.mul(3, cf.mul(2, a)))).isSameAs(cf.mul(6, a));
+        assertThat(cf.canonical(cf.mul(cf.mul(2, a), b))).isSameAs(cf.mul(2, cf.mul(a, b)));
+        assertThat(cf.canonical(cf.min(cf.sub(a, b), c))).isSameAs(cf.canonical(cf.min(c, cf.add(cf.minus(b), a))));
+        assertThat(cf.canonical(cf.abs(cf.sub(a, b)))).isNotSameAs(cf.canonical(cf.abs(cf.sub(b, a))));
+        assertThat(cf.canonical(cf.add(cf.mul(a, b), cf.abs(a), cf.sub(c, b))))
+                .isSameAs(cf.canonical(cf.add(cf.minus(b), cf.abs(a), c, cf.mul(b, a))));
+    }
+
+    @ParameterizedTest
+    @MethodSource("cspFactories")
+    public void testNormalFormOverflow(final CspFactory cf) {
+        final IntegerVariable a = cf.variable("a", 0, 10);
+        final IntegerVariable b = cf.variable("b", 0, 10);
+        final Term product = cf.mul(65536, cf.mul(65536, a));
+        assertThat(cf.canonical(product)).isSameAs(product);
+        assertThat(cf.canonical(product)).isNotSameAs(cf.canonical(cf.mul(0, a)));
+        final Term sum = cf.add(cf.mul(Integer.MAX_VALUE, a), cf.mul(Integer.MAX_VALUE, cf.add(a, b)));
+        assertThat(cf.canonical(sum)).isSameAs(sum);
+        final Term constant = cf.sub(cf.add(a, cf.constant(Integer.MIN_VALUE)), cf.one());
+        assertThat(cf.canonical(constant)).isSameAs(constant);
+    }
 }
@@ -97,4 +97,21 @@ public class MultiplicationFunctionTest extends ParameterizedCspTest {
         assertThat(mul4Decomp.getLinearExpression().getA(b)).isEqualTo(35);
         assertThat(mul4Decomp.getAdditionalConstraints()).isEmpty();
     }
+
+    @ParameterizedTest
+    @MethodSource("cspFactories")
+    public void testSharedAuxiliaryVariables(final CspFactory cf) {
+        final IntegerVariable a = cf.variable("a", 0, 10);
+        final IntegerVariable b = cf.variable("b", 0, 10);
+        final IntegerVariable c = cf.variable("c", 0, 5);
+        final IntegerVariable d = cf.variable("d", 0, 5);
+        final Term sum = cf.add(a, b);
+
+        final Term.Decomposition left = cf.mul(sum, c).decompose(cf);
+        final Term.Decomposition right = cf.mul(sum, d).decompose(cf);
+        assertThat(left.getAuxiliaryIntegerVariables()).hasSize(2);
+        assertThat(right.getAuxiliaryIntegerVariables()).hasSize(2);
+        assertThat(left.getAuxiliaryIntegerVariables()).containsAnyElementsOf(right.getAuxiliaryIntegerVariables());
+        assertThat(left.getLinearExpression()).isNotEqualTo(right.getLinearExpression());
+    }
 }
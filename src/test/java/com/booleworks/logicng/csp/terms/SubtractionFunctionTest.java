@@ -91,4 +91,19 @@ public class SubtractionFunctionTest extends ParameterizedCspTest {
         assertThat(sub3Decomp.getLinearExpression().getA(b)).isEqualTo(-2);
         assertThat(sub3Decomp.getAdditionalConstraints()).isEmpty();
     }
+
+    @ParameterizedTest
+    @MethodSource("cspFactories")
+    public void testSharedDecomposition(final CspFactory cf) {
+        final IntegerVariable a = cf.variable("a", 0, 10);
+        final IntegerVariable b = cf.variable("b", -5, 5);
+
+        assertThat(cf.sub(a, b).decompose(cf)).isSameAs(cf.add(a, cf.mul(-1, b)).decompose(cf));
+        final Term.Decomposition left = cf.abs(cf.sub(a, b)).decompose(cf);
+        final Term.Decomposition right = cf.abs(cf.add(cf.minus(b), a)).decompose(cf);
+        assertThat(left).isSameAs(right);
+        assertThat(left.getAuxiliaryIntegerVariables()).hasSize(1);
+        assertThat(cf.max(a, cf.sub(cf.zero(), b)).decompose(cf))
+                .isSameAs(cf.max(cf.mul(-1, b), a).decompose(cf));
+    }
 }